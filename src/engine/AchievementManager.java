@@ -8,16 +8,14 @@ import java.util.List;
  * Manages all game achievements (including their state, unlocking logic, and persistence).
  */
 public class AchievementManager {
-    /** Stores the single instance of the AchievementManager. */
-    private static AchievementManager instance;
     /** List of all achievements in the game. */
     private List<Achievement> achievements;
 
     /**
-     * Private constructor to initialize the achievement list.
-     * Part of the Singleton pattern.
+     * Constructor to initialize the achievement list, only called by
+     * GameSession.
      */
-    private AchievementManager() {
+    AchievementManager() {
         achievements = new ArrayList<>();
         achievements.add(new Achievement("Beginner", "Clear level 1"));
         achievements.add(new Achievement("Intermediate", "Clear level 3"));
@@ -30,15 +28,12 @@ public class AchievementManager {
     }
 
     /**
-     * Provides the global access point to the AchievementManager instance.
+     * Provides the AchievementManager of the current session.
      *
-     * @return The singleton instance of AchievementManager.
+     * @return The AchievementManager of the current session.
      */
     public static AchievementManager getInstance() {
-        if (instance == null) {
-            instance = new AchievementManager();
-        }
-        return instance;
+        return GameSession.current().getAchievementManager();
     }
 
     /**
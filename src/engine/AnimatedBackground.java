@@ -10,26 +10,6 @@ import engine.DrawManager.SpriteType;
 
 public class AnimatedBackground {
 
-    /**
-	 * A simple class to represent a star for the animated background.
-	 * Stores the non-rotating base coordinates and speed.
-	 */
-	public static class Star {
-		public float baseX;
-		public float baseY;
-		public float speed;
-		public float brightness;
-        public float brightnessOffset;
-
-		public Star(float baseX, float baseY, float speed) {
-			this.baseX = baseX;
-			this.baseY = baseY;
-			this.speed = speed;
-			this.brightness = 0;
-			this.brightnessOffset = (float) (Math.random() * Math.PI * 2);
-		}
-	}
-
 	/**
 	 * A simple class to represent a shooting star.
 	 */
@@ -66,6 +46,12 @@ public class AnimatedBackground {
 
     /** Number of stars in the background. */
 	private static final int NUM_STARS = 150;
+    /** Steps of the twinkle cycle, a power of two. */
+    static final int TWINKLE_STEPS = 256;
+    /** Gray level of a star at each step of its twinkle cycle. */
+    static final int[] TWINKLE_LEVELS = new int[TWINKLE_STEPS];
+    /** Twinkle steps per millisecond, one cycle every 1000 * PI ms. */
+    private static final double TWINKLE_RATE = TWINKLE_STEPS / (1000 * Math.PI);
 	/** Speed of the rotation animation. */
     private static final float ROTATION_SPEED = 4.0f;
 	/** Milliseconds between enemy spawns. */
@@ -82,8 +68,24 @@ public class AnimatedBackground {
 	/** Cooldown for shooting star spawning. */
     private Cooldown shootingStarCooldown;
 
-    /** List of stars for the background animation. */
-	private List<Star> stars;
+    static {
+        for (int i = 0; i < TWINKLE_STEPS; i++) {
+            double brightness = 0.5 + (Math.sin(2 * Math.PI * i / TWINKLE_STEPS) + 1) / 4;
+            TWINKLE_LEVELS[i] = (int) Math.round(brightness * 255);
+        }
+    }
+
+    /** Non-rotating position and falling speed of each star. */
+    private final float[] starX = new float[NUM_STARS];
+    private final float[] starY = new float[NUM_STARS];
+    private final float[] starSpeed = new float[NUM_STARS];
+    /** Twinkle step each star starts its cycle at. */
+    private final int[] starPhase = new int[NUM_STARS];
+    /** Rotated screen position of each star, filled once per frame. */
+    private final int[] starScreenX = new int[NUM_STARS];
+    private final int[] starScreenY = new int[NUM_STARS];
+    /** Gray level of each star this frame. */
+    private final int[] starLevel = new int[NUM_STARS];
 	/** List of background enemies. */
 	private List<Entity> backgroundEnemies;
 	/** List of shooting stars. */
@@ -110,11 +112,11 @@ public class AnimatedBackground {
 		this.shootingStarCooldown.reset();
 
         this.random = new Random();
-		this.stars = new ArrayList<Star>();
 		for (int i = 0; i < NUM_STARS; i++) {
-			float speed = (float) (Math.random() * 2.5 + 0.5);
-			this.stars.add(new Star((float) (Math.random() * width),
-					(float) (Math.random() * height), speed));
+			this.starX[i] = (float) (Math.random() * width);
+			this.starY[i] = (float) (Math.random() * height);
+			this.starSpeed[i] = (float) (Math.random() * 2.5 + 0.5);
+			this.starPhase[i] = this.random.nextInt(TWINKLE_STEPS);
 		}
 
         this.backgroundEnemies = new ArrayList<Entity>();
@@ -133,14 +135,15 @@ public class AnimatedBackground {
         }
 
 		// Animate stars in their non-rotating space
-		for (Star star : this.stars) {
-			star.baseY += star.speed;
-			if (star.baseY > this.height) {
-				star.baseY = 0;
-				star.baseX = (float) (Math.random() * this.width);
+		int twinkleStep = (int) (System.currentTimeMillis() * TWINKLE_RATE);
+		for (int i = 0; i < NUM_STARS; i++) {
+			this.starY[i] += this.starSpeed[i];
+			if (this.starY[i] > this.height) {
+				this.starY[i] = 0;
+				this.starX[i] = (float) (Math.random() * this.width);
 			}
-			// Update brightness for twinkling effect
-			star.brightness = 0.5f + (float) (Math.sin(star.brightnessOffset + System.currentTimeMillis() / 500.0) + 1.0) / 4.0f;
+			// Twinkle from the precomputed cycle
+			this.starLevel[i] = TWINKLE_LEVELS[(this.starPhase[i] + twinkleStep) & (TWINKLE_STEPS - 1)];
 		}
 
 		// Spawn and move background enemies
@@ -187,33 +190,66 @@ public class AnimatedBackground {
     }
 
     public void draw(DrawManager drawManager, Screen screen) {
+        // One rotation matrix for the whole frame
+        final double angleRad = Math.toRadians(this.currentAngle);
+        final float cosAngle = (float) Math.cos(angleRad);
+        final float sinAngle = (float) Math.sin(angleRad);
+        final float centerX = this.width / 2;
+        final float centerY = this.height / 2;
+
         // Draw stars with rotation
-		drawManager.drawStars(screen, this.stars, this.currentAngle);
+        rotate(this.starX, this.starY, NUM_STARS, cosAngle, sinAngle, centerX, centerY,
+                this.starScreenX, this.starScreenY);
+        drawManager.drawStars(screen, this.starScreenX, this.starScreenY, this.starLevel, NUM_STARS);
 
 		// Draw shooting stars with rotation
         drawManager.drawShootingStars(screen, this.shootingStars, this.currentAngle);
 
 		// Draw background enemies with rotation
-		final double angleRad = Math.toRadians(this.currentAngle);
-        final double cosAngle = Math.cos(angleRad);
-        final double sinAngle = Math.sin(angleRad);
-        final int centerX = this.width / 2;
-        final int centerY = this.height / 2;
-
 		for (Entity enemy : this.backgroundEnemies) {
 			float relX = enemy.getPositionX() - centerX;
             float relY = enemy.getPositionY() - centerY;
-
-            double rotatedX = relX * cosAngle - relY * sinAngle;
-            double rotatedY = relX * sinAngle + relY * cosAngle;
-
-            int screenX = (int) (rotatedX + centerX);
-            int screenY = (int) (rotatedY + centerY);
+            int screenX = (int) (relX * cosAngle - relY * sinAngle + centerX);
+            int screenY = (int) (relX * sinAngle + relY * cosAngle + centerY);
 
 			drawManager.drawEntity(enemy, screenX, screenY);
 		}
     }
 
+    /**
+     * Rotates points around a center, writing their screen positions.
+     *
+     * @param x
+     *            X coordinates of the points.
+     * @param y
+     *            Y coordinates of the points.
+     * @param count
+     *            Number of points.
+     * @param cos
+     *            Cosine of the rotation angle.
+     * @param sin
+     *            Sine of the rotation angle.
+     * @param centerX
+     *            X coordinate of the center.
+     * @param centerY
+     *            Y coordinate of the center.
+     * @param outX
+     *            Rotated X coordinates, truncated to pixels.
+     * @param outY
+     *            Rotated Y coordinates, truncated to pixels.
+     */
+    static void rotate(final float[] x, final float[] y, final int count,
+                       final float cos, final float sin, final float centerX, final float centerY,
+                       final int[] outX, final int[] outY) {
+        // x' = cos * x - sin * y + tx, y' = sin * x + cos * y + ty
+        final float tx = centerX - cos * centerX + sin * centerY;
+        final float ty = centerY - sin * centerX - cos * centerY;
+        for (int i = 0; i < count; i++) {
+            outX[i] = (int) (cos * x[i] - sin * y[i] + tx);
+            outY[i] = (int) (sin * x[i] + cos * y[i] + ty);
+        }
+    }
+
     public void rotateLeft() {
         this.targetAngle -= 90;
     }
@@ -3,10 +3,16 @@ package engine;
 import com.google.gson.Gson;
 import engine.dto.ActionPacket;
 import engine.dto.StatePacket;
+import engine.render.PixelObservation;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 import screen.GameScreen;
+import screen.InfiniteScreen;
+import screen.Screen;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
@@ -55,6 +61,25 @@ public class ApiServer {
         ctx.result(gson.toJson(s));
     }
 
+    /**
+     * Collects the counters of every object pool of a game.
+     */
+    private static List<Map<String, Object>> poolStats(GameSession session) {
+        List<Map<String, Object>> pools = new ArrayList<>();
+        for (ObjectPool<?> pool : session.getPools()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", pool.getName());
+            stats.put("size", pool.size());
+            stats.put("cap", pool.getCap());
+            stats.put("hits", pool.getHits());
+            stats.put("misses", pool.getMisses());
+            stats.put("dropped", pool.getDropped());
+            stats.put("highWaterMark", pool.getHighWaterMark());
+            pools.add(stats);
+        }
+        return pools;
+    }
+
     /**
      * Receives an action packet from an external client (Python, etc.)
      * and adds it to the internal action queue.
@@ -87,15 +112,21 @@ public class ApiServer {
         app.stop();
     }
 
-    public static void start(int port) {
+    /**
+     * Starts the server the game runs with. The handlers run on the server's
+     * threads, so they are handed the session instead of looking it up.
+     *
+     * @param port    Port number for the HTTP server
+     * @param session Session of the game served
+     * @return The running server
+     */
+    public static Javalin start(int port, GameSession session) {
         Gson gson = new Gson();
 
         Javalin app = Javalin.create(config -> {
             config.jsonMapper(new GsonJsonMapper(gson));
         });
 
-        app.start(8000);
-
         // Existing action endpoint
         app.post("/action", ctx -> {
             try {
@@ -108,7 +139,7 @@ public class ApiServer {
                 }
 
                 // Forward the action to the game core
-                Core.handleExternalAction(packet);
+                Core.handleExternalAction(packet, session);
 
                 ctx.json(Map.of("ok", true));
             } catch (Exception e) {
@@ -118,7 +149,7 @@ public class ApiServer {
 
         // === New endpoint: get current game state ===
         app.get("/state", ctx -> {
-            GameScreen gameScreen = Core.getCurrentGameScreen();
+            GameScreen gameScreen = Core.getCurrentGameScreen(session);
             if (gameScreen == null) {
                 ctx.status(503).result("Game screen is not active.");
                 return;
@@ -127,5 +158,57 @@ public class ApiServer {
             StatePacket state = gameScreen.buildStatePacket();
             ctx.json(state);
         });
+
+        // Occupancy grid of the running game screen, channel by channel, row by row
+        app.get("/grid", ctx -> {
+            Screen screen = session.getCurrentScreen();
+            OccupancyGrid grid = screen instanceof GameScreen ? ((GameScreen) screen).getOccupancyGrid()
+                    : screen instanceof InfiniteScreen ? ((InfiniteScreen) screen).getOccupancyGrid()
+                    : null;
+            if (grid == null) {
+                ctx.status(503).result("No occupancy grid, start a game with -D"
+                        + OccupancyGrid.ENABLED_PROPERTY + "=true.");
+                return;
+            }
+
+            byte[] cells = grid.copyPublished();
+            ctx.header("X-Grid-Channels", String.valueOf(OccupancyGrid.CHANNELS));
+            ctx.header("X-Grid-Rows", String.valueOf(grid.getRows()));
+            ctx.header("X-Grid-Columns", String.valueOf(grid.getColumns()));
+            ctx.header("X-Grid-Cell", String.valueOf(grid.getCellSize()));
+            ctx.header("X-Grid-Frame", String.valueOf(grid.getPublishCount()));
+            ctx.contentType("application/octet-stream");
+            ctx.result(cells);
+        });
+
+        // Downsampled frames, stacked oldest first, one byte per pixel
+        app.get("/observation", ctx -> {
+            GameScreen gameScreen = Core.getCurrentGameScreen(session);
+            if (gameScreen == null) {
+                ctx.status(503).result("Game screen is not active.");
+                return;
+            }
+            PixelObservation observation = gameScreen.getObservation();
+            if (observation == null) {
+                ctx.status(503).result("Pixel observations are off, start with -D"
+                        + PixelObservation.ENABLED_PROPERTY + "=true.");
+                return;
+            }
+
+            byte[] frames = observation.copyFrames();
+            ctx.header("X-Obs-Width", String.valueOf(observation.getWidth()));
+            ctx.header("X-Obs-Height", String.valueOf(observation.getHeight()));
+            ctx.header("X-Obs-Stack", String.valueOf(observation.getStack()));
+            ctx.header("X-Obs-Mode", observation.getMode().name().toLowerCase());
+            ctx.header("X-Obs-Frame", String.valueOf(observation.getFrameCount()));
+            ctx.contentType("application/octet-stream");
+            ctx.result(frames);
+        });
+
+        // Counters of the object pools, to watch hits, misses and high-water marks
+        app.get("/pools", ctx -> ctx.json(poolStats(session)));
+
+        app.start(port);
+        return app;
     }
-}
\ No newline at end of file
+}
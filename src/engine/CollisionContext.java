@@ -6,13 +6,16 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 public interface    CollisionContext {
-    Set<Bullet> getBullets();
-    Set<BossBullet> getBossBullets();
+    BulletField getBullets();
+    BossBulletList getBossBullets();
     EnemyShipFormation getEnemyShipFormation();
     EnemyShipSpecialFormation getEnemyShipSpecialFormation();
     InfiniteEnemyFormation getInfiniteEnemyFormation();
     Set<DropItem> getDropItems();
 
+    EntityRegistry getEntityRegistry();
+    void recordEnemyDamage(int enemyId, int damage);
+
     Ship getShip();
     Ship getShipP2();
 
@@ -29,7 +32,7 @@ public interface    CollisionContext {
     MidBoss getOmegaBoss();
     FinalBoss getFinalBoss();
 
-    void addPointsFor(Bullet b, int p);
+    void addPointsFor(int ownerId, int p);
     void setCoin(int c);
     int getCoin();
     void setShipsDestroyed(int v);
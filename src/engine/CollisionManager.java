@@ -1,8 +1,13 @@
 package engine;
 
+import engine.collision.BulletHits;
+import engine.collision.CollisionLayer;
+import engine.collision.CollisionMatrix;
+import engine.collision.NarrowPhase;
 import entity.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -11,22 +16,54 @@ import java.util.Set;
 public class CollisionManager {
 
     private CollisionContext context;
+    /** Layers that interact; pairs of other layers are never tested. */
+    private final CollisionMatrix matrix;
+    /** Broad-phase flags, then indices of the bullets overlapping a target. */
+    private int[] bulletCandidates = new int[0];
+    /** Exact bullet tests, parallel for large scenes. */
+    private final NarrowPhase narrowPhase = new NarrowPhase();
+    /** Targets bullets may hit this frame, see collectBulletTargets. */
+    private Entity[] targets = new Entity[64];
+    private CollisionLayer[] targetLayers = new CollisionLayer[64];
+    private int targetCount;
+    /** Target index of each player ship, -1 when absent. */
+    private int shipTarget;
+    private int shipP2Target;
+    /** Target index ranges of each formation, start inclusive. */
+    private int enemyStart;
+    private int enemyEnd;
+    private int infiniteStart;
+    private int infiniteEnd;
+    private int specialStart;
+    private int specialEnd;
+    /** Target index of each boss, -1 when absent. */
+    private int omegaTarget;
+    private int finalBossTarget;
 
     public CollisionManager(CollisionContext context) {
+        this(context, CollisionMatrix.defaults());
+    }
+
+    public CollisionManager(CollisionContext context, CollisionMatrix matrix) {
         this.context = context;
+        this.matrix = matrix;
     }
 
     public void manageCollisions() {
         manageBulletShipCollisions();
-        manageBossBulletCollisions();
-        manageShipEnemyCollisions();
-        manageItemCollisions();
+        if (this.matrix.interacts(CollisionLayer.BOSS_BULLET, CollisionLayer.PLAYER))
+            manageBossBulletCollisions();
+        if (this.matrix.interacts(CollisionLayer.PLAYER, CollisionLayer.ENEMY))
+            manageShipEnemyCollisions();
+        if (this.matrix.interacts(CollisionLayer.ITEM, CollisionLayer.PLAYER))
+            manageItemCollisions();
     }
 
     private void manageBossBulletCollisions() {
-        Set<BossBullet> bulletsToRemove = new HashSet<>();
-
-        for (BossBullet b : context.getBossBullets()) {
+        // From the end, so a hit bullet can be swapped out in place.
+        BossBulletList bossBullets = context.getBossBullets();
+        for (int i = bossBullets.size() - 1; i >= 0; i--) {
+            BossBullet b = bossBullets.get(i);
             // Collision with ship 1
             if (context.getLivesP1() > 0 && checkCollision(b, context.getShip())) {
                 if (!context.getShip().isDestroyed()) {
@@ -34,7 +71,7 @@ public class CollisionManager {
                     context.setLivesP1(context.getLivesP1() - 1);
                     context.getLogger().info("Hit on player ship, " + context.getLivesP1() + " lives remaining.");
                 }
-                bulletsToRemove.add(b);
+                bossBullets.recycle(i);
             }
             // Collision with ship 2
             else if (context.isTwoPlayerMode() && context.getShipP2() != null && context.getLivesP2() > 0 && !context.getShipP2().isDestroyed() && checkCollision(b, context.getShipP2())) {
@@ -43,21 +80,33 @@ public class CollisionManager {
                     context.setLivesP2(context.getLivesP2() - 1);
                     context.getLogger().info("Hit on player ship, " + context.getLivesP2() + " lives remaining.");
                 }
-                bulletsToRemove.add(b);
+                bossBullets.recycle(i);
             }
         }
-        context.getBossBullets().removeAll(bulletsToRemove);
     }
 
     /**
      * Manages collisions between bullets and ships.
+     * The broad phase keeps the bullets overlapping any target, the narrow
+     * phase lists the targets each of them overlaps, then consequences are
+     * applied here, one bullet at a time from the end of the field so that
+     * a hit bullet can be removed in place. Removing a bullet only moves
+     * already visited bullets, so the hits of the others stay valid.
      */
     private void manageBulletShipCollisions() {
-        Set<Bullet> recyclable = new HashSet<Bullet>();
-        for (Bullet bullet : this.context.getBullets())
-            if (bullet.getSpeed() > 0) {
-                if (this.context.getLivesP1() > 0 && checkCollision(bullet, this.context.getShip()) && this.context.isLevelFinished()) {
-                    recyclable.add(bullet);
+        BulletField bullets = this.context.getBullets();
+        collectBulletTargets();
+        int candidateCount = markBulletCandidates(bullets);
+        BulletHits hits = this.narrowPhase.run(bullets, this.bulletCandidates, candidateCount,
+                this.targets, this.targetLayers, this.targetCount, this.matrix);
+
+        for (int entry = hits.size() - 1; entry >= 0; entry--) {
+            int i = hits.bullet(entry);
+            boolean recyclable = false;
+            int owner = bullets.getOwnerId(i);
+            if (bullets.getLayer(i) == CollisionLayer.ENEMY_BULLET) {
+                if (this.context.getLivesP1() > 0 && hits.hits(entry, this.shipTarget) && this.context.isLevelFinished()) {
+                    recyclable = true;
                     if (!this.context.getShip().isInvincible()) {
                         if (!this.context.getShip().isDestroyed()) {
                             this.context.getShip().destroy();
@@ -68,8 +117,8 @@ public class CollisionManager {
                         }
                     }
                 } else if (this.context.isTwoPlayerMode() && this.context.getShipP2() != null && this.context.getLivesP2() > 0 && !this.context.getShipP2().isDestroyed()
-                        && checkCollision(bullet, this.context.getShipP2()) && this.context.isLevelFinished()) {
-                    recyclable.add(bullet);
+                        && hits.hits(entry, this.shipP2Target) && this.context.isLevelFinished()) {
+                    recyclable = true;
                     if (!this.context.getShipP2().isInvincible()) {
                         if (!this.context.getShipP2().isDestroyed()) {
                             this.context.getShipP2().destroy();
@@ -81,153 +130,272 @@ public class CollisionManager {
                     }
                 }
             } else {
-                // normal mode
-                if (this.context.getEnemyShipFormation() != null) {
-                    for (EnemyShip enemyShip : this.context.getEnemyShipFormation())
-                        if (!enemyShip.isDestroyed()
-                                && checkCollision(bullet, enemyShip)) {
-
-                            boolean beforeHit = enemyShip.getHealth() != 0;
-                            if (!bullet.checkAlreadyHit(enemyShip)) {
-                                bullet.addEnemyShip(enemyShip);
-                                enemyShip.takeDamage(1);
-                            }
-                            else
-                                break;
-                            boolean afterHit = enemyShip.getHealth() == 0;
-
-                            if (beforeHit && afterHit) {
-                                int pts = enemyShip.getPointValue();
-                                this.context.addPointsFor(bullet, pts);
-                                this.context.setCoin(this.context.getCoin() + (pts / 10));
-                                this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
-                                String enemyType = enemyShip.getEnemyType();
-                                this.context.getEnemyShipFormation().destroy(enemyShip);
-                                AchievementManager.getInstance().checkKillAchievements(this.context.getGameState());
-                                if (enemyType != null && this.context.getCurrentLevel() != null && this.context.getCurrentLevel().getItemDrops() != null) {
-                                    List<engine.level.ItemDrop> potentialDrops = new ArrayList<>();
-                                    for (engine.level.ItemDrop itemDrop : this.context.getCurrentLevel().getItemDrops()) {
-                                        if (enemyType.equals(itemDrop.getEnemyType())) {
-                                            potentialDrops.add(itemDrop);
-                                        }
-                                    }
-
-                                    List<engine.level.ItemDrop> successfulDrops = new ArrayList<>();
-                                    for (engine.level.ItemDrop itemDrop : potentialDrops) {
-                                        if (Math.random() < itemDrop.getDropChance()) {
-                                            successfulDrops.add(itemDrop);
-                                        }
-                                    }
-
-                                    if (!successfulDrops.isEmpty()) {
-                                        engine.level.ItemDrop selectedDrop = successfulDrops.get((int) (Math.random() * successfulDrops.size()));
-                                        DropItem.ItemType droppedType = DropItem.fromString(selectedDrop.getItemId());
-                                        if (droppedType != null) {
-                                            final int ITEM_DROP_SPEED = 2;
-
-                                            DropItem newDropItem = ItemPool.getItem(
-                                                    enemyShip.getPositionX() + enemyShip.getWidth() / 2,
-                                                    enemyShip.getPositionY() + enemyShip.getHeight() / 2,
-                                                    ITEM_DROP_SPEED,
-                                                    droppedType
-                                            );
-                                            this.context.getDropItems().add(newDropItem);
-                                            this.context.getLogger().info("An item (" + droppedType + ") dropped");
-                                        }
-                                    }
-                                }
-                            }
-
-                            if (!bullet.penetration()) {
-                                recyclable.add(bullet);
-                                break;
-                            }
+                // targets are grouped by kind, in the order they are resolved
+                boolean formationDone = false;
+                boolean infiniteDone = false;
+                for (int h = hits.firstHit(entry); h < hits.endHit(entry); h++) {
+                    int t = hits.target(h);
+
+                    // normal mode
+                    if (t >= this.enemyStart && t < this.enemyEnd) {
+                        EnemyShip enemyShip = (EnemyShip) this.targets[t];
+                        if (formationDone || enemyShip.isDestroyed())
+                            continue;
+
+                        boolean beforeHit = enemyShip.getHealth() != 0;
+                        int enemyId = this.context.getEntityRegistry().idOf(enemyShip);
+                        if (!bullets.checkAlreadyHit(i, enemyId)) {
+                            bullets.addHit(i, enemyId);
+                            enemyShip.takeDamage(1);
+                            this.context.recordEnemyDamage(enemyId, 1);
+                        } else {
+                            formationDone = true;
+                            continue;
                         }
-                }
+                        boolean afterHit = enemyShip.getHealth() == 0;
 
-                // inf mode
-                if (this.context.getInfiniteEnemyFormation() != null) {
-                    for (InfiniteEnemyShip infiniteEnemy : this.context.getInfiniteEnemyFormation()) {
-                        if (!infiniteEnemy.isDestroyed() && checkCollision(bullet, infiniteEnemy)) {
-                            infiniteEnemy.takeDamage(1);
-
-                            if (infiniteEnemy.isDestroyed()) {
-                                int pts = infiniteEnemy.getPointValue();
-                                this.context.addPointsFor(bullet, pts);
-                                this.context.setCoin(this.context.getCoin() + (pts / 10));
-                                this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
-                                AchievementManager.getInstance().checkKillAchievements(this.context.getGameState());
-                                this.context.getLogger().info("Infinite enemy destroyed! Points: " + pts);
-
-                                // inf mode item drop
-                                if (Math.random() < 0.15) {
-                                    DropItem.ItemType droppedType = DropItem.ItemType.selectItemType();
-                                    if (droppedType != null) {
-                                        final int ITEM_DROP_SPEED = 2;
-                                        DropItem newDropItem = ItemPool.getItem(
-                                                infiniteEnemy.getPositionX() + infiniteEnemy.getWidth() / 2,
-                                                infiniteEnemy.getPositionY() + infiniteEnemy.getHeight() / 2,
-                                                ITEM_DROP_SPEED,
-                                                droppedType
-                                        );
-                                        this.context.getDropItems().add(newDropItem);
-                                        this.context.getLogger().info("Infinite mode: An item (" + droppedType + ") dropped");
-                                    }
-                                }
-                            }
+                        if (beforeHit && afterHit) {
+                            int pts = enemyShip.getPointValue();
+                            this.context.addPointsFor(owner, pts);
+                            this.context.setCoin(this.context.getCoin() + (pts / 10));
+                            this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
+                            String enemyType = enemyShip.getEnemyType();
+                            this.context.getEnemyShipFormation().destroy(enemyShip);
+                            AchievementManager.getInstance().checkKillAchievements(this.context.getGameState());
+                            dropLevelItem(enemyShip, enemyType);
+                        }
 
-                            if (!bullet.penetration()) {
-                                recyclable.add(bullet);
-                                break;
-                            }
+                        if (!bullets.penetration(i)) {
+                            recyclable = true;
+                            formationDone = true;
                         }
                     }
-                }
 
-                // special enemy bullet event
-                if (this.context.getEnemyShipSpecialFormation() != null) {
-                    for (EnemyShip enemyShipSpecial : this.context.getEnemyShipSpecialFormation())
-                        if (enemyShipSpecial != null && !enemyShipSpecial.isDestroyed()
-                                && checkCollision(bullet, enemyShipSpecial)) {
-                            int pts = enemyShipSpecial.getPointValue();
-                            this.context.addPointsFor(bullet, pts);
+                    // inf mode
+                    else if (t >= this.infiniteStart && t < this.infiniteEnd) {
+                        InfiniteEnemyShip infiniteEnemy = (InfiniteEnemyShip) this.targets[t];
+                        if (infiniteDone || infiniteEnemy.isDestroyed())
+                            continue;
+
+                        infiniteEnemy.takeDamage(1);
+                        this.context.recordEnemyDamage(this.context.getEntityRegistry().idOf(infiniteEnemy), 1);
+
+                        if (infiniteEnemy.isDestroyed()) {
+                            int pts = infiniteEnemy.getPointValue();
+                            this.context.addPointsFor(owner, pts);
                             this.context.setCoin(this.context.getCoin() + (pts / 10));
                             this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
-                            this.context.getEnemyShipSpecialFormation().destroy(enemyShipSpecial);
-                            recyclable.add(bullet);
+                            AchievementManager.getInstance().checkKillAchievements(this.context.getGameState());
+                            this.context.getLogger().info("Infinite enemy destroyed! Points: " + pts);
+                            dropInfiniteItem(infiniteEnemy);
                         }
-                }
 
-                if (this.context.getOmegaBoss() != null
-                        && !this.context.getOmegaBoss().isDestroyed()
-                        && checkCollision(bullet, this.context.getOmegaBoss())) {
-                    this.context.getOmegaBoss().takeDamage(2);
-                    if(this.context.getOmegaBoss().getHealPoint() <= 0) {
-                        this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
-                        int pts = this.context.getOmegaBoss().getPointValue();
-                        this.context.addPointsFor(bullet, pts);
-                        this.context.setCoin(this.context.getCoin() + (pts / 10));
-                        this.context.getOmegaBoss().destroy();
-                        AchievementManager.getInstance().unlockAchievement("Boss Slayer");
+                        if (!bullets.penetration(i)) {
+                            recyclable = true;
+                            infiniteDone = true;
+                        }
                     }
-                    recyclable.add(bullet);
-                }
 
-                /** when final boss collide with bullet */
-                if(this.context.getFinalBoss() != null && !this.context.getFinalBoss().isDestroyed() && checkCollision(bullet,this.context.getFinalBoss())){
-                    this.context.getFinalBoss().takeDamage(1);
-                    if(this.context.getFinalBoss().getHealPoint() <= 0){
-                        int pts = this.context.getFinalBoss().getPointValue();
-                        this.context.addPointsFor(bullet, pts);
+                    // special enemy bullet event
+                    else if (t >= this.specialStart && t < this.specialEnd) {
+                        EnemyShip enemyShipSpecial = (EnemyShip) this.targets[t];
+                        if (enemyShipSpecial.isDestroyed())
+                            continue;
+                        int pts = enemyShipSpecial.getPointValue();
+                        this.context.addPointsFor(owner, pts);
                         this.context.setCoin(this.context.getCoin() + (pts / 10));
-                        this.context.getFinalBoss().destroy();
-                        AchievementManager.getInstance().unlockAchievement("Boss Slayer");
+                        this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
+                        this.context.getEnemyShipSpecialFormation().destroy(enemyShipSpecial);
+                        recyclable = true;
+                    }
+
+                    else if (t == this.omegaTarget) {
+                        MidBoss omegaBoss = this.context.getOmegaBoss();
+                        if (omegaBoss.isDestroyed())
+                            continue;
+                        omegaBoss.takeDamage(2);
+                        this.context.recordEnemyDamage(this.context.getEntityRegistry().idOf(omegaBoss), 2);
+                        if(omegaBoss.getHealPoint() <= 0) {
+                            this.context.setShipsDestroyed(this.context.getShipsDestroyed() + 1);
+                            int pts = omegaBoss.getPointValue();
+                            this.context.addPointsFor(owner, pts);
+                            this.context.setCoin(this.context.getCoin() + (pts / 10));
+                            omegaBoss.destroy();
+                            AchievementManager.getInstance().unlockAchievement("Boss Slayer");
+                        }
+                        recyclable = true;
+                    }
+
+                    /** when final boss collide with bullet */
+                    else if (t == this.finalBossTarget) {
+                        FinalBoss finalBoss = this.context.getFinalBoss();
+                        if (finalBoss.isDestroyed())
+                            continue;
+                        finalBoss.takeDamage(1);
+                        this.context.recordEnemyDamage(this.context.getEntityRegistry().idOf(finalBoss), 1);
+                        if(finalBoss.getHealPoint() <= 0){
+                            int pts = finalBoss.getPointValue();
+                            this.context.addPointsFor(owner, pts);
+                            this.context.setCoin(this.context.getCoin() + (pts / 10));
+                            finalBoss.destroy();
+                            AchievementManager.getInstance().unlockAchievement("Boss Slayer");
+                        }
+                        recyclable = true;
                     }
-                    recyclable.add(bullet);
                 }
             }
-        this.context.getBullets().removeAll(recyclable);
-        BulletPool.recycle(recyclable);
+            if (recyclable)
+                bullets.remove(i);
+        }
+    }
+
+    /**
+     * Drops an item configured by the level for a destroyed enemy.
+     *
+     * @param enemyShip
+     *            Destroyed enemy.
+     * @param enemyType
+     *            Type of the enemy, read before it was destroyed.
+     */
+    private void dropLevelItem(final EnemyShip enemyShip, final String enemyType) {
+        if (enemyType == null || this.context.getCurrentLevel() == null || this.context.getCurrentLevel().getItemDrops() == null)
+            return;
+        List<engine.level.ItemDrop> potentialDrops = new ArrayList<>();
+        for (engine.level.ItemDrop itemDrop : this.context.getCurrentLevel().getItemDrops()) {
+            if (enemyType.equals(itemDrop.getEnemyType())) {
+                potentialDrops.add(itemDrop);
+            }
+        }
+
+        List<engine.level.ItemDrop> successfulDrops = new ArrayList<>();
+        for (engine.level.ItemDrop itemDrop : potentialDrops) {
+            if (Math.random() < itemDrop.getDropChance()) {
+                successfulDrops.add(itemDrop);
+            }
+        }
+
+        if (!successfulDrops.isEmpty()) {
+            engine.level.ItemDrop selectedDrop = successfulDrops.get((int) (Math.random() * successfulDrops.size()));
+            DropItem.ItemType droppedType = DropItem.fromString(selectedDrop.getItemId());
+            if (droppedType != null) {
+                final int ITEM_DROP_SPEED = 2;
+
+                DropItem newDropItem = ItemPool.getItem(
+                        enemyShip.getPositionX() + enemyShip.getWidth() / 2,
+                        enemyShip.getPositionY() + enemyShip.getHeight() / 2,
+                        ITEM_DROP_SPEED,
+                        droppedType
+                );
+                this.context.getDropItems().add(newDropItem);
+                this.context.getLogger().info("An item (" + droppedType + ") dropped");
+            }
+        }
+    }
+
+    /**
+     * Randomly drops an item for a destroyed infinite mode enemy.
+     *
+     * @param infiniteEnemy
+     *            Destroyed enemy.
+     */
+    private void dropInfiniteItem(final InfiniteEnemyShip infiniteEnemy) {
+        if (Math.random() < 0.15) {
+            DropItem.ItemType droppedType = DropItem.ItemType.selectItemType();
+            if (droppedType != null) {
+                final int ITEM_DROP_SPEED = 2;
+                DropItem newDropItem = ItemPool.getItem(
+                        infiniteEnemy.getPositionX() + infiniteEnemy.getWidth() / 2,
+                        infiniteEnemy.getPositionY() + infiniteEnemy.getHeight() / 2,
+                        ITEM_DROP_SPEED,
+                        droppedType
+                );
+                this.context.getDropItems().add(newDropItem);
+                this.context.getLogger().info("Infinite mode: An item (" + droppedType + ") dropped");
+            }
+        }
+    }
+
+    /**
+     * Registers once, with its collision layer, every target bullets may hit
+     * this frame, grouped by kind in the order manageBulletShipCollisions
+     * resolves them. Targets already destroyed cannot come back during the
+     * frame and are left out.
+     */
+    private void collectBulletTargets() {
+        this.targetCount = 0;
+        this.shipTarget = this.context.getShip() != null
+                ? addTarget(this.context.getShip(), CollisionLayer.PLAYER) : -1;
+        this.shipP2Target = this.context.getShipP2() != null
+                ? addTarget(this.context.getShipP2(), CollisionLayer.PLAYER) : -1;
+
+        this.enemyStart = this.targetCount;
+        EnemyShipFormation formation = this.context.getEnemyShipFormation();
+        if (formation != null)
+            for (int slot = 0; slot < formation.getSlotCount(); slot++)
+                if (formation.isAlive(slot))
+                    addTarget(formation.getShip(slot), CollisionLayer.ENEMY);
+        this.enemyEnd = this.targetCount;
+
+        this.infiniteStart = this.targetCount;
+        if (this.context.getInfiniteEnemyFormation() != null)
+            for (InfiniteEnemyShip infiniteEnemy : this.context.getInfiniteEnemyFormation())
+                if (!infiniteEnemy.isDestroyed())
+                    addTarget(infiniteEnemy, CollisionLayer.ENEMY);
+        this.infiniteEnd = this.targetCount;
+
+        this.specialStart = this.targetCount;
+        if (this.context.getEnemyShipSpecialFormation() != null)
+            for (EnemyShip enemyShipSpecial : this.context.getEnemyShipSpecialFormation())
+                if (enemyShipSpecial != null && !enemyShipSpecial.isDestroyed())
+                    addTarget(enemyShipSpecial, CollisionLayer.ENEMY);
+        this.specialEnd = this.targetCount;
+
+        this.omegaTarget = this.context.getOmegaBoss() != null && !this.context.getOmegaBoss().isDestroyed()
+                ? addTarget(this.context.getOmegaBoss(), CollisionLayer.ENEMY) : -1;
+        this.finalBossTarget = this.context.getFinalBoss() != null && !this.context.getFinalBoss().isDestroyed()
+                ? addTarget(this.context.getFinalBoss(), CollisionLayer.ENEMY) : -1;
+    }
+
+    private int addTarget(final Entity target, final CollisionLayer layer) {
+        if (this.targetCount == this.targets.length) {
+            this.targets = Arrays.copyOf(this.targets, this.targetCount * 2);
+            this.targetLayers = Arrays.copyOf(this.targetLayers, this.targetCount * 2);
+        }
+        this.targets[this.targetCount] = target;
+        this.targetLayers[this.targetCount] = layer;
+        return this.targetCount++;
+    }
+
+    /**
+     * Broad phase of the bullet collisions: keeps every bullet overlapping
+     * at least one target of a layer it interacts with.
+     *
+     * @param bullets
+     *            Bullets of this frame.
+     * @return Number of candidates, stored in ascending order at the start
+     *         of bulletCandidates.
+     */
+    private int markBulletCandidates(final BulletField bullets) {
+        int size = bullets.size();
+        if (this.bulletCandidates.length < size)
+            this.bulletCandidates = new int[Math.max(size, this.bulletCandidates.length * 2)];
+        int[] candidates = this.bulletCandidates;
+        Arrays.fill(candidates, 0, size, 0);
+        if (size == 0)
+            return 0;
+
+        int bulletLayers = CollisionLayer.PLAYER_BULLET.mask() | CollisionLayer.ENEMY_BULLET.mask();
+        for (int t = 0; t < this.targetCount; t++) {
+            int layerMask = this.matrix.mask(this.targetLayers[t]) & bulletLayers;
+            if (layerMask != 0)
+                bullets.markOverlaps(this.targets[t], layerMask, candidates);
+        }
+
+        int count = 0;
+        for (int i = 0; i < size; i++)
+            if (candidates[i] != 0)
+                candidates[count++] = i;
+        return count;
     }
 
     /**
@@ -428,7 +596,7 @@ public class CollisionManager {
                                     }
                                 }
                             }
-                            this.context.addPointsFor(null, pts);
+                            this.context.addPointsFor(BulletField.OWNER_P1, pts);
                             this.context.setCoin(this.context.getCoin() + (pts / 10));
                             break;
                         case Slow:
@@ -479,7 +647,7 @@ public class CollisionManager {
                                     }
                                 }
                             }
-                            this.context.addPointsFor(null, pts2);
+                            this.context.addPointsFor(BulletField.OWNER_P1, pts2);
                             this.context.setCoin(this.context.getCoin() + (pts2 / 10));
                             break;
                         case Slow:
@@ -2,6 +2,8 @@ package engine;
 
 /**
  * Imposes a cooldown period between two actions.
+ * Cooldowns created with a TimerWheel are flagged by the wheel when they
+ * finish instead of reading the clock on every check.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -16,6 +18,10 @@ public class Cooldown {
 	private int duration;
 	/** Beginning time. */
 	private long time;
+	/** Wheel timing the cooldown, null to read the clock. */
+	private TimerWheel wheel;
+	/** Timer of the current run on the wheel, null before the first run. */
+	private TimerWheel.Timeout timeout;
 
 	/**
 	 * Constructor, established the time until the action can be performed
@@ -46,12 +52,32 @@ public class Cooldown {
 		this.time = 0;
 	}
 
+	/**
+	 * Constructor, established the time until the action can be performed
+	 * again, with a variation of +/- variance, timed by a wheel.
+	 * 
+	 * @param milliseconds
+	 *            Time until cooldown period is finished.
+	 * @param variance
+	 *            Variance in the cooldown period.
+	 * @param wheel
+	 *            Wheel timing the cooldown.
+	 */
+	protected Cooldown(final int milliseconds, final int variance,
+			final TimerWheel wheel) {
+		this(milliseconds, variance);
+		this.duration = milliseconds;
+		this.wheel = wheel;
+	}
+
 	/**
 	 * Checks if the cooldown is finished.
 	 * 
 	 * @return Cooldown state.
 	 */
 	public final boolean checkFinished() {
+		if (this.wheel != null)
+			return this.timeout == null || this.timeout.isExpired();
 		if ((this.time == 0)
 				|| this.time + this.duration < System.currentTimeMillis())
 			return true;
@@ -62,11 +88,14 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = this.wheel != null ? this.wheel.now()
+				: System.currentTimeMillis();
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
 					+ (int) (Math.random()
 							* (this.milliseconds + this.variance));
+		if (this.wheel != null)
+			schedule(this.duration + 1);
 	}
 
 	/**
@@ -78,5 +107,21 @@ public class Cooldown {
 	public final void setMilliseconds(final int milliseconds) {
 		this.milliseconds = milliseconds;
 		this.duration = milliseconds;
+		if (this.wheel != null && this.timeout != null
+				&& this.timeout.isPending())
+			schedule(this.time + this.duration + 1 - this.wheel.now());
+	}
+
+	/**
+	 * Schedules the end of the current run on the wheel.
+	 *
+	 * @param delay
+	 *            Time until the run ends.
+	 */
+	private void schedule(final long delay) {
+		if (this.timeout == null)
+			this.timeout = this.wheel.schedule(delay, null);
+		else
+			this.wheel.reschedule(this.timeout, delay);
 	}
 }
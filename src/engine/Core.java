@@ -3,6 +3,7 @@ package engine;
 import audio.SoundManager;
 import engine.dto.ActionPacket;
 import engine.level.LevelManager;
+import engine.render.FrameRecorder;
 import entity.ShopItem;
 import screen.*;
 
@@ -31,8 +32,6 @@ public final class Core {
 
 	/** Frame to draw the screen on. */
 	private static Frame frame;
-	/** Screen currently shown. */
-	private static Screen currentScreen;
 	/** Level manager for loading level settings. */
 	private static LevelManager levelManager;
 	/** Application logger. */
@@ -41,10 +40,6 @@ public final class Core {
 	private static Handler fileHandler;
 	/** Logger handler for printing to console. */
 	private static ConsoleHandler consoleHandler;
-    /** True if AI is controlling */
-    public static boolean isAIMode = false;
-    /** True if AI training */
-    public static boolean isAITraining = false;
     /** True if ai_controller.py is running */
     public static Process aiProcess = null;
     /** Currently logged-in user. */
@@ -76,7 +71,9 @@ public final class Core {
 			e.printStackTrace();
 		}
 
-        ApiServer.start(8000); // start http server
+        // Claims the default session for this thread before the server threads start
+        GameSession session = GameSession.current();
+        ApiServer.start(8000, session); // start http server
 
         // Add shutdown hook to ensure AI process is terminated on unexpected exits
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
@@ -88,10 +85,15 @@ public final class Core {
 
         frame = new Frame(WIDTH, HEIGHT);
 		DrawManager.getInstance().setFrame(frame);
+        // Flush the recording on every exit, System.exit included.
+        FrameRecorder recorder = DrawManager.getRecorder();
+        if (recorder != null)
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::close));
 		int width = frame.getWidth();
 		int height = frame.getHeight();
 
 		levelManager = new LevelManager();
+		Screen currentScreen = null;
 		GameState gameState;
 		boolean isTwoPlayerMode = false;
 
@@ -118,7 +120,7 @@ public final class Core {
                     break;
                 case 2: // 1p mode
 					isTwoPlayerMode = false;
-					gameState = new GameState(1, 0, MAX_LIVES, 0, 0, 0,0, isTwoPlayerMode, isAIMode);
+					gameState = new GameState(1, 0, MAX_LIVES, 0, 0, 0,0, isTwoPlayerMode, session.isAIMode());
                     do {
                         // One extra life every few levels
                         boolean bonusLife = gameState.getLevel()
@@ -179,7 +181,7 @@ public final class Core {
                                     gameState.getShipsDestroyed(),     // Keep ships destroyed
                                     gameState.getCoin(),                // Keep current coins
 									isTwoPlayerMode,
-                                    isAIMode
+                                    session.isAIMode()
                             );
                         }
                         // Loop while player still has lives and levels remaining
@@ -245,7 +247,7 @@ public final class Core {
                     break;
                 case 4:
                     // Shop opened manually from main menu
-					gameState = new GameState(1, 0, MAX_LIVES,MAX_LIVES, 0, 0, 0, isTwoPlayerMode, isAIMode);
+					gameState = new GameState(1, 0, MAX_LIVES,MAX_LIVES, 0, 0, 0, isTwoPlayerMode, session.isAIMode());
                     currentScreen = new ShopScreen(gameState, width, height, FPS, false);
                     LOGGER.info("Starting shop screen (menu) with " + gameState.getCoin() + " coins.");
                     returnCode = frame.setScreen(currentScreen);
@@ -253,7 +255,7 @@ public final class Core {
                     break;
                 case 5:
                     // AI Mode
-                    isAIMode = true;
+                    session.setAIMode(true);
                     isTwoPlayerMode = true;
 
                     try {
@@ -277,7 +279,7 @@ public final class Core {
 //                        System.out.println("[AI] ai_controller.py started.");
 
 
-                        gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0, 0, isTwoPlayerMode, isAIMode);
+                        gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0, 0, isTwoPlayerMode, session.isAIMode());
 
                         do {
                             // One extra life every few levels
@@ -335,7 +337,7 @@ public final class Core {
                                         gameState.getShipsDestroyed(),
                                         gameState.getCoin(),
                                         isTwoPlayerMode,
-                                        isAIMode
+                                        session.isAIMode()
                                 );
                             }
 
@@ -345,7 +347,7 @@ public final class Core {
                         SoundManager.stopAll();
                         SoundManager.play("sfx/gameover.wav");
 
-                        if (!isAITraining) {
+                        if (!session.isAITraining()) {
                             LOGGER.info("Starting " + WIDTH + "x" + HEIGHT
                                     + " score screen at " + FPS + " fps, with a score of "
                                     + gameState.getScore() + ", "
@@ -368,7 +370,7 @@ public final class Core {
                     } catch (Exception e) {
                         e.printStackTrace();
                         System.out.println("[AI] Failed to start ai_controller.py");
-                        isAIMode = false;
+                        session.setAIMode(false);
                         returnCode = 1; // return to main menu, prevent infinite loop
                     }
                     if (aiProcess != null) {
@@ -388,9 +390,9 @@ public final class Core {
                     break;
 				case 7:
                     // 2P Mode
-                    isAIMode = false;
+                    session.setAIMode(false);
 					isTwoPlayerMode = true;
-					gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0,0, isTwoPlayerMode, isAIMode);
+					gameState = new GameState(1, 0, MAX_LIVES, MAX_LIVES, 0, 0,0, isTwoPlayerMode, session.isAIMode());
 					do {
 						// One extra life every few levels
 						boolean bonusLife = gameState.getLevel()
@@ -453,7 +455,7 @@ public final class Core {
 									gameState.getShipsDestroyed(),     // Keep ships destroyed
 									gameState.getCoin(),                // Keep current coins
 									isTwoPlayerMode,
-                                    isAIMode
+                                    session.isAIMode()
 							);
 						}
 						// Loop while player still has lives and levels remaining
@@ -479,7 +481,7 @@ public final class Core {
 					break;
 				case 9:
 					isTwoPlayerMode = false;
-					gameState = new GameState(1, 0, MAX_LIVES, 0, 0, 0, 0, isTwoPlayerMode, isAIMode);
+					gameState = new GameState(1, 0, MAX_LIVES, 0, 0, 0, 0, isTwoPlayerMode, session.isAIMode());
 
 					SoundManager.stopAll();
 					SoundManager.playLoop("sfx/level1.wav");
@@ -565,6 +567,9 @@ public final class Core {
 	 * @return A new cooldown.
 	 */
 	public static Cooldown getCooldown(final int milliseconds) {
+		TimerWheel timerWheel = GameSession.current().getTimerWheel();
+		if (timerWheel != null)
+			return new Cooldown(milliseconds, 0, timerWheel);
 		return new Cooldown(milliseconds);
 	}
 
@@ -579,6 +584,9 @@ public final class Core {
 	 */
 	public static Cooldown getVariableCooldown(final int milliseconds,
 			final int variance) {
+		TimerWheel timerWheel = GameSession.current().getTimerWheel();
+		if (timerWheel != null)
+			return new Cooldown(milliseconds, variance, timerWheel);
 		return new Cooldown(milliseconds, variance);
 	}
 
@@ -604,15 +612,15 @@ public final class Core {
      * Movement is represented as axis values and shoot flag.
      *
      * @param packet ActionPacket received from external controller (Python).
+     * @param session Session of the game the action is for.
      */
-    public static void handleExternalAction(final ActionPacket packet) {
+    public static void handleExternalAction(final ActionPacket packet, final GameSession session) {
         // Only handle actions when the current screen is a game screen.
-        if (!(currentScreen instanceof GameScreen)) {
+        GameScreen gameScreen = getCurrentGameScreen(session);
+        if (gameScreen == null) {
             return;
         }
 
-        GameScreen gameScreen = (GameScreen) currentScreen;
-
         // Map axis-based movement and attack to the game screen.
         gameScreen.handleExternalAction(
                 packet.moveX,  // -1: left, 0: none, 1: right
@@ -620,7 +628,8 @@ public final class Core {
                 packet.shoot       // true: shoot, false: no shoot
         );
     }
-    public static GameScreen getCurrentGameScreen(){
+    public static GameScreen getCurrentGameScreen(final GameSession session){
+        Screen currentScreen = session.getCurrentScreen();
         if  (currentScreen instanceof GameScreen) {
             return (GameScreen) currentScreen;
         }
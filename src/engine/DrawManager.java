@@ -5,7 +5,9 @@ import java.awt.Font;
 import java.awt.FontFormatException;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Insets;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -15,14 +17,15 @@ import java.util.logging.Logger;
 
 import entity.Entity;
 import entity.FinalBoss;
-import entity.Ship;
+import entity.ParticleField;
 import engine.Achievement;
 import screen.CreditScreen;
 import screen.GameScreen;
 import screen.Screen;
 import engine.Score;
-import engine.AnimatedBackground.Star;
 import engine.AnimatedBackground.ShootingStar;
+import engine.render.FrameRecorder;
+import engine.render.RenderSnapshot;
 
 /**
  * Manages screen drawing.
@@ -40,12 +43,25 @@ public final class DrawManager {
 	private static FileManager fileManager;
 	/** Application logger. */
 	private static final Logger logger = Core.getLogger();
-	/** Graphics context. */
+	/** Graphics context, used when frames are blitted directly. */
 	private static Graphics graphics;
+	/** Presents frames through a buffer strategy, null to blit directly. */
+	private static FramePresenter presenter;
 	/** Buffer Graphics. */
 	private static Graphics backBufferGraphics;
 	/** Buffer image. */
 	private static BufferedImage backBuffer;
+	/** Pixels of the buffer image, written directly by the starfield. */
+	private static int[] backBufferPixels;
+	/** Records the finished frames, null when not recording. */
+	private static FrameRecorder recorder;
+	/** Gray RGB value of each level, 0 black to 255 white. */
+	private static final int[] GRAYSCALE = new int[256];
+
+	static {
+		for (int level = 0; level < GRAYSCALE.length; level++)
+			GRAYSCALE[level] = level << 16 | level << 8 | level;
+	}
 	/** Normal sized font. */
 	private static Font fontRegular;
 	/** Normal sized font properties. */
@@ -61,6 +77,8 @@ public final class DrawManager {
 
 	/** Sprite types mapped to their images. */
 	private static Map<SpriteType, boolean[][]> spriteMap;
+	/** Sprites rasterized per color, drawn with one blit each. */
+	private static final SpriteCache spriteCache = new SpriteCache(SpriteCache.DEFAULT_CAPACITY);
 
 //	public void drawBossHealthBar(GameScreen gameScreen, String omega, int healPoint, int maxHp) {
 //	}
@@ -139,47 +157,186 @@ public final class DrawManager {
 	 * Sets the frame to draw the image on.
 	 */
 	public void setFrame(final Frame currentFrame) {
+		if (frame != currentFrame) {
+			if (graphics != null) {
+				graphics.dispose();
+				graphics = null;
+			}
+			if (presenter != null) {
+				presenter.dispose();
+				presenter = null;
+			}
+		}
 		frame = currentFrame;
+		if (presenter == null) {
+			presenter = FramePresenter.fromProperties(currentFrame);
+			// Frames are rendered actively, Swing must not paint over them.
+			if (presenter != null)
+				currentFrame.setIgnoreRepaint(true);
+		}
+		if (recorder == null)
+			recorder = FrameRecorder.fromProperties();
+	}
+
+	/**
+	 * Getter for the recorder of the frames.
+	 *
+	 * @return Recorder, null when not recording.
+	 */
+	public static FrameRecorder getRecorder() {
+		return recorder;
 	}
 
 	/**
-	 * First part of the drawing process.
+	 * Getter for the presenter of the frames.
+	 *
+	 * @return Presenter, null when frames are blitted directly.
+	 */
+	public static FramePresenter getPresenter() {
+		return presenter;
+	}
+
+	/**
+	 * First part of the drawing process. The back buffer, its graphics and
+	 * the font metrics live across frames, and are only created again when
+	 * the screen size changes.
 	 */
 	public void initDrawing(final Screen screen) {
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
+		int width = screen.getWidth();
+		int height = screen.getHeight();
+		if (backBuffer == null || backBuffer.getWidth() != width
+				|| backBuffer.getHeight() != height) {
+			if (backBufferGraphics != null)
+				backBufferGraphics.dispose();
+			backBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			backBufferGraphics = backBuffer.getGraphics();
+			backBufferPixels = ((DataBufferInt) backBuffer.getRaster().getDataBuffer()).getData();
+
+			fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
+			fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
+			fontSmallMetrics = backBufferGraphics.getFontMetrics(fontSmall);
+		}
 
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		if (presenter == null && graphics == null)
+			graphics = frame.getGraphics();
+		spriteCache.setGraphicsConfiguration(frame.getGraphicsConfiguration());
 
 		backBufferGraphics.setColor(Color.BLACK);
-		backBufferGraphics.fillRect(0, 0, screen.getWidth(), screen.getHeight());
-
-		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
-		fontSmallMetrics = backBufferGraphics.getFontMetrics(fontSmall);
+		backBufferGraphics.fillRect(0, 0, width, height);
 	}
 
 	/**
 	 * Draws the completed drawing on screen.
 	 */
 	public void completeDrawing(final Screen screen) {
-		graphics.drawImage(backBuffer, frame.getInsets().left,
-				frame.getInsets().top, frame);
+		Insets insets = frame.getInsets();
+		if (presenter != null)
+			presenter.present(backBuffer, insets.left, insets.top);
+		else if (graphics != null)
+			graphics.drawImage(backBuffer, insets.left, insets.top, frame);
+		if (recorder != null)
+			recorder.capture(backBufferPixels, backBuffer.getWidth(), backBuffer.getHeight());
 	}
 
 	/**
 	 * Draws an entity.
 	 */
 	public void drawEntity(final Entity entity, final int positionX, final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
-		backBufferGraphics.setColor(entity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(positionX + i * 2, positionY + j * 2, 1, 1);
+		drawSprite(entity.getSpriteType(), entity.getColor(), positionX, positionY);
+	}
 
+	/**
+	 * Draws a sprite that is not backed by an entity.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the sprite.
+	 * @param positionY
+	 *            Coordinates for the upper side of the sprite.
+	 */
+	public void drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		boolean[][] image = spriteMap.get(spriteType);
+		backBufferGraphics.drawImage(spriteCache.get(spriteType, color, image),
+				positionX, positionY, null);
+	}
 
+	/**
+	 * Draws the explosion and hit particles, one batch per palette color so
+	 * each color is set once per frame.
+	 *
+	 * @param particles
+	 *            Particles to draw.
+	 */
+	public void drawParticles(final ParticleField particles) {
+		int count = particles.size();
+		int used = 0;
+		for (int i = 0; i < count; i++)
+			used |= 1 << particles.getColorIndex(i);
+		while (used != 0) {
+			int colorIndex = Integer.numberOfTrailingZeros(used);
+			used &= used - 1;
+			backBufferGraphics.setColor(particles.getPaletteColor(colorIndex));
+			for (int i = 0; i < count; i++) {
+				if (particles.getColorIndex(i) != colorIndex)
+					continue;
+				int side = particles.getParticleSize(i);
+				backBufferGraphics.fillRect(particles.getPositionX(i),
+						particles.getPositionY(i), side, side);
+			}
+		}
+	}
+
+	/**
+	 * Draws the particles copied into a render snapshot, setting the color
+	 * only when it changes.
+	 *
+	 * @param snapshot
+	 *            Snapshot holding the particles.
+	 */
+	public void drawParticles(final RenderSnapshot snapshot) {
+		Color current = null;
+		for (int i = 0; i < snapshot.getParticleCount(); i++) {
+			Color color = snapshot.getParticleColor(i);
+			if (color != current) {
+				backBufferGraphics.setColor(color);
+				current = color;
+			}
+			int side = snapshot.getParticleSize(i);
+			backBufferGraphics.fillRect(snapshot.getParticleX(i),
+					snapshot.getParticleY(i), side, side);
+		}
+	}
+
+	/**
+	 * Blits a cached interface layer, painting it first when one of its bound
+	 * values changed. While painting, every draw call goes to the layer.
+	 *
+	 * @param screen
+	 *            Screen the layer belongs to.
+	 * @param layer
+	 *            Layer to draw.
+	 * @param painter
+	 *            Paints the interface into the layer.
+	 */
+	public void drawLayer(final Screen screen, final HudLayer layer,
+			final HudLayer.Painter painter) {
+		int width = screen.getWidth();
+		int height = screen.getHeight();
+		if (layer.needsRepaint(width, height)) {
+			Graphics frameGraphics = backBufferGraphics;
+			backBufferGraphics = layer.beginRepaint(width, height);
+			try {
+				painter.paint(this, layer);
+			} finally {
+				backBufferGraphics = frameGraphics;
+			}
+			layer.endRepaint();
+		}
+		backBufferGraphics.drawImage(layer.getImage(), 0, 0, null);
 	}
 
 	/**
@@ -235,9 +392,8 @@ public final class DrawManager {
 		backBufferGraphics.setColor(Color.WHITE);
 		// backBufferGraphics.drawString("P1:" + Integer.toString(lives), 10, 25);
 		backBufferGraphics.drawString("P1:", 15, 25);
-		Ship dummyShip = new Ship(0, 0,Color.green);
 		for (int i = 0; i < lives; i++)
-			drawEntity(dummyShip, 40 + 35 * i, 10);
+			drawSprite(SpriteType.Ship, Color.green, 40 + 35 * i, 10);
 	}
 
 	public void drawLivesP2(final Screen screen, final int lives) {
@@ -246,9 +402,8 @@ public final class DrawManager {
 		// backBufferGraphics.drawString("P2:" + Integer.toString(lives), 10, 40);
 		backBufferGraphics.drawString("P2:", 15, 40);
 
-		Ship dummyShip = new Ship(0, 0,Color.pink);
 		for (int i = 0; i < lives; i++) {
-			drawEntity(dummyShip, 40 + 35 * i, 30);
+			drawSprite(SpriteType.Ship, Color.pink, 40 + 35 * i, 30);
 		}
 	}
 
@@ -768,41 +923,34 @@ public final class DrawManager {
 	}
 
 	/**
-	 * Draws the starfield background.
+	 * Draws the starfield background by writing its pixels straight into the
+	 * back buffer, gray levels taken from a precomputed palette.
 	 *
 	 * @param screen
 	 *            Screen to draw on.
-	 * @param stars
-	 *            List of stars to draw.
-	 * @param angle
-	 *            Current rotation angle.
-	 */
-	public void drawStars(final Screen screen, final List<Star> stars, final float angle) {
-		final int centerX = screen.getWidth() / 2;
-		final int centerY = screen.getHeight() / 2;
-		final double angleRad = Math.toRadians(angle);
-		final double cosAngle = Math.cos(angleRad);
-		final double sinAngle = Math.sin(angleRad);
-
-		for (Star star : stars) {
-			float relX = star.baseX - centerX;
-			float relY = star.baseY - centerY;
-
-			double rotatedX = relX * cosAngle - relY * sinAngle;
-			double rotatedY = relX * sinAngle + relY * cosAngle;
-
-			int screenX = (int) (rotatedX + centerX);
-			int screenY = (int) (rotatedY + centerY);
-
-			// Use star's brightness to set its color for twinkling effect
-			float b = star.brightness;
-			if (b < 0) b = 0;
-			if (b > 1) b = 1;
-			backBufferGraphics.setColor(new Color(b, b, b));
-			backBufferGraphics.drawRect(screenX, screenY, 1, 1);
+	 * @param x
+	 *            Screen X position of each star, already rotated.
+	 * @param y
+	 *            Screen Y position of each star, already rotated.
+	 * @param levels
+	 *            Gray level of each star, 0 to 255.
+	 * @param count
+	 *            Number of stars.
+	 */
+	public void drawStars(final Screen screen, final int[] x, final int[] y,
+			final int[] levels, final int count) {
+		int width = backBuffer.getWidth();
+		int height = backBuffer.getHeight();
+		for (int i = 0; i < count; i++) {
+			int rgb = GRAYSCALE[levels[i]];
+			// A star covers 2x2 pixels, as drawRect(x, y, 1, 1) did.
+			for (int py = Math.max(y[i], 0); py <= y[i] + 1 && py < height; py++) {
+				int row = py * width;
+				for (int px = Math.max(x[i], 0); px <= x[i] + 1 && px < width; px++)
+					backBufferPixels[row + px] = rgb;
+			}
 		}
 	}
-
 	public void drawShootingStars(final Screen screen, final List<ShootingStar> shootingStars, final float angle) {    }
 
 	public void drawBossHealthBar(final int positionX,final int positionY, final String bossName,
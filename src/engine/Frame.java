@@ -55,8 +55,17 @@ public class Frame extends JFrame {
 	 */
 	public final int setScreen(final Screen screen) {
 		currentScreen = screen;
-		currentScreen.initialize();
-		return currentScreen.run();
+		if (screen.getTimerWheel() != null)
+			screen.getTimerWheel().advance(System.currentTimeMillis());
+		GameSession session = screen.getSession();
+		session.setCurrentScreen(screen);
+		session.setTimerWheel(screen.getTimerWheel());
+		try {
+			currentScreen.initialize();
+			return currentScreen.run();
+		} finally {
+			session.setTimerWheel(null);
+		}
 	}
 
 	/**
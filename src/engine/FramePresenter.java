@@ -0,0 +1,218 @@
+package engine;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.ImageCapabilities;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.image.BufferStrategy;
+import java.util.logging.Logger;
+
+/**
+ * Presents finished frames through a buffer strategy of the window.
+ * The frame is drawn into a back buffer of the strategy and shown by page
+ * flipping when the pipeline supports it, or by an accelerated copy when it
+ * does not. Buffers lost to the display are restored and drawn again.
+ * Presentation times are measured, so frame pacing can be monitored.
+ */
+public final class FramePresenter {
+
+    /** System property with the number of buffers, 0 to blit directly. */
+    public static final String BUFFERS_PROPERTY = "invaders.buffers";
+    /** System property that syncs with the display after every frame when "true". */
+    public static final String VSYNC_PROPERTY = "invaders.vsync";
+    /** Buffers used when the property is not set. */
+    public static final int DEFAULT_BUFFERS = 2;
+
+    /** Application logger. */
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** Strategy the frames are drawn into. */
+    private final BufferStrategy strategy;
+    /** True to wait for the display after showing a frame. */
+    private final boolean vsync;
+
+    /** Time the last frame took to present, in nanoseconds. */
+    private long lastPresentNanos;
+    /** Smoothed presentation time, in nanoseconds. */
+    private long averagePresentNanos;
+    /** Longest presentation time, in nanoseconds. */
+    private long maxPresentNanos;
+    /** Time between the last two frames shown, in nanoseconds. */
+    private long lastIntervalNanos;
+    /** Time the last frame was shown, 0 before the first. */
+    private long lastShownNanos;
+    /** Frames shown. */
+    private long framesPresented;
+    /** Times the buffers were lost and drawn again. */
+    private long contentsLost;
+
+    /**
+     * Constructor, creates the buffer strategy of a displayable window.
+     *
+     * @param window
+     *            Window to present frames on.
+     * @param buffers
+     *            Number of buffers, 2 or 3.
+     * @param vsync
+     *            True to wait for the display after every frame.
+     */
+    public FramePresenter(final Window window, final int buffers, final boolean vsync) {
+        if (buffers < 2)
+            throw new IllegalArgumentException("Buffer strategy needs 2 or more buffers, got " + buffers);
+        BufferCapabilities flipping = new BufferCapabilities(new ImageCapabilities(true),
+                new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            window.createBufferStrategy(buffers, flipping);
+        } catch (AWTException e) {
+            // No page flipping here: let AWT pick the best strategy it has.
+            window.createBufferStrategy(buffers);
+        }
+        this.strategy = window.getBufferStrategy();
+        this.vsync = vsync;
+        LOGGER.info("Presenting with " + buffers + " buffers, page flipping "
+                + isPageFlipping() + ", accelerated " + isAccelerated() + ", vsync " + vsync);
+    }
+
+    /**
+     * Creates the presenter configured by the system properties.
+     *
+     * @param window
+     *            Window to present frames on.
+     * @return Presenter, null when the properties ask for direct blits or the
+     *         window cannot have a buffer strategy.
+     */
+    public static FramePresenter fromProperties(final Window window) {
+        int buffers = Integer.getInteger(BUFFERS_PROPERTY, DEFAULT_BUFFERS);
+        if (buffers < 2 || !window.isDisplayable())
+            return null;
+        try {
+            return new FramePresenter(window, buffers, Boolean.getBoolean(VSYNC_PROPERTY));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            LOGGER.warning("Buffer strategy unavailable, blitting directly: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Draws a finished frame into the next buffer and shows it.
+     *
+     * @param image
+     *            Finished frame.
+     * @param x
+     *            Left side of the frame in the window.
+     * @param y
+     *            Upper side of the frame in the window.
+     */
+    public void present(final Image image, final int x, final int y) {
+        long start = System.nanoTime();
+        do {
+            do {
+                Graphics graphics = this.strategy.getDrawGraphics();
+                try {
+                    graphics.drawImage(image, x, y, null);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (this.strategy.contentsRestored() && countLost());
+            this.strategy.show();
+        } while (this.strategy.contentsLost() && countLost());
+        if (this.vsync)
+            Toolkit.getDefaultToolkit().sync();
+
+        long end = System.nanoTime();
+        this.lastPresentNanos = end - start;
+        this.averagePresentNanos += (this.lastPresentNanos - this.averagePresentNanos) / 8;
+        this.maxPresentNanos = Math.max(this.maxPresentNanos, this.lastPresentNanos);
+        if (this.lastShownNanos != 0)
+            this.lastIntervalNanos = end - this.lastShownNanos;
+        this.lastShownNanos = end;
+        this.framesPresented++;
+    }
+
+    private boolean countLost() {
+        this.contentsLost++;
+        return true;
+    }
+
+    /**
+     * Releases the buffers of the strategy.
+     */
+    public void dispose() {
+        this.strategy.dispose();
+    }
+
+    /**
+     * Checks if frames are shown by page flipping.
+     *
+     * @return True when flipping.
+     */
+    public boolean isPageFlipping() {
+        return this.strategy.getCapabilities().isPageFlipping();
+    }
+
+    /**
+     * Checks if the back buffers live in accelerated memory.
+     *
+     * @return True when accelerated.
+     */
+    public boolean isAccelerated() {
+        return this.strategy.getCapabilities().getBackBufferCapabilities().isAccelerated();
+    }
+
+    /**
+     * Getter for the time the last frame took to present.
+     *
+     * @return Presentation time, in nanoseconds.
+     */
+    public long getLastPresentNanos() {
+        return this.lastPresentNanos;
+    }
+
+    /**
+     * Getter for the smoothed presentation time.
+     *
+     * @return Presentation time, in nanoseconds.
+     */
+    public long getAveragePresentNanos() {
+        return this.averagePresentNanos;
+    }
+
+    /**
+     * Getter for the longest presentation time.
+     *
+     * @return Presentation time, in nanoseconds.
+     */
+    public long getMaxPresentNanos() {
+        return this.maxPresentNanos;
+    }
+
+    /**
+     * Getter for the time between the last two frames shown.
+     *
+     * @return Frame interval, in nanoseconds, 0 before the second frame.
+     */
+    public long getLastIntervalNanos() {
+        return this.lastIntervalNanos;
+    }
+
+    /**
+     * Getter for the number of frames shown.
+     *
+     * @return Frames presented.
+     */
+    public long getFramesPresented() {
+        return this.framesPresented;
+    }
+
+    /**
+     * Getter for the times the buffers were lost and drawn again.
+     *
+     * @return Lost buffers.
+     */
+    public long getContentsLost() {
+        return this.contentsLost;
+    }
+}
@@ -0,0 +1,327 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import entity.BossBullet;
+import entity.BossBulletList;
+import entity.BossBulletPool;
+import entity.InfiniteEnemyPool;
+import entity.InfiniteEnemyShip;
+import entity.ParticleField;
+import entity.ShopItem;
+import screen.Screen;
+
+/**
+ * Holds the state of one game: upgrade levels, item effects, object pools,
+ * input, achievements, HUD, particles and AI flags. Code that used to keep
+ * this state in static fields now asks the current session for it.
+ * The desktop game runs in the default session, which belongs to the first
+ * thread that uses it. A thread simulating another game binds its own
+ * session, so several games can run in one JVM. Any other thread has to bind
+ * the session it works for, or be handed it; asking it for the current
+ * session fails instead of silently handing out the default one.
+ */
+public final class GameSession {
+
+    /** Session of the desktop game. */
+    private static final GameSession DEFAULT = new GameSession();
+    /** Thread the default session belongs to, claimed by its first use. */
+    private static final AtomicReference<Thread> DEFAULT_OWNER = new AtomicReference<>();
+    /** Session bound to each thread. */
+    private static final ThreadLocal<GameSession> BOUND = new ThreadLocal<>();
+
+    /** Upgrade levels bought in the shop. */
+    private final ShopItem.Levels shopLevels = new ShopItem.Levels();
+    /** Time at which the freeze item ends, 0 when inactive. */
+    private long freezeEndTime;
+    /** Object pools of the session by name. */
+    private final Map<String, ObjectPool<?>> pools = new LinkedHashMap<>();
+    /** Pool of the boss bullets, kept to skip the lookup on every bullet. */
+    private volatile ObjectPool<BossBullet> bossBulletPool;
+    /** Pool of the Infinite Mode enemies, kept to skip the lookup on every enemy. */
+    private volatile ObjectPool<InfiniteEnemyShip> infiniteEnemyPool;
+    /** Keyboard state of the session. */
+    private final InputManager inputManager = new InputManager();
+    /** Achievements of the session, created on first use. */
+    private AchievementManager achievementManager;
+    /** Item HUD of the session, created on first use. */
+    private ItemHUDManager itemHUDManager;
+    /** Explosion and hit effects of the session, created on first use. */
+    private ParticleField particles;
+    /** Boss bullets on screen, created on first use. */
+    private BossBulletList bossBullets;
+    /** Screen shown by the session, read by the API thread. */
+    private volatile Screen currentScreen;
+    /** Wheel timing new cooldowns, null to read the clock. */
+    private TimerWheel timerWheel;
+    /** True if AI is controlling. */
+    private boolean aiMode;
+    /** True if AI is training. */
+    private boolean aiTraining;
+
+    /**
+     * Returns the session of the calling thread.
+     *
+     * @return Bound session, the default session on its own thread.
+     * @throws IllegalStateException
+     *             If no session is bound and the default session belongs to
+     *             another thread.
+     */
+    public static GameSession current() {
+        GameSession session = BOUND.get();
+        if (session != null)
+            return session;
+        Thread thread = Thread.currentThread();
+        if (DEFAULT_OWNER.get() != thread && !DEFAULT_OWNER.compareAndSet(null, thread))
+            throw new IllegalStateException("No game session bound to thread "
+                    + thread.getName() + ", the default session belongs to "
+                    + DEFAULT_OWNER.get().getName());
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the session of the desktop game.
+     *
+     * @return Default session.
+     */
+    public static GameSession getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Makes this session the current one of the calling thread.
+     */
+    public void bind() {
+        BOUND.set(this);
+    }
+
+    /**
+     * Removes the session bound to the calling thread.
+     */
+    public static void unbind() {
+        BOUND.remove();
+    }
+
+    /**
+     * Getter for the upgrade levels bought in the shop.
+     *
+     * @return Upgrade levels.
+     */
+    public ShopItem.Levels getShopLevels() {
+        return this.shopLevels;
+    }
+
+    /**
+     * Getter for the time at which the freeze item ends.
+     *
+     * @return End time in milliseconds, 0 when inactive.
+     */
+    public long getFreezeEndTime() {
+        return this.freezeEndTime;
+    }
+
+    /**
+     * Setter for the time at which the freeze item ends.
+     *
+     * @param freezeEndTime
+     *            End time in milliseconds, 0 when inactive.
+     */
+    public void setFreezeEndTime(final long freezeEndTime) {
+        this.freezeEndTime = freezeEndTime;
+    }
+
+    /**
+     * Returns a pool of the session, creating it on first use.
+     *
+     * @param name
+     *            Name of the pool.
+     * @param creator
+     *            Creates the pool.
+     * @param <T>
+     *            Type of the pooled objects.
+     * @return Pool of the session.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> ObjectPool<T> getPool(final String name,
+                                                  final Supplier<ObjectPool<T>> creator) {
+        ObjectPool<?> pool = this.pools.get(name);
+        if (pool == null) {
+            pool = creator.get();
+            this.pools.put(name, pool);
+        }
+        return (ObjectPool<T>) pool;
+    }
+
+    /**
+     * Returns the boss bullet pool of the session. Only the first call looks
+     * the pool up.
+     *
+     * @return Boss bullet pool.
+     */
+    public ObjectPool<BossBullet> getBossBulletPool() {
+        ObjectPool<BossBullet> pool = this.bossBulletPool;
+        if (pool == null) {
+            pool = getPool(BossBulletPool.NAME, BossBulletPool.CREATOR);
+            this.bossBulletPool = pool;
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the Infinite Mode enemy pool of the session. Only the first
+     * call looks the pool up.
+     *
+     * @return Infinite enemy pool.
+     */
+    public ObjectPool<InfiniteEnemyShip> getInfiniteEnemyPool() {
+        ObjectPool<InfiniteEnemyShip> pool = this.infiniteEnemyPool;
+        if (pool == null) {
+            pool = getPool(InfiniteEnemyPool.NAME, InfiniteEnemyPool.CREATOR);
+            this.infiniteEnemyPool = pool;
+        }
+        return pool;
+    }
+
+    /**
+     * Returns every pool of the session, for monitoring.
+     *
+     * @return Pools in creation order.
+     */
+    public synchronized List<ObjectPool<?>> getPools() {
+        return new ArrayList<>(this.pools.values());
+    }
+
+    /**
+     * Getter for the keyboard state of the session.
+     *
+     * @return Input manager.
+     */
+    public InputManager getInputManager() {
+        return this.inputManager;
+    }
+
+    /**
+     * Getter for the achievements of the session.
+     *
+     * @return Achievement manager.
+     */
+    public synchronized AchievementManager getAchievementManager() {
+        if (this.achievementManager == null)
+            this.achievementManager = new AchievementManager();
+        return this.achievementManager;
+    }
+
+    /**
+     * Getter for the item HUD of the session.
+     *
+     * @return Item HUD manager.
+     */
+    public synchronized ItemHUDManager getItemHUDManager() {
+        if (this.itemHUDManager == null)
+            this.itemHUDManager = new ItemHUDManager();
+        return this.itemHUDManager;
+    }
+
+    /**
+     * Getter for the explosion and hit effects of the session.
+     *
+     * @return Particle field.
+     */
+    public synchronized ParticleField getParticles() {
+        if (this.particles == null)
+            this.particles = new ParticleField();
+        return this.particles;
+    }
+
+    /**
+     * Getter for the boss bullets on screen in the session.
+     *
+     * @return Boss bullet list.
+     */
+    public synchronized BossBulletList getBossBullets() {
+        if (this.bossBullets == null)
+            this.bossBullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
+        return this.bossBullets;
+    }
+
+    /**
+     * Getter for the screen shown by the session.
+     *
+     * @return Current screen, null before the first one.
+     */
+    public Screen getCurrentScreen() {
+        return this.currentScreen;
+    }
+
+    /**
+     * Setter for the screen shown by the session.
+     *
+     * @param currentScreen
+     *            Screen being shown.
+     */
+    public void setCurrentScreen(final Screen currentScreen) {
+        this.currentScreen = currentScreen;
+    }
+
+    /**
+     * Getter for the wheel timing new cooldowns.
+     *
+     * @return Wheel of the running screen, null when it has none.
+     */
+    public TimerWheel getTimerWheel() {
+        return this.timerWheel;
+    }
+
+    /**
+     * Setter for the wheel timing new cooldowns.
+     *
+     * @param timerWheel
+     *            Wheel of the running screen, null to read the clock.
+     */
+    public void setTimerWheel(final TimerWheel timerWheel) {
+        this.timerWheel = timerWheel;
+    }
+
+    /**
+     * Checks if AI is controlling the game.
+     *
+     * @return True in AI mode.
+     */
+    public boolean isAIMode() {
+        return this.aiMode;
+    }
+
+    /**
+     * Setter for the AI mode.
+     *
+     * @param aiMode
+     *            True if AI is controlling.
+     */
+    public void setAIMode(final boolean aiMode) {
+        this.aiMode = aiMode;
+    }
+
+    /**
+     * Checks if AI is training.
+     *
+     * @return True while training.
+     */
+    public boolean isAITraining() {
+        return this.aiTraining;
+    }
+
+    /**
+     * Setter for the AI training flag.
+     *
+     * @param aiTraining
+     *            True while training.
+     */
+    public void setAITraining(final boolean aiTraining) {
+        this.aiTraining = aiTraining;
+    }
+}
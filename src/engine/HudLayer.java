@@ -0,0 +1,205 @@
+package engine;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Interface of a screen kept in its own transparent image.
+ * The screen binds the values the interface shows to slots every frame; the
+ * image is painted again only when one of them changes, and is otherwise
+ * blitted as it is. Values that change every frame do not belong here.
+ */
+public final class HudLayer {
+
+    /** Paints the interface into the layer. */
+    @FunctionalInterface
+    public interface Painter {
+
+        /**
+         * Paints the interface. The draw manager draws into the layer while
+         * this runs.
+         *
+         * @param drawManager
+         *            Draw manager to draw with.
+         * @param layer
+         *            Layer holding the bound values.
+         */
+        void paint(DrawManager drawManager, HudLayer layer);
+    }
+
+    /** Bound values. */
+    private final long[] values;
+    /** Bound texts. */
+    private final String[] texts;
+    /** Image holding the painted interface, null until first painted. */
+    private BufferedImage image;
+    /** Graphics of the image. */
+    private Graphics2D graphics;
+    /** True when a bound value changed since the layer was painted. */
+    private boolean dirty = true;
+    /** Times the layer was painted. */
+    private long repaints;
+
+    /**
+     * Constructor.
+     *
+     * @param valueSlots
+     *            Number of bound values.
+     * @param textSlots
+     *            Number of bound texts.
+     */
+    public HudLayer(final int valueSlots, final int textSlots) {
+        this.values = new long[valueSlots];
+        this.texts = new String[textSlots];
+    }
+
+    /**
+     * Binds a value, marking the layer for painting when it changed.
+     *
+     * @param slot
+     *            Slot of the value.
+     * @param value
+     *            Current value.
+     */
+    public void set(final int slot, final long value) {
+        if (this.values[slot] != value) {
+            this.values[slot] = value;
+            this.dirty = true;
+        }
+    }
+
+    /**
+     * Binds a text, marking the layer for painting when it changed.
+     *
+     * @param slot
+     *            Slot of the text.
+     * @param text
+     *            Current text, may be null.
+     */
+    public void setText(final int slot, final String text) {
+        if (!Objects.equals(this.texts[slot], text)) {
+            this.texts[slot] = text;
+            this.dirty = true;
+        }
+    }
+
+    /**
+     * Getter for a bound value.
+     *
+     * @param slot
+     *            Slot of the value.
+     * @return Value.
+     */
+    public long get(final int slot) {
+        return this.values[slot];
+    }
+
+    /**
+     * Getter for a bound value that fits an int.
+     *
+     * @param slot
+     *            Slot of the value.
+     * @return Value.
+     */
+    public int getInt(final int slot) {
+        return (int) this.values[slot];
+    }
+
+    /**
+     * Getter for a bound text.
+     *
+     * @param slot
+     *            Slot of the text.
+     * @return Text, may be null.
+     */
+    public String getText(final int slot) {
+        return this.texts[slot];
+    }
+
+    /**
+     * Checks if the layer has to be painted before the next blit.
+     *
+     * @param width
+     *            Width of the screen.
+     * @param height
+     *            Height of the screen.
+     * @return True when a value changed or the size did.
+     */
+    public boolean needsRepaint(final int width, final int height) {
+        return this.dirty || this.image == null
+                || this.image.getWidth() != width || this.image.getHeight() != height;
+    }
+
+    /**
+     * Forces the layer to be painted before the next blit.
+     */
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * Clears the image for painting, creating it when the size changed.
+     *
+     * @param width
+     *            Width of the screen.
+     * @param height
+     *            Height of the screen.
+     * @return Graphics to paint the layer with.
+     */
+    Graphics2D beginRepaint(final int width, final int height) {
+        if (this.image == null || this.image.getWidth() != width
+                || this.image.getHeight() != height) {
+            if (this.graphics != null)
+                this.graphics.dispose();
+            this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            this.graphics = this.image.createGraphics();
+        } else {
+            this.graphics.setComposite(AlphaComposite.Clear);
+            this.graphics.fillRect(0, 0, width, height);
+            this.graphics.setComposite(AlphaComposite.SrcOver);
+        }
+        return this.graphics;
+    }
+
+    /**
+     * Marks the layer as matching its bound values.
+     */
+    void endRepaint() {
+        this.dirty = false;
+        this.repaints++;
+    }
+
+    /**
+     * Getter for the painted image.
+     *
+     * @return Image of the layer, null until first painted.
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+
+    /**
+     * Getter for the times the layer was painted.
+     *
+     * @return Repaints.
+     */
+    public long getRepaints() {
+        return this.repaints;
+    }
+
+    /**
+     * Releases the image of the layer and unbinds every value.
+     */
+    public void dispose() {
+        if (this.graphics != null)
+            this.graphics.dispose();
+        this.graphics = null;
+        this.image = null;
+        Arrays.fill(this.values, 0);
+        Arrays.fill(this.texts, null);
+        this.dirty = true;
+    }
+}
@@ -2,6 +2,7 @@ package engine;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Manages keyboard input for the provided screen.
@@ -14,26 +15,28 @@ public final class InputManager implements KeyListener {
 	/** Number of recognised keys. */
 	private static final int NUM_KEYS = 256;
 	/** Array with the jeys marked as pressed or not. */
-	private static boolean[] keys;
-	/** Singleton instance of the class. */
-	private static InputManager instance;
+	private final boolean[] keys;
+	/** Number of keys currently pressed. */
+	private volatile int keysDown;
+	/** Key events received, so a waiting screen can tell new input apart. */
+	private volatile long eventCount;
+	/** Thread waiting for the next key event, null when none. */
+	private volatile Thread waiter;
 
 	/**
-	 * Private constructor.
+	 * Constructor, only called by GameSession.
 	 */
-	private InputManager() {
+	InputManager() {
 		keys = new boolean[NUM_KEYS];
 	}
 
 	/**
-	 * Returns shared instance of InputManager.
+	 * Returns the InputManager of the current session.
 	 * 
-	 * @return Shared instance of InputManager.
+	 * @return InputManager of the current session.
 	 */
 	protected static InputManager getInstance() {
-		if (instance == null)
-			instance = new InputManager();
-		return instance;
+		return GameSession.current().getInputManager();
 	}
 
 	/**
@@ -55,8 +58,12 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyPressed(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS) {
+			if (!keys[key.getKeyCode()])
+				keysDown++;
 			keys[key.getKeyCode()] = true;
+		}
+		signal();
 	}
 
 	/**
@@ -67,8 +74,12 @@ public final class InputManager implements KeyListener {
 	 */
 	@Override
 	public void keyReleased(final KeyEvent key) {
-		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS)
+		if (key.getKeyCode() >= 0 && key.getKeyCode() < NUM_KEYS) {
+			if (keys[key.getKeyCode()])
+				keysDown--;
 			keys[key.getKeyCode()] = false;
+		}
+		signal();
 	}
 
 	/**
@@ -82,6 +93,54 @@ public final class InputManager implements KeyListener {
 
 	}
 
+	/**
+	 * Counts a key event and wakes the screen waiting for one.
+	 */
+	private void signal() {
+		eventCount++;
+		Thread thread = waiter;
+		if (thread != null)
+			LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Returns true if any key is currently pressed.
+	 * 
+	 * @return True while a key is held.
+	 */
+	public boolean isAnyKeyDown() {
+		return keysDown > 0;
+	}
+
+	/**
+	 * Getter for the number of key events received.
+	 * 
+	 * @return Key events so far.
+	 */
+	public long getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	 * Blocks the calling thread until a key event arrives after the given
+	 * count, the timeout passes or the thread is unparked. May return early,
+	 * so callers check their own conditions again.
+	 * 
+	 * @param seenCount
+	 *            Event count the caller has already seen.
+	 * @param timeoutNanos
+	 *            Longest wait, in nanoseconds.
+	 */
+	public void awaitEvent(final long seenCount, final long timeoutNanos) {
+		waiter = Thread.currentThread();
+		try {
+			if (eventCount == seenCount)
+				LockSupport.parkNanos(this, timeoutNanos);
+		} finally {
+			waiter = null;
+		}
+	}
+
 	public boolean isP1KeyDown(int keyCode) {
 		return isKeyDown(keyCode);
 	}
@@ -20,9 +20,6 @@ import screen.Screen;
  */
 public class ItemHUDManager {
     
-    /** Singleton instance */
-    private static ItemHUDManager instance;
-    
     /** Size of each item square */
     private static final int ITEM_SQUARE_SIZE = 20;
     
@@ -65,20 +62,17 @@ public class ItemHUDManager {
     }
     
     /**
-     * Private constructor for singleton pattern
+     * Constructor, only called by GameSession
      */
-    private ItemHUDManager() {
+    ItemHUDManager() {
         this.activeDroppedItems = new ArrayList<>();
     }
     
     /**
-     * Get singleton instance
+     * Get the instance of the current session
      */
     public static ItemHUDManager getInstance() {
-        if (instance == null) {
-            instance = new ItemHUDManager();
-        }
-        return instance;
+        return GameSession.current().getItemHUDManager();
     }
     
     /**
@@ -93,7 +87,7 @@ public class ItemHUDManager {
     /**
      * Add a dropped item to be displayed
      */
-    public void addDroppedItem(DropItem.ItemType itemType) {
+    public synchronized void addDroppedItem(DropItem.ItemType itemType) {
         // Remove expired items first
         cleanupExpiredItems();
         
@@ -107,6 +101,21 @@ public class ItemHUDManager {
         }
     }
     
+    /**
+     * Packs what drawItems shows into one value: the shop item levels and
+     * the types of the dropped items. The value changes whenever the drawn
+     * items do, so the HUD can be cached until then.
+     */
+    public synchronized long getDisplayState() {
+        cleanupExpiredItems();
+        long state = 1; // leading bit keeps the item count apart
+        for (ShopItemType itemType : ShopItemType.values())
+            state = state << 4 | Math.min(getShopItemLevel(itemType), 15);
+        for (DroppedItemInfo itemInfo : activeDroppedItems)
+            state = state << 3 | (itemInfo.itemType.ordinal() + 1);
+        return state;
+    }
+
     /**
      * Remove expired dropped items
      */
@@ -117,7 +126,7 @@ public class ItemHUDManager {
     /**
      * Draw all items on the HUD
      */
-    public void drawItems(Screen screen, Graphics graphics) {
+    public synchronized void drawItems(Screen screen, Graphics graphics) {
         cleanupExpiredItems();
         
         // Draw fixed shop items (bottom row)
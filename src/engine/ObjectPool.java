@@ -0,0 +1,190 @@
+package engine;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Stack of recyclable objects of one type.
+ * Objects are taken with acquire, created by the factory when the pool is
+ * empty, and handed back with release once the game no longer uses them.
+ * Every pool counts its hits and misses so the counters can be monitored,
+ * GameSession lists the pools of a game.
+ *
+ * @param <T>
+ *            Type of the pooled objects.
+ */
+public final class ObjectPool<T> {
+
+    /** Value of cap for pools without a bound. */
+    public static final int UNBOUNDED = 0;
+
+    /** Name of the pool, used for monitoring. */
+    private final String name;
+    /** Creates an object when the pool is empty. */
+    private final Supplier<? extends T> factory;
+    /** Called on every released object, null for none. */
+    private final Consumer<? super T> resetHook;
+    /** Most objects kept by the pool, UNBOUNDED for no limit. */
+    private final int cap;
+    /** Objects ready to be acquired. */
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+
+    /** Acquisitions served from the pool. */
+    private long hits;
+    /** Acquisitions that had to create an object. */
+    private long misses;
+    /** Releases dropped because the pool was full. */
+    private long dropped;
+    /** Most objects the pool ever held at once. */
+    private int highWaterMark;
+
+    /**
+     * Constructor, creates an empty pool.
+     *
+     * @param name
+     *            Name of the pool.
+     * @param factory
+     *            Creates an object when the pool is empty.
+     * @param resetHook
+     *            Called on every released object, may be null.
+     * @param cap
+     *            Most objects kept by the pool, UNBOUNDED for no limit.
+     */
+    public ObjectPool(final String name, final Supplier<? extends T> factory,
+                      final Consumer<? super T> resetHook, final int cap) {
+        if (cap < 0)
+            throw new IllegalArgumentException("Negative pool cap: " + cap);
+        this.name = name;
+        this.factory = factory;
+        this.resetHook = resetHook;
+        this.cap = cap;
+    }
+
+    /**
+     * Takes an object from the pool, or creates one if the pool is empty.
+     * The caller sets up the object before use.
+     *
+     * @return Object ready to be set up.
+     */
+    public T acquire() {
+        T object = this.free.pollLast();
+        if (object != null) {
+            this.hits++;
+            return object;
+        }
+        this.misses++;
+        return this.factory.get();
+    }
+
+    /**
+     * Hands an object back to the pool. An object must not be released
+     * twice without being acquired in between.
+     *
+     * @param object
+     *            Object no longer in use, ignored if null.
+     * @return False if the pool was full and the object was dropped.
+     */
+    public boolean release(final T object) {
+        if (object == null)
+            return false;
+        if (this.cap != UNBOUNDED && this.free.size() >= this.cap) {
+            this.dropped++;
+            return false;
+        }
+        if (this.resetHook != null)
+            this.resetHook.accept(object);
+        this.free.addLast(object);
+        this.highWaterMark = Math.max(this.highWaterMark, this.free.size());
+        return true;
+    }
+
+    /**
+     * Hands several objects back to the pool.
+     *
+     * @param objects
+     *            Objects no longer in use.
+     */
+    public void releaseAll(final Iterable<? extends T> objects) {
+        for (T object : objects)
+            release(object);
+    }
+
+    /**
+     * Drops every pooled object, counters are kept.
+     */
+    public void clear() {
+        this.free.clear();
+    }
+
+    /**
+     * Getter for the name of the pool.
+     *
+     * @return Name of the pool.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Getter for the number of objects ready to be acquired.
+     *
+     * @return Current size of the pool.
+     */
+    public int size() {
+        return this.free.size();
+    }
+
+    /**
+     * Getter for the most objects kept by the pool.
+     *
+     * @return Cap of the pool, UNBOUNDED for no limit.
+     */
+    public int getCap() {
+        return this.cap;
+    }
+
+    /**
+     * Getter for the acquisitions served from the pool.
+     *
+     * @return Number of hits.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Getter for the acquisitions that had to create an object.
+     *
+     * @return Number of misses.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Getter for the releases dropped because the pool was full.
+     *
+     * @return Number of dropped objects.
+     */
+    public long getDropped() {
+        return this.dropped;
+    }
+
+    /**
+     * Getter for the most objects the pool ever held at once.
+     *
+     * @return High-water mark of the pool.
+     */
+    public int getHighWaterMark() {
+        return this.highWaterMark;
+    }
+
+    @Override
+    public String toString() {
+        return this.name + "[size=" + size() + ", cap=" + this.cap
+                + ", hits=" + this.hits + ", misses=" + this.misses
+                + ", dropped=" + this.dropped
+                + ", highWater=" + this.highWaterMark + "]";
+    }
+}
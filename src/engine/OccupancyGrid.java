@@ -0,0 +1,249 @@
+package engine;
+
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletField;
+import entity.Entity;
+
+/**
+ * Entity positions rasterized into a multi-channel occupancy grid, a cheaper
+ * observation than pixels for agents.
+ * The playfield is cut into square cells; each channel holds one kind of
+ * entity and a cell is 1 when an entity of that kind overlaps it. The data
+ * is laid out channel by channel, then row by row. The screen fills the grid
+ * every tick straight from its entity collections and publishes it, and
+ * readers on other threads get the last published grid.
+ */
+public final class OccupancyGrid {
+
+    /** System property that fills the grid every tick when "true". */
+    public static final String ENABLED_PROPERTY = "invaders.grid";
+    /** System property with the side of a cell, in pixels. */
+    public static final String CELL_PROPERTY = "invaders.grid.cell";
+    /** Side of a cell when the property is not set. */
+    public static final int DEFAULT_CELL_SIZE = 8;
+
+    /** Channels of the grid. */
+    public static final int PLAYER_SHIPS = 0;
+    public static final int PLAYER_BULLETS = 1;
+    public static final int ENEMY_BULLETS = 2;
+    public static final int BOSS_BULLETS = 3;
+    public static final int ENEMIES_A = 4;
+    public static final int ENEMIES_B = 5;
+    public static final int ENEMIES_C = 6;
+    public static final int ENEMIES_SPECIAL = 7;
+    public static final int BOSSES = 8;
+    public static final int ITEMS = 9;
+    /** Number of channels. */
+    public static final int CHANNELS = 10;
+
+    /** Side of a cell, in pixels. */
+    private final int cellSize;
+    /** Size of the grid, in cells. */
+    private final int columns;
+    private final int rows;
+    /** Cells of one channel. */
+    private final int channelSize;
+    /** Grid being filled. */
+    private final byte[] cells;
+    /** Last published grid. */
+    private final byte[] published;
+    /** Grids published. */
+    private long publishCount;
+
+    /**
+     * Constructor.
+     *
+     * @param fieldWidth
+     *            Width of the playfield, in pixels.
+     * @param fieldHeight
+     *            Height of the playfield, in pixels.
+     * @param cellSize
+     *            Side of a cell, in pixels.
+     */
+    public OccupancyGrid(final int fieldWidth, final int fieldHeight, final int cellSize) {
+        if (cellSize <= 0)
+            throw new IllegalArgumentException("Cell size must be positive, got " + cellSize);
+        this.cellSize = cellSize;
+        this.columns = (fieldWidth + cellSize - 1) / cellSize;
+        this.rows = (fieldHeight + cellSize - 1) / cellSize;
+        this.channelSize = this.columns * this.rows;
+        this.cells = new byte[CHANNELS * this.channelSize];
+        this.published = new byte[this.cells.length];
+    }
+
+    /**
+     * Checks if the system properties turn the grid on.
+     *
+     * @return True when enabled.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Creates a grid configured by the system properties.
+     *
+     * @param fieldWidth
+     *            Width of the playfield, in pixels.
+     * @param fieldHeight
+     *            Height of the playfield, in pixels.
+     * @return New grid.
+     */
+    public static OccupancyGrid fromProperties(final int fieldWidth, final int fieldHeight) {
+        return new OccupancyGrid(fieldWidth, fieldHeight,
+                Integer.getInteger(CELL_PROPERTY, DEFAULT_CELL_SIZE));
+    }
+
+    /**
+     * Returns the channel of an enemy sprite.
+     *
+     * @param spriteType
+     *            Sprite of the enemy.
+     * @return Channel of its type.
+     */
+    public static int enemyChannel(final SpriteType spriteType) {
+        switch (spriteType) {
+            case EnemyShipA1:
+            case EnemyShipA2:
+                return ENEMIES_A;
+            case EnemyShipB1:
+            case EnemyShipB2:
+                return ENEMIES_B;
+            case EnemyShipC1:
+            case EnemyShipC2:
+                return ENEMIES_C;
+            default:
+                return ENEMIES_SPECIAL;
+        }
+    }
+
+    /**
+     * Empties the grid being filled.
+     */
+    public void clear() {
+        Arrays.fill(this.cells, (byte) 0);
+    }
+
+    /**
+     * Marks the cells a box overlaps.
+     *
+     * @param channel
+     *            Channel of the entity.
+     * @param x
+     *            Left side of the box.
+     * @param y
+     *            Upper side of the box.
+     * @param width
+     *            Width of the box.
+     * @param height
+     *            Height of the box.
+     */
+    public void mark(final int channel, final int x, final int y, final int width, final int height) {
+        int left = Math.max(0, Math.floorDiv(x, this.cellSize));
+        int top = Math.max(0, Math.floorDiv(y, this.cellSize));
+        int right = Math.min(this.columns - 1, Math.floorDiv(x + Math.max(1, width) - 1, this.cellSize));
+        int bottom = Math.min(this.rows - 1, Math.floorDiv(y + Math.max(1, height) - 1, this.cellSize));
+        int base = channel * this.channelSize;
+        for (int row = top; row <= bottom; row++) {
+            int offset = base + row * this.columns;
+            for (int column = left; column <= right; column++)
+                this.cells[offset + column] = 1;
+        }
+    }
+
+    /**
+     * Marks the cells an entity overlaps.
+     *
+     * @param channel
+     *            Channel of the entity.
+     * @param entity
+     *            Entity to mark.
+     */
+    public void mark(final int channel, final Entity entity) {
+        mark(channel, entity.getPositionX(), entity.getPositionY(),
+                entity.getWidth(), entity.getHeight());
+    }
+
+    /**
+     * Marks every bullet of a field, in the player or enemy channel by owner.
+     *
+     * @param bullets
+     *            Bullets to mark.
+     */
+    public void mark(final BulletField bullets) {
+        for (int i = 0; i < bullets.size(); i++)
+            mark(bullets.getOwnerId(i) == BulletField.OWNER_ENEMY ? ENEMY_BULLETS : PLAYER_BULLETS,
+                    bullets.getPositionX(i), bullets.getPositionY(i),
+                    BulletField.WIDTH, BulletField.HEIGHT);
+    }
+
+    /**
+     * Publishes the grid filled so far to readers.
+     */
+    public synchronized void publish() {
+        System.arraycopy(this.cells, 0, this.published, 0, this.cells.length);
+        this.publishCount++;
+    }
+
+    /**
+     * Copies the last published grid.
+     *
+     * @return New array of channels * rows * columns bytes.
+     */
+    public synchronized byte[] copyPublished() {
+        return this.published.clone();
+    }
+
+    /**
+     * Getter for a cell of the grid being filled.
+     *
+     * @param channel
+     *            Channel of the cell.
+     * @param row
+     *            Row of the cell.
+     * @param column
+     *            Column of the cell.
+     * @return 1 when occupied, else 0.
+     */
+    public int get(final int channel, final int row, final int column) {
+        return this.cells[channel * this.channelSize + row * this.columns + column];
+    }
+
+    /**
+     * Getter for the side of a cell.
+     *
+     * @return Cell size, in pixels.
+     */
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    /**
+     * Getter for the number of columns.
+     *
+     * @return Columns of the grid.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Getter for the number of rows.
+     *
+     * @return Rows of the grid.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter for the number of grids published.
+     *
+     * @return Grids so far.
+     */
+    public synchronized long getPublishCount() {
+        return this.publishCount;
+    }
+}
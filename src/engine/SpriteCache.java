@@ -0,0 +1,235 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Sprites rasterized once into images, so drawing an entity is one blit
+ * instead of one rectangle per lit pixel.
+ * Images are kept per sprite and color. Health tints keep making new colors,
+ * so the cache holds a bounded number of images and drops the least recently
+ * drawn one when full. Lookups go through an open-addressing table keyed by
+ * sprite and color as one primitive long, so a hit allocates nothing; the
+ * least recently drawn image is searched for only on a miss, which already
+ * pays for rasterizing a sprite.
+ */
+public final class SpriteCache {
+
+    /** Pixels per sprite cell on each axis. */
+    public static final int SCALE = 2;
+    /** Images kept by a new cache. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** Most images kept. */
+    private final int capacity;
+    /** Key of each entry, sprite ordinal in the high half and ARGB in the low. */
+    private final long[] keys;
+    /** Image of each entry. */
+    private final BufferedImage[] images;
+    /** Draw at which each entry was last used. */
+    private final long[] lastDrawn;
+    /** Entry index plus one of each table slot, 0 when empty. */
+    private final int[] table;
+    /** Table size minus one, the size is a power of two. */
+    private final int mask;
+    /** Entries in use, the first size ones. */
+    private int size;
+    /** Draws so far, orders the entries by use. */
+    private long clock;
+    /** Configuration of the screen, null to create plain images. */
+    private GraphicsConfiguration configuration;
+
+    /** Lookups served from the cache. */
+    private long hits;
+    /** Lookups that had to rasterize the sprite. */
+    private long misses;
+    /** Images dropped to stay within capacity. */
+    private long evictions;
+
+    /**
+     * Constructor, creates an empty cache.
+     *
+     * @param capacity
+     *            Most images kept.
+     */
+    public SpriteCache(final int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Sprite cache needs room for an image, got " + capacity);
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.images = new BufferedImage[capacity];
+        this.lastDrawn = new long[capacity];
+        // At most half full, so probe runs stay short.
+        this.table = new int[Integer.highestOneBit(capacity) * 4];
+        this.mask = this.table.length - 1;
+    }
+
+    /**
+     * Sets the screen configuration images are made compatible with. Clears
+     * the cache, as the old images may no longer be.
+     *
+     * @param configuration
+     *            Configuration of the screen, null for plain images.
+     */
+    public void setGraphicsConfiguration(final GraphicsConfiguration configuration) {
+        if (this.configuration != configuration)
+            clear();
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the image of a sprite in a color, rasterizing it on first use.
+     *
+     * @param spriteType
+     *            Sprite to draw.
+     * @param color
+     *            Color of the lit cells.
+     * @param cells
+     *            Cells of the sprite, true when lit.
+     * @return Image of the sprite, transparent where cells are not lit.
+     */
+    public BufferedImage get(final SpriteType spriteType, final Color color,
+                             final boolean[][] cells) {
+        long key = ((long) spriteType.ordinal() << 32) | (color.getRGB() & 0xFFFFFFFFL);
+        int slot = find(key);
+        int entry = this.table[slot] - 1;
+        if (entry >= 0) {
+            this.hits++;
+            this.lastDrawn[entry] = ++this.clock;
+            return this.images[entry];
+        }
+        this.misses++;
+        BufferedImage image = rasterize(cells, color);
+        if (this.size < this.capacity) {
+            entry = this.size++;
+        } else {
+            entry = leastRecentlyDrawn();
+            remove(this.keys[entry]);
+            this.evictions++;
+            slot = find(key);
+        }
+        this.keys[entry] = key;
+        this.images[entry] = image;
+        this.lastDrawn[entry] = ++this.clock;
+        this.table[slot] = entry + 1;
+        return image;
+    }
+
+    /**
+     * Returns the table slot holding a key, or the empty slot ending its
+     * probe run.
+     */
+    private int find(final long key) {
+        int slot = home(key);
+        while (this.table[slot] != 0 && this.keys[this.table[slot] - 1] != key)
+            slot = (slot + 1) & this.mask;
+        return slot;
+    }
+
+    /**
+     * Returns the first slot probed for a key.
+     */
+    private int home(final long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 40) & this.mask;
+    }
+
+    /**
+     * Empties the table slot of a key, shifting back the entries probed
+     * after it so no lookup stops early.
+     */
+    private void remove(final long key) {
+        int hole = find(key);
+        this.table[hole] = 0;
+        for (int slot = (hole + 1) & this.mask; this.table[slot] != 0; slot = (slot + 1) & this.mask) {
+            int home = home(this.keys[this.table[slot] - 1]);
+            // Moves the entry when the hole lies on its probe run, from home to slot.
+            if (((slot - home) & this.mask) >= ((slot - hole) & this.mask)) {
+                this.table[hole] = this.table[slot];
+                this.table[slot] = 0;
+                hole = slot;
+            }
+        }
+    }
+
+    /**
+     * Returns the entry drawn the longest time ago.
+     */
+    private int leastRecentlyDrawn() {
+        int oldest = 0;
+        for (int entry = 1; entry < this.size; entry++)
+            if (this.lastDrawn[entry] < this.lastDrawn[oldest])
+                oldest = entry;
+        return oldest;
+    }
+
+    /**
+     * Draws the lit cells of a sprite into a new transparent image.
+     */
+    private BufferedImage rasterize(final boolean[][] cells, final Color color) {
+        int width = Math.max(1, cells.length * SCALE);
+        int height = Math.max(1, (cells.length == 0 ? 0 : cells[0].length) * SCALE);
+        BufferedImage image = this.configuration != null
+                ? this.configuration.createCompatibleImage(width, height, Transparency.BITMASK)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(color);
+        for (int i = 0; i < cells.length; i++)
+            for (int j = 0; j < cells[i].length; j++)
+                if (cells[i][j])
+                    graphics.fillRect(i * SCALE, j * SCALE, SCALE, SCALE);
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Drops every image.
+     */
+    public void clear() {
+        Arrays.fill(this.table, 0);
+        Arrays.fill(this.images, null);
+        this.size = 0;
+    }
+
+    /**
+     * Getter for the number of images kept.
+     *
+     * @return Cached images.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Getter for the lookups served from the cache.
+     *
+     * @return Cache hits.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Getter for the lookups that rasterized a sprite.
+     *
+     * @return Cache misses.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Getter for the images dropped to stay within capacity.
+     *
+     * @return Evictions.
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+}
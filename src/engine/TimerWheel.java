@@ -0,0 +1,294 @@
+package engine;
+
+/**
+ * Hierarchical timing wheel driven by the game loop.
+ * Timers are kept in LEVELS wheels of SLOTS buckets, level n covering
+ * SLOTS^(n+1) ticks of one millisecond. Advancing the wheel only visits the
+ * buckets of the elapsed ticks, and a timer is moved down a level when its
+ * bucket comes due, so the cost per frame follows the number of expirations
+ * rather than the number of timers.
+ * Not thread safe, it is meant to be used from the game loop only.
+ */
+public final class TimerWheel {
+
+    /** Bits of the slot index in each level. */
+    private static final int SLOT_BITS = 6;
+    /** Buckets per level. */
+    private static final int SLOTS = 1 << SLOT_BITS;
+    /** Mask of a slot index. */
+    private static final int SLOT_MASK = SLOTS - 1;
+    /** Number of levels. */
+    private static final int LEVELS = 4;
+    /** Ticks covered by every level together. */
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    /**
+     * A timer scheduled on the wheel. Expired reports if the timer has
+     * fired since it was last scheduled; recurring timers stay scheduled.
+     */
+    public static final class Timeout {
+
+        /** Called when the timer fires, may be null. */
+        private final Runnable callback;
+        /** Tick at which the timer fires. */
+        private long deadline;
+        /** Ticks between firings, 0 for a one-shot timer. */
+        private long period;
+        /** True once fired, until scheduled again. */
+        private boolean expired;
+        /** Bucket holding the timer, null when not scheduled. */
+        private Timeout[] bucket;
+        /** Index of the bucket in its level. */
+        private int slot;
+        /** Previous timer in the bucket. */
+        private Timeout prev;
+        /** Next timer in the bucket. */
+        private Timeout next;
+
+        /**
+         * Constructor, creates an idle timer.
+         *
+         * @param callback
+         *            Called when the timer fires, may be null.
+         */
+        private Timeout(final Runnable callback) {
+            this.callback = callback;
+        }
+
+        /**
+         * Checks if the timer fired since it was last scheduled.
+         *
+         * @return True when expired.
+         */
+        public boolean isExpired() {
+            return this.expired;
+        }
+
+        /**
+         * Checks if the timer is waiting to fire.
+         *
+         * @return True when scheduled.
+         */
+        public boolean isPending() {
+            return this.bucket != null;
+        }
+    }
+
+    /** Heads of the bucket lists of every level. */
+    private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS];
+    /** Last tick processed. */
+    private long currentTick;
+    /** Number of scheduled timers. */
+    private int pending;
+
+    /**
+     * Constructor, creates an empty wheel.
+     *
+     * @param startMillis
+     *            Time of the first tick, in milliseconds.
+     */
+    public TimerWheel(final long startMillis) {
+        this.currentTick = startMillis;
+    }
+
+    /**
+     * Getter for the time of the wheel, the last time it was advanced to.
+     *
+     * @return Time in milliseconds.
+     */
+    public long now() {
+        return this.currentTick;
+    }
+
+    /**
+     * Getter for the number of timers waiting to fire.
+     *
+     * @return Number of scheduled timers.
+     */
+    public int size() {
+        return this.pending;
+    }
+
+    /**
+     * Schedules a one-shot timer.
+     *
+     * @param delayMillis
+     *            Time until the timer fires, at least one tick.
+     * @param callback
+     *            Called when the timer fires, may be null to only use the
+     *            expired flag.
+     * @return Scheduled timer.
+     */
+    public Timeout schedule(final long delayMillis, final Runnable callback) {
+        Timeout timeout = new Timeout(callback);
+        reschedule(timeout, delayMillis, 0);
+        return timeout;
+    }
+
+    /**
+     * Schedules a recurring timer.
+     *
+     * @param periodMillis
+     *            Time between firings, at least one tick.
+     * @param callback
+     *            Called every time the timer fires, may be null.
+     * @return Scheduled timer.
+     */
+    public Timeout scheduleRepeating(final long periodMillis, final Runnable callback) {
+        Timeout timeout = new Timeout(callback);
+        reschedule(timeout, periodMillis, Math.max(1, periodMillis));
+        return timeout;
+    }
+
+    /**
+     * Schedules a timer again as a one-shot timer, cancelling its pending
+     * firing if any. Reusing timers avoids allocating one per reset.
+     *
+     * @param timeout
+     *            Timer to schedule.
+     * @param delayMillis
+     *            Time until the timer fires, at least one tick.
+     */
+    public void reschedule(final Timeout timeout, final long delayMillis) {
+        reschedule(timeout, delayMillis, 0);
+    }
+
+    /**
+     * Cancels a timer, it will not fire nor be flagged as expired.
+     *
+     * @param timeout
+     *            Timer to cancel, ignored if not scheduled.
+     */
+    public void cancel(final Timeout timeout) {
+        if (timeout.bucket != null)
+            unlink(timeout);
+        timeout.period = 0;
+    }
+
+    /**
+     * Moves the wheel forward, firing every timer due until the given time.
+     *
+     * @param nowMillis
+     *            Current time in milliseconds.
+     */
+    public void advance(final long nowMillis) {
+        if (this.pending == 0) {
+            this.currentTick = Math.max(this.currentTick, nowMillis);
+            return;
+        }
+        while (this.currentTick < nowMillis) {
+            this.currentTick++;
+            cascade();
+            fire(this.wheels[0], (int) (this.currentTick & SLOT_MASK));
+            if (this.pending == 0) {
+                this.currentTick = nowMillis;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedules a timer at a delay from the current tick.
+     */
+    private void reschedule(final Timeout timeout, final long delayMillis,
+                            final long period) {
+        if (timeout.bucket != null)
+            unlink(timeout);
+        timeout.expired = false;
+        timeout.period = period;
+        timeout.deadline = this.currentTick + Math.max(1, delayMillis);
+        insert(timeout);
+    }
+
+    /**
+     * Moves the timers of the higher level buckets coming due down the wheel,
+     * highest level first.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < LEVELS
+                && ((this.currentTick >>> (SLOT_BITS * (level + 1))) << (SLOT_BITS * (level + 1)))
+                        == this.currentTick)
+            level++;
+        for (; level >= 1; level--) {
+            int slot = (int) ((this.currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout timeout = this.wheels[level][slot];
+            this.wheels[level][slot] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.bucket = null;
+                timeout.prev = null;
+                timeout.next = null;
+                this.pending--;
+                insert(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Fires the timers of a level 0 bucket that are due.
+     */
+    private void fire(final Timeout[] level, final int slot) {
+        Timeout timeout = level[slot];
+        level[slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            this.pending--;
+            if (timeout.deadline > this.currentTick) {
+                insert(timeout);
+            } else {
+                timeout.expired = true;
+                if (timeout.period > 0) {
+                    timeout.deadline = Math.max(timeout.deadline + timeout.period,
+                            this.currentTick + 1);
+                    insert(timeout);
+                }
+                if (timeout.callback != null)
+                    timeout.callback.run();
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Adds a timer to the bucket of its deadline.
+     */
+    private void insert(final Timeout timeout) {
+        long delta = Math.min(timeout.deadline - this.currentTick, RANGE - 1);
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= 1L << (SLOT_BITS * (level + 1)))
+            level++;
+        long tick = level == LEVELS - 1 && delta == RANGE - 1
+                ? this.currentTick + delta : timeout.deadline;
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Timeout[] bucket = this.wheels[level];
+        timeout.bucket = bucket;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = bucket[slot];
+        if (bucket[slot] != null)
+            bucket[slot].prev = timeout;
+        bucket[slot] = timeout;
+        this.pending++;
+    }
+
+    /**
+     * Removes a timer from its bucket.
+     */
+    private void unlink(final Timeout timeout) {
+        if (timeout.prev != null)
+            timeout.prev.next = timeout.next;
+        else
+            timeout.bucket[timeout.slot] = timeout.next;
+        if (timeout.next != null)
+            timeout.next.prev = timeout.prev;
+        timeout.bucket = null;
+        timeout.prev = null;
+        timeout.next = null;
+        this.pending--;
+    }
+}
@@ -0,0 +1,382 @@
+package engine;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import entity.MovementProgram;
+import entity.MovementPrograms;
+
+/**
+ * Schedules the waves of Infinite Mode.
+ * The difficulty curve (spawn interval, enemy speed and health, boss timing)
+ * is compiled ahead of the game time into a queue of events ordered by the
+ * time they are due, each with its pattern and position already picked.
+ * Every random choice comes from one seeded generator, so a seed always
+ * gives the same waves.
+ * Enemy spawns coming due while too many enemies are alive, or while frames
+ * take longer than the budget, are dropped so the game stays smooth.
+ */
+public final class WaveDirector {
+
+    /** Kind of a scheduled event. */
+    public enum Kind {
+        /** An enemy enters the screen. */
+        ENEMY,
+        /** A boss enters the screen. */
+        BOSS
+    }
+
+    /** An event of the schedule. */
+    public static final class WaveEvent {
+
+        /** Game time the event is due, in milliseconds. */
+        private final long time;
+        /** Order of creation, breaks ties between events due together. */
+        private final long order;
+        /** Kind of event. */
+        private final Kind kind;
+        /** Movement program of the enemy, null for a boss. */
+        private final MovementProgram program;
+        /** Spawn position of the enemy. */
+        private final int x;
+        private final int y;
+        /** True if the enemy starts mirrored. */
+        private final boolean mirrored;
+        /** Speed multiplier of the enemy. */
+        private final double speedMultiplier;
+        /** Health added to the enemy. */
+        private final int healthBonus;
+
+        private WaveEvent(final long time, final long order, final Kind kind,
+                          final MovementProgram program, final int x, final int y,
+                          final boolean mirrored, final double speedMultiplier,
+                          final int healthBonus) {
+            this.time = time;
+            this.order = order;
+            this.kind = kind;
+            this.program = program;
+            this.x = x;
+            this.y = y;
+            this.mirrored = mirrored;
+            this.speedMultiplier = speedMultiplier;
+            this.healthBonus = healthBonus;
+        }
+
+        /**
+         * Getter for the game time the event is due.
+         *
+         * @return Due time, in milliseconds.
+         */
+        public long getTime() {
+            return this.time;
+        }
+
+        /**
+         * Getter for the kind of event.
+         *
+         * @return Kind of event.
+         */
+        public Kind getKind() {
+            return this.kind;
+        }
+
+        /**
+         * Getter for the movement program of the enemy.
+         *
+         * @return Movement program, null for a boss.
+         */
+        public MovementProgram getProgram() {
+            return this.program;
+        }
+
+        /**
+         * Getter for the spawn X position of the enemy.
+         *
+         * @return Spawn X position of the enemy.
+         */
+        public int getX() {
+            return this.x;
+        }
+
+        /**
+         * Getter for the spawn Y position of the enemy.
+         *
+         * @return Spawn Y position of the enemy.
+         */
+        public int getY() {
+            return this.y;
+        }
+
+        /**
+         * Checks if the enemy starts mirrored.
+         *
+         * @return True when mirrored.
+         */
+        public boolean isMirrored() {
+            return this.mirrored;
+        }
+
+        /**
+         * Getter for the speed multiplier of the enemy.
+         *
+         * @return Speed multiplier of the enemy.
+         */
+        public double getSpeedMultiplier() {
+            return this.speedMultiplier;
+        }
+
+        /**
+         * Getter for the health added to the enemy.
+         *
+         * @return Health added to the enemy.
+         */
+        public int getHealthBonus() {
+            return this.healthBonus;
+        }
+    }
+
+    /**
+     * Spawn interval: every 10 seconds, reduced by 0.1 seconds from 1.3
+     * seconds to a minimum of 0.2 seconds.
+     */
+    private static final int INITIAL_SPAWN_INTERVAL = 1300;
+    private static final int MIN_SPAWN_INTERVAL = 200;
+    private static final int SPAWN_INTERVAL_DECREASE = 100;
+    private static final int SPAWN_INTERVAL_DECREASE_TIME = 10000;
+
+    /** Boss spawn interval, in game time. */
+    private static final int BOSS_SPAWN_INTERVAL = 9000;
+
+    /** Speed scaling: +0.1 every 15 seconds, from 0.5 up to 4. */
+    private static final double INITIAL_SPEED_MULTIPLIER = 0.5;
+    private static final double MAX_SPEED_MULTIPLIER = 4.0;
+    private static final double SPEED_INCREASE = 0.1;
+    private static final long SPEED_INCREASE_INTERVAL = 15000;
+
+    /** Enemy health increases every 30 seconds. */
+    private static final long HEALTH_INCREASE_INTERVAL = 30000;
+
+    /** Game time compiled ahead of the current time. */
+    private static final long HORIZON = 5000;
+
+    /** Spawn positions, outside the screen. */
+    private static final int TOP_SPAWN_MARGIN = 30;
+    private static final int TOP_SPAWN_Y = -50;
+    private static final int LEFT_SPAWN_X = -50;
+    private static final int RIGHT_SPAWN_OFFSET = 10;
+
+    /** Events ordered by due time, bosses and older events first. */
+    private final PriorityQueue<WaveEvent> schedule = new PriorityQueue<>(
+            Comparator.comparingLong((WaveEvent event) -> event.time)
+                    .thenComparing(event -> event.kind != Kind.BOSS)
+                    .thenComparingLong(event -> event.order));
+
+    /** Seed of the generator. */
+    private final long seed;
+    /** Generator of every random choice. */
+    private final Random random;
+    /** Screen width. */
+    private final int width;
+    /** Range of the spawn height of side enemies. */
+    private final int sideMinY;
+    private final int sideMaxY;
+
+    /** Game time of the next enemy not yet compiled. */
+    private long nextEnemyTime;
+    /** Game time of the next boss not yet compiled. */
+    private long nextBossTime = BOSS_SPAWN_INTERVAL;
+    /** Number of events created. */
+    private long created;
+
+    /** Most enemies alive before spawns are dropped. */
+    private int maxLiveEnemies = Integer.MAX_VALUE;
+    /** Frame time above which spawns are dropped, in nanoseconds. */
+    private long frameBudgetNanos = Long.MAX_VALUE;
+    /** Smoothed frame time, in nanoseconds. */
+    private long averageFrameNanos;
+    /** Enemy spawns dropped by the budget. */
+    private int throttled;
+
+    /**
+     * Constructor, prepares an empty schedule.
+     *
+     * @param seed
+     *            Seed of every random choice.
+     * @param width
+     *            Screen width.
+     * @param sideMinY
+     *            Lowest spawn height of side enemies.
+     * @param sideMaxY
+     *            Highest spawn height of side enemies, excluded.
+     */
+    public WaveDirector(final long seed, final int width,
+                        final int sideMinY, final int sideMaxY) {
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.width = width;
+        this.sideMinY = sideMinY;
+        this.sideMaxY = sideMaxY;
+    }
+
+    /**
+     * Sets the limits above which enemy spawns are dropped.
+     *
+     * @param maxLiveEnemies
+     *            Most enemies alive.
+     * @param frameBudgetNanos
+     *            Longest smoothed frame time, in nanoseconds.
+     */
+    public void setBudget(final int maxLiveEnemies, final long frameBudgetNanos) {
+        this.maxLiveEnemies = maxLiveEnemies;
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * Records how long the last frame took to update.
+     *
+     * @param frameNanos
+     *            Time of the frame, in nanoseconds.
+     */
+    public void recordFrameTime(final long frameNanos) {
+        this.averageFrameNanos += (frameNanos - this.averageFrameNanos) / 8;
+    }
+
+    /**
+     * Returns the next event due, dropping the enemy spawns over budget.
+     *
+     * @param now
+     *            Game time, in milliseconds.
+     * @param liveEnemies
+     *            Number of enemies alive.
+     * @return Event to run, null when none is due.
+     */
+    public WaveEvent poll(final long now, final int liveEnemies) {
+        compile(now + HORIZON);
+        boolean overBudget = liveEnemies >= this.maxLiveEnemies
+                || this.averageFrameNanos > this.frameBudgetNanos;
+        while (!this.schedule.isEmpty() && this.schedule.peek().time <= now) {
+            WaveEvent event = this.schedule.poll();
+            if (event.kind == Kind.ENEMY && overBudget) {
+                this.throttled++;
+                continue;
+            }
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Compiles the difficulty curve until a game time.
+     */
+    private void compile(final long until) {
+        while (this.nextBossTime <= until) {
+            this.schedule.add(new WaveEvent(this.nextBossTime, this.created++, Kind.BOSS,
+                    null, 0, 0, false, 0, 0));
+            this.nextBossTime += BOSS_SPAWN_INTERVAL;
+        }
+        while (this.nextEnemyTime <= until) {
+            this.schedule.add(createEnemy(this.nextEnemyTime));
+            this.nextEnemyTime += getSpawnInterval(this.nextEnemyTime);
+        }
+    }
+
+    /**
+     * Picks the pattern and position of an enemy.
+     */
+    private WaveEvent createEnemy(final long time) {
+        // Weighted pick among the patterns of res/patterns/movement.json
+        MovementProgram program = MovementPrograms.pick(this.random);
+        int x;
+        int y;
+        switch (program.getSpawn()) {
+            case TOP: // Above the screen
+                x = this.random.nextInt(this.width - TOP_SPAWN_MARGIN);
+                y = TOP_SPAWN_Y;
+                break;
+            case SIDE: // Side of the upper part of the screen
+            default:
+                y = this.sideMinY + this.random.nextInt(this.sideMaxY - this.sideMinY);
+                x = this.random.nextBoolean() ? LEFT_SPAWN_X : this.width + RIGHT_SPAWN_OFFSET;
+                break;
+        }
+        boolean mirrored;
+        switch (program.getMirror()) {
+            case RANDOM:
+                mirrored = this.random.nextBoolean();
+                break;
+            case SPAWN_SIDE:
+                mirrored = x >= 0;
+                break;
+            default:
+                mirrored = false;
+                break;
+        }
+        return new WaveEvent(time, this.created++, Kind.ENEMY, program, x, y, mirrored,
+                getSpeedMultiplier(time), getHealthBonus(time));
+    }
+
+    /**
+     * Returns the time between enemy spawns at a game time.
+     *
+     * @param time
+     *            Game time, in milliseconds.
+     * @return Spawn interval, in milliseconds.
+     */
+    public static int getSpawnInterval(final long time) {
+        long interval = INITIAL_SPAWN_INTERVAL
+                - SPAWN_INTERVAL_DECREASE * (time / SPAWN_INTERVAL_DECREASE_TIME);
+        return (int) Math.max(MIN_SPAWN_INTERVAL, interval);
+    }
+
+    /**
+     * Returns the speed multiplier of enemies spawning at a game time.
+     *
+     * @param time
+     *            Game time, in milliseconds.
+     * @return Speed multiplier.
+     */
+    public static double getSpeedMultiplier(final long time) {
+        double multiplier = INITIAL_SPEED_MULTIPLIER
+                + (time / SPEED_INCREASE_INTERVAL) * SPEED_INCREASE;
+        return Math.min(MAX_SPEED_MULTIPLIER, multiplier);
+    }
+
+    /**
+     * Returns the health added to enemies spawning at a game time.
+     *
+     * @param time
+     *            Game time, in milliseconds.
+     * @return Health bonus.
+     */
+    public static int getHealthBonus(final long time) {
+        return (int) (time / HEALTH_INCREASE_INTERVAL);
+    }
+
+    /**
+     * Getter for the seed of the waves.
+     *
+     * @return Seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Getter for the number of events compiled and not yet run.
+     *
+     * @return Scheduled events.
+     */
+    public int getScheduled() {
+        return this.schedule.size();
+    }
+
+    /**
+     * Getter for the enemy spawns dropped by the budget.
+     *
+     * @return Dropped spawns.
+     */
+    public int getThrottled() {
+        return this.throttled;
+    }
+}
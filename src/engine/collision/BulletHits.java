@@ -0,0 +1,90 @@
+package engine.collision;
+
+import java.util.Arrays;
+
+/**
+ * Result of the bullet narrow phase for one frame.
+ * Lists the bullets that hit at least one target, in ascending bullet
+ * index, and for each of them the targets it overlaps, in ascending
+ * target index. The order never depends on how the work was scheduled.
+ */
+public final class BulletHits {
+
+    /** Bullet index of each entry. */
+    private int[] bullets = new int[16];
+    /** First hit of each entry in targets, plus a final end marker. */
+    private int[] start = new int[17];
+    /** Target index of each hit, grouped by entry. */
+    private int[] targets = new int[16];
+    /** Number of entries. */
+    private int size;
+    /** Number of hits. */
+    private int hitCount;
+
+    /**
+     * Empties the result.
+     */
+    void clear() {
+        this.size = 0;
+        this.hitCount = 0;
+        this.start[0] = 0;
+    }
+
+    /**
+     * Appends one hit. Calls must come in ascending (bullet, target) order.
+     */
+    void add(final int bullet, final int target) {
+        if (this.size == 0 || this.bullets[this.size - 1] != bullet) {
+            if (this.size == this.bullets.length) {
+                this.bullets = Arrays.copyOf(this.bullets, this.size * 2);
+                this.start = Arrays.copyOf(this.start, this.size * 2 + 1);
+            }
+            this.bullets[this.size++] = bullet;
+        }
+        if (this.hitCount == this.targets.length)
+            this.targets = Arrays.copyOf(this.targets, this.hitCount * 2);
+        this.targets[this.hitCount++] = target;
+        this.start[this.size] = this.hitCount;
+    }
+
+    /**
+     * @return Number of bullets with at least one hit.
+     */
+    public int size() { return this.size; }
+
+    /**
+     * @param entry Entry in [0, size()).
+     * @return Bullet index of the entry.
+     */
+    public int bullet(final int entry) { return this.bullets[entry]; }
+
+    /**
+     * @param entry Entry in [0, size()).
+     * @return Position of the first hit of the entry.
+     */
+    public int firstHit(final int entry) { return this.start[entry]; }
+
+    /**
+     * @param entry Entry in [0, size()).
+     * @return Position after the last hit of the entry.
+     */
+    public int endHit(final int entry) { return this.start[entry + 1]; }
+
+    /**
+     * @param hit Position in [firstHit(entry), endHit(entry)).
+     * @return Target index of the hit.
+     */
+    public int target(final int hit) { return this.targets[hit]; }
+
+    /**
+     * @param entry  Entry in [0, size()).
+     * @param target Target index.
+     * @return True when the bullet of the entry overlaps the target.
+     */
+    public boolean hits(final int entry, final int target) {
+        for (int h = firstHit(entry); h < endHit(entry); h++)
+            if (this.targets[h] == target)
+                return true;
+        return false;
+    }
+}
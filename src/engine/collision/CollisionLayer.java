@@ -0,0 +1,37 @@
+package engine.collision;
+
+/**
+ * Kinds of collidable things. Which layers interact is decided by a
+ * CollisionMatrix, not by the entities themselves.
+ */
+public enum CollisionLayer {
+    /** Player ships. */
+    PLAYER,
+    /** Bullets shot by a player. */
+    PLAYER_BULLET,
+    /** Enemy ships of every formation, and bosses. */
+    ENEMY,
+    /** Bullets shot by enemy formations. */
+    ENEMY_BULLET,
+    /** Bullets shot by bosses. */
+    BOSS_BULLET,
+    /** Dropped items. */
+    ITEM;
+
+    private static final CollisionLayer[] VALUES = values();
+
+    /**
+     * @return Single bit identifying the layer in masks.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param mask Single-bit mask of a layer.
+     * @return The layer of the mask.
+     */
+    public static CollisionLayer fromMask(final int mask) {
+        return VALUES[Integer.numberOfTrailingZeros(mask)];
+    }
+}
@@ -0,0 +1,61 @@
+package engine.collision;
+
+/**
+ * Symmetric table of which collision layers interact.
+ * Pairs of layers that do not interact are never tested.
+ */
+public final class CollisionMatrix {
+
+    /** For each layer, the mask of the layers it interacts with. */
+    private final int[] masks = new int[CollisionLayer.values().length];
+
+    /**
+     * Creates a matrix where no layers interact.
+     */
+    public CollisionMatrix() {
+    }
+
+    /**
+     * @return The interactions of the game: bullets hit the opposite side,
+     *         ships hit enemies and pick up items.
+     */
+    public static CollisionMatrix defaults() {
+        return new CollisionMatrix()
+                .setInteracts(CollisionLayer.PLAYER_BULLET, CollisionLayer.ENEMY, true)
+                .setInteracts(CollisionLayer.ENEMY_BULLET, CollisionLayer.PLAYER, true)
+                .setInteracts(CollisionLayer.BOSS_BULLET, CollisionLayer.PLAYER, true)
+                .setInteracts(CollisionLayer.PLAYER, CollisionLayer.ENEMY, true)
+                .setInteracts(CollisionLayer.ITEM, CollisionLayer.PLAYER, true);
+    }
+
+    /**
+     * Sets whether two layers interact, in both directions.
+     *
+     * @return This matrix, for chaining.
+     */
+    public CollisionMatrix setInteracts(final CollisionLayer a, final CollisionLayer b,
+                                        final boolean interacts) {
+        if (interacts) {
+            this.masks[a.ordinal()] |= b.mask();
+            this.masks[b.ordinal()] |= a.mask();
+        } else {
+            this.masks[a.ordinal()] &= ~b.mask();
+            this.masks[b.ordinal()] &= ~a.mask();
+        }
+        return this;
+    }
+
+    /**
+     * @return True when entities of the two layers are tested together.
+     */
+    public boolean interacts(final CollisionLayer a, final CollisionLayer b) {
+        return (this.masks[a.ordinal()] & b.mask()) != 0;
+    }
+
+    /**
+     * @return Mask of every layer interacting with the given one.
+     */
+    public int mask(final CollisionLayer layer) {
+        return this.masks[layer.ordinal()];
+    }
+}
@@ -0,0 +1,165 @@
+package engine.collision;
+
+import entity.BulletField;
+import entity.Entity;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Exact bullet-versus-target tests for the bullets kept by the broad phase,
+ * limited to the layer pairs allowed by a CollisionMatrix.
+ * Candidates are cut into fixed chunks; past a threshold the chunks run on
+ * a ForkJoinPool, and their results are merged in chunk order, so the
+ * outcome is the same as the sequential run whatever the scheduling.
+ * Only reads entity state; consequences are applied by the caller.
+ */
+public final class NarrowPhase {
+
+    /** Pair tests per frame above which the chunks run in parallel. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16384;
+    /** Pair tests done by one chunk. */
+    private static final int CHUNK_TESTS = 2048;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final BulletHits hits = new BulletHits();
+    /** Result of each chunk, kept across frames so chunks reuse their array. */
+    private int[][] chunkResults = new int[0][];
+
+    public NarrowPhase() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param pool              Pool running the chunks.
+     * @param parallelThreshold Pair tests per frame above which the pool is used.
+     */
+    public NarrowPhase(final ForkJoinPool pool, final int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Tests every candidate bullet against every target.
+     * The returned object is reused by the next call.
+     *
+     * @param bullets        Bullets of this frame.
+     * @param candidates     Ascending bullet indices kept by the broad phase.
+     * @param candidateCount Number of candidates.
+     * @param targets        Targets, in the order hits must be reported.
+     * @param targetLayers   Collision layer of each target.
+     * @param targetCount    Number of targets.
+     * @param matrix         Layers that interact; other pairs are not tested.
+     * @return Hits grouped by bullet.
+     */
+    public BulletHits run(final BulletField bullets, final int[] candidates, final int candidateCount,
+                          final Entity[] targets, final CollisionLayer[] targetLayers, final int targetCount,
+                          final CollisionMatrix matrix) {
+        this.hits.clear();
+        if (candidateCount == 0 || targetCount == 0)
+            return this.hits;
+
+        int chunkSize = Math.max(1, CHUNK_TESTS / targetCount);
+        int chunkCount = (candidateCount + chunkSize - 1) / chunkSize;
+        if (this.chunkResults.length < chunkCount)
+            this.chunkResults = Arrays.copyOf(this.chunkResults, chunkCount);
+        Chunks chunks = new Chunks(bullets, candidates, candidateCount, targets, targetLayers,
+                targetCount, matrix, chunkSize, this.chunkResults, 0, chunkCount);
+
+        if ((long) candidateCount * targetCount > this.parallelThreshold && chunkCount > 1)
+            this.pool.invoke(chunks);
+        else
+            chunks.computeDirectly();
+
+        for (int c = 0; c < chunkCount; c++) {
+            int[] result = this.chunkResults[c];
+            for (int p = 1; p <= result[0]; p += 2)
+                this.hits.add(result[p], result[p + 1]);
+        }
+        return this.hits;
+    }
+
+    /**
+     * Range of chunks, split in halves until one chunk is left.
+     */
+    private static final class Chunks extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BulletField bullets;
+        private final int[] candidates;
+        private final int candidateCount;
+        private final Entity[] targets;
+        private final CollisionLayer[] targetLayers;
+        private final int targetCount;
+        private final CollisionMatrix matrix;
+        private final int chunkSize;
+        private final int[][] results;
+        private final int from;
+        private final int to;
+
+        Chunks(BulletField bullets, int[] candidates, int candidateCount, Entity[] targets,
+               CollisionLayer[] targetLayers, int targetCount, CollisionMatrix matrix,
+               int chunkSize, int[][] results, int from, int to) {
+            this.bullets = bullets;
+            this.candidates = candidates;
+            this.candidateCount = candidateCount;
+            this.targets = targets;
+            this.targetLayers = targetLayers;
+            this.targetCount = targetCount;
+            this.matrix = matrix;
+            this.chunkSize = chunkSize;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                computeDirectly();
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            invokeAll(split(this.from, middle), split(middle, this.to));
+        }
+
+        private Chunks split(int newFrom, int newTo) {
+            return new Chunks(this.bullets, this.candidates, this.candidateCount, this.targets,
+                    this.targetLayers, this.targetCount, this.matrix, this.chunkSize, this.results,
+                    newFrom, newTo);
+        }
+
+        /**
+         * Runs every chunk of the range in the calling thread.
+         * Each result is packed as [pairCount * 2, bullet, target, ...], in
+         * the array the chunk used last frame. Only this chunk writes it.
+         */
+        void computeDirectly() {
+            for (int c = this.from; c < this.to; c++) {
+                int[] out = this.results[c];
+                if (out == null)
+                    out = new int[17];
+                int length = 1;
+                int end = Math.min(this.candidateCount, (c + 1) * this.chunkSize);
+                for (int k = c * this.chunkSize; k < end; k++) {
+                    int bullet = this.candidates[k];
+                    int layerMask = this.matrix.mask(this.bullets.getLayer(bullet));
+                    for (int t = 0; t < this.targetCount; t++) {
+                        if ((this.targetLayers[t].mask() & layerMask) != 0
+                                && this.bullets.overlaps(bullet, this.targets[t])) {
+                            if (length + 2 > out.length)
+                                out = Arrays.copyOf(out, out.length * 2);
+                            out[length++] = bullet;
+                            out[length++] = t;
+                        }
+                    }
+                }
+                out[0] = length - 1;
+                this.results[c] = out;
+            }
+        }
+    }
+}
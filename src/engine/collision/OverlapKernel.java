@@ -0,0 +1,36 @@
+package engine.collision;
+
+/**
+ * Broad-phase test of many equally sized boxes against one target box.
+ * Uses the same center-distance rule as CollisionManager.checkCollision,
+ * so a box flagged here is exactly a box that collides with the target.
+ */
+public interface OverlapKernel {
+
+    /**
+     * Sets flags[i] to 1 for every box i in [0, count) overlapping the target
+     * whose layer bits intersect layerMask.
+     * Flags of boxes that do not overlap are left untouched, so the same
+     * array can accumulate the result of several targets.
+     *
+     * @param xs           Left side of each box.
+     * @param ys           Upper side of each box.
+     * @param layers       Collision layer mask of each box.
+     * @param layerMask    Layers that interact with the target.
+     * @param count        Number of boxes to test.
+     * @param boxWidth     Width shared by every box.
+     * @param boxHeight    Height shared by every box.
+     * @param targetX      Left side of the target.
+     * @param targetY      Upper side of the target.
+     * @param targetWidth  Width of the target.
+     * @param targetHeight Height of the target.
+     * @param flags        Output flags, at least count long.
+     */
+    void mark(int[] xs, int[] ys, int[] layers, int layerMask, int count, int boxWidth, int boxHeight,
+              int targetX, int targetY, int targetWidth, int targetHeight, int[] flags);
+
+    /**
+     * @return Short name used in logs and benchmarks.
+     */
+    String name();
+}
@@ -0,0 +1,69 @@
+package engine.collision;
+
+import engine.Core;
+
+/**
+ * Picks the overlap kernel used by the game.
+ * The vector kernel is used when jdk.incubator.vector is resolved and the
+ * "invaders.simd" system property is not "false"; otherwise the scalar one.
+ */
+public final class OverlapKernels {
+
+    /** System property that disables the vector kernel when "false". */
+    public static final String SIMD_PROPERTY = "invaders.simd";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "engine.collision.VectorOverlapKernel";
+
+    private static volatile OverlapKernel instance;
+
+    private OverlapKernels() {
+    }
+
+    /**
+     * @return The kernel selected for this JVM.
+     */
+    public static OverlapKernel get() {
+        OverlapKernel kernel = instance;
+        if (kernel == null) {
+            synchronized (OverlapKernels.class) {
+                if (instance == null) {
+                    instance = select();
+                    Core.getLogger().info("Overlap kernel: " + instance.name());
+                }
+                kernel = instance;
+            }
+        }
+        return kernel;
+    }
+
+    /**
+     * @return The scalar kernel.
+     */
+    public static OverlapKernel scalar() {
+        return new ScalarOverlapKernel();
+    }
+
+    /**
+     * @return The vector kernel, or null when the module is not available.
+     */
+    public static OverlapKernel vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty())
+            return null;
+        try {
+            return (OverlapKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static OverlapKernel select() {
+        if (!"false".equalsIgnoreCase(System.getProperty(SIMD_PROPERTY))) {
+            OverlapKernel vector = vector();
+            if (vector != null)
+                return vector;
+        }
+        return scalar();
+    }
+}
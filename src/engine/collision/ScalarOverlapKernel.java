@@ -0,0 +1,26 @@
+package engine.collision;
+
+/**
+ * Plain loop implementation, always available.
+ */
+public final class ScalarOverlapKernel implements OverlapKernel {
+
+    @Override
+    public void mark(int[] xs, int[] ys, int[] layers, int layerMask, int count, int boxWidth, int boxHeight,
+                     int targetX, int targetY, int targetWidth, int targetHeight, int[] flags) {
+        int offsetX = targetX + targetWidth / 2 - boxWidth / 2;
+        int offsetY = targetY + targetHeight / 2 - boxHeight / 2;
+        int maxDistanceX = boxWidth / 2 + targetWidth / 2;
+        int maxDistanceY = boxHeight / 2 + targetHeight / 2;
+
+        for (int i = 0; i < count; i++) {
+            if ((layers[i] & layerMask) != 0
+                    && Math.abs(xs[i] - offsetX) < maxDistanceX
+                    && Math.abs(ys[i] - offsetY) < maxDistanceY)
+                flags[i] = 1;
+        }
+    }
+
+    @Override
+    public String name() { return "scalar"; }
+}
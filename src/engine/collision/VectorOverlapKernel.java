@@ -0,0 +1,45 @@
+package engine.collision;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation on top of jdk.incubator.vector.
+ * Only loaded through OverlapKernels when the module is resolved at runtime
+ * (--add-modules jdk.incubator.vector); results match ScalarOverlapKernel.
+ */
+final class VectorOverlapKernel implements OverlapKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void mark(int[] xs, int[] ys, int[] layers, int layerMask, int count, int boxWidth, int boxHeight,
+                     int targetX, int targetY, int targetWidth, int targetHeight, int[] flags) {
+        int offsetX = targetX + targetWidth / 2 - boxWidth / 2;
+        int offsetY = targetY + targetHeight / 2 - boxHeight / 2;
+        int maxDistanceX = boxWidth / 2 + targetWidth / 2;
+        int maxDistanceY = boxHeight / 2 + targetHeight / 2;
+
+        int i = 0;
+        int bound = SPECIES.loopBound(count);
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector dx = IntVector.fromArray(SPECIES, xs, i).sub(offsetX).abs();
+            IntVector dy = IntVector.fromArray(SPECIES, ys, i).sub(offsetY).abs();
+            VectorMask<Integer> layer = IntVector.fromArray(SPECIES, layers, i).and(layerMask).compare(VectorOperators.NE, 0);
+            VectorMask<Integer> hit = dx.lt(maxDistanceX).and(dy.lt(maxDistanceY)).and(layer);
+            if (hit.anyTrue())
+                IntVector.fromArray(SPECIES, flags, i).blend(1, hit).intoArray(flags, i);
+        }
+        for (; i < count; i++) {
+            if ((layers[i] & layerMask) != 0
+                    && Math.abs(xs[i] - offsetX) < maxDistanceX
+                    && Math.abs(ys[i] - offsetY) < maxDistanceY)
+                flags[i] = 1;
+        }
+    }
+
+    @Override
+    public String name() { return "vector-" + SPECIES.vectorBitSize(); }
+}
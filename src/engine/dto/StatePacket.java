@@ -16,6 +16,8 @@ public class StatePacket {
     public int playerHp;
     public List<List<Integer>> bullets;
     public List<List<Integer>> enemies;
+    /** Registry id of each entry of enemies, stable across frames. */
+    public List<Integer> enemyIds;
     public List<List<String>> items;
     public int score;
     public List<List<Integer>> enemyDamageEvents;
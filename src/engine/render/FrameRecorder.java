@@ -0,0 +1,332 @@
+package engine.render;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import engine.Core;
+
+/**
+ * Records finished frames to disk without stalling the thread that draws
+ * them.
+ * Captures copy the back buffer into one of a fixed ring of frame buffers
+ * and queue it; a background thread encodes the queued frames and hands the
+ * buffers back. When every buffer is waiting to be encoded the frame is
+ * dropped and counted, the drawing thread never waits for the encoder.
+ * Frames are written as a PNG sequence, or run-length encoded into a single
+ * file of the format below.
+ *
+ * <pre>
+ * file   = "INVR" version:int frame*
+ * frame  = index:long width:int height:int runCount:int run*
+ * run    = (length - 1) &lt;&lt; 24 | rgb, length 1 to 256
+ * </pre>
+ */
+public final class FrameRecorder {
+
+    /** System property with the directory to record into, unset to not record. */
+    public static final String DIRECTORY_PROPERTY = "invaders.record";
+    /** System property with the format, "png" or "rle". */
+    public static final String FORMAT_PROPERTY = "invaders.record.format";
+    /** System property with the number of frame buffers. */
+    public static final String BUFFERS_PROPERTY = "invaders.record.buffers";
+    /** Frame buffers when the property is not set. */
+    public static final int DEFAULT_BUFFERS = 8;
+    /** Name of the run-length encoded file. */
+    public static final String RLE_FILE = "frames.rle";
+    /** First bytes of the run-length encoded file. */
+    public static final int RLE_MAGIC = 'I' << 24 | 'N' << 16 | 'V' << 8 | 'R';
+    /** Version of the run-length encoded file. */
+    public static final int RLE_VERSION = 1;
+    /** Longest run of equal pixels. */
+    public static final int MAX_RUN = 256;
+
+    /** Application logger. */
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** How frames are written. */
+    public enum Format {
+        /** One PNG file per frame. */
+        PNG,
+        /** Every frame run-length encoded into one file. */
+        RLE
+    }
+
+    /** Frame buffer of the ring. */
+    private static final class FrameBuffer {
+        /** Image of the frame, recreated when the size changes. */
+        private BufferedImage image;
+        /** Pixels of the image. */
+        private int[] pixels;
+        /** Index of the frame among the captures. */
+        private long index;
+
+        private void resize(final int width, final int height) {
+            if (this.image == null || this.image.getWidth() != width
+                    || this.image.getHeight() != height) {
+                this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+            }
+        }
+    }
+
+    /** Directory the frames are written to. */
+    private final File directory;
+    /** How frames are written. */
+    private final Format format;
+    /** Buffers ready to be filled. */
+    private final BlockingQueue<FrameBuffer> free;
+    /** Buffers waiting to be encoded. */
+    private final BlockingQueue<FrameBuffer> filled;
+    /** Thread encoding the frames. */
+    private final Thread encoder;
+
+    /** False once the recorder is asked to close. */
+    private volatile boolean running;
+    /** Frames offered. */
+    private long captures;
+    /** Frames dropped because the encoder fell behind or the recorder closed. */
+    private final AtomicLong dropped = new AtomicLong();
+    /** Frames written. */
+    private volatile long written;
+    /** Frames lost to write errors. */
+    private volatile long failed;
+
+    /** Run-length encoded output, opened with the first frame. */
+    private DataOutputStream rleOut;
+    /** Runs of the frame being encoded. */
+    private int[] runs = new int[0];
+
+    /**
+     * Constructor, starts the encoder thread.
+     *
+     * @param directory
+     *            Directory to write the frames to, created if missing.
+     * @param format
+     *            How frames are written.
+     * @param buffers
+     *            Frames that can wait to be encoded at once.
+     */
+    public FrameRecorder(final File directory, final Format format, final int buffers) {
+        if (buffers <= 0)
+            throw new IllegalArgumentException("Recorder needs a buffer, got " + buffers);
+        this.directory = directory;
+        this.format = format;
+        this.free = new ArrayBlockingQueue<>(buffers);
+        this.filled = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++)
+            this.free.add(new FrameBuffer());
+
+        this.running = true;
+        this.encoder = new Thread(this::run, "recorder");
+        this.encoder.setDaemon(true);
+        this.encoder.start();
+    }
+
+    /**
+     * Creates a recorder configured by the system properties.
+     *
+     * @return New recorder, null when recording is off.
+     */
+    public static FrameRecorder fromProperties() {
+        String path = System.getProperty(DIRECTORY_PROPERTY);
+        if (path == null || path.isEmpty())
+            return null;
+        Format format = "rle".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY))
+                ? Format.RLE : Format.PNG;
+        LOGGER.info("Recording " + format + " frames to " + path);
+        return new FrameRecorder(new File(path), format,
+                Integer.getInteger(BUFFERS_PROPERTY, DEFAULT_BUFFERS));
+    }
+
+    /**
+     * Queues a copy of a finished frame for encoding. Only one thread may
+     * capture at a time. Never waits; when no buffer is free the frame is
+     * dropped.
+     *
+     * @param pixels
+     *            RGB pixels of the frame, row by row.
+     * @param width
+     *            Width of the frame.
+     * @param height
+     *            Height of the frame.
+     * @return True when the frame was queued.
+     */
+    public boolean capture(final int[] pixels, final int width, final int height) {
+        long index = this.captures++;
+        FrameBuffer buffer = this.running ? this.free.poll() : null;
+        if (buffer == null) {
+            this.dropped.incrementAndGet();
+            return false;
+        }
+        buffer.resize(width, height);
+        System.arraycopy(pixels, 0, buffer.pixels, 0, width * height);
+        buffer.index = index;
+        this.filled.offer(buffer);
+        // Closed meanwhile: the frame is written, drained by close, or taken back here.
+        if (!this.running && this.filled.remove(buffer)) {
+            this.dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void run() {
+        while (this.running || !this.filled.isEmpty()) {
+            FrameBuffer buffer;
+            try {
+                buffer = this.filled.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (buffer == null)
+                continue;
+            try {
+                write(buffer);
+                this.written++;
+            } catch (IOException e) {
+                this.failed++;
+                LOGGER.warning("Frame " + buffer.index + " not recorded: " + e);
+            }
+            this.free.offer(buffer);
+        }
+        if (this.rleOut != null) {
+            try {
+                this.rleOut.close();
+            } catch (IOException e) {
+                LOGGER.warning("Recording not closed: " + e);
+            }
+        }
+    }
+
+    private void write(final FrameBuffer buffer) throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs())
+            throw new IOException("Cannot create " + this.directory);
+        if (this.format == Format.PNG) {
+            File file = new File(this.directory, String.format("frame-%06d.png", buffer.index));
+            ImageIO.write(buffer.image, "png", file);
+            return;
+        }
+
+        if (this.rleOut == null) {
+            this.rleOut = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(new File(this.directory, RLE_FILE))));
+            this.rleOut.writeInt(RLE_MAGIC);
+            this.rleOut.writeInt(RLE_VERSION);
+        }
+        int width = buffer.image.getWidth();
+        int height = buffer.image.getHeight();
+        if (this.runs.length < width * height)
+            this.runs = new int[width * height];
+        int count = encodeRuns(buffer.pixels, width * height, this.runs);
+        this.rleOut.writeLong(buffer.index);
+        this.rleOut.writeInt(width);
+        this.rleOut.writeInt(height);
+        this.rleOut.writeInt(count);
+        for (int i = 0; i < count; i++)
+            this.rleOut.writeInt(this.runs[i]);
+    }
+
+    /**
+     * Run-length encodes pixels, ignoring their top byte.
+     *
+     * @param pixels
+     *            RGB pixels.
+     * @param length
+     *            Pixels to encode.
+     * @param runs
+     *            Receives the runs, needs room for length runs.
+     * @return Number of runs.
+     */
+    public static int encodeRuns(final int[] pixels, final int length, final int[] runs) {
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            int rgb = pixels[i] & 0xFFFFFF;
+            int end = i + 1;
+            int limit = Math.min(length, i + MAX_RUN);
+            while (end < limit && (pixels[end] & 0xFFFFFF) == rgb)
+                end++;
+            runs[count++] = (end - i - 1) << 24 | rgb;
+            i = end;
+        }
+        return count;
+    }
+
+    /**
+     * Expands runs back into pixels.
+     *
+     * @param runs
+     *            Runs to expand.
+     * @param count
+     *            Number of runs.
+     * @param pixels
+     *            Receives the RGB pixels.
+     * @return Number of pixels.
+     */
+    public static int decodeRuns(final int[] runs, final int count, final int[] pixels) {
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int run = (runs[i] >>> 24) + 1;
+            Arrays.fill(pixels, length, length + run, runs[i] & 0xFFFFFF);
+            length += run;
+        }
+        return length;
+    }
+
+    /**
+     * Stops capturing, and waits for the queued frames to be written. Frames
+     * queued after the encoder stopped are counted as dropped.
+     */
+    public void close() {
+        this.running = false;
+        try {
+            this.encoder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (this.filled.poll() != null)
+            this.dropped.incrementAndGet();
+        LOGGER.info("Recorded " + this.written + " frames, dropped " + this.dropped
+                + ", failed " + this.failed);
+    }
+
+    /**
+     * Getter for the number of frames dropped.
+     *
+     * @return Frames dropped because the encoder fell behind.
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Getter for the number of frames written.
+     *
+     * @return Frames written.
+     */
+    public long getWritten() {
+        return this.written;
+    }
+
+    /**
+     * Getter for the number of frames lost to write errors.
+     *
+     * @return Frames failed.
+     */
+    public long getFailed() {
+        return this.failed;
+    }
+}
@@ -0,0 +1,285 @@
+package engine.render;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Game frames for agents that learn from pixels.
+ * Each tick the sprites and particles of a render snapshot are rasterized as
+ * filled boxes into a small byte frame, without AWT, so it also runs
+ * headless. A pixel holds either the gray level of what covers it or the
+ * class of the entity, from the palette below. The last frames are kept so
+ * they can be handed out stacked, oldest first.
+ */
+public final class PixelObservation {
+
+    /** System property that renders observations every tick when "true". */
+    public static final String ENABLED_PROPERTY = "invaders.obs";
+    /** System property with the observation width. */
+    public static final String WIDTH_PROPERTY = "invaders.obs.width";
+    /** System property with the observation height. */
+    public static final String HEIGHT_PROPERTY = "invaders.obs.height";
+    /** System property with the number of frames stacked. */
+    public static final String STACK_PROPERTY = "invaders.obs.stack";
+    /** System property with the mode, "gray" or "palette". */
+    public static final String MODE_PROPERTY = "invaders.obs.mode";
+    /** Side of the observation when the properties are not set. */
+    public static final int DEFAULT_SIZE = 84;
+
+    /** Palette classes of the pixels. */
+    public static final byte EMPTY = 0;
+    public static final byte PLAYER = 1;
+    public static final byte ENEMY = 2;
+    public static final byte BOSS = 3;
+    public static final byte PLAYER_BULLET = 4;
+    public static final byte ENEMY_BULLET = 5;
+    public static final byte ITEM = 6;
+    public static final byte PARTICLE = 7;
+
+    /** What a pixel holds. */
+    public enum Mode {
+        /** Gray level of the sprite color, 0 for background. */
+        GRAYSCALE,
+        /** Palette class of the entity, EMPTY for background. */
+        PALETTE
+    }
+
+    /** Palette class of each sprite type, indexed by ordinal. */
+    private static final byte[] CLASSES = new byte[SpriteType.values().length];
+
+    static {
+        for (SpriteType type : SpriteType.values())
+            CLASSES[type.ordinal()] = classOf(type);
+    }
+
+    /** Size of the screen the sprites are placed on. */
+    private final int sourceWidth;
+    private final int sourceHeight;
+    /** Size of an observation frame. */
+    private final int width;
+    private final int height;
+    /** What the pixels hold. */
+    private final Mode mode;
+    /** Last frames, reused. */
+    private final byte[][] frames;
+    /** Slot of the newest frame. */
+    private int newest;
+    /** Frames rendered. */
+    private long frameCount;
+
+    /**
+     * Constructor.
+     *
+     * @param sourceWidth
+     *            Width of the screen.
+     * @param sourceHeight
+     *            Height of the screen.
+     * @param width
+     *            Width of an observation frame.
+     * @param height
+     *            Height of an observation frame.
+     * @param stack
+     *            Number of frames kept and handed out together.
+     * @param mode
+     *            What the pixels hold.
+     */
+    public PixelObservation(final int sourceWidth, final int sourceHeight,
+                            final int width, final int height, final int stack, final Mode mode) {
+        if (width <= 0 || height <= 0 || stack <= 0)
+            throw new IllegalArgumentException("Observation needs a positive size and stack, got "
+                    + width + "x" + height + "x" + stack);
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.width = width;
+        this.height = height;
+        this.mode = mode;
+        this.frames = new byte[stack][width * height];
+        this.newest = stack - 1;
+    }
+
+    /**
+     * Checks if the system properties turn observations on.
+     *
+     * @return True when enabled.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Creates an observation configured by the system properties.
+     *
+     * @param sourceWidth
+     *            Width of the screen.
+     * @param sourceHeight
+     *            Height of the screen.
+     * @return New observation.
+     */
+    public static PixelObservation fromProperties(final int sourceWidth, final int sourceHeight) {
+        Mode mode = "palette".equalsIgnoreCase(System.getProperty(MODE_PROPERTY))
+                ? Mode.PALETTE : Mode.GRAYSCALE;
+        return new PixelObservation(sourceWidth, sourceHeight,
+                Integer.getInteger(WIDTH_PROPERTY, DEFAULT_SIZE),
+                Integer.getInteger(HEIGHT_PROPERTY, DEFAULT_SIZE),
+                Integer.getInteger(STACK_PROPERTY, 1), mode);
+    }
+
+    /**
+     * Renders a snapshot as the newest frame, dropping the oldest.
+     *
+     * @param snapshot
+     *            What the screen shows this tick.
+     */
+    public synchronized void render(final RenderSnapshot snapshot) {
+        this.newest = (this.newest + 1) % this.frames.length;
+        byte[] frame = this.frames[this.newest];
+        Arrays.fill(frame, EMPTY);
+
+        boolean gray = this.mode == Mode.GRAYSCALE;
+        for (int i = 0; i < snapshot.getSpriteCount(); i++) {
+            byte kind = CLASSES[snapshot.getSpriteType(i).ordinal()];
+            if (kind == EMPTY)
+                continue;
+            fill(frame, snapshot.getPositionX(i), snapshot.getPositionY(i),
+                    snapshot.getWidth(i), snapshot.getHeight(i),
+                    gray ? luminance(snapshot.getColor(i)) : kind);
+        }
+        for (int i = 0; i < snapshot.getParticleCount(); i++) {
+            int side = snapshot.getParticleSize(i);
+            fill(frame, snapshot.getParticleX(i), snapshot.getParticleY(i), side, side,
+                    gray ? luminance(snapshot.getParticleColor(i)) : PARTICLE);
+        }
+        this.frameCount++;
+    }
+
+    /**
+     * Fills the observation pixels covered by a box of the screen. Every box
+     * covers at least one pixel, so small bullets do not vanish.
+     */
+    private void fill(final byte[] frame, final int x, final int y, final int w, final int h,
+                      final byte value) {
+        if (x >= this.sourceWidth || y >= this.sourceHeight || x + w <= 0 || y + h <= 0)
+            return;
+        int left = Math.max(0, x * this.width / this.sourceWidth);
+        int top = Math.max(0, y * this.height / this.sourceHeight);
+        int right = Math.min(this.width, Math.max(left + 1,
+                -Math.floorDiv(-(x + w) * this.width, this.sourceWidth)));
+        int bottom = Math.min(this.height, Math.max(top + 1,
+                -Math.floorDiv(-(y + h) * this.height, this.sourceHeight)));
+        for (int row = top; row < bottom; row++)
+            Arrays.fill(frame, row * this.width + left, row * this.width + right, value);
+    }
+
+    /**
+     * Returns the gray level of a color, at least 1 so nothing drawn reads
+     * as background.
+     */
+    private static byte luminance(final Color color) {
+        int level = (299 * color.getRed() + 587 * color.getGreen() + 114 * color.getBlue()) / 1000;
+        return (byte) Math.max(1, level);
+    }
+
+    private static byte classOf(final SpriteType type) {
+        switch (type) {
+            case Ship:
+            case ShipDestroyed:
+                return PLAYER;
+            case Bullet:
+                return PLAYER_BULLET;
+            case EnemyBullet:
+            case FinalBossBullet:
+                return ENEMY_BULLET;
+            case EnemyShipA1:
+            case EnemyShipA2:
+            case EnemyShipB1:
+            case EnemyShipB2:
+            case EnemyShipC1:
+            case EnemyShipC2:
+            case EnemyShipSpecial:
+                return ENEMY;
+            case FinalBoss1:
+            case FinalBoss2:
+            case FinalBossDeath:
+            case OmegaBoss1:
+            case OmegaBoss2:
+            case OmegaBossDeath:
+                return BOSS;
+            case Explosion:
+                return PARTICLE;
+            case Item_MultiShot:
+            case Item_Atkspeed:
+            case Item_Penetrate:
+            case Item_Explode:
+            case Item_Slow:
+            case Item_Stop:
+            case Item_Push:
+            case Item_Shield:
+            case Item_Heal:
+                return ITEM;
+            default:
+                return EMPTY;
+        }
+    }
+
+    /**
+     * Copies the stacked frames, oldest first, each one row by row.
+     *
+     * @return New array of stack * height * width bytes.
+     */
+    public synchronized byte[] copyFrames() {
+        int size = this.width * this.height;
+        byte[] out = new byte[this.frames.length * size];
+        for (int k = 0; k < this.frames.length; k++) {
+            int slot = (this.newest + 1 + k) % this.frames.length;
+            System.arraycopy(this.frames[slot], 0, out, k * size, size);
+        }
+        return out;
+    }
+
+    /**
+     * Getter for the width of a frame.
+     *
+     * @return Width in pixels.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Getter for the height of a frame.
+     *
+     * @return Height in pixels.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Getter for the number of frames stacked.
+     *
+     * @return Frames handed out together.
+     */
+    public int getStack() {
+        return this.frames.length;
+    }
+
+    /**
+     * Getter for what the pixels hold.
+     *
+     * @return Mode.
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Getter for the number of frames rendered.
+     *
+     * @return Frames so far.
+     */
+    public synchronized long getFrameCount() {
+        return this.frameCount;
+    }
+}
@@ -0,0 +1,452 @@
+package engine.render;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+import entity.Entity;
+import entity.EntityRegistry;
+import entity.ParticleField;
+
+/**
+ * What a screen shows after one simulation tick: the sprites with their
+ * entity id, sprite, tint and position, the particles, and the values of
+ * the interface. The simulation fills a snapshot and publishes it, and the
+ * renderer only reads published snapshots, so it never touches live
+ * entities.
+ * Sprites of registered entities carry their id, letting the renderer
+ * interpolate their position from the previous snapshot.
+ */
+public final class RenderSnapshot {
+
+    /** Id of sprites that are not interpolated. */
+    public static final int NO_ID = EntityRegistry.NO_ID;
+    /** Slots of interface values. */
+    public static final int HUD_SLOTS = 24;
+    /** Slots of interface texts. */
+    public static final int TEXT_SLOTS = 4;
+    /** Longest move interpolated, longer ones are treated as teleports. */
+    public static final int MAX_INTERPOLATED_MOVE = 64;
+
+    /** Capacity of a new snapshot. */
+    private static final int INITIAL_CAPACITY = 128;
+    /** Sprite types indexed by ordinal, cached to avoid values() copies. */
+    private static final SpriteType[] SPRITE_TYPES = SpriteType.values();
+
+    /** Simulation time of the snapshot, in nanoseconds. */
+    private long tickNanos;
+
+    /** Number of sprites. */
+    private int spriteCount;
+    /** Entity id of each sprite, NO_ID when not interpolated. */
+    private int[] ids = new int[INITIAL_CAPACITY];
+    /** Sprite ordinal of each sprite. */
+    private int[] sprites = new int[INITIAL_CAPACITY];
+    /** Tint of each sprite. */
+    private Color[] colors = new Color[INITIAL_CAPACITY];
+    /** Position of each sprite. */
+    private int[] positionX = new int[INITIAL_CAPACITY];
+    private int[] positionY = new int[INITIAL_CAPACITY];
+    /** Size of each sprite. */
+    private int[] widths = new int[INITIAL_CAPACITY];
+    private int[] heights = new int[INITIAL_CAPACITY];
+
+    /** Number of particles. */
+    private int particleCount;
+    /** Position, side and color of each particle. */
+    private int[] particleX = new int[INITIAL_CAPACITY];
+    private int[] particleY = new int[INITIAL_CAPACITY];
+    private int[] particleSize = new int[INITIAL_CAPACITY];
+    private Color[] particleColors = new Color[INITIAL_CAPACITY];
+
+    /** Interface values, meaning set by the screen. */
+    private final int[] hud = new int[HUD_SLOTS];
+    /** Interface texts, meaning set by the screen. */
+    private final String[] texts = new String[TEXT_SLOTS];
+
+    /** Sprite index of each id plus one, 0 when absent. Built on demand. */
+    private int[] slotOfId = new int[0];
+    /** True when slotOfId matches the sprites. */
+    private boolean indexed;
+
+    /**
+     * Empties the snapshot for a new tick.
+     *
+     * @param tickNanos
+     *            Simulation time of the tick, in nanoseconds.
+     */
+    public void clear(final long tickNanos) {
+        this.tickNanos = tickNanos;
+        this.spriteCount = 0;
+        this.particleCount = 0;
+        Arrays.fill(this.hud, 0);
+        Arrays.fill(this.texts, null);
+        this.indexed = false;
+    }
+
+    /**
+     * Adds the sprite of an entity at its position.
+     *
+     * @param id
+     *            Id of the entity, NO_ID to draw it without interpolation.
+     * @param entity
+     *            Entity to draw.
+     */
+    public void addEntity(final int id, final Entity entity) {
+        addSprite(id, entity.getSpriteType(), entity.getColor(),
+                entity.getPositionX(), entity.getPositionY(),
+                entity.getWidth(), entity.getHeight());
+    }
+
+    /**
+     * Adds a sprite.
+     *
+     * @param id
+     *            Id of the entity, NO_ID to draw it without interpolation.
+     * @param spriteType
+     *            Sprite to draw.
+     * @param color
+     *            Tint of the sprite.
+     * @param x
+     *            Left side of the sprite.
+     * @param y
+     *            Upper side of the sprite.
+     * @param width
+     *            Width of the sprite.
+     * @param height
+     *            Height of the sprite.
+     */
+    public void addSprite(final int id, final SpriteType spriteType, final Color color,
+                          final int x, final int y, final int width, final int height) {
+        if (this.spriteCount == this.ids.length) {
+            int capacity = this.ids.length * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.sprites = Arrays.copyOf(this.sprites, capacity);
+            this.colors = Arrays.copyOf(this.colors, capacity);
+            this.positionX = Arrays.copyOf(this.positionX, capacity);
+            this.positionY = Arrays.copyOf(this.positionY, capacity);
+            this.widths = Arrays.copyOf(this.widths, capacity);
+            this.heights = Arrays.copyOf(this.heights, capacity);
+        }
+        int i = this.spriteCount++;
+        this.ids[i] = id;
+        this.sprites[i] = spriteType.ordinal();
+        this.colors[i] = color;
+        this.positionX[i] = x;
+        this.positionY[i] = y;
+        this.widths[i] = width;
+        this.heights[i] = height;
+    }
+
+    /**
+     * Adds every live particle of a field.
+     *
+     * @param particles
+     *            Particles to copy.
+     */
+    public void addParticles(final ParticleField particles) {
+        int count = particles.size();
+        int needed = this.particleCount + count;
+        if (needed > this.particleX.length) {
+            int capacity = Math.max(needed, this.particleX.length * 2);
+            this.particleX = Arrays.copyOf(this.particleX, capacity);
+            this.particleY = Arrays.copyOf(this.particleY, capacity);
+            this.particleSize = Arrays.copyOf(this.particleSize, capacity);
+            this.particleColors = Arrays.copyOf(this.particleColors, capacity);
+        }
+        for (int i = 0; i < count; i++) {
+            int p = this.particleCount++;
+            this.particleX[p] = particles.getPositionX(i);
+            this.particleY[p] = particles.getPositionY(i);
+            this.particleSize[p] = particles.getParticleSize(i);
+            this.particleColors[p] = particles.getPaletteColor(particles.getColorIndex(i));
+        }
+    }
+
+    /**
+     * Copies another snapshot into this one.
+     *
+     * @param other
+     *            Snapshot to copy.
+     */
+    public void copyFrom(final RenderSnapshot other) {
+        clear(other.tickNanos);
+        for (int i = 0; i < other.spriteCount; i++)
+            addSprite(other.ids[i], SPRITE_TYPES[other.sprites[i]], other.colors[i],
+                    other.positionX[i], other.positionY[i], other.widths[i], other.heights[i]);
+        int count = other.particleCount;
+        if (count > this.particleX.length) {
+            this.particleX = new int[count];
+            this.particleY = new int[count];
+            this.particleSize = new int[count];
+            this.particleColors = new Color[count];
+        }
+        System.arraycopy(other.particleX, 0, this.particleX, 0, count);
+        System.arraycopy(other.particleY, 0, this.particleY, 0, count);
+        System.arraycopy(other.particleSize, 0, this.particleSize, 0, count);
+        System.arraycopy(other.particleColors, 0, this.particleColors, 0, count);
+        this.particleCount = count;
+        System.arraycopy(other.hud, 0, this.hud, 0, HUD_SLOTS);
+        System.arraycopy(other.texts, 0, this.texts, 0, TEXT_SLOTS);
+    }
+
+    /**
+     * Returns the X position of a sprite between the previous snapshot and
+     * this one.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @param previous
+     *            Snapshot of the tick before, may be null.
+     * @param alpha
+     *            Progress from the previous snapshot to this one, in [0, 1].
+     * @return Interpolated position.
+     */
+    public int getInterpolatedX(final int i, final RenderSnapshot previous, final double alpha) {
+        int from = previous == null ? -1 : previous.slotOf(this.ids[i]);
+        if (from < 0)
+            return this.positionX[i];
+        return interpolate(previous.positionX[from], this.positionX[i], alpha);
+    }
+
+    /**
+     * Returns the Y position of a sprite between the previous snapshot and
+     * this one.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @param previous
+     *            Snapshot of the tick before, may be null.
+     * @param alpha
+     *            Progress from the previous snapshot to this one, in [0, 1].
+     * @return Interpolated position.
+     */
+    public int getInterpolatedY(final int i, final RenderSnapshot previous, final double alpha) {
+        int from = previous == null ? -1 : previous.slotOf(this.ids[i]);
+        if (from < 0)
+            return this.positionY[i];
+        return interpolate(previous.positionY[from], this.positionY[i], alpha);
+    }
+
+    private static int interpolate(final int from, final int to, final double alpha) {
+        if (Math.abs(to - from) > MAX_INTERPOLATED_MOVE)
+            return to;
+        return from + (int) Math.round((to - from) * alpha);
+    }
+
+    /**
+     * Finds the sprite of an entity id, building the index on first use.
+     */
+    private int slotOf(final int id) {
+        if (id < 0)
+            return -1;
+        if (!this.indexed) {
+            int maxId = -1;
+            for (int i = 0; i < this.spriteCount; i++)
+                maxId = Math.max(maxId, this.ids[i]);
+            if (this.slotOfId.length <= maxId)
+                this.slotOfId = new int[maxId + 1];
+            else
+                Arrays.fill(this.slotOfId, 0);
+            for (int i = 0; i < this.spriteCount; i++)
+                if (this.ids[i] >= 0)
+                    this.slotOfId[this.ids[i]] = i + 1;
+            this.indexed = true;
+        }
+        return id < this.slotOfId.length ? this.slotOfId[id] - 1 : -1;
+    }
+
+    /**
+     * Sets an interface value.
+     *
+     * @param slot
+     *            Slot of the value, meaning set by the screen.
+     * @param value
+     *            Value.
+     */
+    public void setHud(final int slot, final int value) {
+        this.hud[slot] = value;
+    }
+
+    /**
+     * Getter for an interface value.
+     *
+     * @param slot
+     *            Slot of the value.
+     * @return Value.
+     */
+    public int getHud(final int slot) {
+        return this.hud[slot];
+    }
+
+    /**
+     * Sets an interface text.
+     *
+     * @param slot
+     *            Slot of the text, meaning set by the screen.
+     * @param text
+     *            Text, null for none.
+     */
+    public void setText(final int slot, final String text) {
+        this.texts[slot] = text;
+    }
+
+    /**
+     * Getter for an interface text.
+     *
+     * @param slot
+     *            Slot of the text.
+     * @return Text, null for none.
+     */
+    public String getText(final int slot) {
+        return this.texts[slot];
+    }
+
+    /**
+     * Getter for the simulation time of the snapshot.
+     *
+     * @return Tick time, in nanoseconds.
+     */
+    public long getTickNanos() {
+        return this.tickNanos;
+    }
+
+    /**
+     * Getter for the number of sprites.
+     *
+     * @return Sprites in the snapshot.
+     */
+    public int getSpriteCount() {
+        return this.spriteCount;
+    }
+
+    /**
+     * Getter for the entity id of a sprite.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Entity id, NO_ID when not interpolated.
+     */
+    public int getId(final int i) {
+        return this.ids[i];
+    }
+
+    /**
+     * Getter for the sprite type of a sprite.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Sprite type.
+     */
+    public SpriteType getSpriteType(final int i) {
+        return SPRITE_TYPES[this.sprites[i]];
+    }
+
+    /**
+     * Getter for the tint of a sprite.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Color.
+     */
+    public Color getColor(final int i) {
+        return this.colors[i];
+    }
+
+    /**
+     * Getter for the X position of a sprite in this snapshot.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Left side of the sprite.
+     */
+    public int getPositionX(final int i) {
+        return this.positionX[i];
+    }
+
+    /**
+     * Getter for the Y position of a sprite in this snapshot.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Upper side of the sprite.
+     */
+    public int getPositionY(final int i) {
+        return this.positionY[i];
+    }
+
+    /**
+     * Getter for the width of a sprite.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Width in pixels.
+     */
+    public int getWidth(final int i) {
+        return this.widths[i];
+    }
+
+    /**
+     * Getter for the height of a sprite.
+     *
+     * @param i
+     *            Index of the sprite.
+     * @return Height in pixels.
+     */
+    public int getHeight(final int i) {
+        return this.heights[i];
+    }
+
+    /**
+     * Getter for the number of particles.
+     *
+     * @return Particles in the snapshot.
+     */
+    public int getParticleCount() {
+        return this.particleCount;
+    }
+
+    /**
+     * Getter for the X position of a particle.
+     *
+     * @param i
+     *            Index of the particle.
+     * @return Position in pixels.
+     */
+    public int getParticleX(final int i) {
+        return this.particleX[i];
+    }
+
+    /**
+     * Getter for the Y position of a particle.
+     *
+     * @param i
+     *            Index of the particle.
+     * @return Position in pixels.
+     */
+    public int getParticleY(final int i) {
+        return this.particleY[i];
+    }
+
+    /**
+     * Getter for the side of a particle.
+     *
+     * @param i
+     *            Index of the particle.
+     * @return Side in pixels.
+     */
+    public int getParticleSize(final int i) {
+        return this.particleSize[i];
+    }
+
+    /**
+     * Getter for the color of a particle.
+     *
+     * @param i
+     *            Index of the particle.
+     * @return Color.
+     */
+    public Color getParticleColor(final int i) {
+        return this.particleColors[i];
+    }
+}
@@ -0,0 +1,156 @@
+package engine.render;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import engine.Core;
+import engine.DrawManager;
+import engine.GameSession;
+import screen.Screen;
+
+/**
+ * Draws the snapshots published by a screen on its own thread.
+ * The simulation keeps its fixed rate on the screen thread and publishes a
+ * snapshot every tick; this thread takes the newest one, interpolates the
+ * sprites from the tick before and draws at its own rate, which may be
+ * higher. While it runs, it is the only user of the draw manager.
+ */
+public final class RenderThread {
+
+    /** System property that turns the render thread on when "true". */
+    public static final String ENABLED_PROPERTY = "invaders.renderThread";
+    /** System property with the frames drawn per second. */
+    public static final String RATE_PROPERTY = "invaders.renderFps";
+    /** Frames drawn per second when the property is not set. */
+    public static final int DEFAULT_RATE = 120;
+
+    /** Application logger. */
+    private static final Logger LOGGER = Core.getLogger();
+
+    /** Screen the frames belong to. */
+    private final Screen screen;
+    /** Snapshots published by the screen. */
+    private final TripleBuffer<RenderSnapshot> snapshots;
+    /** Paints the interface of the screen. */
+    private final SnapshotRenderer.Overlay overlay;
+    /** Time between frames, in nanoseconds. */
+    private final long periodNanos;
+    /** Thread drawing the frames. */
+    private final Thread thread;
+
+    /** False once the thread is asked to stop. */
+    private volatile boolean running;
+    /** Frames drawn. */
+    private volatile long framesRendered;
+
+    /**
+     * Constructor, prepares the thread without starting it.
+     *
+     * @param screen
+     *            Screen the frames belong to.
+     * @param snapshots
+     *            Snapshots published by the screen.
+     * @param overlay
+     *            Paints the interface of the screen.
+     * @param rate
+     *            Frames drawn per second.
+     */
+    public RenderThread(final Screen screen, final TripleBuffer<RenderSnapshot> snapshots,
+                        final SnapshotRenderer.Overlay overlay, final int rate) {
+        this.screen = screen;
+        this.snapshots = snapshots;
+        this.overlay = overlay;
+        this.periodNanos = 1_000_000_000L / Math.max(1, rate);
+        this.thread = new Thread(this::run, "render");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Checks if the system properties turn the render thread on.
+     *
+     * @return True when enabled.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Returns the frame rate set by the system properties.
+     *
+     * @return Frames drawn per second.
+     */
+    public static int getRate() {
+        return Integer.getInteger(RATE_PROPERTY, DEFAULT_RATE);
+    }
+
+    /**
+     * Starts drawing.
+     */
+    public void start() {
+        this.running = true;
+        this.thread.start();
+    }
+
+    /**
+     * Stops drawing and waits for the last frame to finish.
+     */
+    public void stop() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        this.screen.getSession().bind();
+        DrawManager drawManager = Core.getDrawManager();
+        RenderSnapshot previous = new RenderSnapshot();
+        boolean hasCurrent = false;
+        boolean hasPrevious = false;
+        long nextFrame = System.nanoTime();
+
+        while (this.running) {
+            if (this.snapshots.hasFresh()) {
+                // The old front goes back to the simulation, keep a copy.
+                previous.copyFrom(this.snapshots.front());
+                hasPrevious = hasCurrent;
+                this.snapshots.swapFront();
+                hasCurrent = true;
+            }
+            if (hasCurrent) {
+                RenderSnapshot current = this.snapshots.front();
+                double alpha = hasPrevious
+                        ? SnapshotRenderer.alpha(previous.getTickNanos(),
+                                current.getTickNanos(), System.nanoTime())
+                        : 1;
+                try {
+                    SnapshotRenderer.render(drawManager, this.screen,
+                            hasPrevious ? previous : null, current, alpha, this.overlay);
+                    this.framesRendered++;
+                } catch (RuntimeException e) {
+                    LOGGER.warning("Frame not drawn: " + e);
+                }
+            }
+
+            nextFrame += this.periodNanos;
+            long wait = nextFrame - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            else
+                nextFrame = System.nanoTime();
+        }
+        GameSession.unbind();
+    }
+
+    /**
+     * Getter for the number of frames drawn.
+     *
+     * @return Frames drawn.
+     */
+    public long getFramesRendered() {
+        return this.framesRendered;
+    }
+}
@@ -0,0 +1,80 @@
+package engine.render;
+
+import engine.DrawManager;
+import screen.Screen;
+
+/**
+ * Draws a render snapshot: sprites at their interpolated position, then the
+ * particles, then the interface painted by the screen.
+ */
+public final class SnapshotRenderer {
+
+    /** Paints the interface of a screen from a snapshot. */
+    @FunctionalInterface
+    public interface Overlay {
+
+        /**
+         * Paints the interface.
+         *
+         * @param drawManager
+         *            Draw manager of the frame being drawn.
+         * @param snapshot
+         *            Snapshot holding the interface values.
+         */
+        void paint(DrawManager drawManager, RenderSnapshot snapshot);
+    }
+
+    private SnapshotRenderer() {
+    }
+
+    /**
+     * Draws a whole frame from a snapshot.
+     *
+     * @param drawManager
+     *            Draw manager to draw with.
+     * @param screen
+     *            Screen the frame belongs to.
+     * @param previous
+     *            Snapshot of the tick before, null to draw without
+     *            interpolation.
+     * @param current
+     *            Snapshot to draw.
+     * @param alpha
+     *            Progress from the previous snapshot to the current one.
+     * @param overlay
+     *            Paints the interface.
+     */
+    public static void render(final DrawManager drawManager, final Screen screen,
+                              final RenderSnapshot previous, final RenderSnapshot current,
+                              final double alpha, final Overlay overlay) {
+        drawManager.initDrawing(screen);
+        for (int i = 0; i < current.getSpriteCount(); i++)
+            drawManager.drawSprite(current.getSpriteType(i), current.getColor(i),
+                    current.getInterpolatedX(i, previous, alpha),
+                    current.getInterpolatedY(i, previous, alpha));
+        drawManager.drawParticles(current);
+        overlay.paint(drawManager, current);
+        drawManager.completeDrawing(screen);
+    }
+
+    /**
+     * Returns how far the display is between two snapshots. The display runs
+     * one tick behind, moving from the previous snapshot to the current one
+     * while the next tick is simulated.
+     *
+     * @param previousTick
+     *            Time of the previous snapshot, in nanoseconds.
+     * @param currentTick
+     *            Time of the current snapshot, in nanoseconds.
+     * @param now
+     *            Display time, in nanoseconds.
+     * @return Progress in [0, 1], 1 when the interval is unknown.
+     */
+    public static double alpha(final long previousTick, final long currentTick, final long now) {
+        long interval = currentTick - previousTick;
+        if (interval <= 0)
+            return 1;
+        double alpha = (double) (now - currentTick) / interval;
+        return Math.max(0, Math.min(1, alpha));
+    }
+}
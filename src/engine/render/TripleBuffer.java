@@ -0,0 +1,94 @@
+package engine.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands values from one producer thread to one consumer thread without
+ * locks or copies.
+ * The producer fills its back slot and publishes it; the consumer takes the
+ * newest published slot as its front. The third slot holds the value
+ * published last, so neither thread ever waits for the other and the
+ * consumer always sees a complete value.
+ *
+ * @param <T>
+ *            Type of the values, reused between publications.
+ */
+public final class TripleBuffer<T> {
+
+    /** Flag of the ready slot when it holds a value not yet taken. */
+    private static final int FRESH = 4;
+    /** Bits of the ready state holding the slot index. */
+    private static final int INDEX = 3;
+
+    /** The three slots. */
+    private final Object[] slots = new Object[3];
+    /** Index of the slot last published, with FRESH until taken. */
+    private final AtomicInteger ready = new AtomicInteger(1);
+    /** Slot written by the producer. */
+    private int back = 0;
+    /** Slot read by the consumer. */
+    private int front = 2;
+
+    /**
+     * Constructor, fills the three slots.
+     *
+     * @param factory
+     *            Creates the value of each slot.
+     */
+    public TripleBuffer(final Supplier<? extends T> factory) {
+        for (int i = 0; i < this.slots.length; i++)
+            this.slots[i] = factory.get();
+    }
+
+    /**
+     * Getter for the slot the producer fills. Only the producer calls this.
+     *
+     * @return Back slot.
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) this.slots[this.back];
+    }
+
+    /**
+     * Publishes the back slot and gives the producer a new one. Only the
+     * producer calls this.
+     */
+    public void publish() {
+        this.back = this.ready.getAndSet(this.back | FRESH) & INDEX;
+    }
+
+    /**
+     * Checks if a value was published since the consumer last took one.
+     *
+     * @return True when a newer value is ready.
+     */
+    public boolean hasFresh() {
+        return (this.ready.get() & FRESH) != 0;
+    }
+
+    /**
+     * Takes the newest published value if there is one. The slot returned
+     * before is handed back to the producer, so the consumer copies what it
+     * still needs from it first. Only the consumer calls this.
+     *
+     * @return True when the front slot changed.
+     */
+    public boolean swapFront() {
+        if (!hasFresh())
+            return false;
+        this.front = this.ready.getAndSet(this.front) & INDEX;
+        return true;
+    }
+
+    /**
+     * Getter for the slot the consumer reads. Only the consumer calls this.
+     *
+     * @return Front slot.
+     */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        return (T) this.slots[this.front];
+    }
+}
@@ -6,11 +6,13 @@ import java.awt.*;
 
 
 public class BossBullet extends Entity{
-    /** amount of horizontal change*/
-    private int dx;
-    /** amount of vertical change*/
-    private int dy;
-    /** bossBullets carry bullets that the boss will shoot */
+    /** position in fixed point, keeps the fraction of angled moves */
+    private int fixedX;
+    private int fixedY;
+    /** amount of horizontal change, in fixed point */
+    private int velocityX;
+    /** amount of vertical change, in fixed point */
+    private int velocityY;
     /**
      * Constructor, establishes boss bullets.
      *
@@ -31,16 +33,48 @@ public class BossBullet extends Entity{
      */
     public BossBullet(int x, int y, int dx, int dy, int width, int height, Color color) {
         super(x, y, width, height, color);
-        this.dx = dx;
-        this.dy = dy;
         this.spriteType = DrawManager.SpriteType.FinalBossBullet; // boss's bullet image = enemyBullet
+        reset(x, y, dx, dy, width, height, color);
+    }
+    /**
+     * Sets up a recycled bullet, with the same parameters as the constructor.
+     */
+    public void reset(int x, int y, int dx, int dy, int width, int height, Color color) {
+        resetFixed(x, y, dx << DirectionTable.FRACTION_BITS, dy << DirectionTable.FRACTION_BITS,
+                width, height, color);
+    }
+    /**
+     * Sets up a recycled bullet moving by fractions of pixels.
+     *
+     * @param velocityX
+     *            amount of horizontal change, in DirectionTable fixed point
+     * @param velocityY
+     *            amount of vertical change, in DirectionTable fixed point
+     */
+    public void resetFixed(int x, int y, int velocityX, int velocityY, int width, int height, Color color) {
+        this.positionX = x;
+        this.positionY = y;
+        this.fixedX = x << DirectionTable.FRACTION_BITS;
+        this.fixedY = y << DirectionTable.FRACTION_BITS;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.width = width;
+        this.height = height;
+        this.color = color;
     }
     /**
      * move a bullet
      */
     public void update() {
-        this.positionX += this.dx;
-        this.positionY += this.dy;
+        // picks up positions set from outside
+        if (this.fixedX >> DirectionTable.FRACTION_BITS != this.positionX)
+            this.fixedX = this.positionX << DirectionTable.FRACTION_BITS;
+        if (this.fixedY >> DirectionTable.FRACTION_BITS != this.positionY)
+            this.fixedY = this.positionY << DirectionTable.FRACTION_BITS;
+        this.fixedX += this.velocityX;
+        this.fixedY += this.velocityY;
+        this.positionX = this.fixedX >> DirectionTable.FRACTION_BITS;
+        this.positionY = this.fixedY >> DirectionTable.FRACTION_BITS;
     }
     /**
      * does the bullet go off the screen
@@ -49,10 +83,4 @@ public class BossBullet extends Entity{
         return positionX < 0 || positionX > screenWidth ||
                 positionY < 0 || positionY > screenHeight;
     }
-
-
-
-
-
-
 }
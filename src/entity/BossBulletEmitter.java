@@ -0,0 +1,235 @@
+package entity;
+
+import java.awt.Color;
+
+import engine.Cooldown;
+import engine.Core;
+
+/**
+ * Reusable boss attack, firing one bullet pattern every interval.
+ * Bullets come from BossBulletPool and are written straight into the boss
+ * bullet list of the screen, at most the limit given by the caller, so an
+ * attack costs a bounded amount of work and allocates nothing once the pool
+ * is warm. Angled patterns read their directions from DirectionTable.
+ */
+public final class BossBulletEmitter {
+
+    /** Shape of the pattern. */
+    public enum Kind {
+        /** Bullets side by side, each drifting sideways a step more. */
+        ROW,
+        /** Bullets evenly spread around a circle. */
+        RADIAL,
+        /** Radial pattern turning a little more every shot. */
+        SPIRAL,
+        /** Bullets fanned over an arc centered on the target. */
+        AIMED_SPREAD
+    }
+
+    /** Shape of the pattern. */
+    private final Kind kind;
+    /** Bullets per shot. */
+    private final int count;
+    /** Bullet speed, in DirectionTable fixed point. */
+    private final int speed;
+    /** ROW: distance between bullets, in pixels. */
+    private final int spacing;
+    /** ROW: sideways speed added per bullet, in fixed point. */
+    private final int drift;
+    /** AIMED_SPREAD: width of the arc, in angle steps. */
+    private final int arc;
+    /** SPIRAL: turn per shot, in angle steps. */
+    private final int turn;
+    /** Bullet size. */
+    private final int bulletWidth;
+    private final int bulletHeight;
+    /** Bullet color. */
+    private final Color color;
+    /** Time between shots. */
+    private final Cooldown cooldown;
+    /** Angle of the first bullet, in angle steps. */
+    private int phase;
+
+    private BossBulletEmitter(final Kind kind, final int count, final double speed,
+                              final int spacing, final double drift, final double arcDegrees,
+                              final double turnDegrees, final int interval,
+                              final int bulletWidth, final int bulletHeight, final Color color) {
+        if (count <= 0)
+            throw new IllegalArgumentException("Emitter needs at least one bullet, got " + count);
+        this.kind = kind;
+        this.count = count;
+        this.speed = fixed(speed);
+        this.spacing = spacing;
+        this.drift = fixed(drift);
+        this.arc = steps(arcDegrees);
+        this.turn = steps(turnDegrees);
+        this.bulletWidth = bulletWidth;
+        this.bulletHeight = bulletHeight;
+        this.color = color;
+        this.cooldown = Core.getCooldown(interval);
+    }
+
+    /**
+     * Creates a row of bullets falling side by side.
+     *
+     * @param count Bullets per shot
+     * @param spacing Distance between bullets, in pixels
+     * @param drift Sideways speed added per bullet away from the center
+     * @param speed Falling speed
+     * @param interval Time between shots, in milliseconds
+     * @param width Bullet width
+     * @param height Bullet height
+     * @param color Bullet color
+     * @return Emitter
+     */
+    public static BossBulletEmitter row(final int count, final int spacing, final double drift,
+                                        final double speed, final int interval,
+                                        final int width, final int height, final Color color) {
+        return new BossBulletEmitter(Kind.ROW, count, speed, spacing, drift, 0, 0,
+                interval, width, height, color);
+    }
+
+    /**
+     * Creates a ring of bullets.
+     *
+     * @param count Bullets per shot
+     * @param speed Bullet speed
+     * @param interval Time between shots, in milliseconds
+     * @param width Bullet width
+     * @param height Bullet height
+     * @param color Bullet color
+     * @return Emitter
+     */
+    public static BossBulletEmitter radial(final int count, final double speed, final int interval,
+                                           final int width, final int height, final Color color) {
+        return new BossBulletEmitter(Kind.RADIAL, count, speed, 0, 0, 0, 0,
+                interval, width, height, color);
+    }
+
+    /**
+     * Creates a ring of bullets turning every shot.
+     *
+     * @param arms Bullets per shot
+     * @param speed Bullet speed
+     * @param turnDegrees Turn per shot, in degrees
+     * @param interval Time between shots, in milliseconds
+     * @param width Bullet width
+     * @param height Bullet height
+     * @param color Bullet color
+     * @return Emitter
+     */
+    public static BossBulletEmitter spiral(final int arms, final double speed,
+                                           final double turnDegrees, final int interval,
+                                           final int width, final int height, final Color color) {
+        return new BossBulletEmitter(Kind.SPIRAL, arms, speed, 0, 0, 0, turnDegrees,
+                interval, width, height, color);
+    }
+
+    /**
+     * Creates a fan of bullets aimed at the target.
+     *
+     * @param count Bullets per shot
+     * @param arcDegrees Width of the fan, in degrees
+     * @param speed Bullet speed
+     * @param interval Time between shots, in milliseconds
+     * @param width Bullet width
+     * @param height Bullet height
+     * @param color Bullet color
+     * @return Emitter
+     */
+    public static BossBulletEmitter aimedSpread(final int count, final double arcDegrees,
+                                                final double speed, final int interval,
+                                                final int width, final int height, final Color color) {
+        return new BossBulletEmitter(Kind.AIMED_SPREAD, count, speed, 0, 0, arcDegrees, 0,
+                interval, width, height, color);
+    }
+
+    /**
+     * Fires the pattern if the interval has passed.
+     *
+     * @param out Bullets of the screen, receives the new bullets
+     * @param originX X coordinate of the pattern center
+     * @param originY Y coordinate of the pattern center
+     * @param targetX X coordinate aimed patterns head to
+     * @param targetY Y coordinate aimed patterns head to
+     * @param limit Most bullets to add
+     * @return Number of bullets added
+     */
+    public int emit(final BossBulletList out, final int originX, final int originY,
+                    final int targetX, final int targetY, final int limit) {
+        if (limit <= 0 || !this.cooldown.checkFinished())
+            return 0;
+        this.cooldown.reset();
+        return fire(out, originX, originY, targetX, targetY, Math.min(limit, this.count));
+    }
+
+    /**
+     * Fires the pattern now, ignoring the interval.
+     */
+    int fire(final BossBulletList out, final int originX, final int originY,
+             final int targetX, final int targetY, final int bullets) {
+        int x = originX - this.bulletWidth / 2;
+        int y = originY;
+        switch (this.kind) {
+            case ROW:
+                for (int i = 0; i < bullets; i++) {
+                    // Twice the offset from the center, so even counts stay whole.
+                    int offset2 = 2 * i - (this.count - 1);
+                    out.add(BossBulletPool.getFixedBullet(x + offset2 * this.spacing / 2, y,
+                            offset2 * this.drift / 2, this.speed,
+                            this.bulletWidth, this.bulletHeight, this.color));
+                }
+                break;
+            case SPIRAL:
+                // A spiral is a ring turning every shot.
+                this.phase += this.turn;
+                addRing(out, x, y, bullets);
+                break;
+            case RADIAL:
+                addRing(out, x, y, bullets);
+                break;
+            case AIMED_SPREAD:
+            default:
+                int heading = DirectionTable.angleOf(targetX - originX, targetY - originY);
+                if (this.count == 1) {
+                    addAngled(out, x, y, heading);
+                    break;
+                }
+                int first = heading - this.arc / 2;
+                for (int i = 0; i < bullets; i++)
+                    addAngled(out, x, y, first + i * this.arc / (this.count - 1));
+                break;
+        }
+        return bullets;
+    }
+
+    private void addRing(final BossBulletList out, final int x, final int y, final int bullets) {
+        for (int i = 0; i < bullets; i++)
+            addAngled(out, x, y, this.phase + i * DirectionTable.STEPS / this.count);
+    }
+
+    private void addAngled(final BossBulletList out, final int x, final int y,
+                           final int angle) {
+        int velocityX = this.speed * DirectionTable.cos(angle) >> DirectionTable.FRACTION_BITS;
+        int velocityY = this.speed * DirectionTable.sin(angle) >> DirectionTable.FRACTION_BITS;
+        out.add(BossBulletPool.getFixedBullet(x, y, velocityX, velocityY,
+                this.bulletWidth, this.bulletHeight, this.color));
+    }
+
+    private static int fixed(final double value) {
+        return (int) Math.round(value * DirectionTable.ONE);
+    }
+
+    private static int steps(final double degrees) {
+        return (int) Math.round(degrees * DirectionTable.STEPS / 360);
+    }
+
+    /**
+     * Getter for the shape of the pattern.
+     *
+     * @return Kind of pattern
+     */
+    public Kind getKind() {
+        return this.kind;
+    }
+}
@@ -0,0 +1,121 @@
+package entity;
+
+/**
+ * Boss bullets on screen, kept in a fixed array.
+ * Bullets come from BossBulletPool and go back to it when removed. A removed
+ * bullet is replaced by the last one, so removing costs O(1) and the order
+ * of the bullets is not kept. Loops that remove bullets walk the list from
+ * the end. Adding, removing and iterating by index allocate nothing.
+ */
+public final class BossBulletList {
+
+    /** Bullets on screen, size long. */
+    private final BossBullet[] bullets;
+    /** Number of bullets on screen. */
+    private int size;
+
+    /**
+     * Constructor, creates an empty list.
+     *
+     * @param capacity
+     *            Most bullets on screen at once.
+     */
+    public BossBulletList(final int capacity) {
+        this.bullets = new BossBullet[capacity];
+    }
+
+    /**
+     * Adds a bullet. When the list is full the bullet goes back to the pool.
+     *
+     * @param bullet
+     *            Bullet taken from BossBulletPool.
+     * @return True when the bullet was added.
+     */
+    public boolean add(final BossBullet bullet) {
+        if (this.size == this.bullets.length) {
+            BossBulletPool.recycle(bullet);
+            return false;
+        }
+        this.bullets[this.size++] = bullet;
+        return true;
+    }
+
+    /**
+     * Getter for a bullet.
+     *
+     * @param index
+     *            Index of the bullet, below size.
+     * @return Bullet.
+     */
+    public BossBullet get(final int index) {
+        return this.bullets[index];
+    }
+
+    /**
+     * Removes a bullet and hands it back to the pool. The last bullet takes
+     * its index.
+     *
+     * @param index
+     *            Index of the bullet, below size.
+     */
+    public void recycle(final int index) {
+        BossBulletPool.recycle(this.bullets[index]);
+        this.bullets[index] = this.bullets[--this.size];
+        this.bullets[this.size] = null;
+    }
+
+    /**
+     * Removes every bullet and hands them back to the pool.
+     */
+    public void recycleAll() {
+        for (int i = 0; i < this.size; i++) {
+            BossBulletPool.recycle(this.bullets[i]);
+            this.bullets[i] = null;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Moves every bullet and recycles the ones that left the screen.
+     *
+     * @param width
+     *            Width of the screen.
+     * @param height
+     *            Height of the screen.
+     */
+    public void update(final int width, final int height) {
+        for (int i = this.size - 1; i >= 0; i--) {
+            BossBullet bullet = this.bullets[i];
+            bullet.update();
+            if (bullet.isOffScreen(width, height))
+                recycle(i);
+        }
+    }
+
+    /**
+     * Getter for the number of bullets on screen.
+     *
+     * @return Bullets on screen.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if no bullet is on screen.
+     *
+     * @return True when empty.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Getter for the most bullets on screen at once.
+     *
+     * @return Capacity.
+     */
+    public int capacity() {
+        return this.bullets.length;
+    }
+}
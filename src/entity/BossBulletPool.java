@@ -0,0 +1,116 @@
+package entity;
+
+import java.awt.Color;
+import java.util.function.Supplier;
+
+import engine.GameSession;
+import engine.ObjectPool;
+
+/**
+ * Implements a pool of recyclable boss bullets, and the list of the boss
+ * bullets on screen.
+ */
+public final class BossBulletPool {
+
+    /** Most bullets kept for reuse. */
+    private static final int CAP = 512;
+    /** Most boss bullets on screen at once, so a phase never outgrows the pool. */
+    public static final int MAX_ACTIVE = CAP;
+
+    /** Name of the pool in the session. */
+    public static final String NAME = "bossBullets";
+    /** Creates the pool of a session. */
+    public static final Supplier<ObjectPool<BossBullet>> CREATOR = () -> new ObjectPool<>(NAME,
+            () -> new BossBullet(0, 0, 0, 0, 0, 0, Color.WHITE), null, CAP);
+
+    /**
+     * Constructor, not called.
+     */
+    private BossBulletPool() {
+
+    }
+
+    /**
+     * Returns a bullet from the pool if one is available, a new one if there
+     * isn't.
+     *
+     * @param x
+     *            current x-coordinate
+     * @param y
+     *            current y-coordinate
+     * @param dx
+     *            amount of horizontal change
+     * @param dy
+     *            amount of vertical change
+     * @param width
+     *            bullet's width
+     * @param height
+     *            bullet's height
+     * @param color
+     *            bullet's color
+     * @return Requested bullet.
+     */
+    public static BossBullet getBullet(final int x, final int y, final int dx,
+                                       final int dy, final int width, final int height,
+                                       final Color color) {
+        BossBullet bullet = getPool().acquire();
+        bullet.reset(x, y, dx, dy, width, height, color);
+        return bullet;
+    }
+
+    /**
+     * Returns a bullet moving by fractions of pixels, from the pool if one
+     * is available.
+     *
+     * @param x
+     *            current x-coordinate
+     * @param y
+     *            current y-coordinate
+     * @param velocityX
+     *            amount of horizontal change, in DirectionTable fixed point
+     * @param velocityY
+     *            amount of vertical change, in DirectionTable fixed point
+     * @param width
+     *            bullet's width
+     * @param height
+     *            bullet's height
+     * @param color
+     *            bullet's color
+     * @return Requested bullet.
+     */
+    public static BossBullet getFixedBullet(final int x, final int y, final int velocityX,
+                                            final int velocityY, final int width, final int height,
+                                            final Color color) {
+        BossBullet bullet = getPool().acquire();
+        bullet.resetFixed(x, y, velocityX, velocityY, width, height, color);
+        return bullet;
+    }
+
+    /**
+     * Adds a bullet to the list of available ones.
+     *
+     * @param bullet
+     *            Bullet to recycle.
+     */
+    public static void recycle(final BossBullet bullet) {
+        getPool().release(bullet);
+    }
+
+    /**
+     * Getter for the boss bullets on screen in the current session.
+     *
+     * @return Bullets on screen, at most MAX_ACTIVE.
+     */
+    public static BossBulletList getActive() {
+        return GameSession.current().getBossBullets();
+    }
+
+    /**
+     * Getter for the pool backing the bullets of the current session.
+     *
+     * @return Boss bullet pool.
+     */
+    public static ObjectPool<BossBullet> getPool() {
+        return GameSession.current().getBossBulletPool();
+    }
+}
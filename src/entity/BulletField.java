@@ -0,0 +1,345 @@
+package entity;
+
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+import engine.collision.CollisionLayer;
+import engine.collision.OverlapKernel;
+import engine.collision.OverlapKernels;
+
+/**
+ * Stores every bullet on screen as parallel primitive arrays.
+ * Bullets are addressed by index in [0, size()) and removed by swapping the
+ * last bullet into the freed slot, so the live range is always dense.
+ * Removing a bullet while iterating is safe when iterating from the end.
+ */
+public final class BulletField {
+
+	/** Owner flag of bullets shot by enemies. */
+	public static final int OWNER_ENEMY = 0;
+	/** Owner flag of bullets shot by player 1. */
+	public static final int OWNER_P1 = 1;
+	/** Owner flag of bullets shot by player 2. */
+	public static final int OWNER_P2 = 2;
+
+	/** Width of a bullet. */
+	public static final int WIDTH = 3 * 2;
+	/** Height of a bullet. */
+	public static final int HEIGHT = 5 * 2;
+
+	/** Capacity of a new field. */
+	private static final int INITIAL_CAPACITY = 64;
+	/** Sprite types indexed by ordinal, cached to avoid values() copies. */
+	private static final SpriteType[] SPRITE_TYPES = SpriteType.values();
+
+	/** Position in the x-axis of the upper left corner of each bullet. */
+	private int[] positionX;
+	/** Position in the y-axis of the upper left corner of each bullet. */
+	private int[] positionY;
+	/** Speed of each bullet, positive is down. */
+	private int[] speed;
+	/** Owner of each bullet, one of the OWNER_ constants. */
+	private int[] owner;
+	/** Remaining penetrations of each bullet. */
+	private int[] penetration;
+	/** Sprite ordinal of each bullet. */
+	private int[] sprite;
+	/** Collision layer mask of each bullet. */
+	private int[] layer;
+	/** Ids of the enemies already hit by each bullet, hitSlots per bullet. */
+	private int[] enemiesAlreadyHit;
+	/** Number of enemies already hit by each bullet. */
+	private int[] hitCount;
+	/** Enemies remembered per bullet for penetration logic. */
+	private final int hitSlots;
+	/** Number of live bullets. */
+	private int size;
+
+	/**
+	 * Constructor, creates an empty field.
+	 */
+	public BulletField() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructor, creates an empty field with room for the given bullets.
+	 *
+	 * @param capacity
+	 *            Number of bullets stored before the arrays grow.
+	 */
+	public BulletField(final int capacity) {
+		int initial = Math.max(1, capacity);
+		this.hitSlots = ShopItem.getMaxPenetrationCount() + 1;
+		this.positionX = new int[initial];
+		this.positionY = new int[initial];
+		this.speed = new int[initial];
+		this.owner = new int[initial];
+		this.penetration = new int[initial];
+		this.sprite = new int[initial];
+		this.layer = new int[initial];
+		this.hitCount = new int[initial];
+		this.enemiesAlreadyHit = new int[initial * this.hitSlots];
+		this.size = 0;
+	}
+
+	/**
+	 * Adds an enemy bullet.
+	 *
+	 * @param centerX
+	 *            Center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param speed
+	 *            Speed of the bullet, positive is down.
+	 * @return Index of the new bullet.
+	 */
+	public int add(final int centerX, final int positionY, final int speed) {
+		return add(centerX, positionY, speed, OWNER_ENEMY);
+	}
+
+	/**
+	 * Adds a bullet.
+	 *
+	 * @param centerX
+	 *            Center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the bullet in the Y axis.
+	 * @param speed
+	 *            Speed of the bullet, positive is down.
+	 * @param ownerId
+	 *            Owner of the bullet: 1 = P1, 2 = P2, 0 = enemy.
+	 * @return Index of the new bullet.
+	 */
+	public int add(final int centerX, final int positionY, final int speed,
+			final int ownerId) {
+		if (this.size == this.positionX.length)
+			grow();
+
+		int i = this.size++;
+		this.positionX[i] = centerX - WIDTH / 2;
+		this.positionY[i] = positionY;
+		this.speed[i] = speed;
+		this.owner[i] = ownerId;
+		this.penetration[i] = ShopItem.getPenetrationCount();
+		this.sprite[i] = spriteFor(ownerId, speed).ordinal();
+		this.layer[i] = layerFor(ownerId).mask();
+		this.hitCount[i] = 0;
+		return i;
+	}
+
+	/**
+	 * Moves every bullet by its speed.
+	 */
+	public void update() {
+		for (int i = 0; i < this.size; i++)
+			this.positionY[i] += this.speed[i];
+	}
+
+	/**
+	 * Removes every bullet outside the given vertical band.
+	 *
+	 * @param minY
+	 *            Bullets above this line are removed.
+	 * @param maxY
+	 *            Bullets below this line are removed.
+	 * @return Number of removed bullets.
+	 */
+	public int removeOutside(final int minY, final int maxY) {
+		int removed = 0;
+		for (int i = this.size - 1; i >= 0; i--)
+			if (this.positionY[i] < minY || this.positionY[i] > maxY) {
+				remove(i);
+				removed++;
+			}
+		return removed;
+	}
+
+	/**
+	 * Removes a bullet, moving the last bullet into its slot.
+	 *
+	 * @param index
+	 *            Index of the bullet to remove.
+	 */
+	public void remove(final int index) {
+		int last = --this.size;
+		if (index != last) {
+			this.positionX[index] = this.positionX[last];
+			this.positionY[index] = this.positionY[last];
+			this.speed[index] = this.speed[last];
+			this.owner[index] = this.owner[last];
+			this.penetration[index] = this.penetration[last];
+			this.sprite[index] = this.sprite[last];
+			this.layer[index] = this.layer[last];
+			this.hitCount[index] = this.hitCount[last];
+			System.arraycopy(this.enemiesAlreadyHit, last * this.hitSlots,
+					this.enemiesAlreadyHit, index * this.hitSlots, this.hitSlots);
+		}
+	}
+
+	/**
+	 * Removes every bullet.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Getter for the number of live bullets.
+	 *
+	 * @return Number of bullets.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Checks if there are no bullets.
+	 *
+	 * @return True when the field is empty.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int getPositionX(final int index) { return this.positionX[index]; }
+
+	public int getPositionY(final int index) { return this.positionY[index]; }
+
+	public int getSpeed(final int index) { return this.speed[index]; }
+
+	public int getOwnerId(final int index) { return this.owner[index]; }
+
+	public SpriteType getSpriteType(final int index) { return SPRITE_TYPES[this.sprite[index]]; }
+
+	public CollisionLayer getLayer(final int index) { return CollisionLayer.fromMask(this.layer[index]); }
+
+	/**
+	 * Consumes one penetration of a bullet that hit something.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @return If true the bullet persists, If false it should be removed.
+	 */
+	public boolean penetration(final int index) {
+		return --this.penetration[index] >= 0;
+	}
+
+	/**
+	 * Checks if the specified enemy has already been hit by a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @param enemyId
+	 *            Registry id of the enemy to check.
+	 * @return true if the enemy has already been hit, false otherwise.
+	 */
+	public boolean checkAlreadyHit(final int index, final int enemyId) {
+		int base = index * this.hitSlots;
+		for (int k = 0; k < this.hitCount[index]; k++)
+			if (this.enemiesAlreadyHit[base + k] == enemyId)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Remembers an enemy hit by a bullet.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @param enemyId
+	 *            Registry id of the enemy to add.
+	 */
+	public void addHit(final int index, final int enemyId) {
+		if (this.hitCount[index] < this.hitSlots)
+			this.enemiesAlreadyHit[index * this.hitSlots + this.hitCount[index]++] = enemyId;
+	}
+
+	/**
+	 * Checks if a bullet is colliding with an entity, with the same rule as
+	 * the collision manager uses for two entities.
+	 *
+	 * @param index
+	 *            Index of the bullet.
+	 * @param target
+	 *            Entity to test the bullet against.
+	 * @return Result of the collision test.
+	 */
+	public boolean overlaps(final int index, final Entity target) {
+		int centerAX = this.positionX[index] + WIDTH / 2;
+		int centerAY = this.positionY[index] + HEIGHT / 2;
+		int centerBX = target.getPositionX() + target.getWidth() / 2;
+		int centerBY = target.getPositionY() + target.getHeight() / 2;
+		int maxDistanceX = WIDTH / 2 + target.getWidth() / 2;
+		int maxDistanceY = HEIGHT / 2 + target.getHeight() / 2;
+
+		return Math.abs(centerAX - centerBX) < maxDistanceX
+				&& Math.abs(centerAY - centerBY) < maxDistanceY;
+	}
+
+	/**
+	 * Flags every bullet overlapping an entity, using the overlap kernel
+	 * selected for this JVM.
+	 *
+	 * @param target
+	 *            Entity to test the bullets against.
+	 * @param layerMask
+	 *            Bullet layers that interact with the entity.
+	 * @param flags
+	 *            Output flags indexed like the bullets, at least size() long.
+	 */
+	public void markOverlaps(final Entity target, final int layerMask, final int[] flags) {
+		markOverlaps(OverlapKernels.get(), target, layerMask, flags);
+	}
+
+	/**
+	 * Flags every bullet overlapping an entity.
+	 *
+	 * @param kernel
+	 *            Kernel running the test.
+	 * @param target
+	 *            Entity to test the bullets against.
+	 * @param layerMask
+	 *            Bullet layers that interact with the entity.
+	 * @param flags
+	 *            Output flags indexed like the bullets, at least size() long.
+	 */
+	public void markOverlaps(final OverlapKernel kernel, final Entity target,
+			final int layerMask, final int[] flags) {
+		kernel.mark(this.positionX, this.positionY, this.layer, layerMask, this.size, WIDTH, HEIGHT,
+				target.getPositionX(), target.getPositionY(),
+				target.getWidth(), target.getHeight(), flags);
+	}
+
+	/**
+	 * Doubles the capacity of every array.
+	 */
+	private void grow() {
+		int capacity = this.positionX.length * 2;
+		this.positionX = Arrays.copyOf(this.positionX, capacity);
+		this.positionY = Arrays.copyOf(this.positionY, capacity);
+		this.speed = Arrays.copyOf(this.speed, capacity);
+		this.owner = Arrays.copyOf(this.owner, capacity);
+		this.penetration = Arrays.copyOf(this.penetration, capacity);
+		this.sprite = Arrays.copyOf(this.sprite, capacity);
+		this.layer = Arrays.copyOf(this.layer, capacity);
+		this.hitCount = Arrays.copyOf(this.hitCount, capacity);
+		this.enemiesAlreadyHit = Arrays.copyOf(this.enemiesAlreadyHit, capacity * this.hitSlots);
+	}
+
+	/**
+	 * Chooses the collision layer of a bullet, based on owner.
+	 */
+	private static CollisionLayer layerFor(final int ownerId) {
+		return ownerId == OWNER_ENEMY ? CollisionLayer.ENEMY_BULLET : CollisionLayer.PLAYER_BULLET;
+	}
+
+	/**
+	 * Chooses the sprite of a bullet, based on owner and speed.
+	 */
+	private static SpriteType spriteFor(final int ownerId, final int speed) {
+		if (ownerId == OWNER_P1 || ownerId == OWNER_P2)
+			return SpriteType.Bullet;
+		return speed < 0 ? SpriteType.Bullet : SpriteType.EnemyBullet;
+	}
+}
@@ -0,0 +1,81 @@
+package entity;
+
+/**
+ * Precomputed directions, so moving entities and bullet patterns never call
+ * trigonometric functions while the game runs.
+ * Angles are in 1/STEPS of a turn, 0 pointing right and a quarter turn
+ * pointing down. Sines and cosines are fixed-point numbers with
+ * FRACTION_BITS fractional bits.
+ */
+public final class DirectionTable {
+
+    /** Angle steps in a full turn. */
+    public static final int STEPS = 256;
+    /** Fractional bits of the fixed-point values. */
+    public static final int FRACTION_BITS = 8;
+    /** Fixed-point value of one. */
+    public static final int ONE = 1 << FRACTION_BITS;
+
+    /** Angle steps in a quarter turn. */
+    private static final int QUARTER = STEPS / 4;
+    /** Resolution of the arctangent table over [0, 1]. */
+    private static final int ATAN_RESOLUTION = 64;
+
+    /** Sine of every angle step. */
+    private static final int[] SIN = new int[STEPS];
+    /** Angle in steps of every ratio i / ATAN_RESOLUTION, up to an eighth turn. */
+    private static final int[] ATAN = new int[ATAN_RESOLUTION + 1];
+
+    static {
+        for (int i = 0; i < STEPS; i++)
+            SIN[i] = (int) Math.round(Math.sin(2 * Math.PI * i / STEPS) * ONE);
+        for (int i = 0; i <= ATAN_RESOLUTION; i++)
+            ATAN[i] = (int) Math.round(Math.atan((double) i / ATAN_RESOLUTION) * STEPS / (2 * Math.PI));
+    }
+
+    private DirectionTable() {
+    }
+
+    /**
+     * Sine of an angle.
+     *
+     * @param angle Angle in steps, any value
+     * @return Fixed-point sine
+     */
+    public static int sin(final int angle) {
+        return SIN[angle & (STEPS - 1)];
+    }
+
+    /**
+     * Cosine of an angle.
+     *
+     * @param angle Angle in steps, any value
+     * @return Fixed-point cosine
+     */
+    public static int cos(final int angle) {
+        return SIN[(angle + QUARTER) & (STEPS - 1)];
+    }
+
+    /**
+     * Angle of a vector, to the nearest table step.
+     *
+     * @param dx Horizontal component
+     * @param dy Vertical component, positive downwards
+     * @return Angle in steps, in [0, STEPS)
+     */
+    public static int angleOf(final int dx, final int dy) {
+        if (dx == 0 && dy == 0)
+            return 0;
+        long ax = Math.abs((long) dx);
+        long ay = Math.abs((long) dy);
+        // Angle in the first quadrant, from the ratio of the smaller side.
+        int angle = ax >= ay
+                ? ATAN[(int) (ay * ATAN_RESOLUTION / ax)]
+                : QUARTER - ATAN[(int) (ax * ATAN_RESOLUTION / ay)];
+        if (dx < 0)
+            angle = 2 * QUARTER - angle;
+        if (dy < 0)
+            angle = -angle;
+        return angle & (STEPS - 1);
+    }
+}
@@ -2,6 +2,7 @@ package entity;
 import java.awt.Color;
 
 import engine.DrawManager.SpriteType;
+import engine.GameSession;
 import java.util.Random;
 
 public class DropItem extends Entity {
@@ -102,8 +103,6 @@ public class DropItem extends Entity {
         }
     }
 
-    private static long freezeEndTime = 0;
-
     /**
      * enemy push
      * @param enemyShipFormation
@@ -115,11 +114,7 @@ public class DropItem extends Entity {
         }
 
         // All enemyship push
-        for (EnemyShip enemy : enemyShipFormation) {
-            if (enemy != null && !enemy.isDestroyed()) {
-                enemy.move(0, -distanceY);
-            }
-        }
+        enemyShipFormation.pushBack(distanceY);
     }
 
     /**
@@ -130,7 +125,7 @@ public class DropItem extends Entity {
      */
     public static void applyTimeFreezeItem(int durationMillis) {
         // current Time + duration Time = End Time
-        freezeEndTime = System.currentTimeMillis() + durationMillis;
+        GameSession.current().setFreezeEndTime(System.currentTimeMillis() + durationMillis);
     }
 
     /**
@@ -139,11 +134,13 @@ public class DropItem extends Entity {
      * @return If returning true, don't move all enemy ship except special enemy
      */
     public static boolean isTimeFreezeActive() {
+        GameSession session = GameSession.current();
+        long freezeEndTime = session.getFreezeEndTime();
         if (freezeEndTime > 0 && System.currentTimeMillis() < freezeEndTime) {
             return true;
         }
         if (freezeEndTime > 0 && System.currentTimeMillis() >= freezeEndTime) {
-            freezeEndTime = 0;
+            session.setFreezeEndTime(0);
         }
         return false;
     }
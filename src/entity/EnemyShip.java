@@ -6,6 +6,7 @@ import java.awt.Color;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.GameSession;
 import engine.DrawManager.SpriteType;
 
 /**
@@ -27,8 +28,6 @@ public class EnemyShip extends Entity {
 
 	/** Cooldown between sprite changes. */
 	private Cooldown animationCooldown;
-    /** Cooldown between explosions. */
-    private Cooldown explosionCooldown;
 	/** Checks if the ship has been hit by a bullet. */
 	private boolean isDestroyed;
 	/** Values of the ship, in points, when destroyed. */
@@ -37,6 +36,10 @@ public class EnemyShip extends Entity {
     private int hp;
     /** Enemy's Max HP. */
     private int maxHp;
+	/** Formation the ship is placed in, null for a free ship. */
+	private EnemyShipFormation formation;
+	/** Slot of the ship in its formation grid, -1 outside a formation. */
+	private int formationSlot = -1;
 
 	/** Special enemy Direction enum **/
 	public enum Direction {
@@ -70,7 +73,6 @@ public class EnemyShip extends Entity {
 
 		this.spriteType = spriteType;
 		this.animationCooldown = Core.getCooldown(500);
-        this.explosionCooldown = Core.getCooldown(500);
 		this.isDestroyed = false;
 
         switch (this.spriteType) {
@@ -109,7 +111,6 @@ public class EnemyShip extends Entity {
 		this.spriteType = SpriteType.EnemyShipSpecial;
 		this.isDestroyed = false;
 		this.pointValue = BONUS_TYPE_POINTS;
-        this.explosionCooldown = Core.getCooldown(500);
 	}
 
 	/**
@@ -121,6 +122,60 @@ public class EnemyShip extends Entity {
 		return this.pointValue;
 	}
 
+	/**
+	 * Getter for the X axis position of the ship. Ships in a formation store
+	 * their position relative to the formation origin.
+	 *
+	 * @return Position of the ship in the X axis.
+	 */
+	@Override
+	public final int getPositionX() {
+		if (this.formation == null)
+			return this.positionX;
+		return this.formation.getOriginX() + this.positionX;
+	}
+
+	/**
+	 * Getter for the Y axis position of the ship. Ships in a formation store
+	 * their position relative to the formation origin.
+	 *
+	 * @return Position of the ship in the Y axis.
+	 */
+	@Override
+	public final int getPositionY() {
+		if (this.formation == null)
+			return this.positionY;
+		return this.formation.getOriginY() + this.positionY;
+	}
+
+	/**
+	 * Setter for the X axis position of the ship.
+	 *
+	 * @param positionX
+	 *            New position of the ship in the X axis.
+	 */
+	@Override
+	public final void setPositionX(final int positionX) {
+		if (this.formation == null)
+			this.positionX = positionX;
+		else
+			this.positionX = positionX - this.formation.getOriginX();
+	}
+
+	/**
+	 * Setter for the Y axis position of the ship.
+	 *
+	 * @param positionY
+	 *            New position of the ship in the Y axis.
+	 */
+	@Override
+	public final void setPositionY(final int positionY) {
+		if (this.formation == null)
+			this.positionY = positionY;
+		else
+			this.positionY = positionY - this.formation.getOriginY();
+	}
+
 	/**
 	 * Moves the ship the specified distance.
 	 * 
@@ -167,15 +222,15 @@ public class EnemyShip extends Entity {
 	}
 
 	/**
-	 * Destroys the ship, causing an explosion.
+	 * Destroys the ship, causing an explosion. The explosion lives in the
+	 * particles of the session, the ship itself leaves the game at once.
 	 */
 	public final void destroy() {
         if (!this.isDestroyed) {
             this.isDestroyed = true;
-            this.spriteType = SpriteType.Explosion;
 			SoundManager.stop("sfx/disappearance.wav");
             SoundManager.play("sfx/disappearance.wav");
-            this.explosionCooldown.reset();
+            GameSession.current().getParticles().explosion(this);
         }
 	}
 
@@ -205,11 +260,12 @@ public class EnemyShip extends Entity {
 	}
 
     /**
-     * Check if the explosion effect is finished.
-     * @return True if the explosion is finished.
+     * Check if the ship can be removed. The explosion is a particle effect,
+     * so a destroyed ship is removed right away.
+     * @return True if the ship has been destroyed.
      */
     public final boolean isExplosionFinished() {
-        return this.isDestroyed && this.explosionCooldown.checkFinished();
+        return this.isDestroyed;
     }
 
 	public final String getEnemyType() {
@@ -232,10 +288,36 @@ public class EnemyShip extends Entity {
     public final void takeDamage(int damage) {
         if (!this.isDestroyed) {
             this.hp -= damage;
+            if (this.hp > 0)
+                GameSession.current().getParticles().hit(this);
         }
     }
 
     public int getHealth() {return this.hp;}
 
     public int getMaxHealth() {return this.maxHp;}
+
+	/**
+	 * Getter for the slot of the ship in its formation grid.
+	 *
+	 * @return Slot of the ship, -1 outside a formation.
+	 */
+	final int getFormationSlot() {
+		return this.formationSlot;
+	}
+
+	/**
+	 * Places the ship in a formation. Its position becomes relative to the
+	 * formation origin.
+	 *
+	 * @param formation
+	 *            Formation holding the ship.
+	 * @param formationSlot
+	 *            Slot of the ship.
+	 */
+	final void setFormation(final EnemyShipFormation formation,
+			final int formationSlot) {
+		this.formation = formation;
+		this.formationSlot = formationSlot;
+	}
 }
@@ -1,13 +1,11 @@
 package entity;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.NoSuchElementException;
 import java.util.logging.Logger;
-import java.util.Collections;
-import java.awt.Color;
 
 import screen.Screen;
 import screen.GameScreen;
@@ -19,6 +17,11 @@ import engine.GameSettings;
 import engine.level.Level;
 /**
  * Groups enemy ships into a formation that moves together.
+ * Ships are kept in a flat column-major grid, slot = column * height + row.
+ * A slot is emptied on the update after its ship is destroyed, and a
+ * bitmask tracks which ships are still alive.
+ * Ship positions are stored relative to the formation origin, so moving the
+ * formation only moves the origin.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -56,11 +59,19 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private Logger logger;
 	/** Screen to draw ships on. */
 	private Screen screen;
+	/** Registry that gives ids to the ships, null for none. */
+	private EntityRegistry entityRegistry;
     /** Level reference to read enemyTypes/counts. */
     private Level levelObj;
 
-	/** List of enemy ships forming the formation. */
-	private List<List<EnemyShip>> enemyShips;
+	/** Ships of the formation by slot, null once removed. */
+	private EnemyShip[] grid;
+	/** Bit per slot, set while the ship is not destroyed. */
+	private long[] alive;
+	/** Bit per slot, set while the ship is exploding. */
+	private long[] dying;
+	/** True when a slot was emptied and the bounds must be recomputed. */
+	private boolean boundsDirty;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
 	/** Number of ships in the formation - horizontally. */
@@ -89,12 +100,20 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private int positionX;
 	/** Position in the y-axis of the upper left corner of the formation. */
 	private int positionY;
+	/** Position in the x-axis of the first slot, ships are relative to it. */
+	private int originX;
+	/** Position in the y-axis of the first slot, ships are relative to it. */
+	private int originY;
 	/** Width of one ship. */
 	private int shipWidth;
 	/** Height of one ship. */
 	private int shipHeight;
-	/** List of ships that are able to shoot. */
-	private List<EnemyShip> shooters;
+	/** Slots of the ships that are able to shoot, shooterCount long. */
+	private int[] shooterSlots;
+	/** Index in shooterSlots of the shooter of each column, -1 if none. */
+	private int[] shooterOfColumn;
+	/** Number of ships that are able to shoot. */
+	private int shooterCount;
 	/** Number of not destroyed ships. */
 	private int shipCount;
     /** Number of slowdown movement */
@@ -129,7 +148,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	public EnemyShipFormation(final GameSettings gameSettings) {
 		this.drawManager = Core.getDrawManager();
 		this.logger = Core.getLogger();
-		this.enemyShips = new ArrayList<List<EnemyShip>>();
 		this.currentDirection = Direction.DOWN_RIGHT;
 		this.movementInterval = 0;
 		this.nShipsWide = gameSettings.getFormationWidth();
@@ -141,17 +159,15 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		this.movementSpeed = this.baseSpeed;
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
-		this.shooters = new ArrayList<EnemyShip>();
+		this.originX = INIT_POS_X;
+		this.originY = INIT_POS_Y;
 		SpriteType spriteType;
 
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
 				+ " ship formation in (" + positionX + "," + positionY + ")");
 
-		// Each sub-list is a column on the formation.
-		for (int i = 0; i < this.nShipsWide; i++)
-			this.enemyShips.add(new ArrayList<EnemyShip>());
-
-		for (List<EnemyShip> column : this.enemyShips) {
+		initGrid();
+		for (int column = 0; column < this.nShipsWide; column++) {
 			for (int i = 0; i < this.nShipsHigh; i++) {
 				if (i / (float) this.nShipsHigh < PROPORTION_C)
 					spriteType = SpriteType.EnemyShipC1;
@@ -161,24 +177,11 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				else
 					spriteType = SpriteType.EnemyShipA1;
 
-				column.add(new EnemyShip((SEPARATION_DISTANCE 
-						* this.enemyShips.indexOf(column))
-								+ positionX, (SEPARATION_DISTANCE * i)
-								+ positionY, spriteType));
-				this.shipCount++;
+				placeShip(column, i, spriteType);
 			}
 		}
 
-		this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-		this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
-
-		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
-				+ this.shipWidth;
-		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
-				+ this.shipHeight;
-
-		for (List<EnemyShip> column : this.enemyShips)
-			this.shooters.add(column.get(column.size() - 1));
+		initShooters();
 	}
 
     /**
@@ -188,7 +191,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
     public EnemyShipFormation(final Level level) {
         this.drawManager = Core.getDrawManager();
         this.logger = Core.getLogger();
-        this.enemyShips = new ArrayList<List<EnemyShip>>();
         this.currentDirection = Direction.DOWN_RIGHT;
         this.movementInterval = 0;
 
@@ -201,23 +203,20 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
         this.movementSpeed = this.baseSpeed;
         this.positionX = INIT_POS_X;
         this.positionY = INIT_POS_Y;
-        this.shooters = new ArrayList<EnemyShip>();
+        this.originX = INIT_POS_X;
+        this.originY = INIT_POS_Y;
         this.levelObj = level;
-        SpriteType spriteType;
 
         this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
                 + " ship formation in (" + positionX + "," + positionY + ")");
 
-        // Each sub-list is a column on the formation.
-        for (int i = 0; i < this.nShipsWide; i++)
-            this.enemyShips.add(new ArrayList<EnemyShip>());
-
+        initGrid();
         final int cells = this.nShipsWide * this.nShipsHigh;
         List<SpriteType> spriteQueue = buildLayeredQueueFromLevel(level, this.nShipsWide, this.nShipsHigh);
         boolean useQueue = (spriteQueue != null && spriteQueue.size() == cells);
         int qIndex = 0;
 
-        for (List<EnemyShip> column : this.enemyShips) {
+        for (int column = 0; column < this.nShipsWide; column++) {
             for (int i = 0; i < this.nShipsHigh; i++) {
                 SpriteType chosen;
                 if (useQueue) {
@@ -232,23 +231,67 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
                         chosen = SpriteType.EnemyShipA1;
                 }
 
-                column.add(new EnemyShip(
-                        (SEPARATION_DISTANCE * this.enemyShips.indexOf(column)) + positionX,
-                        (SEPARATION_DISTANCE * i) + positionY,
-                        chosen));
-                this.shipCount++;
+                placeShip(column, i, chosen);
             }
         }
 
-        this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-        this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
+        initShooters();
+    }
+
+	/**
+	 * Allocates an empty grid for the formation size.
+	 */
+	private void initGrid() {
+		int cells = this.nShipsWide * this.nShipsHigh;
+		this.grid = new EnemyShip[cells];
+		this.alive = new long[(cells + 63) >>> 6];
+		this.dying = new long[this.alive.length];
+		this.shipCount = 0;
+	}
+
+	/**
+	 * Creates the ship of a slot at its place in the formation.
+	 *
+	 * @param column
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 * @param spriteType
+	 *            Sprite of the ship.
+	 */
+	private void placeShip(final int column, final int row,
+			final SpriteType spriteType) {
+		int slot = column * this.nShipsHigh + row;
+		EnemyShip ship = new EnemyShip(SEPARATION_DISTANCE * column,
+				SEPARATION_DISTANCE * row, spriteType);
+		ship.setFormation(this, slot);
+		this.grid[slot] = ship;
+		this.alive[slot >>> 6] |= 1L << slot;
+		this.shipCount++;
+	}
 
-        this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE + this.shipWidth;
-        this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE + this.shipHeight;
+	/**
+	 * Sets the formation size and makes the bottom ship of every column a
+	 * shooter.
+	 */
+	private void initShooters() {
+		this.shipWidth = this.grid[0].getWidth();
+		this.shipHeight = this.grid[0].getHeight();
 
-        for (List<EnemyShip> column : this.enemyShips)
-            this.shooters.add(column.get(column.size() - 1));
-    }
+		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
+				+ this.shipWidth;
+		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
+				+ this.shipHeight;
+
+		this.shooterSlots = new int[this.nShipsWide];
+		this.shooterOfColumn = new int[this.nShipsWide];
+		for (int column = 0; column < this.nShipsWide; column++) {
+			this.shooterSlots[column] = column * this.nShipsHigh
+					+ this.nShipsHigh - 1;
+			this.shooterOfColumn[column] = column;
+		}
+		this.shooterCount = this.nShipsWide;
+	}
 
 	/**
 	 * Associates the formation to a given screen.
@@ -260,12 +303,26 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 		screen = newScreen;
 	}
 
+	/**
+	 * Sets the registry that gives ids to the ships of this formation. Every
+	 * ship gets an id now and releases it when its slot is emptied.
+	 *
+	 * @param entityRegistry
+	 *            Registry of the session.
+	 */
+	public void setEntityRegistry(final EntityRegistry entityRegistry) {
+		this.entityRegistry = entityRegistry;
+		for (EnemyShip enemyShip : this.grid)
+			if (enemyShip != null)
+				entityRegistry.register(enemyShip);
+	}
+
 	/**
 	 * Draws every individual component of the formation.
 	 */
 	public void draw() {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
+		for (EnemyShip enemyShip : this.grid)
+			if (enemyShip != null && !enemyShip.isDestroyed())
 				drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
 						enemyShip.getPositionY());
 	}
@@ -367,66 +424,82 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 			positionX += movementX;
 			positionY += movementY;
+			originX += movementX;
+			originY += movementY;
 
-			// Cleans explosions.
-			List<EnemyShip> destroyed;
-			for (List<EnemyShip> column : this.enemyShips) {
-				destroyed = new ArrayList<EnemyShip>();
-				for (EnemyShip ship : column) {
-					if (ship != null && ship.isExplosionFinished()) {
-						destroyed.add(ship);
-						this.logger.info("Removed enemy "
-								+ column.indexOf(ship) + " from column "
-								+ this.enemyShips.indexOf(column));
-					}
-				}
-
-				column.removeAll(destroyed);
-			}
+			removeDestroyed();
 
-			for (List<EnemyShip> column : this.enemyShips)
-				for (EnemyShip enemyShip : column) {
-					enemyShip.move(movementX, movementY);
+			for (EnemyShip enemyShip : this.grid)
+				if (enemyShip != null)
 					enemyShip.update();
+		}
+	}
+
+	/**
+	 * Cleans destroyed ships, their explosions live in the particles. The
+	 * emptied slots give their ids back to the registry.
+	 */
+	void removeDestroyed() {
+		for (int word = 0; word < this.dying.length; word++) {
+			long bits = this.dying[word];
+			while (bits != 0) {
+				int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				if (this.grid[slot].isExplosionFinished()) {
+					if (this.entityRegistry != null)
+						this.entityRegistry.release(this.grid[slot]);
+					this.grid[slot] = null;
+					this.dying[word] &= ~(1L << slot);
+					this.boundsDirty = true;
+					this.logger.info("Removed enemy " + slot % this.nShipsHigh
+							+ " from column " + slot / this.nShipsHigh);
 				}
+			}
 		}
 	}
 
 	/**
-	 * Cleans empty columns, adjusts the width and height of the formation.
+	 * Adjusts the position, width and height of the formation to the ships
+	 * left in it. Only runs after a slot was emptied.
 	 */
 	private void cleanUp() {
-		Set<Integer> emptyColumns = new HashSet<Integer>();
+		if (!this.boundsDirty)
+			return;
+		this.boundsDirty = false;
+
 		int maxColumn = 0;
 		int minPositionY = Integer.MAX_VALUE;
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				// Height of this column
-				int columnSize = column.get(column.size() - 1).positionY
-						- this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, column.get(0)
-						.getPositionY());
-			} else {
-				// Empty column, we remove it.
-				emptyColumns.add(this.enemyShips.indexOf(column));
-			}
-		}
-		for (int index : emptyColumns) {
-			this.enemyShips.remove(index);
-			logger.info("Removed column " + index);
-		}
-
 		int leftMostPoint = 0;
 		int rightMostPoint = 0;
-
-		for (List<EnemyShip> column : this.enemyShips) {
-			if (!column.isEmpty()) {
-				if (leftMostPoint == 0)
-					leftMostPoint = column.get(0).getPositionX();
-				rightMostPoint = column.get(0).getPositionX();
-			}
+		boolean found = false;
+
+		for (int column = 0; column < this.nShipsWide; column++) {
+			int base = column * this.nShipsHigh;
+			int top = -1;
+			int bottom = -1;
+			for (int row = 0; row < this.nShipsHigh; row++)
+				if (this.grid[base + row] != null) {
+					if (top < 0)
+						top = row;
+					bottom = row;
+				}
+			if (top < 0)
+				continue;
+
+			EnemyShip topShip = this.grid[base + top];
+			// Height of this column
+			int columnSize = this.grid[base + bottom].getPositionY()
+					- this.positionY + this.shipHeight;
+			maxColumn = Math.max(maxColumn, columnSize);
+			minPositionY = Math.min(minPositionY, topShip.getPositionY());
+
+			if (!found)
+				leftMostPoint = topShip.getPositionX();
+			rightMostPoint = topShip.getPositionX();
+			found = true;
 		}
+		if (!found)
+			return;
 
 		this.width = rightMostPoint - leftMostPoint + this.shipWidth;
 		this.height = maxColumn;
@@ -439,18 +512,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 * Shoots a bullet downwards.
 	 *
 	 * @param bullets
-	 *            Bullets set to add the bullet being shot.
+	 *            Bullet field to add the bullet being shot.
 	 */
-	public void shoot(final Set<Bullet> bullets) {
+	public void shoot(final BulletField bullets) {
 		// For now, only ships in the bottom row are able to shoot.
-		if (this.shooters.isEmpty()) {return; }
-		int index = (int) (Math.random() * this.shooters.size());
-		EnemyShip shooter = this.shooters.get(index);
+		if (this.shooterCount == 0) {return; }
+		int index = (int) (Math.random() * this.shooterCount);
+		EnemyShip shooter = this.grid[this.shooterSlots[index]];
 
 		if (this.shootingCooldown.checkFinished()) {
 			this.shootingCooldown.reset();
-			bullets.add(BulletPool.getBullet(shooter.getPositionX()
-					+ shooter.width / 2, shooter.getPositionY(), BULLET_SPEED));
+			bullets.add(shooter.getPositionX() + shooter.width / 2,
+					shooter.getPositionY(), BULLET_SPEED);
 		}
 	}
 
@@ -461,34 +534,33 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *            Ship to be destroyed.
 	 */
 	public void destroy(final EnemyShip destroyedShip) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i).equals(destroyedShip)) {
-					column.get(i).destroy();
-					this.logger.info("Destroyed ship in ("
-							+ this.enemyShips.indexOf(column) + "," + i + ")");
-				}
+		int slot = destroyedShip.getFormationSlot();
+		if (slot < 0 || slot >= this.grid.length
+				|| this.grid[slot] != destroyedShip || !isAlive(slot))
+			return;
+
+		destroyedShip.destroy();
+		this.alive[slot >>> 6] &= ~(1L << slot);
+		this.dying[slot >>> 6] |= 1L << slot;
+		int column = slot / this.nShipsHigh;
+		this.logger.info("Destroyed ship in (" + column + ","
+				+ slot % this.nShipsHigh + ")");
 
 		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
-
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+		int shooterIndex = this.shooterOfColumn[column];
+		if (shooterIndex >= 0 && this.shooterSlots[shooterIndex] == slot) {
+			int nextShooter = nextShooterSlot(column);
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
-
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
+			if (nextShooter >= 0)
+				this.shooterSlots[shooterIndex] = nextShooter;
 			else {
-				this.shooters.remove(destroyedShipIndex);
+				int last = --this.shooterCount;
+				int lastSlot = this.shooterSlots[last];
+				this.shooterSlots[shooterIndex] = lastSlot;
+				this.shooterOfColumn[lastSlot / this.nShipsHigh] = shooterIndex;
+				this.shooterOfColumn[column] = -1;
 				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
+						+ this.shooterCount + " members.");
 			}
 		}
 
@@ -500,34 +572,100 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *
 	 * @param column
 	 *            Column to search.
-	 * @return New shooter ship.
+	 * @return New shooter ship, null if the column has no ship alive.
 	 */
-	public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-		Iterator<EnemyShip> iterator = column.iterator();
-		EnemyShip nextShooter = null;
-		while (iterator.hasNext()) {
-			EnemyShip checkShip = iterator.next();
-			if (checkShip != null && !checkShip.isDestroyed())
-				nextShooter = checkShip;
-		}
+	public final EnemyShip getNextShooter(final int column) {
+		int slot = nextShooterSlot(column);
+		return slot < 0 ? null : this.grid[slot];
+	}
+
+	/**
+	 * Finds the lowest ship alive in a column.
+	 *
+	 * @param column
+	 *            Column to search.
+	 * @return Slot of the ship, -1 if the column has no ship alive.
+	 */
+	private int nextShooterSlot(final int column) {
+		int base = column * this.nShipsHigh;
+		for (int row = this.nShipsHigh - 1; row >= 0; row--)
+			if (isAlive(base + row))
+				return base + row;
+		return -1;
+	}
+
+	/**
+	 * Getter for the number of slots of the formation, valid indexes for
+	 * getShip are in [0, getSlotCount()).
+	 *
+	 * @return Number of slots.
+	 */
+	public final int getSlotCount() {
+		return this.grid.length;
+	}
 
-		return nextShooter;
+	/**
+	 * Getter for the ship in a slot, alive or exploding.
+	 *
+	 * @param slot
+	 *            Slot of the ship.
+	 * @return Ship in the slot, null if the slot is empty.
+	 */
+	public final EnemyShip getShip(final int slot) {
+		return this.grid[slot];
 	}
 
 	/**
-	 * Returns an iterator over the ships in the formation.
+	 * Checks if the ship in a slot is alive.
+	 *
+	 * @param slot
+	 *            Slot of the ship.
+	 * @return True when the slot holds a ship not destroyed.
+	 */
+	public final boolean isAlive(final int slot) {
+		return (this.alive[slot >>> 6] & (1L << slot)) != 0;
+	}
+
+	/**
+	 * Returns an iterator over the ships in the formation, alive or
+	 * exploding, in slot order. It reads the grid directly, so ships may be
+	 * destroyed while iterating.
 	 *
 	 * @return Iterator over the enemy ships.
 	 */
 	@Override
 	public Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
+		return new Iterator<EnemyShip>() {
+			private int next = skipEmpty(0);
 
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				enemyShipsList.add(enemyShip);
+			@Override
+			public boolean hasNext() {
+				return this.next < grid.length;
+			}
 
-		return enemyShipsList.iterator();
+			@Override
+			public EnemyShip next() {
+				if (this.next >= grid.length)
+					throw new NoSuchElementException();
+				EnemyShip ship = grid[this.next];
+				this.next = skipEmpty(this.next + 1);
+				return ship;
+			}
+		};
+	}
+
+	/**
+	 * Finds the first slot holding a ship.
+	 *
+	 * @param from
+	 *            First slot to check.
+	 * @return Slot found, grid length if there is none.
+	 */
+	private int skipEmpty(final int from) {
+		int slot = from;
+		while (slot < this.grid.length && this.grid[slot] == null)
+			slot++;
+		return slot;
 	}
 
 	/**
@@ -538,18 +676,52 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 
 	public final int destroyAll() {
 		int destroyed = 0;
-		for (List<EnemyShip> column : this.enemyShips) {
-			for (EnemyShip enemyShip : column) {
-				if (!enemyShip.isDestroyed()) {
-					enemyShip.destroy();
-					destroyed++;
-				}
+		for (int word = 0; word < this.alive.length; word++) {
+			long bits = this.alive[word];
+			while (bits != 0) {
+				int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+				this.grid[slot].destroy();
+				destroyed++;
 			}
+			this.dying[word] |= this.alive[word];
+			this.alive[word] = 0;
 		}
+		this.shooterCount = 0;
+		Arrays.fill(this.shooterOfColumn, -1);
 		this.shipCount = 0;
 		return destroyed;
 	}
 
+	/**
+	 * Pushes the formation upwards, exploding ships included.
+	 *
+	 * @param distanceY
+	 *            Distance to push the ships.
+	 */
+	public final void pushBack(final int distanceY) {
+		this.originY -= distanceY;
+		this.positionY -= distanceY;
+	}
+
+	/**
+	 * Getter for the position in the x-axis of the first slot.
+	 *
+	 * @return Origin of the ships in the X axis.
+	 */
+	final int getOriginX() {
+		return this.originX;
+	}
+
+	/**
+	 * Getter for the position in the y-axis of the first slot.
+	 *
+	 * @return Origin of the ships in the Y axis.
+	 */
+	final int getOriginY() {
+		return this.originY;
+	}
+
 	/**
 	 * Checks if there are any ships remaining.
 	 *
@@ -595,11 +767,18 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
         }
     }
 
+	/**
+	 * Removes every ship from the formation.
+	 */
 	public void clear() {
-		for (List<EnemyShip> column : this.enemyShips) {
-			column.clear();
-		}
-		this.enemyShips.clear();
+		if (this.entityRegistry != null)
+			for (EnemyShip enemyShip : this.grid)
+				this.entityRegistry.release(enemyShip);
+		Arrays.fill(this.grid, null);
+		Arrays.fill(this.alive, 0L);
+		Arrays.fill(this.dying, 0L);
+		this.shooterCount = 0;
+		Arrays.fill(this.shooterOfColumn, -1);
 		this.shipCount = 0;
 	}
 
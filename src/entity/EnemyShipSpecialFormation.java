@@ -46,6 +46,8 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
      * Screen to draw ships on.
      */
     private Screen screen;
+    /** Registry that gives ids to the ships, null for none. */
+    private EntityRegistry entityRegistry;
 
     private EnemyShip enemyShipSpecialRed;
     private EnemyShip enemyShipSpecialBlue;
@@ -76,14 +78,13 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
 
     // Cooldown Field
     private Cooldown enemyShipSpecialCooldown;
-    private Cooldown enemyShipSpecialExplosionCooldown;
 
     /**
      * Constructor, sets the initial conditions.
      *
      * @param gameSettings Current game settings.
      */
-    public EnemyShipSpecialFormation(final GameSettings gameSettings, Cooldown cooldown, Cooldown explosionCooldown) {
+    public EnemyShipSpecialFormation(final GameSettings gameSettings, Cooldown cooldown) {
         /** Option **/
         this.drawManager = Core.getDrawManager();
         this.logger = Core.getLogger();
@@ -107,7 +108,6 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
 
         /** special enemy cooldown **/
         this.enemyShipSpecialCooldown = cooldown;
-        this.enemyShipSpecialExplosionCooldown = explosionCooldown;
         cooldown.reset();
     }
 
@@ -115,8 +115,7 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
      * Level-based constructor (preferred). Avoids passing GameSettings around.
      */
     public EnemyShipSpecialFormation(final Level level,
-                                     final Cooldown cooldown,
-                                     final Cooldown explosionCooldown) {
+                                     final Cooldown cooldown) {
         this(
             new GameSettings(
                 level.getFormationWidth(),
@@ -124,8 +123,7 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
                 level.getBaseSpeed(),
                 level.getShootingFrecuency()
             ),
-            cooldown,
-            explosionCooldown
+            cooldown
         );
     }
 
@@ -138,16 +136,26 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
         screen = newScreen;
     }
 
+    /**
+     * Sets the registry that gives ids to the ships of this formation.
+     * Ships release their id when the formation drops them.
+     *
+     * @param entityRegistry Registry of the session.
+     */
+    public final void setEntityRegistry(final EntityRegistry entityRegistry) {
+        this.entityRegistry = entityRegistry;
+    }
+
     /**
      * Draws every component of the formation.
      */
     public final void draw() {
-        if (this.enemyShipSpecialRed != null)
+        if (this.enemyShipSpecialRed != null && !this.enemyShipSpecialRed.isDestroyed())
             drawManager.drawEntity(this.enemyShipSpecialRed,
                     this.enemyShipSpecialRed.getPositionX(),
                     this.enemyShipSpecialRed.getPositionY());
 
-        if (this.enemyShipSpecialBlue != null)
+        if (this.enemyShipSpecialBlue != null && !this.enemyShipSpecialBlue.isDestroyed())
             drawManager.drawEntity(this.enemyShipSpecialBlue,
                     this.enemyShipSpecialBlue.getPositionX(),
                     this.enemyShipSpecialBlue.getPositionY());
@@ -170,6 +178,7 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
 
         // recreate special enemy by CoolDown
         if (this.enemyShipSpecialCooldown.checkFinished()) {
+            release(this.enemyShipSpecialRed);
             this.enemyShipSpecialRed = new EnemyShip(Color.RED, EnemyShip.Direction.RIGHT, 2);
             this.enemyShipSpecialCooldown.reset();
             this.logger.info("A special ship appears");
@@ -207,16 +216,28 @@ public class EnemyShipSpecialFormation implements Iterable<EnemyShip> {
                     movementX = -enemyShipSpecial.getXSpeed();
                 enemyShipSpecial.move(movementX, movementY);
 
-            /** explosion logic **/
-            } else if (this.enemyShipSpecialExplosionCooldown.checkFinished())
+            /** destroyed ships leave at once, the explosion is a particle effect **/
+            } else {
+                release(enemyShipSpecial);
                 if (color == Color.RED) {
                     this.enemyShipSpecialRed = null;
                 } else if (color == Color.BLUE) {
                     this.enemyShipSpecialBlue = null;
                 }
+            }
         }
     }
 
+    /**
+     * Gives the id of a ship leaving the formation back to the registry.
+     *
+     * @param enemyShipSpecial Ship being dropped, may be null.
+     */
+    private void release(final EnemyShip enemyShipSpecial) {
+        if (this.entityRegistry != null)
+            this.entityRegistry.release(enemyShipSpecial);
+    }
+
         /**
          * Shoots a bullet downwards. TO DO:feature 2
          *
@@ -24,6 +24,8 @@ public class Entity {
 	protected Color color;
 	/** Sprite type assigned to the entity. */
 	protected SpriteType spriteType;
+	/** Id given by the session's EntityRegistry, NO_ID when unregistered. */
+	private int id = EntityRegistry.NO_ID;
 
 	/**
 	 * Constructor, establishes the entity's generic properties.
@@ -72,7 +74,7 @@ public class Entity {
 	 * 
 	 * @return Position of the entity in the X axis.
 	 */
-	public final int getPositionX() {
+	public int getPositionX() {
 		return this.positionX;
 	}
 
@@ -81,7 +83,7 @@ public class Entity {
 	 * 
 	 * @return Position of the entity in the Y axis.
 	 */
-	public final int getPositionY() {
+	public int getPositionY() {
 		return this.positionY;
 	}
 
@@ -91,7 +93,7 @@ public class Entity {
 	 * @param positionX
 	 *            New position of the entity in the X axis.
 	 */
-	public final void setPositionX(final int positionX) {
+	public void setPositionX(final int positionX) {
 		this.positionX = positionX;
 	}
 
@@ -101,7 +103,7 @@ public class Entity {
 	 * @param positionY
 	 *            New position of the entity in the Y axis.
 	 */
-	public final void setPositionY(final int positionY) {
+	public void setPositionY(final int positionY) {
 		this.positionY = positionY;
 	}
 
@@ -131,4 +133,23 @@ public class Entity {
 	public final int getHeight() {
 		return this.height;
 	}
+
+	/**
+	 * Getter for the id of the entity in its session.
+	 * 
+	 * @return Id of the entity, EntityRegistry.NO_ID when unregistered.
+	 */
+	public final int getId() {
+		return this.id;
+	}
+
+	/**
+	 * Setter for the id of the entity, used by EntityRegistry.
+	 * 
+	 * @param id
+	 *            New id of the entity.
+	 */
+	final void setId(final int id) {
+		this.id = id;
+	}
 }
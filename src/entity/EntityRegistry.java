@@ -0,0 +1,147 @@
+package entity;
+
+import java.util.Arrays;
+
+/**
+ * Assigns compact numeric ids to the entities of a game session.
+ * Ids are small non-negative ints, usable as array indices, and map back to
+ * their entity in O(1). Released ids are reused oldest first, so an id is
+ * not handed out again right after its entity despawns.
+ */
+public final class EntityRegistry {
+
+	/** Id of an entity that is not registered. */
+	public static final int NO_ID = -1;
+
+	/** Capacity of a new registry. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Entity of each id, null when the id is free. */
+	private Entity[] entities;
+	/** Released ids, as a ring buffer. */
+	private int[] freeIds;
+	/** Position of the oldest released id in freeIds. */
+	private int freeHead;
+	/** Number of released ids. */
+	private int freeCount;
+	/** Lowest id never handed out. */
+	private int nextId;
+	/** Number of registered entities. */
+	private int size;
+
+	/**
+	 * Constructor, creates an empty registry.
+	 */
+	public EntityRegistry() {
+		this.entities = new Entity[INITIAL_CAPACITY];
+		this.freeIds = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Registers an entity. Does nothing if it is already registered.
+	 *
+	 * @param entity
+	 *            Entity to register.
+	 * @return Id of the entity.
+	 */
+	public int register(final Entity entity) {
+		if (entity.getId() != NO_ID && get(entity.getId()) == entity)
+			return entity.getId();
+
+		int id;
+		if (this.freeCount > 0) {
+			id = this.freeIds[this.freeHead];
+			this.freeHead = (this.freeHead + 1) % this.freeIds.length;
+			this.freeCount--;
+		} else {
+			id = this.nextId++;
+			if (id == this.entities.length)
+				this.entities = Arrays.copyOf(this.entities, id * 2);
+		}
+		this.entities[id] = entity;
+		entity.setId(id);
+		this.size++;
+		return id;
+	}
+
+	/**
+	 * Returns the id of an entity, registering it first if needed.
+	 *
+	 * @param entity
+	 *            Entity to look up.
+	 * @return Id of the entity.
+	 */
+	public int idOf(final Entity entity) {
+		return register(entity);
+	}
+
+	/**
+	 * Releases the id of a despawned entity. Does nothing if the entity is
+	 * not registered here.
+	 *
+	 * @param entity
+	 *            Entity leaving the session.
+	 */
+	public void release(final Entity entity) {
+		if (entity == null)
+			return;
+		int id = entity.getId();
+		if (id == NO_ID || get(id) != entity)
+			return;
+
+		this.entities[id] = null;
+		entity.setId(NO_ID);
+		this.size--;
+		if (this.freeCount == this.freeIds.length) {
+			int[] grown = new int[this.freeIds.length * 2];
+			for (int k = 0; k < this.freeCount; k++)
+				grown[k] = this.freeIds[(this.freeHead + k) % this.freeIds.length];
+			this.freeIds = grown;
+			this.freeHead = 0;
+		}
+		this.freeIds[(this.freeHead + this.freeCount) % this.freeIds.length] = id;
+		this.freeCount++;
+	}
+
+	/**
+	 * Looks up an entity by id.
+	 *
+	 * @param id
+	 *            Id to look up.
+	 * @return The entity, or null if the id is not in use.
+	 */
+	public Entity get(final int id) {
+		if (id < 0 || id >= this.nextId)
+			return null;
+		return this.entities[id];
+	}
+
+	/**
+	 * Releases every id.
+	 */
+	public void clear() {
+		for (int id = 0; id < this.nextId; id++)
+			if (this.entities[id] != null) {
+				this.entities[id].setId(NO_ID);
+				this.entities[id] = null;
+			}
+		this.nextId = 0;
+		this.freeHead = 0;
+		this.freeCount = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * @return Number of registered entities.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Upper bound of every id in use, for sizing id-indexed arrays.
+	 */
+	public int capacity() {
+		return this.nextId;
+	}
+}
@@ -4,10 +4,9 @@ import audio.SoundManager;
 import engine.DrawManager;
 import engine.Cooldown;
 import engine.Core;
+import engine.GameSession;
 
 import java.awt.*;
-import java.util.HashSet;
-import java.util.Set;
 
 public class FinalBoss extends Entity implements BossEntity{
 
@@ -21,16 +20,16 @@ public class FinalBoss extends Entity implements BossEntity{
     private boolean goingDown = true;
 
     private Cooldown animationCooldown;
-    /** Shoot1's cool down */
-    private Cooldown shootCooldown1;
-    /** Shoot2's cool down */
-    private Cooldown shootCooldown2;
-    /** Shoot3's cool down */
-    private Cooldown shootCooldown3;
+    /** first attack: yellow spread under the boss */
+    private final BossBulletEmitter spread;
+    /** second attack: yellow bullets falling from random columns */
+    private final BossBulletEmitter rain;
+    /** third attack: blue bullets on both sides of the boss */
+    private final BossBulletEmitter twin;
+    /** true once the screen was cleared for the third attack */
+    private boolean angry;
     private int screenWidth;
     private int screenHeight;
-    /** random x coordinate of Shoot2's bullet  */
-    private int random_x;
 
 
     /** basic attribute of final boss */
@@ -47,9 +46,9 @@ public class FinalBoss extends Entity implements BossEntity{
         this.screenHeight = screenHeight;
 
         this.animationCooldown = Core.getCooldown(500);
-        this.shootCooldown1 = Core.getCooldown(5000);
-        this.shootCooldown2 = Core.getCooldown(400);
-        this.shootCooldown3 = Core.getCooldown(300);
+        this.spread = BossBulletEmitter.row(5, 0, 1, 4, 5000, 6, 10, Color.yellow);
+        this.rain = BossBulletEmitter.row(1, 0, 0, 2, 400, 6, 10, Color.yellow);
+        this.twin = BossBulletEmitter.row(2, 140, 0, 5, 300, 6, 10, Color.blue);
 
     }
 
@@ -84,6 +83,9 @@ public class FinalBoss extends Entity implements BossEntity{
         if(this.healPoint <= 0){
             this.destroy();
         }
+        else {
+            GameSession.current().getParticles().hit(this);
+        }
     }
 
     @Override
@@ -137,56 +139,43 @@ public class FinalBoss extends Entity implements BossEntity{
         this.positionY += distanceY;
     }
 
-    /** shooting pattern of final boss */
-
-
-    /** first shooting pattern of final boss */
-    public Set<BossBullet> shoot1(){
-        if(this.shootCooldown1.checkFinished()){
-            this.shootCooldown1.reset();
-            Set<BossBullet> bullets = new HashSet<>();
-            int arr[] = {0,1,-1,2,-2};
-            for (int i : arr){
-                BossBullet bullet = new BossBullet(this.getPositionX() + this.getWidth() / 2 - 3,this.getPositionY() + this.getHeight(), i,4,6,10,Color.yellow);
-                bullets.add(bullet);
-            }
-            return bullets;
-        }
-        return java.util.Collections.emptySet();
-    }
-    /** second shooting pattern of final boss */
-    public Set<BossBullet> shoot2() {
-        if (this.shootCooldown2.checkFinished()) {
-            this.shootCooldown2.reset();
-            Set<BossBullet> bullets = new HashSet<>();
+    /**
+     * Fires the attacks of the current phase into the boss bullets.
+     * Over a quarter of its health the boss fires the yellow spread and the
+     * falling bullets; below, it clears the screen once and fires the blue
+     * twin bullets.
+     *
+     * @param bullets Boss bullets of the screen, receives the new bullets
+     * @param targetX X coordinate aimed attacks head to
+     * @param targetY Y coordinate aimed attacks head to
+     * @param limit Most bullets to add
+     */
+    public void shoot(BossBulletList bullets, int targetX, int targetY, int limit){
+        int centerX = this.positionX + this.width / 2;
+        if(this.healPoint > this.maxHp/4){
+            limit -= this.spread.emit(bullets, centerX, this.positionY + this.height, targetX, targetY, limit);
+            // originX is the bullet center, the bullet itself starts at randomX
             int randomX = (int) (Math.random() * screenWidth);
-            BossBullet bullet = new BossBullet(randomX, 1, 0, 2,6,10,Color.yellow);
-            bullets.add(bullet);
-            return bullets;
+            this.rain.emit(bullets, randomX + 3, 1, targetX, targetY, limit);
         }
-        return java.util.Collections.emptySet();
-    }
-    /** third shooting pattern of final boss */
-    public Set<BossBullet> shoot3() {
-        Set<BossBullet> bullets = new HashSet<>();
-        if (this.shootCooldown3.checkFinished()) {
-            this.shootCooldown3.reset();
-//            if (!(this.getPositionX() == 0 || this.getPositionX() == 400)){
-                BossBullet bullet1 = new BossBullet(this.getPositionX() + this.getWidth() / 2 - 3 + 70, this.positionY, 0, 5,6,10,Color.blue);
-                BossBullet bullet2 = new BossBullet(this.getPositionX() + this.getWidth() / 2 - 3 - 70, this.positionY, 0, 5,6,10,Color.blue);
-                bullets.add(bullet1);
-                bullets.add(bullet2);
-//            }
+        else {
+            if(!this.angry){
+                bullets.recycleAll();
+                this.angry = true;
+                Core.getLogger().info("boss is angry");
+            }
+            else{
+                this.twin.emit(bullets, centerX, this.positionY, targetX, targetY, limit);
+            }
         }
-        return bullets;
     }
 
     /** flag final boss' destroy */
     @Override
     public void destroy(){
         if(!this.isDestroyed){
-            this.spriteType = DrawManager.SpriteType.FinalBossDeath;
             this.isDestroyed = true;
+            GameSession.current().getParticles().bossExplosion(this);
         }
     }
 
@@ -3,7 +3,7 @@ package entity;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.IntStream;
 
 import engine.*;
 
@@ -11,6 +11,10 @@ import engine.*;
  * Manages enemies for Infinite Mode.
  * Unlike EnemyShipFormation, this doesn't use a grid layout.
  * Manages a free-floating list of InfiniteEnemyShip objects.
+ * Removed enemies go back to the InfiniteEnemyPool.
+ * From PARALLEL_THRESHOLD enemies on, movement is split in chunks updated on
+ * several cores; despawns are then merged in list order on the game loop
+ * thread, so the result is the same as a sequential update.
  */
 public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
 
@@ -19,14 +23,32 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
 
     /** DrawManager for rendering */
     private DrawManager drawManager;
+    /** Registry giving ids to the enemies, null when ids are not used. */
+    private EntityRegistry entityRegistry;
 
     /** Count of destroyed enemies */
     private int destroyedCount;
 
     private static final int SHOOTING_INTERVAL = 200;
 
+    /** Default enemy count from which movement is updated in parallel. */
+    public static final int PARALLEL_THRESHOLD = 2048;
+    /** Enemies moved by one parallel task. */
+    private static final int CHUNK_SIZE = 512;
+
     private Cooldown shootingCooldown;
 
+    /** Enemy count from which movement is updated in parallel. */
+    private int parallelThreshold = PARALLEL_THRESHOLD;
+    /** Despawn result of every enemy of the last parallel update. */
+    private boolean[] despawnFlags = new boolean[0];
+    /** Point aim segments head to, NO_TARGET when unknown. */
+    private int aimX = InfiniteEnemyShip.NO_TARGET;
+    private int aimY = InfiniteEnemyShip.NO_TARGET;
+
+    /** Enemies able to shoot, reused between shots. */
+    private final List<InfiniteEnemyShip> shooters = new ArrayList<>();
+
     /**
      * Constructor.
      */
@@ -45,33 +67,101 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
      */
     public void addEnemy(final InfiniteEnemyShip enemy) {
         this.enemies.add(enemy);
+        if (this.entityRegistry != null)
+            this.entityRegistry.register(enemy);
+    }
+
+    /**
+     * Sets the registry that gives ids to the enemies of this formation.
+     * Enemies get an id when added and release it when removed.
+     *
+     * @param entityRegistry Registry of the session
+     */
+    public void setEntityRegistry(final EntityRegistry entityRegistry) {
+        this.entityRegistry = entityRegistry;
+    }
+
+    /**
+     * Sets the enemy count from which movement is updated in parallel.
+     *
+     * @param parallelThreshold Enemy count, Integer.MAX_VALUE to stay sequential
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the point aiming enemies head to, usually the player.
+     *
+     * @param x X coordinate of the target
+     * @param y Y coordinate of the target
+     */
+    public void setAimTarget(final int x, final int y) {
+        this.aimX = x;
+        this.aimY = y;
     }
 
     /**
      * Updates all enemies and removes dead/off-screen ones.
+     * Enemies are compacted in place, keeping their order.
      */
     public void update() {
-        Iterator<InfiniteEnemyShip> iterator = enemies.iterator();
+        int count = enemies.size();
+        boolean parallel = count >= parallelThreshold;
+        if (parallel)
+            moveInParallel(count);
 
-        while (iterator.hasNext()) {
-            InfiniteEnemyShip enemy = iterator.next();
-
-            if (!enemy.isDestroyed()) {
-                enemy.update();
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            InfiniteEnemyShip enemy = enemies.get(i);
+            boolean despawn;
+            if (parallel) {
+                enemy.animate();
+                despawn = despawnFlags[i];
+            } else {
+                enemy.animate();
+                enemy.move(aimX, aimY);
+                despawn = enemy.shouldDespawn();
             }
 
             // Remove if off-screen
-            if (enemy.shouldDespawn()) {
-                iterator.remove();
+            if (despawn) {
+                release(enemy);
                 continue;
             }
 
             // Remove if explosion finished
             if (enemy.isExplosionFinished()) {
-                iterator.remove();
+                release(enemy);
                 this.destroyedCount++;
+                continue;
             }
+            enemies.set(kept++, enemy);
         }
+        enemies.subList(kept, count).clear();
+    }
+
+    /**
+     * Moves the enemies in chunks on the common fork-join pool and records
+     * which of them left the screen. Cooldowns are not touched here, so the
+     * timer wheel of the screen is only used from the game loop thread.
+     */
+    private void moveInParallel(final int count) {
+        if (despawnFlags.length < count)
+            despawnFlags = new boolean[Math.max(count, despawnFlags.length * 2)];
+        final boolean[] flags = despawnFlags;
+        final List<InfiniteEnemyShip> ships = enemies;
+        final int targetX = aimX;
+        final int targetY = aimY;
+
+        IntStream.range(0, (count + CHUNK_SIZE - 1) / CHUNK_SIZE).parallel().forEach(chunk -> {
+            int end = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                InfiniteEnemyShip enemy = ships.get(i);
+                enemy.move(targetX, targetY);
+                flags[i] = enemy.shouldDespawn();
+            }
+        });
     }
 
     /**
@@ -79,7 +169,8 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
      */
     public void draw() {
         for (InfiniteEnemyShip enemy : enemies) {
-            drawManager.drawEntity(enemy, enemy.getPositionX(), enemy.getPositionY());
+            if (!enemy.isDestroyed())
+                drawManager.drawEntity(enemy, enemy.getPositionX(), enemy.getPositionY());
         }
     }
 
@@ -97,15 +188,15 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
     /**
      * Shoots bullets from enemies (optional feature).
      *
-     * @param bullets Set to add bullets to
+     * @param bullets Bullet field to add bullets to
      */
-    public void shoot(final Set<Bullet> bullets) {
+    public void shoot(final BulletField bullets) {
         if (enemies.isEmpty() || !shootingCooldown.checkFinished()) {
             return;
         }
         shootingCooldown.reset();
 
-        List<InfiniteEnemyShip> shooters = new ArrayList<>();
+        shooters.clear();
         for (InfiniteEnemyShip enemy : enemies) {
             if (enemy.canShoot()) {
                 shooters.add(enemy);
@@ -116,13 +207,13 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
                     (int)(Math.random() * shooters.size())
             );
 
-            Bullet bullet = BulletPool.getBullet(
+            bullets.add(
                     shooter.getShootingPositionX(),
                     shooter.getShootingPositionY(),
                     5
             );
-            bullets.add(bullet);
             shooter.resetShootingCooldown();
+            shooters.clear();
         }
     }
 
@@ -167,9 +258,17 @@ public class InfiniteEnemyFormation implements Iterable<InfiniteEnemyShip> {
      * Clears all enemies.
      */
     public void clear() {
+        for (InfiniteEnemyShip enemy : enemies)
+            release(enemy);
         enemies.clear();
     }
 
+    private void release(final InfiniteEnemyShip enemy) {
+        if (this.entityRegistry != null)
+            this.entityRegistry.release(enemy);
+        InfiniteEnemyPool.recycle(enemy);
+    }
+
     /**
      * Gets the list of enemies (for collision checking).
      *
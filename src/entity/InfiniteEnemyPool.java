@@ -0,0 +1,85 @@
+package entity;
+
+import java.util.function.Supplier;
+
+import engine.GameSession;
+import engine.ObjectPool;
+import entity.InfiniteEnemyShip.MovementPattern;
+
+/**
+ * Implements a pool of recyclable Infinite Mode enemies.
+ */
+public final class InfiniteEnemyPool {
+
+    /** Most enemies kept for reuse. */
+    private static final int CAP = 128;
+
+    /** Name of the pool in the session. */
+    public static final String NAME = "infiniteEnemies";
+    /** Creates the pool of a session. */
+    public static final Supplier<ObjectPool<InfiniteEnemyShip>> CREATOR = () -> new ObjectPool<>(NAME,
+            () -> new InfiniteEnemyShip(0, 0, MovementPattern.STRAIGHT_DOWN, 0, 0), null, CAP);
+
+    /**
+     * Constructor, not called.
+     */
+    private InfiniteEnemyPool() {
+
+    }
+
+    /**
+     * Returns an enemy from the pool if one is available, a new one if there
+     * isn't.
+     *
+     * @param positionX Initial X position
+     * @param positionY Initial Y position
+     * @param pattern Movement pattern type
+     * @param screenWidth Screen width for boundary checking
+     * @param screenHeight Screen height for boundary checking
+     * @return Requested enemy.
+     */
+    public static InfiniteEnemyShip getEnemy(final int positionX, final int positionY,
+                                             final MovementPattern pattern,
+                                             final int screenWidth, final int screenHeight) {
+        InfiniteEnemyShip enemy = getPool().acquire();
+        enemy.reset(positionX, positionY, pattern, screenWidth, screenHeight);
+        return enemy;
+    }
+
+    /**
+     * Returns an enemy from the pool if one is available, a new one if there
+     * isn't.
+     *
+     * @param positionX Initial X position
+     * @param positionY Initial Y position
+     * @param program Movement program
+     * @param screenWidth Screen width for boundary checking
+     * @param screenHeight Screen height for boundary checking
+     * @return Requested enemy.
+     */
+    public static InfiniteEnemyShip getEnemy(final int positionX, final int positionY,
+                                             final MovementProgram program,
+                                             final int screenWidth, final int screenHeight) {
+        InfiniteEnemyShip enemy = getPool().acquire();
+        enemy.reset(positionX, positionY, program, screenWidth, screenHeight);
+        return enemy;
+    }
+
+    /**
+     * Adds an enemy to the list of available ones.
+     *
+     * @param enemy Enemy to recycle
+     */
+    public static void recycle(final InfiniteEnemyShip enemy) {
+        getPool().release(enemy);
+    }
+
+    /**
+     * Getter for the pool backing the enemies of the current session.
+     *
+     * @return Infinite enemy pool.
+     */
+    public static ObjectPool<InfiniteEnemyShip> getPool() {
+        return GameSession.current().getInfiniteEnemyPool();
+    }
+}
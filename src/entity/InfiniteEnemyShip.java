@@ -3,44 +3,72 @@ package entity;
 import java.awt.Color;
 import engine.Cooldown;
 import engine.Core;
+import engine.GameSession;
+import engine.TimerWheel;
 import engine.DrawManager.SpriteType;
 
 /**
  * Implements enemies specifically for Infinite Mode with custom movement patterns.
+ * Movement is driven by a MovementProgram, run one instruction segment at a
+ * time with fixed-point positions and speeds.
  */
 public class InfiniteEnemyShip extends Entity {
 
-    /** Movement pattern types */
+    /** Built-in movement patterns, each naming a program of MovementPrograms */
     public enum MovementPattern {
-        STRAIGHT_DOWN,
-        ZIGZAG_DOWN,
-        HORIZONTAL_MOVE
+        STRAIGHT_DOWN("straight_down"),
+        ZIGZAG_DOWN("zigzag_down"),
+        HORIZONTAL_MOVE("horizontal_move");
+
+        /** Name of the program of the pattern */
+        private final String programName;
+
+        MovementPattern(final String programName) {
+            this.programName = programName;
+        }
+
+        /**
+         * Gets the program of the pattern.
+         *
+         * @return Movement program
+         */
+        public MovementProgram getProgram() {
+            return MovementPrograms.get(this.programName);
+        }
     }
 
-    /** Point values by pattern type */
-    private static final int STRAIGHT_POINT_VALUE = 10;
-    private static final int ZIGZAG_POINT_VALUE = 15;
-    private static final int HORIZONTAL_POINT_VALUE = 20;
+    /** Target value when aiming has nothing to aim at */
+    static final int NO_TARGET = Integer.MIN_VALUE;
 
-    /** Movement pattern of this enemy */
+    /** Movement program of this enemy */
+    private MovementProgram program;
+    /** Built-in pattern of the program, null for data-only programs */
     private MovementPattern pattern;
 
     /** Screen dimensions for boundary checking */
     private int screenWidth;
     private int screenHeight;
 
-    /** Movement speeds */
-    private double speedX;
-    private double speedY;
-
-    /** Zigzag direction: 1 = right, -1 = left */
-    private int zigzagDirection = 1;
-
-    /** Default movement speeds */
-    private static final double STRAIGHT_SPEED_Y = 4.0;
-    private static final double ZIGZAG_SPEED_X = 3.0;
-    private static final double ZIGZAG_SPEED_Y = 2.5;
-    private static final double HORIZONTAL_SPEED_X = 4.5;
+    /** Position in fixed point */
+    private int fixedX;
+    private int fixedY;
+    /** Index of the next instruction of the program */
+    private int pc;
+    /** Ticks left in the current segment, -1 for forever */
+    private int ticksLeft;
+    /** Opcode of the current segment */
+    private int currentOp;
+    /** Velocity of the current segment in fixed point, before mirroring */
+    private int velocityX;
+    private int velocityY;
+    /** Speed, heading and turn per tick of a curve segment */
+    private int curveSpeed;
+    private int heading;
+    private int turn;
+    /** Horizontal direction: 1 as programmed, -1 mirrored */
+    private int mirror = 1;
+    /** Speed multiplier in fixed point */
+    private int speedScale;
 
     /** Point value when destroyed */
     private int pointValue;
@@ -61,8 +89,9 @@ public class InfiniteEnemyShip extends Entity {
     /** Animation cooldown */
     private Cooldown animationCooldown;
 
-    /** Explosion cooldown */
-    private Cooldown explosionCooldown;
+    /** Wheel timing the cooldowns, null when they read the clock */
+    private TimerWheel cooldownWheel;
+
 
     /**
      * Constructor for Infinite Mode Enemy.
@@ -76,63 +105,119 @@ public class InfiniteEnemyShip extends Entity {
     public InfiniteEnemyShip(final int positionX, final int positionY,
                              final MovementPattern pattern,
                              final int screenWidth, final int screenHeight) {
+        this(positionX, positionY, pattern.getProgram(), screenWidth, screenHeight);
+    }
+
+    /**
+     * Constructor for Infinite Mode Enemy.
+     *
+     * @param positionX Initial X position
+     * @param positionY Initial Y position
+     * @param program Movement program
+     * @param screenWidth Screen width for boundary checking
+     * @param screenHeight Screen height for boundary checking
+     */
+    public InfiniteEnemyShip(final int positionX, final int positionY,
+                             final MovementProgram program,
+                             final int screenWidth, final int screenHeight) {
         super(positionX, positionY, 12 * 2, 8 * 2, Color.WHITE);
 
-        this.pattern = pattern;
+        reset(positionX, positionY, program, screenWidth, screenHeight);
+    }
+
+    /**
+     * Sets up the enemy as if it was just created, used when recycling it.
+     *
+     * @param positionX Initial X position
+     * @param positionY Initial Y position
+     * @param pattern Movement pattern type
+     * @param screenWidth Screen width for boundary checking
+     * @param screenHeight Screen height for boundary checking
+     */
+    public void reset(final int positionX, final int positionY,
+                      final MovementPattern pattern,
+                      final int screenWidth, final int screenHeight) {
+        reset(positionX, positionY, pattern.getProgram(), screenWidth, screenHeight);
+    }
+
+    /**
+     * Sets up the enemy as if it was just created, used when recycling it.
+     *
+     * @param positionX Initial X position
+     * @param positionY Initial Y position
+     * @param program Movement program
+     * @param screenWidth Screen width for boundary checking
+     * @param screenHeight Screen height for boundary checking
+     */
+    public void reset(final int positionX, final int positionY,
+                      final MovementProgram program,
+                      final int screenWidth, final int screenHeight) {
+        this.positionX = positionX;
+        this.positionY = positionY;
+        this.program = program;
+        this.pattern = null;
+        for (MovementPattern builtIn : MovementPattern.values())
+            if (builtIn.programName.equals(program.getName()))
+                this.pattern = builtIn;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.isDestroyed = false;
         this.hp = 1;
         this.maxHp = 1;
 
-        this.animationCooldown = Core.getCooldown(500);
-        this.explosionCooldown = Core.getCooldown(500);
-
-        this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL);
+        // A pooled enemy outlives its screen, so its cooldowns follow the wheel of the current one
+        TimerWheel wheel = GameSession.current().getTimerWheel();
+        if (this.shootingCooldown == null || wheel != this.cooldownWheel) {
+            this.animationCooldown = Core.getCooldown(500);
+            this.shootingCooldown = Core.getCooldown(SHOOTING_INTERVAL);
+            this.cooldownWheel = wheel;
+        }
         this.shootingCooldown.reset();
 
-        initializeByPattern();
+        initializeByProgram();
+        updateColorBasedOnHealth();
     }
 
     /**
-     * Initializes movement parameters and appearance based on pattern.
+     * Initializes movement state and appearance from the program.
      */
-    private void initializeByPattern() {
-        switch (pattern) {
-            case STRAIGHT_DOWN:
-                this.speedX = 0;
-                this.speedY = STRAIGHT_SPEED_Y;
-                this.spriteType = SpriteType.EnemyShipA1;
-                this.baseColor = Color.BLUE;
-                this.color = this.baseColor;
-                this.pointValue = STRAIGHT_POINT_VALUE;
+    private void initializeByProgram() {
+        this.spriteType = program.getSpriteType();
+        this.baseColor = program.getColor();
+        this.color = this.baseColor;
+        this.pointValue = program.getPointValue();
+
+        switch (program.getMirror()) {
+            case RANDOM:
+                // Random initial direction
+                this.mirror = (Math.random() > 0.5) ? 1 : -1;
                 break;
-
-            case ZIGZAG_DOWN:
-                this.speedX = ZIGZAG_SPEED_X;
-                this.speedY = ZIGZAG_SPEED_Y;
-                this.spriteType = SpriteType.EnemyShipB1;
-                this.baseColor = Color.YELLOW;
-                this.color = this.baseColor;
-                this.pointValue = ZIGZAG_POINT_VALUE;
-                // Random initial zigzag direction
-                this.zigzagDirection = (Math.random() > 0.5) ? 1 : -1;
+            case SPAWN_SIDE:
+                // Spawn left -> move right, spawn right -> move left
+                this.mirror = (this.positionX < 0) ? 1 : -1;
                 break;
-
-            case HORIZONTAL_MOVE:
-                this.speedY = 0;
-                // Determine direction based on spawn position
-                if (this.positionX < 0) {
-                    this.speedX = HORIZONTAL_SPEED_X;  // Spawn left -> move right
-                } else {
-                    this.speedX = -HORIZONTAL_SPEED_X; // Spawn right -> move left
-                }
-                this.spriteType = SpriteType.EnemyShipC1;
-                this.baseColor = Color.MAGENTA;
-                this.color = this.baseColor;
-                this.pointValue = HORIZONTAL_POINT_VALUE;
+            default:
+                this.mirror = 1;
                 break;
         }
+
+        this.fixedX = this.positionX << MovementProgram.FRACTION_BITS;
+        this.fixedY = this.positionY << MovementProgram.FRACTION_BITS;
+        this.speedScale = MovementProgram.ONE;
+        this.pc = 0;
+        this.ticksLeft = 0;
+        this.velocityX = 0;
+        this.velocityY = 0;
+        fetch(NO_TARGET, NO_TARGET);
+    }
+
+    /**
+     * Sets the horizontal direction, replacing the one picked at spawn.
+     *
+     * @param mirrored True to mirror the horizontal movement of the program
+     */
+    public void setMirrored(final boolean mirrored) {
+        this.mirror = mirrored ? -1 : 1;
     }
 
     /**
@@ -141,22 +226,144 @@ public class InfiniteEnemyShip extends Entity {
     public void update() {
         if (isDestroyed) return;
 
-        updateColorBasedOnHealth();
         // Animation update
         updateAnimation();
 
         // Movement update
-        switch (pattern) {
-            case STRAIGHT_DOWN:
-                updateStraightDown();
-                break;
-            case ZIGZAG_DOWN:
-                updateZigzagDown();
-                break;
-            case HORIZONTAL_MOVE:
-                updateHorizontal();
-                break;
+        move(NO_TARGET, NO_TARGET);
+    }
+
+    /**
+     * Updates the sprite animation only. Uses the cooldowns, so it runs on
+     * the game loop thread.
+     */
+    void animate() {
+        if (!isDestroyed)
+            updateAnimation();
+    }
+
+    /**
+     * Runs one tick of the movement program. Touches nothing but this enemy,
+     * so enemies can be moved from several threads at once.
+     *
+     * @param targetX X coordinate aim segments head to, or NO_TARGET
+     * @param targetY Y coordinate aim segments head to, or NO_TARGET
+     */
+    void move(final int targetX, final int targetY) {
+        if (isDestroyed) return;
+
+        // Picks up positions set from outside the program.
+        if (this.fixedX >> MovementProgram.FRACTION_BITS != this.positionX)
+            this.fixedX = this.positionX << MovementProgram.FRACTION_BITS;
+        if (this.fixedY >> MovementProgram.FRACTION_BITS != this.positionY)
+            this.fixedY = this.positionY << MovementProgram.FRACTION_BITS;
+
+        if (this.ticksLeft == 0)
+            fetch(targetX, targetY);
+        if (this.currentOp == MovementProgram.OP_CURVE) {
+            this.velocityX = this.curveSpeed * DirectionTable.cos(this.heading)
+                    >> MovementProgram.FRACTION_BITS;
+            this.velocityY = this.curveSpeed * DirectionTable.sin(this.heading)
+                    >> MovementProgram.FRACTION_BITS;
+            this.heading += this.turn;
+        }
+        if (this.ticksLeft > 0)
+            this.ticksLeft--;
+
+        this.fixedX += scale(this.velocityX * this.mirror);
+        this.fixedY += scale(this.velocityY);
+        this.positionX = this.fixedX >> MovementProgram.FRACTION_BITS;
+        this.positionY = this.fixedY >> MovementProgram.FRACTION_BITS;
+
+        // Bounce off screen edges
+        if (this.program.isBounce()) {
+            if (this.positionX <= 0) {
+                this.positionX = 0;
+                if (this.velocityX * this.mirror < 0)
+                    this.mirror = -this.mirror;
+            } else if (this.positionX + this.width >= this.screenWidth) {
+                this.positionX = this.screenWidth - this.width;
+                if (this.velocityX * this.mirror > 0)
+                    this.mirror = -this.mirror;
+            }
+            this.fixedX = this.positionX << MovementProgram.FRACTION_BITS;
+        }
+    }
+
+    /**
+     * Starts the next timed segment of the program. Once the program ends,
+     * the last segment goes on forever.
+     */
+    private void fetch(final int targetX, final int targetY) {
+        final int[] code = this.program.code;
+        // Bounded, so a loop without timed segments cannot hang the game.
+        for (int steps = 0; this.ticksLeft == 0 && steps <= code.length; steps++) {
+            if (this.pc >= code.length) {
+                this.ticksLeft = -1;
+                return;
+            }
+            final int op = code[this.pc];
+            switch (op) {
+                case MovementProgram.OP_VELOCITY:
+                    this.velocityX = code[this.pc + 1];
+                    this.velocityY = code[this.pc + 2];
+                    this.ticksLeft = ticks(code[this.pc + 3]);
+                    this.pc += 4;
+                    break;
+                case MovementProgram.OP_CURVE:
+                    this.curveSpeed = code[this.pc + 1];
+                    this.heading = code[this.pc + 2];
+                    this.turn = code[this.pc + 3];
+                    this.ticksLeft = ticks(code[this.pc + 4]);
+                    this.pc += 5;
+                    break;
+                case MovementProgram.OP_WAIT:
+                    this.velocityX = 0;
+                    this.velocityY = 0;
+                    this.ticksLeft = ticks(code[this.pc + 1]);
+                    this.pc += 2;
+                    break;
+                case MovementProgram.OP_AIM:
+                    aim(code[this.pc + 1], targetX, targetY);
+                    this.ticksLeft = ticks(code[this.pc + 2]);
+                    this.pc += 3;
+                    break;
+                default:
+                    // OP_LOOP
+                    this.pc = code[this.pc + 1];
+                    continue;
+            }
+            this.currentOp = op;
         }
+        if (this.ticksLeft == 0)
+            this.ticksLeft = -1;
+    }
+
+    /**
+     * Sets the velocity towards a target, straight down without one.
+     */
+    private void aim(final int speed, final int targetX, final int targetY) {
+        int dx = targetX - (this.positionX + this.width / 2);
+        int dy = targetY - (this.positionY + this.height / 2);
+        double length = Math.sqrt((double) dx * dx + (double) dy * dy);
+        if (targetX == NO_TARGET || targetY == NO_TARGET || length == 0) {
+            this.velocityX = 0;
+            this.velocityY = speed;
+            return;
+        }
+        // Undoes the mirror, the target already gives the direction.
+        this.velocityX = (int) (speed * dx / length) * this.mirror;
+        this.velocityY = (int) (speed * dy / length);
+    }
+
+    /** Turns segment ticks into a countdown, -1 meaning forever. */
+    private static int ticks(final int ticks) {
+        return ticks > 0 ? ticks : -1;
+    }
+
+    /** Applies the speed multiplier to a fixed-point speed. */
+    private int scale(final int speed) {
+        return (int) ((long) speed * this.speedScale >> MovementProgram.FRACTION_BITS);
     }
 
     /**
@@ -190,6 +397,10 @@ public class InfiniteEnemyShip extends Entity {
             }
         }
     }
+
+    /**
+     * Updates the color from the health, only needed when the health changes.
+     */
     private void updateColorBasedOnHealth() {
         double healthRatio = (double) this.hp / this.maxHp;
         this.color = adjustColorBrightness(this.baseColor, healthRatio);
@@ -212,70 +423,32 @@ public class InfiniteEnemyShip extends Entity {
         return new Color(newR, newG, newB);
     }
 
-    /**
-     * Straight down movement - just falls vertically.
-     */
-    private void updateStraightDown() {
-        this.positionY += (int) this.speedY;
-    }
-
-    /**
-     * Zigzag down movement - falls while bouncing left and right.
-     */
-    private void updateZigzagDown() {
-        this.positionY += (int) this.speedY;
-        this.positionX += (int) (this.speedX * this.zigzagDirection);
-
-        // Bounce off screen edges
-        if (this.positionX <= 0) {
-            this.positionX = 0;
-            this.zigzagDirection = 1;
-        } else if (this.positionX + this.width >= this.screenWidth) {
-            this.positionX = this.screenWidth - this.width;
-            this.zigzagDirection = -1;
-        }
-    }
-
-    /**
-     * Horizontal movement - moves across the screen.
-     */
-    private void updateHorizontal() {
-        this.positionX += (int) this.speedX;
-    }
-
     /**
      * Checks if enemy should be removed (off screen).
      *
      * @return True if should be removed
      */
     public boolean shouldDespawn() {
-        switch (pattern) {
-            case STRAIGHT_DOWN:
-            case ZIGZAG_DOWN:
-                // Remove if below screen
-                return this.positionY > this.screenHeight;
-
-            case HORIZONTAL_MOVE:
-                // Remove if past opposite edge
-                if (this.speedX > 0) {
-                    return this.positionX > this.screenWidth;  // Moving right, past right edge
-                } else {
-                    return this.positionX + this.width < 0;    // Moving left, past left edge
-                }
-
-            default:
-                return false;
-        }
+        // Remove if below screen
+        if (this.positionY > this.screenHeight)
+            return true;
+        // Remove if past the edge it is heading to
+        int directionX = this.velocityX * this.mirror;
+        if (directionX > 0 && this.positionX > this.screenWidth)
+            return true;
+        if (directionX < 0 && this.positionX + this.width < 0)
+            return true;
+        return this.velocityY < 0 && this.positionY + this.height < 0;
     }
 
     /**
-     * Destroys the enemy with explosion effect.
+     * Destroys the enemy with explosion effect. The explosion lives in the
+     * particles of the session, the enemy leaves the game at once.
      */
     public void destroy() {
         if (!this.isDestroyed) {
             this.isDestroyed = true;
-            this.spriteType = SpriteType.Explosion;
-            this.explosionCooldown.reset();
+            GameSession.current().getParticles().explosion(this);
         }
     }
 
@@ -289,6 +462,9 @@ public class InfiniteEnemyShip extends Entity {
             this.hp -= damage;
             if (this.hp <= 0) {
                 destroy();
+            } else {
+                updateColorBasedOnHealth();
+                GameSession.current().getParticles().hit(this);
             }
         }
     }
@@ -316,12 +492,13 @@ public class InfiniteEnemyShip extends Entity {
     }
 
     /**
-     * Checks if explosion animation is finished.
+     * Checks if the enemy can be removed. The explosion is a particle
+     * effect, so a destroyed enemy is removed right away.
      *
-     * @return True if finished
+     * @return True if destroyed
      */
     public boolean isExplosionFinished() {
-        return this.isDestroyed && this.explosionCooldown.checkFinished();
+        return this.isDestroyed;
     }
 
     /**
@@ -345,12 +522,21 @@ public class InfiniteEnemyShip extends Entity {
     /**
      * Gets movement pattern.
      *
-     * @return Movement pattern
+     * @return Built-in movement pattern, null for data-only programs
      */
     public MovementPattern getPattern() {
         return this.pattern;
     }
 
+    /**
+     * Gets movement program.
+     *
+     * @return Movement program
+     */
+    public MovementProgram getProgram() {
+        return this.program;
+    }
+
     /**
      * Sets the health (for difficulty scaling).
      *
@@ -359,6 +545,7 @@ public class InfiniteEnemyShip extends Entity {
     public void setHealth(final int hp) {
         this.hp = hp;
         this.maxHp = hp;
+        updateColorBasedOnHealth();
     }
 
     /**
@@ -367,7 +554,6 @@ public class InfiniteEnemyShip extends Entity {
      * @param multiplier Speed multiplier
      */
     public void setSpeedMultiplier(final double multiplier) {
-        this.speedX *= multiplier;
-        this.speedY *= multiplier;
+        this.speedScale = (int) Math.round(this.speedScale * multiplier);
     }
 }
\ No newline at end of file
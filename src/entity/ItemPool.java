@@ -1,7 +1,10 @@
 package entity;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Supplier;
+
+import engine.GameSession;
+import engine.ObjectPool;
 import entity.DropItem.ItemType;
 
 /**
@@ -12,8 +15,14 @@ import entity.DropItem.ItemType;
  */
 public final class ItemPool {
 
-    /** Set of already created items. */
-    private static Set<DropItem> pool = new HashSet<DropItem>();
+    /** Most items kept for reuse. */
+    private static final int CAP = 32;
+
+    /** Name of the pool in the session. */
+    private static final String NAME = "items";
+    /** Creates the pool of a session. */
+    private static final Supplier<ObjectPool<DropItem>> CREATOR = () -> new ObjectPool<>(NAME,
+            () -> new DropItem(0, 0, 0, ItemType.Heal), null, CAP);
 
     /**
      * Constructor, not called.
@@ -39,18 +48,11 @@ public final class ItemPool {
      */
     public static DropItem getItem(final int positionX,
                                    final int positionY, final int speed, final ItemType itemType) {
-        DropItem dropItem;
-        if (!pool.isEmpty()) {
-            dropItem = pool.iterator().next();
-            pool.remove(dropItem);
-            dropItem.setPositionX(positionX - dropItem.getWidth() / 2);
-            dropItem.setPositionY(positionY);
-            dropItem.setSpeed(speed);
-            dropItem.setItemType(itemType);
-        } else {
-            dropItem = new DropItem(positionX, positionY, speed, itemType);
-            dropItem.setPositionX(positionX - dropItem.getWidth() / 2);
-        }
+        DropItem dropItem = getPool().acquire();
+        dropItem.setPositionX(positionX - dropItem.getWidth() / 2);
+        dropItem.setPositionY(positionY);
+        dropItem.setSpeed(speed);
+        dropItem.setItemType(itemType);
         return dropItem;
     }
 
@@ -61,6 +63,15 @@ public final class ItemPool {
      *            items to recycle.
      */
     public static void recycle(final Set<DropItem> dropItem) {
-        pool.addAll(dropItem);
+        getPool().releaseAll(dropItem);
+    }
+
+    /**
+     * Getter for the pool backing the items of the current session.
+     *
+     * @return Item pool.
+     */
+    public static ObjectPool<DropItem> getPool() {
+        return GameSession.current().getPool(NAME, CREATOR);
     }
 }
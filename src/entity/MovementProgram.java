@@ -0,0 +1,288 @@
+package entity;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Movement pattern of an Infinite Mode enemy, compiled from data into a flat
+ * instruction array that InfiniteEnemyShip runs one tick per frame.
+ * Speeds and positions are fixed-point numbers with FRACTION_BITS fractional
+ * bits, angles are in 1/ANGLE_STEPS of a turn as in DirectionTable.
+ *
+ * A program is a sequence of segments:
+ * velocity (x, y, ticks) moves in a straight line,
+ * curve (speed, angle, turn, ticks) moves while turning every tick,
+ * wait (ticks) holds still,
+ * aim (speed, ticks) heads towards the target seen when the segment starts,
+ * or straight down when there is none,
+ * loop (to) jumps back to a segment.
+ * A segment without ticks lasts forever, and the last segment keeps going
+ * once the program ends.
+ */
+public final class MovementProgram {
+
+    /** Fractional bits of the fixed-point numbers. */
+    public static final int FRACTION_BITS = DirectionTable.FRACTION_BITS;
+    /** Fixed-point value of one. */
+    public static final int ONE = DirectionTable.ONE;
+    /** Angle steps in a full turn. */
+    public static final int ANGLE_STEPS = DirectionTable.STEPS;
+
+    /** Straight line: vx, vy, ticks. */
+    static final int OP_VELOCITY = 0;
+    /** Turning line: speed, angle, turn, ticks. */
+    static final int OP_CURVE = 1;
+    /** Hold still: ticks. */
+    static final int OP_WAIT = 2;
+    /** Head towards the target: speed, ticks. */
+    static final int OP_AIM = 3;
+    /** Jump: instruction index. */
+    static final int OP_LOOP = 4;
+
+    /** How the horizontal movement is mirrored when an enemy spawns. */
+    public enum Mirror {
+        /** Never mirrored. */
+        NONE,
+        /** Mirrored half of the time. */
+        RANDOM,
+        /** Mirrored when spawning on the right, so the enemy crosses the screen. */
+        SPAWN_SIDE
+    }
+
+    /** Where enemies with the program spawn. */
+    public enum Spawn {
+        /** Above the screen. */
+        TOP,
+        /** Left or right of the upper part of the screen. */
+        SIDE
+    }
+
+    /** Name of the program. */
+    private final String name;
+    /** Compiled instructions. */
+    final int[] code;
+    /** First sprite of the enemy. */
+    private final SpriteType spriteType;
+    /** Color of the enemy at full health. */
+    private final Color color;
+    /** Points given when destroyed. */
+    private final int pointValue;
+    /** How the movement is mirrored at spawn. */
+    private final Mirror mirror;
+    /** Where enemies spawn. */
+    private final Spawn spawn;
+    /** Relative chance of the program being picked when spawning. */
+    private final int weight;
+    /** True if the enemy bounces on the sides of the screen. */
+    private final boolean bounce;
+
+    /**
+     * Constructor, keeps an already compiled program.
+     */
+    private MovementProgram(final String name, final int[] code,
+                            final SpriteType spriteType, final Color color,
+                            final int pointValue, final Mirror mirror,
+                            final Spawn spawn, final int weight,
+                            final boolean bounce) {
+        this.name = name;
+        this.code = code;
+        this.spriteType = spriteType;
+        this.color = color;
+        this.pointValue = pointValue;
+        this.mirror = mirror;
+        this.spawn = spawn;
+        this.weight = weight;
+        this.bounce = bounce;
+    }
+
+    /**
+     * Compiles a program from its parsed JSON description.
+     *
+     * @param map Pattern object parsed by JsonLoader
+     * @return Compiled program
+     * @throws IllegalArgumentException if the description is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public static MovementProgram compile(final Map<String, Object> map) {
+        String name = (String) require(map, "name");
+        List<Map<String, Object>> segments = (List<Map<String, Object>>) require(map, "program");
+        if (segments.isEmpty())
+            throw new IllegalArgumentException("Empty program: " + name);
+
+        // Segment indices are turned into instruction indices once every
+        // segment has been laid out.
+        int[] starts = new int[segments.size()];
+        List<Integer> loopTargets = new ArrayList<>();
+        List<Integer> code = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Map<String, Object> segment = segments.get(i);
+            starts[i] = code.size();
+            String op = (String) require(segment, "op");
+            switch (op) {
+                case "velocity":
+                    code.add(OP_VELOCITY);
+                    code.add(fixed(segment, "x", 0));
+                    code.add(fixed(segment, "y", 0));
+                    code.add(integer(segment, "ticks", 0));
+                    break;
+                case "curve":
+                    code.add(OP_CURVE);
+                    code.add(fixed(segment, "speed", 0));
+                    code.add(angle(segment, "angle"));
+                    code.add(angle(segment, "turn"));
+                    code.add(integer(segment, "ticks", 0));
+                    break;
+                case "wait":
+                    code.add(OP_WAIT);
+                    code.add(integer(segment, "ticks", 0));
+                    break;
+                case "aim":
+                    code.add(OP_AIM);
+                    code.add(fixed(segment, "speed", 0));
+                    code.add(integer(segment, "ticks", 0));
+                    break;
+                case "loop":
+                    int to = integer(segment, "to", 0);
+                    if (to < 0 || to >= i)
+                        throw new IllegalArgumentException("Loop of " + name + " must jump back, got " + to);
+                    code.add(OP_LOOP);
+                    loopTargets.add(code.size());
+                    code.add(to);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown op '" + op + "' in " + name);
+            }
+        }
+
+        int[] compiled = new int[code.size()];
+        for (int i = 0; i < compiled.length; i++)
+            compiled[i] = code.get(i);
+        for (int index : loopTargets)
+            compiled[index] = starts[compiled[index]];
+
+        return new MovementProgram(name, compiled,
+                SpriteType.valueOf((String) require(map, "sprite")),
+                Color.decode((String) require(map, "color")),
+                integer(map, "points", 0),
+                Mirror.valueOf(string(map, "mirror", "none").toUpperCase()),
+                Spawn.valueOf(string(map, "spawn", "top").toUpperCase()),
+                weight(map),
+                Boolean.TRUE.equals(map.get("bounce")));
+    }
+
+    private static int weight(final Map<String, Object> map) {
+        int weight = integer(map, "weight", 1);
+        if (weight < 0)
+            throw new IllegalArgumentException("Negative 'weight' " + weight + " in " + map);
+        return weight;
+    }
+
+    private static Object require(final Map<String, Object> map, final String key) {
+        Object value = map.get(key);
+        if (value == null)
+            throw new IllegalArgumentException("Missing '" + key + "' in " + map);
+        return value;
+    }
+
+    private static String string(final Map<String, Object> map, final String key,
+                                 final String fallback) {
+        Object value = map.get(key);
+        return value == null ? fallback : (String) value;
+    }
+
+    private static int integer(final Map<String, Object> map, final String key,
+                               final int fallback) {
+        Object value = map.get(key);
+        return value == null ? fallback : ((Number) value).intValue();
+    }
+
+    private static int fixed(final Map<String, Object> map, final String key,
+                             final double fallback) {
+        Object value = map.get(key);
+        double number = value == null ? fallback : ((Number) value).doubleValue();
+        return (int) Math.round(number * ONE);
+    }
+
+    /** Reads an angle in degrees as angle steps. */
+    private static int angle(final Map<String, Object> map, final String key) {
+        Object value = map.get(key);
+        double degrees = value == null ? 0 : ((Number) value).doubleValue();
+        return (int) Math.round(degrees * ANGLE_STEPS / 360);
+    }
+
+    /**
+     * Getter for the name of the program.
+     *
+     * @return Name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Getter for the first sprite of the enemy.
+     *
+     * @return Sprite type
+     */
+    public SpriteType getSpriteType() {
+        return this.spriteType;
+    }
+
+    /**
+     * Getter for the color of the enemy at full health.
+     *
+     * @return Color
+     */
+    public Color getColor() {
+        return this.color;
+    }
+
+    /**
+     * Getter for the points given when destroyed.
+     *
+     * @return Point value
+     */
+    public int getPointValue() {
+        return this.pointValue;
+    }
+
+    /**
+     * Getter for how the movement is mirrored at spawn.
+     *
+     * @return Mirror mode
+     */
+    public Mirror getMirror() {
+        return this.mirror;
+    }
+
+    /**
+     * Getter for where enemies spawn.
+     *
+     * @return Spawn area
+     */
+    public Spawn getSpawn() {
+        return this.spawn;
+    }
+
+    /**
+     * Getter for the relative chance of being picked when spawning.
+     *
+     * @return Weight, 0 to never be picked
+     */
+    public int getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * Checks if the enemy bounces on the sides of the screen.
+     *
+     * @return True when bouncing
+     */
+    public boolean isBounce() {
+        return this.bounce;
+    }
+}
@@ -0,0 +1,144 @@
+package entity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import engine.Core;
+import engine.level.JsonLoader;
+
+/**
+ * Library of the Infinite Mode movement programs, loaded once from the
+ * patterns/movement.json resource. New patterns are added to that file and
+ * need no code changes.
+ */
+public final class MovementPrograms {
+
+    /** Resource holding the patterns. */
+    private static final String RESOURCE = "patterns/movement.json";
+
+    /** Patterns used when the resource cannot be loaded. */
+    private static final String FALLBACK = "{\"patterns\": ["
+            + "{\"name\": \"straight_down\", \"sprite\": \"EnemyShipA1\", \"color\": \"#0000FF\", \"points\": 10,"
+            + " \"program\": [{\"op\": \"velocity\", \"y\": 4}]},"
+            + "{\"name\": \"zigzag_down\", \"sprite\": \"EnemyShipB1\", \"color\": \"#FFFF00\", \"points\": 15,"
+            + " \"mirror\": \"random\", \"bounce\": true,"
+            + " \"program\": [{\"op\": \"velocity\", \"x\": 3, \"y\": 2}]},"
+            + "{\"name\": \"horizontal_move\", \"sprite\": \"EnemyShipC1\", \"color\": \"#FF00FF\", \"points\": 20,"
+            + " \"mirror\": \"spawn_side\", \"spawn\": \"side\","
+            + " \"program\": [{\"op\": \"velocity\", \"x\": 4}]}"
+            + "]}";
+
+    /** Loaded programs by name, in file order. */
+    private static Map<String, MovementProgram> programs;
+
+    private MovementPrograms() {
+    }
+
+    /**
+     * Returns a program by name.
+     *
+     * @param name Name of the program
+     * @return Program
+     * @throws IllegalArgumentException if no program has that name
+     */
+    public static MovementProgram get(final String name) {
+        MovementProgram program = load().get(name);
+        if (program == null)
+            throw new IllegalArgumentException("Unknown movement pattern: " + name);
+        return program;
+    }
+
+    /**
+     * Returns every program.
+     *
+     * @return Programs in file order
+     */
+    public static List<MovementProgram> all() {
+        return Collections.unmodifiableList(new ArrayList<>(load().values()));
+    }
+
+    /**
+     * Picks a program to spawn, according to the weights.
+     *
+     * @param random Random generator of the caller
+     * @return Picked program
+     */
+    public static MovementProgram pick(final Random random) {
+        Map<String, MovementProgram> loaded = load();
+        int total = 0;
+        for (MovementProgram program : loaded.values())
+            total += program.getWeight();
+        int roll = random.nextInt(total);
+        for (MovementProgram program : loaded.values()) {
+            roll -= program.getWeight();
+            if (roll < 0)
+                return program;
+        }
+        throw new IllegalStateException("No movement pattern to pick");
+    }
+
+    /**
+     * Compiles every pattern of a JSON document.
+     *
+     * @param json Document with a "patterns" array
+     * @return Programs by name, in document order
+     * @throws IOException if the document cannot be parsed or compiled, or
+     *         no pattern can be picked
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, MovementProgram> parse(final String json) throws IOException {
+        Map<String, Object> root = JsonLoader.parseGeneric(json);
+        if (root == null || !(root.get("patterns") instanceof List))
+            throw new IOException("JSON root must be an object with a 'patterns' array.");
+        Map<String, MovementProgram> parsed = new LinkedHashMap<>();
+        try {
+            for (Map<String, Object> map : (List<Map<String, Object>>) root.get("patterns")) {
+                MovementProgram program = MovementProgram.compile(map);
+                parsed.put(program.getName(), program);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid movement pattern: " + e.getMessage(), e);
+        }
+        long total = 0;
+        for (MovementProgram program : parsed.values())
+            total += program.getWeight();
+        if (total <= 0 || total > Integer.MAX_VALUE)
+            throw new IOException("Movement pattern weights must add up to between 1 and "
+                    + Integer.MAX_VALUE + ", got " + total);
+        return parsed;
+    }
+
+    private static synchronized Map<String, MovementProgram> load() {
+        if (programs != null)
+            return programs;
+        try (InputStream inputStream = MovementPrograms.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (inputStream == null)
+                throw new IOException("Cannot find resource file: " + RESOURCE);
+            String json;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                json = reader.lines().collect(Collectors.joining("\n"));
+            }
+            programs = parse(json);
+        } catch (IOException e) {
+            Core.getLogger().warning("Failed to load movement patterns, using built-in ones: "
+                    + e.getMessage());
+            try {
+                programs = parse(FALLBACK);
+            } catch (IOException fallbackError) {
+                throw new IllegalStateException(fallbackError);
+            }
+        }
+        return programs;
+    }
+}
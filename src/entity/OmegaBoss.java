@@ -1,6 +1,7 @@
 package entity;
 
 import engine.DrawManager;
+import engine.GameSession;
 import java.awt.*;
 
 /**
@@ -124,11 +125,11 @@ public class OmegaBoss extends MidBoss {
 		}
 	}
 
-	/** Marks the entity as destroyed and changes its sprite to an explosion. */
+	/** Marks the entity as destroyed and leaves an explosion in the particles of the session. */
 	@Override
 	public void destroy() {
 		this.isDestroyed = true;
-		this.spriteType = DrawManager.SpriteType.OmegaBossDeath;
+		GameSession.current().getParticles().bossExplosion(this);
 		this.logger.info("OMEGA : Boss OMEGA destroyed!");
 	}
 
@@ -140,6 +141,8 @@ public class OmegaBoss extends MidBoss {
 	@Override
 	public void takeDamage(int damage) {
 		this.healPoint -= damage;
+		if (this.healPoint > 0)
+			GameSession.current().getParticles().hit(this);
 	}
 
 	/**
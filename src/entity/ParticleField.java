@@ -0,0 +1,351 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Stores the particles of explosions and hit effects as parallel primitive
+ * arrays of fixed capacity.
+ * Particles are addressed by index in [0, size()) and removed by swapping the
+ * last particle into the freed slot, so the live range is always dense.
+ * Effects asked for while the field is full are cut short instead of growing
+ * it, so a burst of kills costs a bounded amount of work.
+ * Colors are kept in a small palette, letting the renderer set each color once
+ * per frame and draw every particle of that color in one batch. A full
+ * palette reuses a slot no live particle points to, or else draws the new
+ * effect in the closest color it holds, so live effects never change color.
+ */
+public final class ParticleField {
+
+	/** Capacity of a new field. */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/** Colors remembered by the palette. */
+	public static final int PALETTE_SIZE = 32;
+
+	/** Enemy explosion: particles, speed in pixels per tick, ticks alive. */
+	private static final int EXPLOSION_PARTICLES = 16;
+	private static final int EXPLOSION_SPEED = 3;
+	private static final int EXPLOSION_LIFE = 24;
+	/** Boss explosion. */
+	private static final int BOSS_EXPLOSION_PARTICLES = 96;
+	private static final int BOSS_EXPLOSION_SPEED = 6;
+	private static final int BOSS_EXPLOSION_LIFE = 48;
+	/** Sparks of a hit. */
+	private static final int HIT_PARTICLES = 4;
+	private static final int HIT_SPEED = 2;
+	private static final int HIT_LIFE = 8;
+
+	/** Speed lost every tick, as a right shift of the velocity. */
+	private static final int DRAG_SHIFT = 4;
+
+	/** Position in the x-axis of each particle, in fixed point. */
+	private final int[] positionX;
+	/** Position in the y-axis of each particle, in fixed point. */
+	private final int[] positionY;
+	/** Horizontal speed of each particle, in fixed point. */
+	private final int[] velocityX;
+	/** Vertical speed of each particle, in fixed point. */
+	private final int[] velocityY;
+	/** Ticks left before each particle fades. */
+	private final int[] remaining;
+	/** Ticks each particle lives in total. */
+	private final int[] lifetime;
+	/** Palette index of the color of each particle. */
+	private final int[] colorIndex;
+	/** Colors used by the particles. */
+	private final Color[] palette = new Color[PALETTE_SIZE];
+	/** Live particles drawn in each palette color. */
+	private final int[] paletteUses = new int[PALETTE_SIZE];
+	/** Colors in the palette. */
+	private int paletteCount;
+	/** Palette slot tried first for reuse once the palette is full. */
+	private int paletteVictim;
+	/** Number of live particles. */
+	private int size;
+	/** State of the generator spreading the particles. */
+	private int seed = 0x2545F491;
+
+	/**
+	 * Constructor, creates an empty field.
+	 */
+	public ParticleField() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor, creates an empty field holding at most the given particles.
+	 *
+	 * @param capacity
+	 *            Most particles alive at once.
+	 */
+	public ParticleField(final int capacity) {
+		int fixed = Math.max(1, capacity);
+		this.positionX = new int[fixed];
+		this.positionY = new int[fixed];
+		this.velocityX = new int[fixed];
+		this.velocityY = new int[fixed];
+		this.remaining = new int[fixed];
+		this.lifetime = new int[fixed];
+		this.colorIndex = new int[fixed];
+	}
+
+	/**
+	 * Adds particles flying out of a point in every direction.
+	 *
+	 * @param centerX
+	 *            Center of the effect in the X axis.
+	 * @param centerY
+	 *            Center of the effect in the Y axis.
+	 * @param count
+	 *            Number of particles.
+	 * @param speed
+	 *            Highest starting speed, in pixels per tick.
+	 * @param life
+	 *            Ticks the particles live.
+	 * @param color
+	 *            Color of the particles.
+	 * @return Number of particles added, less than count if the field filled.
+	 */
+	public int burst(final int centerX, final int centerY, final int count,
+			final int speed, final int life, final Color color) {
+		int added = Math.min(count, this.positionX.length - this.size);
+		if (added <= 0 || life <= 0)
+			return 0;
+
+		int paletteIndex = paletteIndexOf(color);
+		this.paletteUses[paletteIndex] += added;
+		int step = DirectionTable.STEPS / count;
+		for (int n = 0; n < added; n++) {
+			int random = nextRandom();
+			int angle = n * step + (random & (step - 1 | 1));
+			// Between half and all of the speed, in fixed point.
+			int fixedSpeed = (speed << DirectionTable.FRACTION_BITS >> 1)
+					+ ((random >>> 8 & 0xFF) * speed >> 1);
+			int i = this.size++;
+			this.positionX[i] = centerX << DirectionTable.FRACTION_BITS;
+			this.positionY[i] = centerY << DirectionTable.FRACTION_BITS;
+			this.velocityX[i] = fixedSpeed * DirectionTable.cos(angle) >> DirectionTable.FRACTION_BITS;
+			this.velocityY[i] = fixedSpeed * DirectionTable.sin(angle) >> DirectionTable.FRACTION_BITS;
+			this.lifetime[i] = life;
+			this.remaining[i] = life - (random >>> 16 & 0x3) % life;
+			this.colorIndex[i] = paletteIndex;
+		}
+		return added;
+	}
+
+	/**
+	 * Adds the explosion of a destroyed enemy.
+	 *
+	 * @param entity
+	 *            Enemy exploding, gives the center and color.
+	 * @return Number of particles added.
+	 */
+	public int explosion(final Entity entity) {
+		return burst(entity, EXPLOSION_PARTICLES, EXPLOSION_SPEED, EXPLOSION_LIFE);
+	}
+
+	/**
+	 * Adds the explosion of a destroyed boss.
+	 *
+	 * @param entity
+	 *            Boss exploding, gives the center and color.
+	 * @return Number of particles added.
+	 */
+	public int bossExplosion(final Entity entity) {
+		return burst(entity, BOSS_EXPLOSION_PARTICLES, BOSS_EXPLOSION_SPEED, BOSS_EXPLOSION_LIFE);
+	}
+
+	/**
+	 * Adds the sparks of a hit that did not destroy the entity.
+	 *
+	 * @param entity
+	 *            Entity hit, gives the center and color.
+	 * @return Number of particles added.
+	 */
+	public int hit(final Entity entity) {
+		return burst(entity, HIT_PARTICLES, HIT_SPEED, HIT_LIFE);
+	}
+
+	private int burst(final Entity entity, final int count, final int speed, final int life) {
+		return burst(entity.getPositionX() + entity.getWidth() / 2,
+				entity.getPositionY() + entity.getHeight() / 2,
+				count, speed, life, entity.getColor());
+	}
+
+	/**
+	 * Moves every particle, slows it down and removes the faded ones.
+	 */
+	public void update() {
+		for (int i = this.size - 1; i >= 0; i--) {
+			if (--this.remaining[i] <= 0) {
+				remove(i);
+				continue;
+			}
+			this.positionX[i] += this.velocityX[i];
+			this.positionY[i] += this.velocityY[i];
+			this.velocityX[i] -= this.velocityX[i] >> DRAG_SHIFT;
+			this.velocityY[i] -= this.velocityY[i] >> DRAG_SHIFT;
+		}
+	}
+
+	/**
+	 * Removes every particle.
+	 */
+	public void clear() {
+		this.size = 0;
+		Arrays.fill(this.paletteUses, 0);
+	}
+
+	/**
+	 * Removes a particle by moving the last particle into its slot.
+	 */
+	private void remove(final int i) {
+		this.paletteUses[this.colorIndex[i]]--;
+		int last = --this.size;
+		if (i == last)
+			return;
+		this.positionX[i] = this.positionX[last];
+		this.positionY[i] = this.positionY[last];
+		this.velocityX[i] = this.velocityX[last];
+		this.velocityY[i] = this.velocityY[last];
+		this.remaining[i] = this.remaining[last];
+		this.lifetime[i] = this.lifetime[last];
+		this.colorIndex[i] = this.colorIndex[last];
+	}
+
+	/**
+	 * Finds the palette slot of a color, adding it when missing.
+	 */
+	private int paletteIndexOf(final Color color) {
+		for (int i = 0; i < this.paletteCount; i++)
+			if (this.palette[i].equals(color))
+				return i;
+		if (this.paletteCount < PALETTE_SIZE) {
+			this.palette[this.paletteCount] = color;
+			return this.paletteCount++;
+		}
+		// Health tints make many colors, a slot without live particles is recolored.
+		for (int k = 0; k < PALETTE_SIZE; k++) {
+			int index = (this.paletteVictim + k) % PALETTE_SIZE;
+			if (this.paletteUses[index] == 0) {
+				this.paletteVictim = (index + 1) % PALETTE_SIZE;
+				this.palette[index] = color;
+				return index;
+			}
+		}
+		return nearestPaletteIndex(color);
+	}
+
+	/**
+	 * Finds the palette slot whose color is closest to the given one.
+	 */
+	private int nearestPaletteIndex(final Color color) {
+		int nearest = 0;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (int i = 0; i < this.paletteCount; i++) {
+			int red = this.palette[i].getRed() - color.getRed();
+			int green = this.palette[i].getGreen() - color.getGreen();
+			int blue = this.palette[i].getBlue() - color.getBlue();
+			int distance = red * red + green * green + blue * blue;
+			if (distance < nearestDistance) {
+				nearest = i;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Xorshift step, so spreading particles allocates nothing.
+	 */
+	private int nextRandom() {
+		int x = this.seed;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		this.seed = x;
+		return x;
+	}
+
+	/**
+	 * Getter for the number of live particles.
+	 *
+	 * @return Number of particles.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the most particles alive at once.
+	 *
+	 * @return Capacity of the field.
+	 */
+	public int capacity() {
+		return this.positionX.length;
+	}
+
+	/**
+	 * Getter for the X position of a particle.
+	 *
+	 * @param i
+	 *            Index of the particle.
+	 * @return Position in pixels.
+	 */
+	public int getPositionX(final int i) {
+		return this.positionX[i] >> DirectionTable.FRACTION_BITS;
+	}
+
+	/**
+	 * Getter for the Y position of a particle.
+	 *
+	 * @param i
+	 *            Index of the particle.
+	 * @return Position in pixels.
+	 */
+	public int getPositionY(final int i) {
+		return this.positionY[i] >> DirectionTable.FRACTION_BITS;
+	}
+
+	/**
+	 * Getter for the size of a particle, shrinking as it fades.
+	 *
+	 * @param i
+	 *            Index of the particle.
+	 * @return Side of the particle in pixels, 1 to 3.
+	 */
+	public int getParticleSize(final int i) {
+		return 1 + 2 * this.remaining[i] / this.lifetime[i];
+	}
+
+	/**
+	 * Getter for the palette slot of the color of a particle.
+	 *
+	 * @param i
+	 *            Index of the particle.
+	 * @return Palette index.
+	 */
+	public int getColorIndex(final int i) {
+		return this.colorIndex[i];
+	}
+
+	/**
+	 * Getter for a color of the palette.
+	 *
+	 * @param index
+	 *            Palette index.
+	 * @return Color of the slot.
+	 */
+	public Color getPaletteColor(final int index) {
+		return this.palette[index];
+	}
+
+	/**
+	 * Getter for the number of colors in the palette.
+	 *
+	 * @return Colors in use.
+	 */
+	public int getPaletteCount() {
+		return this.paletteCount;
+	}
+}
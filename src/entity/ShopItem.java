@@ -1,5 +1,7 @@
 package entity;
 
+import engine.GameSession;
+
 /**
  * Manages the in-game item (enhancement) system.
  * This is a temporary implementation focusing on functionality.
@@ -13,8 +15,6 @@ public class ShopItem {
 
     // ==================== MultiShot DropItem ====================
 
-    /** MultiShot level (0 = not purchased, 1-3 = enhancement levels) */
-    private static int multiShotLevel = 0;
 
     /** Maximum MultiShot level */
     private static final int MAX_MULTI_SHOT_LEVEL = 3;
@@ -32,10 +32,33 @@ public class ShopItem {
      */
     private ShopItem() {
     }
+
+    /**
+     * Upgrade levels bought in the shop, one set per GameSession.
+     */
+    public static final class Levels {
+        /** MultiShot level (0 = not purchased, 1-3 = enhancement levels) */
+        private int multiShot = 0;
+        /** Rapid Fire lever (0 = not purchased, 1~5 = enhancement levels)*/
+        private int rapidFire = 0;
+        /** penetration level (0 = not purchased, 1~2 = enhancement levels) */
+        private int penetration = 0;
+        /** Bullet Speed level (0 = not purchased, 1-3 = enhancement levels) */
+        private int bulletSpeed = 0;
+        /** Ship Speed Increase Per Level (%)*/
+        private int shipSpeed = 0;
+    }
+
+    /**
+     * Returns the upgrade levels of the current session.
+     *
+     * @return Levels of the current session.
+     */
+    private static Levels levels() {
+        return GameSession.current().getShopLevels();
+    }
     //==================== Rapid Fire DropItem =======================
 
-    /** Rapid Fire lever (0 = not purchased, 1~5 = enhancement levels)*/
-    private static int rapidFireLevel = 0;
 
     /** maximum Rapid Fire level */
     private static final int MAX_RAPID_FIRE_LEVEL = 5;
@@ -49,8 +72,6 @@ public class ShopItem {
 
     //===================== penetration DropItem =====================
 
-    /** penetration level (0 = not purchased, 1~2 = enhancement levels) */
-    private static int penetrationLevel = 0;
 
     /** maximum penetration level */
     private static final int MAX_PENETRATION_LEVEL = 2;
@@ -65,12 +86,8 @@ public class ShopItem {
     /** Ship speed per level */
     private static final int[] SHIP_SPEED = {0, 5, 10, 15, 20, 25};
 
-    /** Ship Speed Increase Per Level (%)*/
-    private static int SHIPSPEEDLEVEL = 0;
     // ==================== Bullet Speed DropItem ====================
 
-    /** Bullet Speed level (0 = not purchased, 1-3 = enhancement levels) */
-    private static int bulletSpeedLevel = 0;
 
     /** Maximum Bullet Speed level */
     private static final int MAX_BULLET_SPEED_LEVEL = 3;
@@ -97,7 +114,7 @@ public class ShopItem {
         if (level < 0 || level > MAX_MULTI_SHOT_LEVEL) {
             return false;
         }
-        multiShotLevel = level;
+        levels().multiShot = level;
         return true;
     }
 
@@ -107,7 +124,7 @@ public class ShopItem {
      * @return The current level (0-3).
      */
     public static int getMultiShotLevel() {
-        return multiShotLevel;
+        return levels().multiShot;
     }
 
     /**
@@ -116,7 +133,7 @@ public class ShopItem {
      * @return The number of bullets (1-4).
      */
     public static int getMultiShotBulletCount() {
-        return MULTI_SHOT_BULLETS[multiShotLevel];
+        return MULTI_SHOT_BULLETS[levels().multiShot];
     }
 
     /**
@@ -125,7 +142,7 @@ public class ShopItem {
      * @return The spacing between bullets in pixels.
      */
     public static int getMultiShotSpacing() {
-        return MULTI_SHOT_SPACING[multiShotLevel];
+        return MULTI_SHOT_SPACING[levels().multiShot];
     }
 
     /**
@@ -134,7 +151,7 @@ public class ShopItem {
      * @return true if the level is 1 or higher, false otherwise.
      */
     public static boolean isMultiShotActive() {
-        return multiShotLevel > 0;
+        return levels().multiShot > 0;
     }
 
 
@@ -150,7 +167,7 @@ public class ShopItem {
         if (level < 0 || level > MAX_RAPID_FIRE_LEVEL) {
             return false;
         }
-        rapidFireLevel = level;
+        levels().rapidFire = level;
         return true;
     }
 
@@ -160,7 +177,7 @@ public class ShopItem {
      * @return The current level (0-5).
      */
     public static int getRapidFireLevel() {
-        return rapidFireLevel;
+        return levels().rapidFire;
     }
 
     /**
@@ -169,7 +186,7 @@ public class ShopItem {
      * @return The shooting interval.
      */
     public static int getShootingInterval() {
-        int reduction = RAPID_FIRE_REDUCTION[rapidFireLevel];
+        int reduction = RAPID_FIRE_REDUCTION[levels().rapidFire];
         return BASE_SHOOTING_INTERVAL * (100 - reduction) / 100;
     }
 
@@ -186,7 +203,7 @@ public class ShopItem {
         if (level < 0 || level > MAX_PENETRATION_LEVEL) {
             return false;
         }
-        penetrationLevel = level;
+        levels().penetration = level;
         return true;
     }
 
@@ -197,7 +214,7 @@ public class ShopItem {
      * @return The current level (0-2).
      */
     public static int getPenetrationLevel() {
-        return penetrationLevel;
+        return levels().penetration;
     }
 
     /**
@@ -206,7 +223,16 @@ public class ShopItem {
      * @return Penetration count (0 = cannot penetrate, 1~2 = can penetrate)
      */
     public static int getPenetrationCount() {
-        return PENETRATION_COUNT[penetrationLevel];
+        return PENETRATION_COUNT[levels().penetration];
+    }
+
+    /**
+     * return Penetration count at the maximum level
+     *
+     * @return Highest penetration count a bullet can ever have
+     */
+    public static int getMaxPenetrationCount() {
+        return PENETRATION_COUNT[MAX_PENETRATION_LEVEL];
     }
 
     /**
@@ -215,7 +241,7 @@ public class ShopItem {
      * @return true if the level is 1 or higher, false otherwise.
      */
     public static boolean isPenetrationActive() {
-        return penetrationLevel > 0;
+        return levels().penetration > 0;
     }
 
     // ==================== Bullet Speed Methods ====================
@@ -230,7 +256,7 @@ public class ShopItem {
         if (level < 0 || level > MAX_BULLET_SPEED_LEVEL) {
             return false;
         }
-        bulletSpeedLevel = level;
+        levels().bulletSpeed = level;
         return true;
     }
 
@@ -244,16 +270,16 @@ public class ShopItem {
         if (level < 0 || level > MAX_SHIP_SPEED_LEVEL) {
             return false;
         }
-        SHIPSPEEDLEVEL = level;
+        levels().shipSpeed = level;
         return true;
     }
 
     public static int getSHIPSpeedCOUNT() {
-        return SHIP_SPEED[SHIPSPEEDLEVEL];
+        return SHIP_SPEED[levels().shipSpeed];
     }
 
     public static int getBulletSpeedLevel() {
-        return bulletSpeedLevel;
+        return levels().bulletSpeed;
     }
 
     /**
@@ -262,7 +288,7 @@ public class ShopItem {
      * @return The bullet speed.
      */
     public static int getBulletSpeed() {
-        return BULLET_SPEED_VALUES[bulletSpeedLevel];
+        return BULLET_SPEED_VALUES[levels().bulletSpeed];
     }
 
 
@@ -272,11 +298,12 @@ public class ShopItem {
      * Resets all items (for testing or game reset).
      */
     public static void resetAllItems() {
-        multiShotLevel = 0;
-        rapidFireLevel = 0;
-        penetrationLevel = 0;
-        bulletSpeedLevel = 0;
-        SHIPSPEEDLEVEL = 0;
+        Levels levels = levels();
+        levels.multiShot = 0;
+        levels.rapidFire = 0;
+        levels.penetration = 0;
+        levels.bulletSpeed = 0;
+        levels.shipSpeed = 0;
     }
 
     /**
@@ -287,20 +314,20 @@ public class ShopItem {
     public static String getItemStatus() {
         StringBuilder status = new StringBuilder();
         status.append("=== DropItem Status ===\n");
-        status.append("MultiShot Level: ").append(multiShotLevel)
+        status.append("MultiShot Level: ").append(levels().multiShot)
                 .append(" (Bullets: ").append(getMultiShotBulletCount())
                 .append(", Spacing: ").append(getMultiShotSpacing())
                 .append(")\n");
-        status.append("Rapid Fire Level: ").append(rapidFireLevel)
+        status.append("Rapid Fire Level: ").append(levels().rapidFire)
                 .append(" (Interval: ").append(getShootingInterval())
                 .append(")\n");
-        status.append("Penetration Level: ").append(penetrationLevel)
+        status.append("Penetration Level: ").append(levels().penetration)
                 .append(" (Max Penetration Count: ").append(getPenetrationCount())
                 .append(")\n");
-        status.append("Bullet Speed Level: ").append(bulletSpeedLevel)
+        status.append("Bullet Speed Level: ").append(levels().bulletSpeed)
                 .append(" (Speed: ").append(getBulletSpeed())
                 .append(")\n");
-        status.append("Ship Speed Level: ").append(SHIPSPEEDLEVEL)
+        status.append("Ship Speed Level: ").append(levels().shipSpeed)
                 .append(" (Speed: ").append(getSHIPSpeedCOUNT());
         return status.toString();
     }
@@ -309,10 +336,11 @@ public class ShopItem {
      * For testing - sets the Spread Shot to its maximum level.
      */
     public static void setMaxLevelForTesting() {
-        multiShotLevel = MAX_MULTI_SHOT_LEVEL;
-        rapidFireLevel = MAX_RAPID_FIRE_LEVEL;
-        penetrationLevel = MAX_RAPID_FIRE_LEVEL;
-        bulletSpeedLevel = MAX_BULLET_SPEED_LEVEL;
-        SHIPSPEEDLEVEL = MAX_SHIP_SPEED_LEVEL;
+        Levels levels = levels();
+        levels.multiShot = MAX_MULTI_SHOT_LEVEL;
+        levels.rapidFire = MAX_RAPID_FIRE_LEVEL;
+        levels.penetration = MAX_RAPID_FIRE_LEVEL;
+        levels.bulletSpeed = MAX_BULLET_SPEED_LEVEL;
+        levels.shipSpeed = MAX_SHIP_SPEED_LEVEL;
     }
 }
\ No newline at end of file
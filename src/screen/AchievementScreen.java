@@ -21,6 +21,7 @@ public class AchievementScreen extends Screen {
      */
     public AchievementScreen(int width, int height, int fps) {
         super(width, height, fps);
+        setRenderOnDemand(true);
         this.returnCode = 1; // Default return code
     }
 
@@ -43,6 +43,7 @@ public class CreditScreen extends Screen {
      */
     public CreditScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        setRenderOnDemand(true);
 
         // When the screen closes, it returns to the main menu 1.
         this.returnCode = 1;
@@ -3,6 +3,11 @@ package screen;
 import engine.*;
 import engine.dto.StatePacket;
 import engine.level.Level;
+import engine.render.PixelObservation;
+import engine.render.RenderSnapshot;
+import engine.render.RenderThread;
+import engine.render.SnapshotRenderer;
+import engine.render.TripleBuffer;
 import entity.*;
 
 import java.awt.*;
@@ -29,16 +34,48 @@ public class GameScreen extends Screen implements CollisionContext {
 	private static final int BONUS_SHIP_INTERVAL = 20000;
 	/** Maximum variance in the time between bonus ship's appearances. */
 	private static final int BONUS_SHIP_VARIANCE = 10000;
-	/** Time until bonus ship explosion disappears. */
-	private static final int BONUS_SHIP_EXPLOSION = 500;
-	/** Time until bonus ship explosion disappears. */
-	private static final int BOSS_EXPLOSION = 600;
 	/** Time from finishing the level to screen change. */
 	private static final int SCREEN_CHANGE_INTERVAL = 1500;
 	/** Height of the interface separation line. */
 	private static final int SEPARATION_LINE_HEIGHT = 45;
 	/** Height of the items separation line (above items). */
 	private static final int ITEMS_SEPARATION_LINE_HEIGHT = 400;
+
+	/** Snapshot slots of the interface values. */
+	private static final int HUD_SCORE_P1 = 0;
+	private static final int HUD_SCORE_P2 = 1;
+	private static final int HUD_LIVES_P1 = 2;
+	private static final int HUD_LIVES_P2 = 3;
+	private static final int HUD_COIN = 4;
+	private static final int HUD_TIME = 5;
+	private static final int HUD_TWO_PLAYER = 6;
+	/** Seconds left before the game starts, -1 once started. */
+	private static final int HUD_COUNTDOWN = 7;
+	/** Health bars of the bosses, max health 0 when not shown. */
+	private static final int HUD_FINAL_X = 8;
+	private static final int HUD_FINAL_Y = 9;
+	private static final int HUD_FINAL_HP = 10;
+	private static final int HUD_FINAL_MAX_HP = 11;
+	private static final int HUD_OMEGA_X = 12;
+	private static final int HUD_OMEGA_Y = 13;
+	private static final int HUD_OMEGA_HP = 14;
+	private static final int HUD_OMEGA_MAX_HP = 15;
+	/** Snapshot slots of the interface texts. */
+	private static final int TEXT_LEVEL = 0;
+	private static final int TEXT_ACHIEVEMENT = 1;
+	private static final int TEXT_HEALTH = 2;
+	/** Layer slots of the cached interface, redrawn when one changes. */
+	private static final int LAYER_SCORE_P1 = 0;
+	private static final int LAYER_SCORE_P2 = 1;
+	private static final int LAYER_LIVES_P1 = 2;
+	private static final int LAYER_LIVES_P2 = 3;
+	private static final int LAYER_COIN = 4;
+	/** Elapsed seconds, the time is shown no finer. */
+	private static final int LAYER_SECONDS = 5;
+	private static final int LAYER_TWO_PLAYER = 6;
+	private static final int LAYER_ITEMS = 7;
+	private static final int LAYER_SLOTS = 8;
+	private static final int LAYER_TEXT_LEVEL = 0;
     /** Returns the Y-coordinate of the bottom boundary for enemies (above items HUD) */
     public static int getItemsSeparationLineHeight() {
         return ITEMS_SEPARATION_LINE_HEIGHT;
@@ -62,16 +99,30 @@ public class GameScreen extends Screen implements CollisionContext {
 	private Cooldown enemyShipSpecialCooldown;
 	/** team drawing may implement */
 	private FinalBoss finalBoss;
-	/** Time until bonus ship explosion disappears. */
-	private Cooldown enemyShipSpecialExplosionCooldown;
-	/** Time until Boss explosion disappears. */
-	private Cooldown bossExplosionCooldown;
 	/** Time from finishing the level to screen change. */
 	private Cooldown screenFinishedCooldown;
 	/** OmegaBoss */
 	private MidBoss omegaBoss;
-	/** Set of all bullets fired by on-screen ships. */
-	private Set<Bullet> bullets;
+	/** Field of all bullets fired by on-screen ships. */
+	private BulletField bullets;
+	/** Explosion and hit effects, shared with the entities of the session. */
+	private ParticleField particles;
+	/** Ids of the entities of this session. */
+	private final EntityRegistry entityRegistry = new EntityRegistry();
+	/** Snapshot drawn on this thread when there is no render thread. */
+	private final RenderSnapshot snapshot = new RenderSnapshot();
+	/** Snapshots handed to the render thread, null when drawing here. */
+	private TripleBuffer<RenderSnapshot> snapshots;
+	/** Entity positions rasterized for agents, null when off. */
+	private OccupancyGrid occupancy;
+	/** Downsampled frames for agents learning from pixels, null when off. */
+	private PixelObservation observation;
+	/** Paints the interface of the snapshots. */
+	private final SnapshotRenderer.Overlay overlay = this::drawOverlay;
+	/** Scores, lives, coins, time, items and level, cached between changes. */
+	private final HudLayer hudLayer = new HudLayer(LAYER_SLOTS, 1);
+	/** Paints the cached interface. */
+	private final HudLayer.Painter hudPainter = this::paintHud;
 	/** Set of all dropItems dropped by on screen ships. */
 	private Set<DropItem> dropItems;
 	/** Current score. */
@@ -104,12 +155,11 @@ public class GameScreen extends Screen implements CollisionContext {
     private CollisionManager collisionManager;
 
     // Unified scoring entry: maintains both P1/P2 and legacy this.score (total score)
-    public void addPointsFor(Bullet bullet, int pts) {
-        Integer owner = (bullet != null ? bullet.getOwnerId() : null);
-        if (owner != null && owner == 2) {
+    public void addPointsFor(int ownerId, int pts) {
+        if (ownerId == BulletField.OWNER_P2) {
             this.scoreP2 += pts;   // P2
         } else {
-            this.scoreP1 += pts;   // Default to P1 (for null compatibility)
+            this.scoreP1 += pts;   // Default to P1 (enemy-owned or item kills)
 
         }
         this.score += pts;        // Keep maintaining the total score, for legacy process compatibility
@@ -117,9 +167,7 @@ public class GameScreen extends Screen implements CollisionContext {
     }
 
     /** bossBullets carry bullets which Boss fires */
-	private Set<BossBullet> bossBullets;
-	/** Is the bullet on the screen erased */
-    private boolean is_cleared = false;
+	private BossBulletList bossBullets;
     /** Timer to track elapsed time. */
     private GameTimer gameTimer;
     /** Elapsed time since the game started. */
@@ -166,6 +214,7 @@ public class GameScreen extends Screen implements CollisionContext {
 			final Level level, final boolean bonusLife, final int maxLives,
 			final int width, final int height, final int fps) {
 		super(width, height, fps);
+		this.timerWheel = new TimerWheel(System.currentTimeMillis());
 
         this.currentLevel = level;
 		this.bonusLife = bonusLife;
@@ -200,28 +249,37 @@ public class GameScreen extends Screen implements CollisionContext {
 
         this.collisionManager = new CollisionManager(this);
 		/** Initialize the bullet Boss fired */
-		this.bossBullets = new HashSet<>();
+		this.bossBullets = BossBulletPool.getActive();
+		this.bossBullets.recycleAll();
+		this.entityRegistry.clear();
         enemyShipFormation = new EnemyShipFormation(this.currentLevel);
 		enemyShipFormation.attach(this);
+		enemyShipFormation.setEntityRegistry(this.entityRegistry);
 		this.ship = new Ship(this.width / 2, ITEMS_SEPARATION_LINE_HEIGHT - 20,Color.green);
 		this.ship.setPlayerId(1);   //=== [ADD] Player 1 ===
+		this.entityRegistry.register(this.ship);
 
 		if(this.isTwoPlayerMode) {
 			this.ship.setPositionX(this.width / 2 - 100);
 			this.shipP2 = new Ship(this.width / 2 + 100, ITEMS_SEPARATION_LINE_HEIGHT - 20, Color.pink);
 			this.shipP2.setPlayerId(2); // === [ADD] Player2 ===
+			this.entityRegistry.register(this.shipP2);
 		}
 //		this.scoreP1 = gameState.getScoreP1();
 //		this.scoreP2 = gameState.getScoreP2();
         // special enemy initial
 		enemyShipSpecialFormation = new EnemyShipSpecialFormation(this.currentLevel,
-				Core.getVariableCooldown(BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE),
-				Core.getCooldown(BONUS_SHIP_EXPLOSION));
+				Core.getVariableCooldown(BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE));
 		enemyShipSpecialFormation.attach(this);
-		this.bossExplosionCooldown = Core
-				.getCooldown(BOSS_EXPLOSION);
+		enemyShipSpecialFormation.setEntityRegistry(this.entityRegistry);
 		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.bullets = new HashSet<Bullet>();
+		this.bullets = new BulletField();
+		this.particles = this.session.getParticles();
+		this.particles.clear();
+		if (PixelObservation.isEnabled() || this.session.isAITraining())
+			this.observation = PixelObservation.fromProperties(this.width, this.height);
+		if (OccupancyGrid.isEnabled() || this.session.isAITraining())
+			this.occupancy = OccupancyGrid.fromProperties(this.width, this.height);
         this.dropItems = new HashSet<DropItem>();
 
 		// Special input delay / countdown.
@@ -243,7 +301,21 @@ public class GameScreen extends Screen implements CollisionContext {
 	 * @return Next screen code.
 	 */
 	public final int run() {
-		super.run();
+		RenderThread renderThread = null;
+		if (RenderThread.isEnabled()) {
+			this.snapshots = new TripleBuffer<>(RenderSnapshot::new);
+			renderThread = new RenderThread(this, this.snapshots, this.overlay,
+					RenderThread.getRate());
+			renderThread.start();
+		}
+		try {
+			super.run();
+		} finally {
+			if (renderThread != null) {
+				renderThread.stop();
+				this.snapshots = null;
+			}
+		}
 
 		this.scoreP1 += LIFE_SCORE * (this.livesP1 - 1);
 		this.score += LIFE_SCORE * (this.livesP1 - 1);
@@ -369,8 +441,10 @@ public class GameScreen extends Screen implements CollisionContext {
 						this.omegaBoss.update();
 						if (this.omegaBoss.isDestroyed()) {
 							if ("omegaAndFinal".equals(this.currentlevel.getBossId())) {
+								this.entityRegistry.release(this.omegaBoss);
 								this.omegaBoss = null;
                                 this.finalBoss = new FinalBoss(this.width / 2 - 50, 50, this.width, this.height);
+                                this.entityRegistry.register(this.finalBoss);
                                 this.logger.info("Final Boss has spawned!");
 							} else {
 								this.levelFinished = true;
@@ -401,9 +475,12 @@ public class GameScreen extends Screen implements CollisionContext {
         cleanItems();
         collisionManager.manageCollisions();
 		cleanBullets();
+		this.particles.update();
+		if (this.occupancy != null)
+			fillOccupancy();
 		draw();
 
-        if (Core.isAITraining && this.livesP2 <= 0 && !this.levelFinished) {
+        if (this.session.isAITraining() && this.livesP2 <= 0 && !this.levelFinished) {
 
             // Core 루프 종료 위해 P1도 0으로 만들어준다
             this.livesP1 = 0;
@@ -457,96 +534,203 @@ public class GameScreen extends Screen implements CollisionContext {
 
 
 	/**
-	 * Draws the elements associated with the screen.
+	 * Draws the elements associated with the screen. With the render thread
+	 * running, the snapshot is only published and drawn there.
 	 */
 	private void draw() {
-		drawManager.initDrawing(this);
-
-		if (this.livesP1 > 0) {
-			drawManager.drawEntity(this.ship, this.ship.getPositionX(),
-					this.ship.getPositionY());
+		if (this.snapshots != null) {
+			fillSnapshot(this.snapshots.back());
+			observe(this.snapshots.back());
+			this.snapshots.publish();
+		} else {
+			fillSnapshot(this.snapshot);
+			observe(this.snapshot);
+			SnapshotRenderer.render(drawManager, this, null, this.snapshot, 1,
+					this.overlay);
 		}
+	}
 
-		if (this.isTwoPlayerMode && this.shipP2 != null && this.livesP2 > 0) {
-			drawManager.drawEntity(this.shipP2, this.shipP2.getPositionX(), this.shipP2.getPositionY());
-		}
+	/**
+	 * Rasterizes the entities into the occupancy grid and publishes it.
+	 */
+	private void fillOccupancy() {
+		OccupancyGrid grid = this.occupancy;
+		grid.clear();
+		if (this.livesP1 > 0)
+			grid.mark(OccupancyGrid.PLAYER_SHIPS, this.ship);
+		if (this.isTwoPlayerMode && this.shipP2 != null && this.livesP2 > 0)
+			grid.mark(OccupancyGrid.PLAYER_SHIPS, this.shipP2);
+		grid.mark(this.bullets);
+		for (int i = 0; i < this.bossBullets.size(); i++)
+			grid.mark(OccupancyGrid.BOSS_BULLETS, this.bossBullets.get(i));
+		for (EnemyShip enemyShip : this.enemyShipFormation)
+			if (!enemyShip.isDestroyed())
+				grid.mark(OccupancyGrid.enemyChannel(enemyShip.getSpriteType()), enemyShip);
+		for (EnemyShip special : this.enemyShipSpecialFormation)
+			if (!special.isDestroyed())
+				grid.mark(OccupancyGrid.ENEMIES_SPECIAL, special);
+		if (this.finalBoss != null && !this.finalBoss.isDestroyed())
+			grid.mark(OccupancyGrid.BOSSES, this.finalBoss);
+		if (this.omegaBoss != null && !this.omegaBoss.isDestroyed())
+			grid.mark(OccupancyGrid.BOSSES, this.omegaBoss);
+		for (DropItem dropItem : this.dropItems)
+			grid.mark(OccupancyGrid.ITEMS, dropItem);
+		grid.publish();
+	}
 
-		// special enemy draw
-		enemyShipSpecialFormation.draw();
+	/**
+	 * Renders the pixel observation of this tick, when observations are on.
+	 *
+	 * @param snapshot
+	 *            Snapshot of this tick.
+	 */
+	private void observe(final RenderSnapshot snapshot) {
+		if (this.observation != null)
+			this.observation.render(snapshot);
+	}
 
-		/** draw final boss at the field */
-		/** draw final boss bullets */
-		if(this.finalBoss != null && !this.finalBoss.isDestroyed()){
-			for (BossBullet bossBullet : bossBullets) {
-				drawManager.drawEntity(bossBullet, bossBullet.getPositionX(), bossBullet.getPositionY());
-			}
-			drawManager.drawEntity(finalBoss, finalBoss.getPositionX(), finalBoss.getPositionY());
-			drawManager.drawBossHealthBar(finalBoss.getPositionX(),finalBoss.getPositionY(), "FINAL",
-					finalBoss.getHealPoint(), finalBoss.getMaxHp());
-		}
+	/**
+	 * Copies what the screen shows after this tick into a snapshot, in
+	 * drawing order.
+	 *
+	 * @param snapshot
+	 *            Snapshot to fill.
+	 */
+	private void fillSnapshot(final RenderSnapshot snapshot) {
+		snapshot.clear(System.nanoTime());
 
-		enemyShipFormation.draw();
+		if (this.livesP1 > 0)
+			snapshot.addEntity(this.entityRegistry.idOf(this.ship), this.ship);
+		if (this.isTwoPlayerMode && this.shipP2 != null && this.livesP2 > 0)
+			snapshot.addEntity(this.entityRegistry.idOf(this.shipP2), this.shipP2);
 
-		if(this.omegaBoss != null) {
-			this.omegaBoss.draw(drawManager);
-		}
+		// special enemy draw
+		for (EnemyShip special : this.enemyShipSpecialFormation)
+			if (!special.isDestroyed())
+				snapshot.addEntity(this.entityRegistry.idOf(special), special);
 
-		if(this.omegaBoss != null && !this.omegaBoss.isDestroyed()) {
-			this.omegaBoss.draw(drawManager);
-			drawManager.drawBossHealthBar(omegaBoss.getPositionX(),omegaBoss.getPositionY(), "OMEGA",
-					this.omegaBoss.getHealPoint(), this.omegaBoss.getMaxHp());
+		/** draw final boss and its bullets */
+		if (this.finalBoss != null && !this.finalBoss.isDestroyed()) {
+			for (int i = 0; i < this.bossBullets.size(); i++)
+				snapshot.addEntity(RenderSnapshot.NO_ID, this.bossBullets.get(i));
+			snapshot.addEntity(this.entityRegistry.idOf(this.finalBoss), this.finalBoss);
+			snapshot.setHud(HUD_FINAL_HP, this.finalBoss.getHealPoint());
+			snapshot.setHud(HUD_FINAL_MAX_HP, this.finalBoss.getMaxHp());
+			snapshot.setHud(HUD_FINAL_X, this.finalBoss.getPositionX());
+			snapshot.setHud(HUD_FINAL_Y, this.finalBoss.getPositionY());
 		}
 
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY());
+		for (EnemyShip enemyShip : this.enemyShipFormation)
+			if (!enemyShip.isDestroyed())
+				snapshot.addEntity(this.entityRegistry.idOf(enemyShip), enemyShip);
+
+		if (this.omegaBoss != null && !this.omegaBoss.isDestroyed()) {
+			snapshot.addEntity(this.entityRegistry.idOf(this.omegaBoss), this.omegaBoss);
+			snapshot.setHud(HUD_OMEGA_HP, this.omegaBoss.getHealPoint());
+			snapshot.setHud(HUD_OMEGA_MAX_HP, this.omegaBoss.getMaxHp());
+			snapshot.setHud(HUD_OMEGA_X, this.omegaBoss.getPositionX());
+			snapshot.setHud(HUD_OMEGA_Y, this.omegaBoss.getPositionY());
+		}
 
+		// Bullets and drop items have no registry id and are not interpolated.
+		for (int i = 0; i < this.bullets.size(); i++)
+			snapshot.addSprite(RenderSnapshot.NO_ID, this.bullets.getSpriteType(i),
+					Color.WHITE, this.bullets.getPositionX(i), this.bullets.getPositionY(i),
+					BulletField.WIDTH, BulletField.HEIGHT);
 		for (DropItem dropItem : this.dropItems)
-			drawManager.drawEntity(dropItem, dropItem.getPositionX(), dropItem.getPositionY());
+			snapshot.addEntity(RenderSnapshot.NO_ID, dropItem);
+
+		snapshot.addParticles(this.particles);
 
 		// Interface.
-        drawManager.drawScore(this, this.scoreP1);   // Top line still displays P1
-		if(this.isTwoPlayerMode) {
-			drawManager.drawScoreP2(this, this.scoreP2); // Added second line for P2
-		}
-        drawManager.drawCoin(this,this.coin);
-		drawManager.drawLives(this, this.livesP1);
-		if(this.isTwoPlayerMode) {
-			drawManager.drawLivesP2(this, this.livesP2);
-		}
-		drawManager.drawTime(this, this.elapsedTime);
+		snapshot.setHud(HUD_SCORE_P1, this.scoreP1);
+		snapshot.setHud(HUD_SCORE_P2, this.scoreP2);
+		snapshot.setHud(HUD_LIVES_P1, this.livesP1);
+		snapshot.setHud(HUD_LIVES_P2, this.livesP2);
+		snapshot.setHud(HUD_COIN, this.coin);
+		snapshot.setHud(HUD_TIME, (int) this.elapsedTime);
+		snapshot.setHud(HUD_TWO_PLAYER, this.isTwoPlayerMode ? 1 : 0);
+		snapshot.setText(TEXT_LEVEL, this.currentLevel.getLevelName());
+
+		if (this.achievementText != null && this.achievementPopupCooldown.checkFinished())
+			this.achievementText = null; // clear once expired
+		snapshot.setText(TEXT_ACHIEVEMENT, this.achievementText);
+		if (this.healthPopupText != null && this.healthPopupCooldown.checkFinished())
+			this.healthPopupText = null;
+		snapshot.setText(TEXT_HEALTH, this.healthPopupText);
+
+		// Countdown to game start.
+		if (!this.inputDelay.checkFinished())
+			snapshot.setHud(HUD_COUNTDOWN, (int) ((INPUT_DELAY
+					- (System.currentTimeMillis() - this.gameStartTime)) / 1000));
+		else
+			snapshot.setHud(HUD_COUNTDOWN, -1);
+	}
+
+	/**
+	 * Paints the interface that changes a few times per second at most into
+	 * its cached layer.
+	 *
+	 * @param drawManager
+	 *            Draw manager drawing into the layer.
+	 * @param layer
+	 *            Layer holding the bound values.
+	 */
+	private void paintHud(final DrawManager drawManager, final HudLayer layer) {
+		boolean twoPlayers = layer.get(LAYER_TWO_PLAYER) != 0;
+		drawManager.drawScore(this, layer.getInt(LAYER_SCORE_P1));   // Top line still displays P1
+		if (twoPlayers)
+			drawManager.drawScoreP2(this, layer.getInt(LAYER_SCORE_P2)); // Added second line for P2
+		drawManager.drawCoin(this, layer.getInt(LAYER_COIN));
+		drawManager.drawLives(this, layer.getInt(LAYER_LIVES_P1));
+		if (twoPlayers)
+			drawManager.drawLivesP2(this, layer.getInt(LAYER_LIVES_P2));
+		drawManager.drawTime(this, layer.get(LAYER_SECONDS) * 1000);
 		drawManager.drawItemsHUD(this);
-		drawManager.drawLevel(this, this.currentLevel.getLevelName());
+		drawManager.drawLevel(this, layer.getText(LAYER_TEXT_LEVEL));
 		drawManager.drawHorizontalLine(this, SEPARATION_LINE_HEIGHT - 1);
 		drawManager.drawHorizontalLine(this, ITEMS_SEPARATION_LINE_HEIGHT);
+	}
 
-		if (this.achievementText != null && !this.achievementPopupCooldown.checkFinished()) {
-			drawManager.drawAchievementPopup(this, this.achievementText);
-		} else {
-			this.achievementText = null; // clear once expired
-		}
-
+	/**
+	 * Draws the interface from the values of a snapshot.
+	 *
+	 * @param drawManager
+	 *            Draw manager of the frame being drawn.
+	 * @param snapshot
+	 *            Snapshot holding the interface values.
+	 */
+	private void drawOverlay(final DrawManager drawManager, final RenderSnapshot snapshot) {
+		this.hudLayer.set(LAYER_SCORE_P1, snapshot.getHud(HUD_SCORE_P1));
+		this.hudLayer.set(LAYER_SCORE_P2, snapshot.getHud(HUD_SCORE_P2));
+		this.hudLayer.set(LAYER_LIVES_P1, snapshot.getHud(HUD_LIVES_P1));
+		this.hudLayer.set(LAYER_LIVES_P2, snapshot.getHud(HUD_LIVES_P2));
+		this.hudLayer.set(LAYER_COIN, snapshot.getHud(HUD_COIN));
+		this.hudLayer.set(LAYER_SECONDS, snapshot.getHud(HUD_TIME) / 1000);
+		this.hudLayer.set(LAYER_TWO_PLAYER, snapshot.getHud(HUD_TWO_PLAYER));
+		this.hudLayer.set(LAYER_ITEMS, ItemHUDManager.getInstance().getDisplayState());
+		this.hudLayer.setText(LAYER_TEXT_LEVEL, snapshot.getText(TEXT_LEVEL));
+		drawManager.drawLayer(this, this.hudLayer, this.hudPainter);
+
+		if (snapshot.getHud(HUD_FINAL_MAX_HP) > 0)
+			drawManager.drawBossHealthBar(snapshot.getHud(HUD_FINAL_X), snapshot.getHud(HUD_FINAL_Y),
+					"FINAL", snapshot.getHud(HUD_FINAL_HP), snapshot.getHud(HUD_FINAL_MAX_HP));
+		if (snapshot.getHud(HUD_OMEGA_MAX_HP) > 0)
+			drawManager.drawBossHealthBar(snapshot.getHud(HUD_OMEGA_X), snapshot.getHud(HUD_OMEGA_Y),
+					"OMEGA", snapshot.getHud(HUD_OMEGA_HP), snapshot.getHud(HUD_OMEGA_MAX_HP));
+
+		if (snapshot.getText(TEXT_ACHIEVEMENT) != null)
+			drawManager.drawAchievementPopup(this, snapshot.getText(TEXT_ACHIEVEMENT));
 		// Health notification popup
-		if(this.healthPopupText != null && !this.healthPopupCooldown.checkFinished()) {
-			drawManager.drawHealthPopup(this, this.healthPopupText);
-		} else {
-			this.healthPopupText = null;
+		if (snapshot.getText(TEXT_HEALTH) != null)
+			drawManager.drawHealthPopup(this, snapshot.getText(TEXT_HEALTH));
+
+		int countdown = snapshot.getHud(HUD_COUNTDOWN);
+		if (countdown >= 0) {
+			drawManager.drawCountDown(this, this.level, countdown, this.bonusLife);
+			drawManager.drawHorizontalLine(this, this.height / 2 - this.height / 12);
+			drawManager.drawHorizontalLine(this, this.height / 2 + this.height / 12);
 		}
-
-		// Countdown to game start.
-		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY
-					- (System.currentTimeMillis()
-					- this.gameStartTime)) / 1000);
-			drawManager.drawCountDown(this, this.level, countdown,
-					this.bonusLife);
-			drawManager.drawHorizontalLine(this, this.height / 2 - this.height
-					/ 12);
-			drawManager.drawHorizontalLine(this, this.height / 2 + this.height
-					/ 12);
-		}
-
-		drawManager.completeDrawing(this);
 	}
 
 
@@ -554,15 +738,8 @@ public class GameScreen extends Screen implements CollisionContext {
 	 * Cleans bullets that go off screen.
 	 */
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+		this.bullets.update();
+		this.bullets.removeOutside(SEPARATION_LINE_HEIGHT, this.height);
 	}
 
     /**
@@ -644,11 +821,13 @@ public class GameScreen extends Screen implements CollisionContext {
 		switch (bossName) {
 			case "finalBoss":
 				this.finalBoss = new FinalBoss(this.width / 2 - 50, 50, this.width, this.height);
+				this.entityRegistry.register(this.finalBoss);
 				this.logger.info("Final Boss has spawned!");
 				break;
 			case "omegaBoss":
 			case "omegaAndFinal":
 				this.omegaBoss = new OmegaBoss(Color.ORANGE, ITEMS_SEPARATION_LINE_HEIGHT);
+				this.entityRegistry.register(this.omegaBoss);
 				omegaBoss.attach(this);
 				this.logger.info("Omega Boss has spawned!");
 				break;
@@ -662,34 +841,14 @@ public class GameScreen extends Screen implements CollisionContext {
 	public void finalbossManage(){
 		if (this.finalBoss != null && !this.finalBoss.isDestroyed()) {
 			this.finalBoss.update();
-			/** called the boss shoot logic */
-			if (this.finalBoss.getHealPoint() > this.finalBoss.getMaxHp() / 4) {
-				bossBullets.addAll(this.finalBoss.shoot1());
-				bossBullets.addAll(this.finalBoss.shoot2());
-			} else {
-				/** Is the bullet on the screen erased */
-				if (!is_cleared) {
-					bossBullets.clear();
-					is_cleared = true;
-					logger.info("boss is angry");
-				} else {
-					bossBullets.addAll(this.finalBoss.shoot3());
-				}
-			}
+			/** called the boss shoot logic, clears the screen once when the boss is angry */
+			this.finalBoss.shoot(bossBullets,
+					this.ship.getPositionX() + this.ship.getWidth() / 2,
+					this.ship.getPositionY() + this.ship.getHeight() / 2,
+					BossBulletPool.MAX_ACTIVE - bossBullets.size());
 
-			/** bullets to erase */
-			Set<BossBullet> bulletsToRemove = new HashSet<>();
-
-			for (BossBullet b : bossBullets) {
-				b.update();
-				/** If the bullet goes off the screen */
-				if (b.isOffScreen(width, height)) {
-					/** bulletsToRemove carry bullet */
-					bulletsToRemove.add(b);
-				}
-			}
-			/** all bullets are removed */
-			bossBullets.removeAll(bulletsToRemove);
+			/** bullets that go off the screen go back to the pool */
+			bossBullets.update(width, height);
 
 		}
 		if (this.finalBoss != null && this.finalBoss.isDestroyed()) {
@@ -740,6 +899,24 @@ public class GameScreen extends Screen implements CollisionContext {
     }
 
 
+    /**
+     * Getter for the occupancy grid of the screen.
+     *
+     * @return Grid, null when the grid is off.
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        return this.occupancy;
+    }
+
+    /**
+     * Getter for the pixel observations of the screen.
+     *
+     * @return Observation, null when observations are off.
+     */
+    public PixelObservation getObservation() {
+        return this.observation;
+    }
+
     public StatePacket buildStatePacket() {
         StatePacket packet = new StatePacket();
 
@@ -760,14 +937,15 @@ public class GameScreen extends Screen implements CollisionContext {
 
         // 3. Bullets info
         packet.bullets = new ArrayList<>();
-        for (Bullet b : this.bullets) {
+        for (int i = 0; i < this.bullets.size(); i++) {
             List<Integer> bullet_info = new ArrayList<>();
-            bullet_info.add(b.getPositionX());
-            bullet_info.add(b.getPositionY());
-            bullet_info.add(b.getOwnerId());
+            bullet_info.add(this.bullets.getPositionX(i));
+            bullet_info.add(this.bullets.getPositionY(i));
+            bullet_info.add(this.bullets.getOwnerId(i));
             packet.bullets.add(bullet_info);
         }
-        for (BossBullet b : this.bossBullets) {
+        for (int i = 0; i < this.bossBullets.size(); i++) {
+            BossBullet b = this.bossBullets.get(i);
             List<Integer> bullet_info = new ArrayList<>();
             bullet_info.add(b.getPositionX());
             bullet_info.add(b.getPositionY());
@@ -776,10 +954,12 @@ public class GameScreen extends Screen implements CollisionContext {
         }
 
 
-        // 4. Enemies info
+        // 4. Enemies info, with their registry ids in the same order
         packet.enemies = new ArrayList<>();
+        packet.enemyIds = new ArrayList<>();
         for (EnemyShip e : this.enemyShipFormation) {
             if (!e.isDestroyed()) {
+                packet.enemyIds.add(this.entityRegistry.idOf(e));
                 List<Integer> enemy_info = new ArrayList<>();
                 enemy_info.add(e.getPositionX());
                 enemy_info.add(e.getPositionY());
@@ -795,6 +975,7 @@ public class GameScreen extends Screen implements CollisionContext {
             }
         }
         if (this.finalBoss != null && !this.finalBoss.isDestroyed()) {
+            packet.enemyIds.add(this.entityRegistry.idOf(this.finalBoss));
             List<Integer> enemy_info = new ArrayList<>();
             enemy_info.add(finalBoss.getPositionX());
             enemy_info.add(finalBoss.getPositionY());
@@ -803,6 +984,7 @@ public class GameScreen extends Screen implements CollisionContext {
             enemy_info.add(enemy_ship_type);
             packet.enemies.add(enemy_info);
         }if (this.omegaBoss != null && !this.omegaBoss.isDestroyed()) {
+            packet.enemyIds.add(this.entityRegistry.idOf(this.omegaBoss));
             List<Integer> enemy_info = new ArrayList<>();
             enemy_info.add(omegaBoss.getPositionX());
             enemy_info.add(omegaBoss.getPositionY());
@@ -837,10 +1019,11 @@ public class GameScreen extends Screen implements CollisionContext {
 	public InfiniteEnemyFormation getInfiniteEnemyFormation() {
 		return null;
 	}
-    public Set<Bullet> getBullets() { return this.bullets; }
-    public Set<BossBullet> getBossBullets() { return this.bossBullets; }
+    public BulletField getBullets() { return this.bullets; }
+    public BossBulletList getBossBullets() { return this.bossBullets; }
     public int getLivesP1() { return this.livesP1; }
     public void setLivesP1(int lives) { this.livesP1 = lives; }
+    public EntityRegistry getEntityRegistry() { return this.entityRegistry; }
     public Ship getShip() { return this.ship; }
     public boolean isLevelFinished() { return !this.levelFinished; }
     public Logger getLogger() { return this.logger; }
@@ -861,11 +1044,11 @@ public class GameScreen extends Screen implements CollisionContext {
 
 
     //Setters for Testing
-    public void setShipP2(Ship shipP2) { this.shipP2 = shipP2; }
-    public void setBullets(Set<Bullet> bullets) { this.bullets = bullets; }
+    public void setShipP2(Ship shipP2) { this.shipP2 = shipP2; this.entityRegistry.register(shipP2); }
+    public void setBullets(BulletField bullets) { this.bullets = bullets; }
     public void setDropItems(Set<DropItem> dropItems) { this.dropItems = dropItems; }
-    public void setBossBullets(Set<BossBullet> bullets) { this.bossBullets = bullets; }
-    public void setEnemyShipFormation(EnemyShipFormation enemyShipFormation) {this.enemyShipFormation = enemyShipFormation; };
-    public void setFinalBoss(FinalBoss finalBoss) { this.finalBoss = finalBoss; };
+    public void setBossBullets(BossBulletList bullets) { this.bossBullets = bullets; }
+    public void setEnemyShipFormation(EnemyShipFormation enemyShipFormation) {this.enemyShipFormation = enemyShipFormation; enemyShipFormation.setEntityRegistry(this.entityRegistry); };
+    public void setFinalBoss(FinalBoss finalBoss) { this.finalBoss = finalBoss; this.entityRegistry.register(finalBoss); };
     public void setScoreP2(int scoreP2) { this.scoreP2 = scoreP2; }
 }
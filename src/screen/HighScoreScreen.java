@@ -28,6 +28,7 @@ public class HighScoreScreen extends Screen {
 	 */
 	public HighScoreScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		setRenderOnDemand(true);
 
 		this.returnCode = 1;
 		// Now displays global high scores
@@ -41,10 +41,16 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     private InfiniteEnemyFormation enemyManager;
 
     // ==================== Bullet & Item Fields ====================
-    /** Set of all bullets fired by on-screen ships. */
-    private Set<Bullet> bullets;
+    /** Field of all bullets fired by on-screen ships. */
+    private BulletField bullets;
+    /** Explosion and hit effects, shared with the entities of the session. */
+    private ParticleField particles;
+    /** Entity positions rasterized for agents, null when off. */
+    private OccupancyGrid occupancy;
+    /** Ids of the entities of this session. */
+    private final EntityRegistry entityRegistry = new EntityRegistry();
     /** bossBullets carry bullets which Boss fires */
-    private Set<BossBullet> bossBullets;
+    private BossBulletList bossBullets;
     /** Set of all dropItems dropped by on screen ships. */
     private Set<DropItem> dropItems;
 
@@ -56,26 +62,16 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     /** Timestamp of the last score update. */
     private long lastScoreAdded;
 
-    // Boss spawn timing
-    /** Timestamp of the last boss spawn time. */
-    private long lastBossSpawnTime = 0;
-
-    // Enemy spawn timing
-    /** Current interval between enemy spawns in milliseconds. */
-    private int currentSpawnInterval;
-    /** Cooldown for enemy spawn timing. */
-    private Cooldown enemySpawnCooldown;
-    /** Cooldown for difficulty increase timing. */
-    private Cooldown difficultyIncreaseCooldown;
+    // Enemy and boss spawn timing
+    /** Schedule of the enemy and boss spawns. */
+    private WaveDirector waveDirector;
+    /** Seed of the waves, the same seed gives the same waves. */
+    private long waveSeed;
 
     // Game Start Time and Delay
     private long gameStartTime;
     private Cooldown inputDelay;
 
-    // ==================== Enemyhship Speed Fields ====================
-    /** Current speed multiplier for enemies based on elapsed time. */
-    private double currentSpeedMultiplier;
-
     // ==================== Shop Fields ====================
     /** Whether shop is currently open. */
     private boolean isShopOpen;
@@ -95,41 +91,23 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     private boolean bossActive = false;
     /** Whether boss has appeared. */
     private boolean bossSpawned;
-    /** Is the bullet on the screen erased */
-    private boolean is_cleared = false;
 
     // ==================== Collision Manager ====================
     /** Manages collisions between entities. */
     private CollisionManager collisionManager;
 
-    // ==================== Utility Fields ====================
-    /** Random generator */
-    private Random random;
-
     // ==================== Constants ====================
     /** Height of the items separation line (above items). */
     private static final int ITEMS_SEPARATION_LINE_HEIGHT = 400;
     private static final int SEPARATION_LINE_HEIGHT = 45;
     private static final int INPUT_DELAY = 6000;
-    // Enemy spawn constants
-    /** EnemyShip spawn interval :
-     * every 10 seconds, enemyship spawn time is reduced by 0.1 seconds from 1.2 second to minimum 0.2 seconds
-     * Starts at INITIAL_SPAWN_INTERVAL reduced once by SPAWN_INTERVAL_DECREASE.*/
-    private static final int INITIAL_SPAWN_INTERVAL = 1300;
-    private static final int MIN_SPAWN_INTERVAL = 200;
-    private static final int SPAWN_INTERVAL_DECREASE = 100;
-    private static final int SPAWN_INTERVAL_DECREASE_TIME = 10000;
-
     // Boss spawn constant
     /** Number of times the boss has spawned */
     private int BOSS_SPAWN_COUNT = 0;
-    /** Boss spawn interval: 90 second(90000 milliseconds) */
-    private static final int BOSS_SPAWN_INTERVAL = 9000;
 
-    // Speed scaling constants
-    private static final double INITIAL_SPEED_MULTIPLIER = 0.5;
-    private static final double MAX_SPEED_MULTIPLIER = 4.0;
-    private static final long SPEED_INCREASE_INTERVAL = 15000;
+    // Wave budget constants
+    /** Most enemies alive before the wave director drops spawns. */
+    private static final int MAX_LIVE_ENEMIES = 150;
 
     // Score constants
     private static final int TIME_INTERVAL = 1000;
@@ -167,6 +145,7 @@ public class InfiniteScreen extends Screen implements CollisionContext {
                           final int maxLives,
                           final int width, final int height, final int fps) {
         super(width, height, fps);
+        this.timerWheel = new TimerWheel(System.currentTimeMillis());
 
         this.maxLives = maxLives;
         this.score = gameState.getScore();
@@ -176,8 +155,17 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         this.bulletsShot = gameState.getBulletsShot();
         this.shipsDestroyed = gameState.getShipsDestroyed();
         this.gameTimer = new GameTimer();
-        this.random = new Random();
-        this.currentSpeedMultiplier = INITIAL_SPEED_MULTIPLIER;
+        this.waveSeed = new Random().nextLong();
+    }
+
+    /**
+     * Sets the seed of the waves, to replay a game. Takes effect on the next
+     * initialize.
+     *
+     * @param waveSeed Seed of the wave director.
+     */
+    public void setWaveSeed(final long waveSeed) {
+        this.waveSeed = waveSeed;
     }
 
     /** Initializes basic screen properties, and adds necessary elements. */
@@ -185,26 +173,33 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         super.initialize();
 
         this.collisionManager = new CollisionManager(this);
+        this.entityRegistry.clear();
         this.enemyManager = new InfiniteEnemyFormation();
+        this.enemyManager.setEntityRegistry(this.entityRegistry);
         this.ship = new Ship(this.width / 2, ITEMS_SEPARATION_LINE_HEIGHT - 20,Color.green);
         this.ship.setPlayerId(1);
-        this.bossBullets = new HashSet<>();
-        this.bullets = new HashSet<Bullet>();
+        this.entityRegistry.register(this.ship);
+        this.bossBullets = BossBulletPool.getActive();
+        this.bossBullets.recycleAll();
+        this.bullets = new BulletField();
+        this.particles = this.session.getParticles();
+        this.particles.clear();
         this.dropItems = new HashSet<DropItem>();
+        if (OccupancyGrid.isEnabled() || this.session.isAITraining())
+            this.occupancy = OccupancyGrid.fromProperties(this.width, this.height);
 
-        this.currentSpawnInterval = INITIAL_SPAWN_INTERVAL;
-        this.difficultyIncreaseCooldown = Core.getCooldown(SPAWN_INTERVAL_DECREASE_TIME);
+        this.waveDirector = new WaveDirector(this.waveSeed, this.width,
+                SEPARATION_LINE_HEIGHT + 10, (int) (this.height * 0.3)); // Upper 30% of screen
+        this.waveDirector.setBudget(MAX_LIVE_ENEMIES, 1_000_000_000L / this.fps);
+        this.logger.info("Wave seed: " + this.waveSeed);
 
         this.bossSpawned = false;
-        this.lastBossSpawnTime = 0;
         BOSS_SPAWN_COUNT = 0;
 
         this.gameTimer = new GameTimer();
         this.elapsedTime = 0;
         this.finalBoss = null;
         this.omegaBoss = null;
-        this.enemySpawnCooldown = Core.getCooldown(INITIAL_SPAWN_INTERVAL);
-        this.enemySpawnCooldown.reset();
 
         this.shopToggleCooldown = Core.getCooldown(300);
         this.shopToggleCooldown.reset();
@@ -219,6 +214,7 @@ public class InfiniteScreen extends Screen implements CollisionContext {
 
     /** Update game state (spawn enemies, update player, etc.) */
     protected void update() {
+        long frameStart = System.nanoTime();
         super.update();
         handleShopToggle();
         // If shop is open, pause game and skip game logic
@@ -237,18 +233,14 @@ public class InfiniteScreen extends Screen implements CollisionContext {
                 this.lastScoreAdded = System.currentTimeMillis();
             }
 
-            if (this.gameTimer.isRunning()) {
-                this.elapsedTime = this.gameTimer.getElapsedTime();
-                updateSpeedMultiplier();
-            }
-
-            spawnEnemies();
-            updateScore();
             updateTime();
+            updateScore();
             updateDifficulty();
-            spawnBoss();
 
             if (!DropItem.isTimeFreezeActive()) {
+                this.enemyManager.setAimTarget(
+                        this.ship.getPositionX() + this.ship.getWidth() / 2,
+                        this.ship.getPositionY() + this.ship.getHeight() / 2);
                 this.enemyManager.update();
             }
             this.enemyManager.shoot(this.bullets);
@@ -282,6 +274,9 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         cleanItems();
         collisionManager.manageCollisions();
         cleanBullets();
+        this.particles.update();
+        if (this.occupancy != null)
+            fillOccupancy();
 
         if (this.lives <= 0) {
             if (this.gameTimer.isRunning()) {
@@ -290,66 +285,39 @@ public class InfiniteScreen extends Screen implements CollisionContext {
             this.returnCode = 10;
             this.isRunning = false;
         }
+        this.waveDirector.recordFrameTime(System.nanoTime() - frameStart);
         drawInfiniteMode();
     }
     //================== Spawn Method ==================
-    /** Spawn enemies with random intervals */
+    /** Spawns the enemies and bosses the wave director has due */
     protected void spawnEnemies() {
-        if (this.enemySpawnCooldown.checkFinished() && !this.bossActive) {
-            this.enemySpawnCooldown.reset();
-            InfiniteEnemyShip.MovementPattern pattern;
-            int x = 0, y = 0;
-            int typeRoll = random.nextInt(3); // 0, 1, 2 (3 types)
-
-            switch (typeRoll) {
-                case 0: // STRAIGHT_DOWN
-                    pattern = InfiniteEnemyShip.MovementPattern.STRAIGHT_DOWN;
-                    x = random.nextInt(this.width - 30);
-                    y = -50;
-                    break;
-
-                case 1: // ZIGZAG_DOWN
-                    pattern = InfiniteEnemyShip.MovementPattern.ZIGZAG_DOWN;
-                    x = random.nextInt(this.width - 30);
-                    y = -50;
-                    break;
-
-                case 2: // HORIZONTAL_MOVE - horizontal movement
-                default:
-                    pattern = InfiniteEnemyShip.MovementPattern.HORIZONTAL_MOVE;
-                    int minY = SEPARATION_LINE_HEIGHT + 10;
-                    int maxY = (int)(this.height * 0.3); // Upper 30% of screen
-                    y = minY + random.nextInt(maxY - minY);
-
-                    boolean startLeft = random.nextBoolean();
-                    if (startLeft) {
-                        x = -50; // Start from left
-                    } else {
-                        x = this.width + 10; // Start from right
-                    }
-                    break;
+        WaveDirector.WaveEvent event;
+        while (!this.bossActive
+                && (event = this.waveDirector.poll(this.elapsedTime, this.enemyManager.getEnemyCount())) != null) {
+            if (event.getKind() == WaveDirector.Kind.BOSS) {
+                spawnBoss();
+                continue;
             }
-
-            InfiniteEnemyShip enemy = new InfiniteEnemyShip(x, y, pattern, this.width, this.height);
-            enemy.setSpeedMultiplier(this.currentSpeedMultiplier);
+            InfiniteEnemyShip enemy = InfiniteEnemyPool.getEnemy(event.getX(), event.getY(),
+                    event.getProgram(), this.width, this.height);
+            enemy.setMirrored(event.isMirrored());
+            enemy.setSpeedMultiplier(event.getSpeedMultiplier());
             // Enemy health increases every 30 seconds
-            int plusHealth = (int) (this.elapsedTime / 30000);
-            int newHealth = enemy.getHealth() + plusHealth;
-            enemy.setHealth(newHealth);
+            enemy.setHealth(enemy.getHealth() + event.getHealthBonus());
             this.enemyManager.addEnemy(enemy);
         }
     }
 
-    /** Spawn a boss if the conditions are met */
+    /** Spawn a boss if none is on screen */
     protected void spawnBoss() {
-        if (this.elapsedTime - this.lastBossSpawnTime >= BOSS_SPAWN_INTERVAL && !this.bossSpawned) {
-            this.lastBossSpawnTime = this.elapsedTime;
+        if (!this.bossSpawned) {
             this.enemyManager.clear();
             // Increases HP by 10% every minute
             double timeMultiplier = 1.0 + (this.elapsedTime / 60000.0) * 0.1;
             if (BOSS_SPAWN_COUNT == 0) {
                 BOSS_SPAWN_COUNT ++;
                 this.omegaBoss = new OmegaBoss(Color.ORANGE, ITEMS_SEPARATION_LINE_HEIGHT);
+                this.entityRegistry.register(this.omegaBoss);
                 this.omegaBoss.attach(this);
                 int newHp = (int) (this.omegaBoss.getMaxHp() * timeMultiplier);
                 this.omegaBoss.setHealth(newHp);
@@ -362,6 +330,7 @@ public class InfiniteScreen extends Screen implements CollisionContext {
             }
             else {
                  this.finalBoss = new FinalBoss(this.width / 2 - 50, 50, this.width, this.height);
+                 this.entityRegistry.register(this.finalBoss);
                  int newHp = (int) (this.finalBoss.getMaxHp() * timeMultiplier);
                  this.finalBoss.setHealth(newHp);
                  this.bossActive = true;
@@ -378,25 +347,13 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         }
     }
     //================== Method for update ==================
-    /**
-     * Update speed multiplier based on elapsed time.
-     */
-    private void updateSpeedMultiplier() {
-        double timeInSeconds = this.elapsedTime / 1000.0;
-        double increaseSteps = Math.floor(timeInSeconds / (SPEED_INCREASE_INTERVAL / 1000.0));
-
-        this.currentSpeedMultiplier = INITIAL_SPEED_MULTIPLIER + (increaseSteps * 0.1);
-
-        if (this.currentSpeedMultiplier > MAX_SPEED_MULTIPLIER) {
-            this.currentSpeedMultiplier = MAX_SPEED_MULTIPLIER;
-        }
-    }
     private void updateBoss() {
         if (this.omegaBoss != null && !this.omegaBoss.isDestroyed()) {
             this.omegaBoss.update();
         } else if (this.omegaBoss != null && this.omegaBoss.isDestroyed()) {
             this.bossActive = false;
             this.bossSpawned = false;
+            this.entityRegistry.release(this.omegaBoss);
             this.omegaBoss = null;
             if (!this.gameTimer.isRunning()) {
                 this.gameTimer.resume();
@@ -408,38 +365,22 @@ public class InfiniteScreen extends Screen implements CollisionContext {
             updateFinalBossBullets();
         }
         else if (this.finalBoss != null && this.finalBoss.isDestroyed()) {
+            this.entityRegistry.release(this.finalBoss);
             this.finalBoss = null;
             this.bossActive = false;
             this.bossSpawned = false;
-            this.is_cleared = false;
             if (!this.gameTimer.isRunning()) {
                 this.gameTimer.resume();
             }
         }
     }
     private void updateFinalBossBullets() {
-        if (this.finalBoss.getHealPoint() > this.finalBoss.getMaxHp() / 4) {
-            bossBullets.addAll(this.finalBoss.shoot1());
-            bossBullets.addAll(this.finalBoss.shoot2());
-        }
-        else {
-            if (!is_cleared) {
-                bossBullets.clear();
-                is_cleared = true;
-                logger.info("boss is angry");
-            } else {
-                bossBullets.addAll(this.finalBoss.shoot3());
-            }
-        }
-        Set<BossBullet> bulletsToRemove = new HashSet<>();
+        this.finalBoss.shoot(bossBullets,
+                this.ship.getPositionX() + this.ship.getWidth() / 2,
+                this.ship.getPositionY() + this.ship.getHeight() / 2,
+                BossBulletPool.MAX_ACTIVE - bossBullets.size());
 
-        for (BossBullet b : bossBullets) {
-            b.update();
-            if (b.isOffScreen(width, height)) {
-                bulletsToRemove.add(b);
-            }
-        }
-        bossBullets.removeAll(bulletsToRemove);
+        bossBullets.update(width, height);
     }
     protected void updateTime(){
         if (this.gameTimer.isRunning()) {
@@ -451,18 +392,6 @@ public class InfiniteScreen extends Screen implements CollisionContext {
             updateBoss();
         }
         else {
-            if (this.difficultyIncreaseCooldown.checkFinished()) {
-                if (this.currentSpawnInterval > MIN_SPAWN_INTERVAL) {
-                    this.difficultyIncreaseCooldown.reset();
-                    this.currentSpawnInterval -= SPAWN_INTERVAL_DECREASE;
-                    if (this.currentSpawnInterval < MIN_SPAWN_INTERVAL) {
-                        this.currentSpawnInterval = MIN_SPAWN_INTERVAL;
-                    }
-                    this.enemySpawnCooldown.setMilliseconds(this.currentSpawnInterval);
-
-                    this.logger.info("Difficulty increased! New spawn interval: " + this.currentSpawnInterval + "ms");
-                }
-            }
             spawnEnemies();
         }
     }
@@ -571,6 +500,36 @@ public class InfiniteScreen extends Screen implements CollisionContext {
                 break;
         }
     }
+    /** Rasterizes the entities into the occupancy grid and publishes it. */
+    private void fillOccupancy() {
+        OccupancyGrid grid = this.occupancy;
+        grid.clear();
+        if (this.lives > 0)
+            grid.mark(OccupancyGrid.PLAYER_SHIPS, this.ship);
+        grid.mark(this.bullets);
+        for (int i = 0; i < this.bossBullets.size(); i++)
+            grid.mark(OccupancyGrid.BOSS_BULLETS, this.bossBullets.get(i));
+        for (InfiniteEnemyShip enemy : this.enemyManager)
+            if (!enemy.isDestroyed())
+                grid.mark(OccupancyGrid.enemyChannel(enemy.getSpriteType()), enemy);
+        if (this.finalBoss != null && !this.finalBoss.isDestroyed())
+            grid.mark(OccupancyGrid.BOSSES, this.finalBoss);
+        if (this.omegaBoss != null && !this.omegaBoss.isDestroyed())
+            grid.mark(OccupancyGrid.BOSSES, this.omegaBoss);
+        for (DropItem dropItem : this.dropItems)
+            grid.mark(OccupancyGrid.ITEMS, dropItem);
+        grid.publish();
+    }
+
+    /**
+     * Getter for the occupancy grid of the screen.
+     *
+     * @return Grid, null when the grid is off.
+     */
+    public OccupancyGrid getOccupancyGrid() {
+        return this.occupancy;
+    }
+
     //================== Method for draw ==================
     /** Draw the current game screen */
     protected void drawInfiniteMode() {
@@ -583,6 +542,7 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         drawBosses();
         drawBullets();
         drawItems();
+        drawManager.drawParticles(this.particles);
         drawUI();
         if (!this.inputDelay.checkFinished()) {
             int countdown = (int) ((INPUT_DELAY
@@ -602,7 +562,8 @@ public class InfiniteScreen extends Screen implements CollisionContext {
         }
 
         if (this.finalBoss != null && !this.finalBoss.isDestroyed()) {
-            for (BossBullet bossBullet : bossBullets) {
+            for (int i = 0; i < bossBullets.size(); i++) {
+                BossBullet bossBullet = bossBullets.get(i);
                 drawManager.drawEntity(bossBullet, bossBullet.getPositionX(), bossBullet.getPositionY());
             }
             drawManager.drawEntity(this.finalBoss, this.finalBoss.getPositionX(), this.finalBoss.getPositionY());
@@ -612,8 +573,9 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     }
 
     private void drawBullets() {
-        for (Bullet bullet : this.bullets) {
-            drawManager.drawEntity(bullet, bullet.getPositionX(), bullet.getPositionY());
+        for (int i = 0; i < this.bullets.size(); i++) {
+            drawManager.drawSprite(this.bullets.getSpriteType(i), Color.WHITE,
+                    this.bullets.getPositionX(i), this.bullets.getPositionY(i));
         }
     }
 
@@ -679,14 +641,8 @@ public class InfiniteScreen extends Screen implements CollisionContext {
      * Cleans bullets that go off screen.
      */
     private void cleanBullets() {
-        Set<Bullet> recyclable = new HashSet<Bullet>();
-        for (Bullet bullet : this.bullets) {
-            bullet.update();
-            if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT || bullet.getPositionY() > this.height)
-                recyclable.add(bullet);
-        }
-        this.bullets.removeAll(recyclable);
-        BulletPool.recycle(recyclable);
+        this.bullets.update();
+        this.bullets.removeOutside(SEPARATION_LINE_HEIGHT, this.height);
     }
 
     /**
@@ -730,9 +686,9 @@ public class InfiniteScreen extends Screen implements CollisionContext {
 
     // CollisionContext interface implementations
     @Override
-    public Set<Bullet> getBullets() { return this.bullets; }
+    public BulletField getBullets() { return this.bullets; }
     @Override
-    public Set<BossBullet> getBossBullets() { return this.bossBullets; }
+    public BossBulletList getBossBullets() { return this.bossBullets; }
     @Override
     public EnemyShipFormation getEnemyShipFormation() { return null; }
     @Override
@@ -742,6 +698,10 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     @Override
     public Set<DropItem> getDropItems() { return this.dropItems; }
     @Override
+    public EntityRegistry getEntityRegistry() { return this.entityRegistry; }
+    @Override
+    public void recordEnemyDamage(int enemyId, int damage) { }
+    @Override
     public Ship getShip() { return this.ship; }
     @Override
     public void setLivesP1(int v) { this.lives = v; }
@@ -754,7 +714,7 @@ public class InfiniteScreen extends Screen implements CollisionContext {
     @Override
     public FinalBoss getFinalBoss() { return this.finalBoss; }
     @Override
-    public void addPointsFor(Bullet b, int p) { this.score += p; }
+    public void addPointsFor(int ownerId, int p) { this.score += p; }
     @Override
     public void setCoin(int c) { this.coin = c; }
     @Override
@@ -25,6 +25,7 @@ public class LoginScreen extends Screen {
 
     public LoginScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        setRenderOnDemand(true);
         this.navigationCooldown = Core.getCooldown(NAVIGATION_COOLDOWN);
         this.typingCooldown = Core.getCooldown(TYPING_COOLDOWN);
         this.errorCooldown = Core.getCooldown(ERROR_DISPLAY_COOLDOWN);
@@ -57,6 +58,10 @@ public class LoginScreen extends Screen {
         if (this.errorCooldown.checkFinished() && this.errorMessage != null) {
             this.errorMessage = null;
         }
+        // Keep updating while the message is shown, so it goes away on time
+        if (this.errorMessage != null) {
+            invalidate();
+        }
 
         draw();
     }
@@ -33,6 +33,7 @@ public class ModeSelectScreen extends Screen {
      */
     public ModeSelectScreen(final int width, final int height, final int fps) {
         super(width, height, fps);
+        setRenderOnDemand(true);
 
         // Defaults to 1P mode.
         // returnCode
@@ -69,7 +70,8 @@ public class ModeSelectScreen extends Screen {
      */
     protected final void update() {
         super.update();
-        this.animatedBackground.update();
+        for (int steps = animate(); steps > 0; steps--)
+            this.animatedBackground.update();
 
         draw();
         if (this.selectionCooldown.checkFinished()
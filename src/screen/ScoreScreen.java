@@ -91,7 +91,7 @@ public class ScoreScreen extends Screen {
 				this.isRunning = false;
 			} else if (inputManager.isKeyDown(KeyEvent.VK_SPACE)) {
 				// Play again.
-                if (Core.isAIMode){
+                if (this.session.isAIMode()){
                     this.returnCode = 5;
                 }
 				else if (CheckTwoplayermode) {
@@ -2,12 +2,16 @@ package screen;
 
 import java.awt.Insets;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
 
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
+import engine.GameSession;
 import engine.InputManager;
+import engine.TimerWheel;
 
 /**
  * Implements a generic screen.
@@ -19,6 +23,14 @@ public class Screen {
 	
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Longest time an on-demand screen goes without drawing. */
+	static final int MAX_IDLE_WAIT = 1000;
+	/** Milliseconds without input before animations slow down. */
+	private static final int IDLE_TIMEOUT = 10000;
+	/** Frames per second of animations once the player is idle. */
+	private static final int IDLE_FPS = 10;
+	/** Most animation steps caught up in one update. */
+	private static final int MAX_ANIMATION_STEPS = 10;
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
@@ -37,12 +49,33 @@ public class Screen {
 	protected Insets insets;
 	/** Time until the screen accepts user input. */
 	protected Cooldown inputDelay;
+	/** Wheel timing the cooldowns of the screen, null to read the clock. */
+	protected TimerWheel timerWheel;
+	/** Game session the screen belongs to. */
+	protected final GameSession session;
 
 	/** If the screen is running. */
 	protected boolean isRunning;
 	/** What kind of screen goes next. */
 	protected int returnCode;
 
+	/** True when the screen only updates on input, invalidation or deadline. */
+	private boolean renderOnDemand;
+	/** True when the screen asked to be updated again at the next frame. */
+	private volatile boolean invalidated;
+	/** Time the screen asked to be updated by, Long.MAX_VALUE for none. */
+	private long nextDeadline = Long.MAX_VALUE;
+	/** Thread running the screen, woken by invalidations. */
+	private volatile Thread screenThread;
+	/** Time of the last key event, or of the start of the screen. */
+	private long lastInputTime;
+	/** Time the animations were last advanced. */
+	private long lastAnimationTime;
+	/** Times update was called. */
+	private volatile long updates;
+	/** Time source of the frame pacing and deadlines, in milliseconds. */
+	private LongSupplier clock = System::currentTimeMillis;
+
 	/**
 	 * Constructor, establishes the properties of the screen.
 	 * 
@@ -58,6 +91,7 @@ public class Screen {
 		this.height = height;
 		this.fps = fps;
 
+		this.session = GameSession.current();
 		this.drawManager = Core.getDrawManager();
 		this.inputManager = Core.getInputManager();
 		this.logger = Core.getLogger();
@@ -80,13 +114,22 @@ public class Screen {
 	 */
 	public int run() {
 		this.isRunning = true;
+		this.screenThread = Thread.currentThread();
+		this.lastInputTime = this.clock.getAsLong();
+		this.lastAnimationTime = this.lastInputTime;
 
 		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+			long time = this.clock.getAsLong();
+			long seenEvents = this.inputManager.getEventCount();
 
+			if (this.timerWheel != null)
+				this.timerWheel.advance(time);
+			this.invalidated = false;
+			this.nextDeadline = Long.MAX_VALUE;
+			this.updates++;
 			update();
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
+			time = (1000 / this.fps) - (this.clock.getAsLong() - time);
 			if (time > 0) {
 				try {
 					TimeUnit.MILLISECONDS.sleep(time);
@@ -94,17 +137,140 @@ public class Screen {
 					return 0;
 				}
 			}
+			if (this.renderOnDemand)
+				awaitNextUpdate(seenEvents);
 		}
 
 		return 0;
 	}
 
+	/**
+	 * Blocks an on-demand screen until it has something new to draw: a key
+	 * event, a held key, an invalidation or an animation deadline. The screen
+	 * is drawn at least once every MAX_IDLE_WAIT, so it recovers when the
+	 * window is uncovered.
+	 * 
+	 * @param seenEvents
+	 *            Key events already seen by the last update.
+	 */
+	private void awaitNextUpdate(final long seenEvents) {
+		long idleDeadline = this.clock.getAsLong() + MAX_IDLE_WAIT;
+		long deadline = Math.min(this.nextDeadline, idleDeadline);
+		while (this.isRunning && !this.invalidated
+				&& !this.inputManager.isAnyKeyDown()
+				&& this.inputManager.getEventCount() == seenEvents
+				&& !Thread.currentThread().isInterrupted()) {
+			long wait = deadline - this.clock.getAsLong();
+			if (wait <= 0)
+				break;
+			this.inputManager.awaitEvent(seenEvents, TimeUnit.MILLISECONDS.toNanos(wait));
+		}
+		if (this.inputManager.getEventCount() != seenEvents
+				|| this.inputManager.isAnyKeyDown())
+			this.lastInputTime = this.clock.getAsLong();
+	}
+
+	/**
+	 * Makes the screen update only when it has something new to draw. Until
+	 * then the thread blocks, instead of drawing the same frame again.
+	 * 
+	 * @param renderOnDemand
+	 *            True to update on demand, false for every frame.
+	 */
+	protected final void setRenderOnDemand(final boolean renderOnDemand) {
+		this.renderOnDemand = renderOnDemand;
+	}
+
+	/**
+	 * Asks an on-demand screen to update again at the next frame. May be
+	 * called from any thread.
+	 */
+	public final void invalidate() {
+		this.invalidated = true;
+		Thread thread = this.screenThread;
+		if (thread != null && thread != Thread.currentThread())
+			LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Asks an on-demand screen to update again within a delay, for
+	 * animations and timers. The earliest request of an update wins.
+	 * 
+	 * @param milliseconds
+	 *            Longest time until the next update.
+	 */
+	protected final void invalidateIn(final long milliseconds) {
+		this.nextDeadline = Math.min(this.nextDeadline,
+				this.clock.getAsLong() + milliseconds);
+	}
+
+	/**
+	 * Requests the next animation frame and returns how many animation steps
+	 * passed since the last one. Animations run at the frame rate while the
+	 * player is active and at IDLE_FPS once idle, taking several steps per
+	 * frame so they keep their speed.
+	 * 
+	 * @return Animation steps to advance, at least 1.
+	 */
+	protected final int animate() {
+		long now = this.clock.getAsLong();
+		long period = 1000 / this.fps;
+		if (now - this.lastInputTime < IDLE_TIMEOUT)
+			invalidate();
+		else
+			invalidateIn(1000 / IDLE_FPS);
+		int steps = (int) Math.max(1, Math.min(MAX_ANIMATION_STEPS,
+				(now - this.lastAnimationTime) / Math.max(1, period)));
+		this.lastAnimationTime += steps * period;
+		if (now - this.lastAnimationTime > period)
+			this.lastAnimationTime = now;
+		return steps;
+	}
+
+	/**
+	 * Replaces the time source of the screen, so tests can drive its
+	 * deadlines. Must be set before the screen runs.
+	 * 
+	 * @param clock
+	 *            Current time, in milliseconds.
+	 */
+	final void setClock(final LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Getter for the number of updates run.
+	 * 
+	 * @return Updates since the screen was created.
+	 */
+	public final long getUpdates() {
+		return this.updates;
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected void update() {
 	}
 
+	/**
+	 * Getter for the wheel timing the cooldowns of the screen.
+	 *
+	 * @return Timer wheel, null when the screen reads the clock.
+	 */
+	public final TimerWheel getTimerWheel() {
+		return this.timerWheel;
+	}
+
+	/**
+	 * Getter for the game session of the screen.
+	 * 
+	 * @return Session the screen was created in.
+	 */
+	public final GameSession getSession() {
+		return this.session;
+	}
+
 	/**
 	 * Getter for screen width.
 	 * 
@@ -98,6 +98,7 @@ public class ShopScreen extends Screen {
                       final int height, final int fps,
                       final boolean betweenLevels) {
         super(width, height, fps);
+        setRenderOnDemand(true);
 
         this.gameState = gameState;
         this.selectedItem = 0;
@@ -139,7 +140,9 @@ public class ShopScreen extends Screen {
     protected final void update() {
         super.update();
 
-        if (Core.isAITraining) {
+        if (this.session.isAITraining()) {
+            // Skipping counts frames, so keep them coming
+            invalidate();
             aiSkipTimer--;
             if (aiSkipTimer <= 0) {
                 this.returnCode = 5;
@@ -149,6 +152,10 @@ public class ShopScreen extends Screen {
         }
 
         draw();
+        // Keep updating while the feedback is shown, so it goes away on time
+        if (!this.purchaseFeedbackCooldown.checkFinished()) {
+            invalidate();
+        }
 
         if (this.selectionCooldown.checkFinished()
                 && this.inputDelay.checkFinished()) {
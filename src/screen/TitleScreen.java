@@ -45,6 +45,7 @@ public class TitleScreen extends Screen {
 	 */
 	public TitleScreen(final int width, final int height, final int fps) {
 		super(width, height, fps);
+		setRenderOnDemand(true);
 
 		// Defaults to play.
 		this.returnCode = 2;
@@ -71,7 +72,8 @@ public class TitleScreen extends Screen {
 	 */
 	protected final void update() {
 		super.update();
-		this.animatedBackground.update();
+		for (int steps = animate(); steps > 0; steps--)
+			this.animatedBackground.update();
 
 		// Handle sound button color
 		if (this.returnCode == 5) {
@@ -0,0 +1,64 @@
+package engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AnimatedBackground Test Suite")
+class AnimatedBackgroundTest {
+
+    @Test
+    @DisplayName("Rotation matrix turns points around the center")
+    void testRotate() {
+        float[] x = {100, 150, 100};
+        float[] y = {100, 100, 40};
+        int[] outX = new int[3];
+        int[] outY = new int[3];
+
+        AnimatedBackground.rotate(x, y, 3, 1, 0, 100, 100, outX, outY);
+        assertArrayEquals(new int[] {100, 150, 100}, outX);
+        assertArrayEquals(new int[] {100, 100, 40}, outY);
+
+        // A quarter turn clockwise on screen, where Y grows downwards.
+        AnimatedBackground.rotate(x, y, 3, 0, 1, 100, 100, outX, outY);
+        assertArrayEquals(new int[] {100, 100, 160}, outX);
+        assertArrayEquals(new int[] {100, 150, 100}, outY);
+    }
+
+    @Test
+    @DisplayName("Rotation matches the per-point trigonometry it replaces")
+    void testRotateMatchesTrig() {
+        float[] x = {10, 300, 447, 0};
+        float[] y = {20, 500, 3, 519};
+        int[] outX = new int[4];
+        int[] outY = new int[4];
+        double angle = Math.toRadians(-90);
+
+        AnimatedBackground.rotate(x, y, 4, (float) Math.cos(angle), (float) Math.sin(angle),
+                224, 260, outX, outY);
+
+        for (int i = 0; i < 4; i++) {
+            double relX = x[i] - 224;
+            double relY = y[i] - 260;
+            double expectedX = relX * Math.cos(angle) - relY * Math.sin(angle) + 224;
+            double expectedY = relX * Math.sin(angle) + relY * Math.cos(angle) + 260;
+            assertEquals(expectedX, outX[i], 1);
+            assertEquals(expectedY, outY[i], 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Stars twinkle between half and full brightness")
+    void testTwinkleLevels() {
+        int min = 255;
+        int max = 0;
+        for (int level : AnimatedBackground.TWINKLE_LEVELS) {
+            min = Math.min(min, level);
+            max = Math.max(max, level);
+        }
+        assertEquals(128, min, 1);
+        assertEquals(255, max);
+        assertEquals(191, AnimatedBackground.TWINKLE_LEVELS[0], 1);
+    }
+}
@@ -0,0 +1,48 @@
+package engine;
+
+import io.javalin.Javalin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ApiServer Test Suite")
+class ApiServerTest {
+
+    @Test
+    @DisplayName("The running server serves the pool counters of its session")
+    void testPools() throws IOException {
+        GameSession session = new GameSession();
+        ObjectPool<Object> pool = session.getPool("api-test",
+                () -> new ObjectPool<>("api-test", Object::new, null, ObjectPool.UNBOUNDED));
+        pool.release(pool.acquire());
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Javalin app = ApiServer.start(port, session);
+        try {
+            HttpURLConnection connection = (HttpURLConnection)
+                    new URL("http://localhost:" + port + "/pools").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            assertTrue(body.contains("\"name\":\"api-test\""), body);
+            assertTrue(body.contains("\"misses\":1"), body);
+            assertTrue(body.contains("\"highWaterMark\":1"), body);
+        } finally {
+            app.stop();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package engine;
+
+import entity.BossBulletPool;
+import entity.DropItem;
+import entity.InfiniteEnemyPool;
+import entity.ShopItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameSession Test Suite")
+class GameSessionTest {
+
+    @AfterEach
+    void tearDown() {
+        GameSession.unbind();
+    }
+
+    @Test
+    @DisplayName("Threads without a bound session use the default one")
+    void testDefault() {
+        assertSame(GameSession.getDefault(), GameSession.current());
+    }
+
+    @Test
+    @DisplayName("Bound session keeps its own upgrade levels")
+    void testShopLevelsIsolated() {
+        int defaultLevel = ShopItem.getMultiShotLevel();
+        GameSession session = new GameSession();
+        session.bind();
+
+        ShopItem.setMaxLevelForTesting();
+        assertSame(session, GameSession.current());
+        assertEquals(3, ShopItem.getMultiShotLevel());
+
+        GameSession.unbind();
+        assertEquals(defaultLevel, ShopItem.getMultiShotLevel());
+    }
+
+    @Test
+    @DisplayName("Bound session owns its managers and item effects")
+    void testManagersIsolated() {
+        GameSession session = new GameSession();
+        session.bind();
+
+        DropItem.applyTimeFreezeItem(10_000);
+        assertTrue(DropItem.isTimeFreezeActive());
+        assertSame(session.getInputManager(), InputManager.getInstance());
+        assertSame(session.getAchievementManager(), AchievementManager.getInstance());
+
+        GameSession.unbind();
+        assertNotSame(session.getAchievementManager(), AchievementManager.getInstance());
+        assertNotSame(session.getInputManager(), InputManager.getInstance());
+    }
+
+    @Test
+    @DisplayName("Sessions on other threads do not see each other")
+    void testThreads() throws InterruptedException {
+        GameSession session = new GameSession();
+        GameSession other = new GameSession();
+        GameSession[] seen = new GameSession[1];
+        session.bind();
+
+        Thread thread = new Thread(() -> {
+            other.bind();
+            seen[0] = GameSession.current();
+        });
+        thread.start();
+        thread.join();
+
+        assertSame(other, seen[0]);
+        assertSame(session, GameSession.current());
+    }
+
+    @Test
+    @DisplayName("Other threads without a bound session fail instead of using the default one")
+    void testUnboundThreadFails() throws InterruptedException {
+        GameSession.current();
+        Throwable[] thrown = new Throwable[1];
+
+        Thread thread = new Thread(() -> {
+            try {
+                GameSession.current();
+            } catch (IllegalStateException e) {
+                thrown[0] = e;
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotNull(thrown[0], "current() should throw IllegalStateException");
+        assertSame(GameSession.getDefault(), GameSession.current());
+    }
+
+    @Test
+    @DisplayName("Kept pools are the ones listed by name")
+    void testKeptPools() {
+        GameSession session = new GameSession();
+        session.bind();
+
+        assertSame(session.getBossBulletPool(), BossBulletPool.getPool());
+        assertSame(session.getBossBulletPool(), session.getPool(BossBulletPool.NAME, BossBulletPool.CREATOR));
+        assertSame(session.getInfiniteEnemyPool(), InfiniteEnemyPool.getPool());
+        assertSame(session.getInfiniteEnemyPool(),
+                session.getPool(InfiniteEnemyPool.NAME, InfiniteEnemyPool.CREATOR));
+        assertEquals(2, session.getPools().size());
+        assertNotSame(session.getBossBulletPool(), GameSession.getDefault().getBossBulletPool());
+    }
+}
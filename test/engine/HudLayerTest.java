@@ -0,0 +1,73 @@
+package engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HudLayer Test Suite")
+class HudLayerTest {
+
+    private static void paint(final HudLayer layer, final int width, final int height) {
+        Graphics2D graphics = layer.beginRepaint(width, height);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, (int) layer.get(0), 1);
+        layer.endRepaint();
+    }
+
+    @Test
+    @DisplayName("The layer is painted again only when a bound value changes")
+    void testChangeDriven() {
+        HudLayer layer = new HudLayer(2, 1);
+        assertTrue(layer.needsRepaint(10, 10));
+        paint(layer, 10, 10);
+        assertFalse(layer.needsRepaint(10, 10));
+
+        layer.set(0, 0);
+        layer.setText(0, null);
+        assertFalse(layer.needsRepaint(10, 10));
+
+        layer.set(1, 5);
+        assertTrue(layer.needsRepaint(10, 10));
+        paint(layer, 10, 10);
+
+        layer.setText(0, "Level 1");
+        assertTrue(layer.needsRepaint(10, 10));
+        paint(layer, 10, 10);
+        layer.setText(0, new String("Level 1"));
+        assertFalse(layer.needsRepaint(10, 10));
+        assertEquals(3, layer.getRepaints());
+    }
+
+    @Test
+    @DisplayName("A new size needs a new image")
+    void testResize() {
+        HudLayer layer = new HudLayer(1, 0);
+        paint(layer, 10, 10);
+
+        assertTrue(layer.needsRepaint(20, 10));
+        paint(layer, 20, 10);
+        assertEquals(20, layer.getImage().getWidth());
+    }
+
+    @Test
+    @DisplayName("Repainting clears what was painted before")
+    void testClearedOnRepaint() {
+        HudLayer layer = new HudLayer(1, 0);
+        layer.set(0, 8);
+        paint(layer, 10, 10);
+        BufferedImage image = layer.getImage();
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(7, 0));
+
+        layer.set(0, 2);
+        paint(layer, 10, 10);
+
+        assertSame(image, layer.getImage());
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(1, 0));
+        assertEquals(0, image.getRGB(7, 0) >>> 24);
+    }
+}
@@ -0,0 +1,87 @@
+package engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ObjectPool Test Suite")
+class ObjectPoolTest {
+
+    private List<StringBuilder> resets;
+    private ObjectPool<StringBuilder> pool;
+
+    @BeforeEach
+    void setUp() {
+        resets = new ArrayList<>();
+        pool = new ObjectPool<>("test", StringBuilder::new, resets::add, 2);
+    }
+
+    @Test
+    @DisplayName("Empty pool creates objects and counts misses")
+    void testMiss() {
+        StringBuilder object = pool.acquire();
+
+        assertNotNull(object);
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getHits());
+    }
+
+    @Test
+    @DisplayName("Released objects are reused and counted as hits")
+    void testHit() {
+        StringBuilder object = pool.acquire();
+        pool.release(object);
+
+        assertSame(object, pool.acquire());
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    @DisplayName("Reset hook runs on every kept object")
+    void testResetHook() {
+        StringBuilder object = pool.acquire();
+        pool.release(object);
+
+        assertEquals(List.of(object), resets);
+    }
+
+    @Test
+    @DisplayName("Releases past the cap are dropped")
+    void testCap() {
+        assertTrue(pool.release(new StringBuilder()));
+        assertTrue(pool.release(new StringBuilder()));
+        assertFalse(pool.release(new StringBuilder()));
+
+        assertEquals(2, pool.size());
+        assertEquals(2, pool.getHighWaterMark());
+        assertEquals(1, pool.getDropped());
+        assertEquals(2, resets.size());
+    }
+
+    @Test
+    @DisplayName("High-water mark survives acquisitions")
+    void testHighWaterMark() {
+        pool.releaseAll(List.of(new StringBuilder(), new StringBuilder()));
+        pool.acquire();
+        pool.acquire();
+
+        assertEquals(0, pool.size());
+        assertEquals(2, pool.getHighWaterMark());
+    }
+
+    @Test
+    @DisplayName("Session pools are created once and listed for monitoring")
+    void testSessionPools() {
+        GameSession session = new GameSession();
+
+        assertSame(pool, session.getPool("test", () -> pool));
+        assertSame(pool, session.getPool("test", () -> new ObjectPool<>("other", StringBuilder::new, null, 1)));
+        assertEquals(List.of(pool), session.getPools());
+    }
+}
@@ -0,0 +1,84 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OccupancyGrid Test Suite")
+class OccupancyGridTest {
+
+    private static int occupied(final OccupancyGrid grid, final int channel) {
+        int count = 0;
+        for (int row = 0; row < grid.getRows(); row++)
+            for (int column = 0; column < grid.getColumns(); column++)
+                count += grid.get(channel, row, column);
+        return count;
+    }
+
+    @Test
+    @DisplayName("The grid covers the playfield with whole cells")
+    void testSize() {
+        OccupancyGrid grid = new OccupancyGrid(448, 520, 8);
+
+        assertEquals(56, grid.getColumns());
+        assertEquals(65, grid.getRows());
+        assertEquals(OccupancyGrid.CHANNELS * 56 * 65, grid.copyPublished().length);
+    }
+
+    @Test
+    @DisplayName("Boxes mark every cell they overlap and nothing outside")
+    void testMark() {
+        OccupancyGrid grid = new OccupancyGrid(64, 64, 8);
+
+        grid.mark(OccupancyGrid.ENEMIES_B, 12, 8, 8, 8);
+        grid.mark(OccupancyGrid.ITEMS, -20, -20, 10, 10);
+        grid.mark(OccupancyGrid.ITEMS, 60, 60, 20, 20);
+
+        assertEquals(2, occupied(grid, OccupancyGrid.ENEMIES_B));
+        assertEquals(1, grid.get(OccupancyGrid.ENEMIES_B, 1, 1));
+        assertEquals(1, grid.get(OccupancyGrid.ENEMIES_B, 1, 2));
+        assertEquals(1, occupied(grid, OccupancyGrid.ITEMS));
+        assertEquals(1, grid.get(OccupancyGrid.ITEMS, 7, 7));
+    }
+
+    @Test
+    @DisplayName("Bullets go to the channel of their owner")
+    void testBullets() {
+        OccupancyGrid grid = new OccupancyGrid(64, 64, 16);
+        BulletField bullets = new BulletField();
+        bullets.add(8, 2, -5, BulletField.OWNER_P1);
+        bullets.add(40, 34, 5, BulletField.OWNER_ENEMY);
+
+        grid.mark(bullets);
+
+        assertEquals(1, occupied(grid, OccupancyGrid.PLAYER_BULLETS));
+        assertEquals(1, occupied(grid, OccupancyGrid.ENEMY_BULLETS));
+        assertEquals(1, grid.get(OccupancyGrid.ENEMY_BULLETS, 2, 2));
+    }
+
+    @Test
+    @DisplayName("Readers see the grid as last published")
+    void testPublish() {
+        OccupancyGrid grid = new OccupancyGrid(16, 16, 8);
+        grid.mark(OccupancyGrid.PLAYER_SHIPS, 0, 0, 4, 4);
+        assertEquals(0, grid.copyPublished()[0]);
+
+        grid.publish();
+        grid.clear();
+
+        assertEquals(1, grid.copyPublished()[0]);
+        assertEquals(0, grid.get(OccupancyGrid.PLAYER_SHIPS, 0, 0));
+        assertEquals(1, grid.getPublishCount());
+    }
+
+    @Test
+    @DisplayName("Enemies are split by type")
+    void testEnemyChannels() {
+        assertEquals(OccupancyGrid.ENEMIES_A, OccupancyGrid.enemyChannel(SpriteType.EnemyShipA2));
+        assertEquals(OccupancyGrid.ENEMIES_C, OccupancyGrid.enemyChannel(SpriteType.EnemyShipC1));
+        assertEquals(OccupancyGrid.ENEMIES_SPECIAL, OccupancyGrid.enemyChannel(SpriteType.EnemyShipSpecial));
+    }
+}
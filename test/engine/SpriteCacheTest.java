@@ -0,0 +1,92 @@
+package engine;
+
+import engine.DrawManager.SpriteType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SpriteCache Test Suite")
+class SpriteCacheTest {
+
+    private static final boolean[][] CELLS = {
+            {true, false},
+            {false, true},
+            {false, false}
+    };
+
+    @Test
+    @DisplayName("Sprites are rasterized at twice their size on a transparent background")
+    void testRasterize() {
+        SpriteCache cache = new SpriteCache(4);
+
+        BufferedImage image = cache.get(SpriteType.Bullet, Color.RED, CELLS);
+
+        assertEquals(3 * SpriteCache.SCALE, image.getWidth());
+        assertEquals(2 * SpriteCache.SCALE, image.getHeight());
+        assertEquals(Color.RED.getRGB(), image.getRGB(0, 0));
+        assertEquals(Color.RED.getRGB(), image.getRGB(1, 1));
+        assertEquals(Color.RED.getRGB(), image.getRGB(3, 3));
+        assertEquals(0, image.getRGB(2, 0) >>> 24);
+        assertEquals(0, image.getRGB(5, 3) >>> 24);
+    }
+
+    @Test
+    @DisplayName("Images are reused per sprite and color")
+    void testReuse() {
+        SpriteCache cache = new SpriteCache(4);
+
+        BufferedImage red = cache.get(SpriteType.Bullet, Color.RED, CELLS);
+
+        assertSame(red, cache.get(SpriteType.Bullet, new Color(255, 0, 0), CELLS));
+        assertNotSame(red, cache.get(SpriteType.Bullet, Color.BLUE, CELLS));
+        assertNotSame(red, cache.get(SpriteType.EnemyBullet, Color.RED, CELLS));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Least recently drawn image is dropped when full")
+    void testEviction() {
+        SpriteCache cache = new SpriteCache(2);
+        BufferedImage red = cache.get(SpriteType.Bullet, Color.RED, CELLS);
+        BufferedImage blue = cache.get(SpriteType.Bullet, Color.BLUE, CELLS);
+        cache.get(SpriteType.Bullet, Color.RED, CELLS);
+
+        cache.get(SpriteType.Bullet, Color.GREEN, CELLS);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(red, cache.get(SpriteType.Bullet, Color.RED, CELLS));
+        assertNotSame(blue, cache.get(SpriteType.Bullet, Color.BLUE, CELLS));
+    }
+
+    @Test
+    @DisplayName("Hits and evictions match a least recently used map")
+    void testMatchesLruMap() {
+        SpriteCache cache = new SpriteCache(16);
+        Map<Integer, BufferedImage> expected = new LinkedHashMap<>(16, 0.75f, true);
+        Random random = new Random(11);
+
+        for (int draw = 0; draw < 5000; draw++) {
+            int rgb = random.nextInt(40);
+            BufferedImage image = cache.get(SpriteType.Bullet, new Color(rgb, 0, 0), CELLS);
+            BufferedImage cached = expected.get(rgb);
+            if (cached != null) {
+                assertSame(cached, image);
+            } else {
+                if (expected.size() == 16)
+                    expected.remove(expected.keySet().iterator().next());
+                expected.put(rgb, image);
+            }
+        }
+        assertEquals(expected.size(), cache.size());
+        assertEquals(5000, cache.getHits() + cache.getMisses());
+    }
+}
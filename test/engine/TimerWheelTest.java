@@ -0,0 +1,115 @@
+package engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimerWheel Test Suite")
+class TimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private TimerWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel(START);
+    }
+
+    @Test
+    @DisplayName("One-shot timer fires exactly at its deadline")
+    void testOneShot() {
+        int[] fired = {0};
+        TimerWheel.Timeout timeout = wheel.schedule(10, () -> fired[0]++);
+
+        wheel.advance(START + 9);
+        assertFalse(timeout.isExpired());
+        assertEquals(0, fired[0]);
+
+        wheel.advance(START + 10);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.isPending());
+        assertEquals(1, fired[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timers in higher levels cascade down and fire on time")
+    void testLongDelays() {
+        List<Long> firedAt = new ArrayList<>();
+        long[] delays = {63, 64, 65, 4095, 4096, 300_000, 20_000_000};
+        for (long delay : delays)
+            wheel.schedule(delay, () -> firedAt.add(wheel.now() - START));
+
+        for (long t = START; t <= START + 20_000_000; t += 16)
+            wheel.advance(t);
+
+        assertEquals(List.of(63L, 64L, 65L, 4095L, 4096L, 300_000L, 20_000_000L), firedAt);
+    }
+
+    @Test
+    @DisplayName("Recurring timer fires every period")
+    void testRepeating() {
+        int[] fired = {0};
+        TimerWheel.Timeout timeout = wheel.scheduleRepeating(100, () -> fired[0]++);
+
+        wheel.advance(START + 1000);
+
+        assertEquals(10, fired[0]);
+        assertTrue(timeout.isPending());
+
+        wheel.cancel(timeout);
+        wheel.advance(START + 2000);
+        assertEquals(10, fired[0]);
+    }
+
+    @Test
+    @DisplayName("Cancelled timer never fires")
+    void testCancel() {
+        TimerWheel.Timeout timeout = wheel.schedule(50, null);
+
+        wheel.cancel(timeout);
+        wheel.advance(START + 100);
+
+        assertFalse(timeout.isExpired());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Rescheduling moves the deadline and clears the flag")
+    void testReschedule() {
+        TimerWheel.Timeout timeout = wheel.schedule(10, null);
+        wheel.advance(START + 10);
+        assertTrue(timeout.isExpired());
+
+        wheel.reschedule(timeout, 30);
+        assertFalse(timeout.isExpired());
+        wheel.advance(START + 39);
+        assertFalse(timeout.isExpired());
+        wheel.advance(START + 40);
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    @DisplayName("Wheel cooldowns finish strictly after their duration")
+    void testCooldown() {
+        Cooldown cooldown = new Cooldown(100, 0, wheel);
+        assertTrue(cooldown.checkFinished());
+
+        cooldown.reset();
+        wheel.advance(START + 100);
+        assertFalse(cooldown.checkFinished());
+        wheel.advance(START + 101);
+        assertTrue(cooldown.checkFinished());
+
+        cooldown.reset();
+        cooldown.setMilliseconds(10);
+        wheel.advance(START + 112);
+        assertTrue(cooldown.checkFinished());
+    }
+}
@@ -0,0 +1,114 @@
+package engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WaveDirector Test Suite")
+class WaveDirectorTest {
+
+    private static final int WIDTH = 448;
+
+    private static WaveDirector director(final long seed) {
+        return new WaveDirector(seed, WIDTH, 55, 156);
+    }
+
+    /** Runs the director frame by frame, returning every event it gives. */
+    private static List<WaveDirector.WaveEvent> run(final WaveDirector director,
+                                                     final long until, final int liveEnemies) {
+        List<WaveDirector.WaveEvent> events = new ArrayList<>();
+        for (long now = 0; now <= until; now += 16) {
+            WaveDirector.WaveEvent event;
+            while ((event = director.poll(now, liveEnemies)) != null)
+                events.add(event);
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("Same seed gives the same waves")
+    void testReproducible() {
+        List<WaveDirector.WaveEvent> first = run(director(42), 30000, 0);
+        List<WaveDirector.WaveEvent> second = run(director(42), 30000, 0);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getTime(), second.get(i).getTime());
+            assertEquals(first.get(i).getKind(), second.get(i).getKind());
+            assertSame(first.get(i).getProgram(), second.get(i).getProgram());
+            assertEquals(first.get(i).getX(), second.get(i).getX());
+            assertEquals(first.get(i).getY(), second.get(i).getY());
+            assertEquals(first.get(i).isMirrored(), second.get(i).isMirrored());
+        }
+    }
+
+    @Test
+    @DisplayName("Events come in time order, following the difficulty curve")
+    void testSchedule() {
+        List<WaveDirector.WaveEvent> events = run(director(7), 20000, 0);
+
+        long previous = -1;
+        int bosses = 0;
+        for (WaveDirector.WaveEvent event : events) {
+            assertTrue(event.getTime() >= previous);
+            previous = event.getTime();
+            if (event.getKind() == WaveDirector.Kind.BOSS) {
+                bosses++;
+                assertEquals(0, event.getTime() % 9000);
+            } else {
+                assertEquals(WaveDirector.getSpeedMultiplier(event.getTime()), event.getSpeedMultiplier());
+                assertEquals(WaveDirector.getHealthBonus(event.getTime()), event.getHealthBonus());
+                assertTrue(event.getX() < WIDTH + 20);
+            }
+        }
+        assertEquals(2, bosses);
+        assertEquals(0, events.get(0).getTime());
+        assertEquals(1300, events.get(1).getTime());
+    }
+
+    @Test
+    @DisplayName("Difficulty curve ramps and clamps")
+    void testCurve() {
+        assertEquals(1300, WaveDirector.getSpawnInterval(0));
+        assertEquals(1200, WaveDirector.getSpawnInterval(10000));
+        assertEquals(200, WaveDirector.getSpawnInterval(1_000_000));
+        assertEquals(0.5, WaveDirector.getSpeedMultiplier(0), 1e-9);
+        assertEquals(0.6, WaveDirector.getSpeedMultiplier(15000), 1e-9);
+        assertEquals(4.0, WaveDirector.getSpeedMultiplier(10_000_000), 1e-9);
+        assertEquals(2, WaveDirector.getHealthBonus(60000));
+    }
+
+    @Test
+    @DisplayName("Enemy spawns are dropped over the live budget, bosses are not")
+    void testLiveBudget() {
+        WaveDirector director = director(3);
+        director.setBudget(10, Long.MAX_VALUE);
+
+        List<WaveDirector.WaveEvent> events = run(director, 20000, 10);
+
+        assertEquals(2, events.size());
+        for (WaveDirector.WaveEvent event : events)
+            assertEquals(WaveDirector.Kind.BOSS, event.getKind());
+        assertTrue(director.getThrottled() > 0);
+    }
+
+    @Test
+    @DisplayName("Enemy spawns are dropped while frames are over budget")
+    void testFrameBudget() {
+        WaveDirector director = director(3);
+        director.setBudget(Integer.MAX_VALUE, 16_000_000L);
+        for (int i = 0; i < 50; i++)
+            director.recordFrameTime(40_000_000L);
+
+        assertNull(director.poll(0, 0));
+        assertEquals(1, director.getThrottled());
+
+        for (int i = 0; i < 50; i++)
+            director.recordFrameTime(1_000_000L);
+        assertNotNull(director.poll(1300, 0));
+    }
+}
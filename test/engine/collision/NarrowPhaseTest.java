@@ -0,0 +1,142 @@
+package engine.collision;
+
+import entity.BulletField;
+import entity.Entity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NarrowPhase Test Suite")
+class NarrowPhaseTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /** Flattens the hits to (bullet, target) pairs. */
+    private static List<Integer> pairs(BulletHits hits) {
+        List<Integer> pairs = new ArrayList<>();
+        for (int e = 0; e < hits.size(); e++)
+            for (int h = hits.firstHit(e); h < hits.endHit(e); h++) {
+                pairs.add(hits.bullet(e));
+                pairs.add(hits.target(h));
+            }
+        return pairs;
+    }
+
+    @Test
+    @DisplayName("Parallel run gives the same hits, in the same order, as the sequential one")
+    void testParallelMatchesSequential() {
+        Random random = new Random(7);
+        BulletField bullets = new BulletField();
+        int[] candidates = new int[3000];
+        for (int i = 0; i < candidates.length; i++) {
+            bullets.add(random.nextInt(448), random.nextInt(520), -6, BulletField.OWNER_P1);
+            candidates[i] = i;
+        }
+        Entity[] targets = new Entity[120];
+        for (int t = 0; t < targets.length; t++)
+            targets[t] = new Entity(random.nextInt(448), random.nextInt(520), 24, 16, Color.WHITE);
+
+        CollisionLayer[] layers = new CollisionLayer[targets.length];
+        java.util.Arrays.fill(layers, CollisionLayer.ENEMY);
+        CollisionMatrix matrix = CollisionMatrix.defaults();
+
+        NarrowPhase sequential = new NarrowPhase(pool, Integer.MAX_VALUE);
+        NarrowPhase parallel = new NarrowPhase(pool, 0);
+
+        List<Integer> expected = pairs(sequential.run(bullets, candidates, candidates.length, targets, layers, targets.length, matrix));
+        for (int round = 0; round < 5; round++)
+            assertEquals(expected, pairs(parallel.run(bullets, candidates, candidates.length, targets, layers, targets.length, matrix)));
+        assertFalse(expected.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pairs of layers that do not interact are not reported")
+    void testMatrixSkipsPairs() {
+        BulletField bullets = new BulletField();
+        bullets.add(10, 10, 5);
+        bullets.add(10, 10, -6, BulletField.OWNER_P1);
+        Entity[] targets = {new Entity(0, 0, 30, 30, Color.WHITE), new Entity(0, 0, 30, 30, Color.WHITE)};
+        CollisionLayer[] layers = {CollisionLayer.PLAYER, CollisionLayer.ENEMY};
+
+        BulletHits hits = new NarrowPhase(pool, 0).run(bullets, new int[]{0, 1}, 2, targets, layers, 2,
+                CollisionMatrix.defaults());
+
+        assertEquals(2, hits.size());
+        assertEquals(1, hits.endHit(0) - hits.firstHit(0));
+        assertEquals(0, hits.target(hits.firstHit(0)));
+        assertEquals(1, hits.target(hits.firstHit(1)));
+
+        CollisionMatrix playerImmune = CollisionMatrix.defaults()
+                .setInteracts(CollisionLayer.ENEMY_BULLET, CollisionLayer.PLAYER, false);
+        hits = new NarrowPhase(pool, 0).run(bullets, new int[]{0, 1}, 2, targets, layers, 2, playerImmune);
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.bullet(0));
+    }
+
+    @Test
+    @DisplayName("Hits are grouped by bullet in ascending target order")
+    void testHitsGroupedByBullet() {
+        BulletField bullets = new BulletField();
+        bullets.add(10, 10, -6, BulletField.OWNER_P1);
+        bullets.add(300, 300, -6, BulletField.OWNER_P1);
+        bullets.add(100, 100, -6, BulletField.OWNER_P1);
+        Entity[] targets = {
+                new Entity(90, 90, 30, 30, Color.WHITE),
+                new Entity(0, 0, 30, 30, Color.WHITE),
+                new Entity(95, 95, 30, 30, Color.WHITE)
+        };
+
+        CollisionLayer[] layers = {CollisionLayer.ENEMY, CollisionLayer.ENEMY, CollisionLayer.ENEMY};
+
+        BulletHits hits = new NarrowPhase(pool, 0).run(bullets, new int[]{0, 1, 2}, 3, targets, layers, 3,
+                CollisionMatrix.defaults());
+
+        assertEquals(2, hits.size());
+        assertEquals(0, hits.bullet(0));
+        assertTrue(hits.hits(0, 1));
+        assertEquals(2, hits.bullet(1));
+        assertEquals(2, hits.endHit(1) - hits.firstHit(1));
+        assertEquals(0, hits.target(hits.firstHit(1)));
+        assertEquals(2, hits.target(hits.firstHit(1) + 1));
+    }
+
+    @Test
+    @DisplayName("Chunk results reused across frames do not leak earlier hits")
+    void testReusedResultsAreReset() {
+        BulletField bullets = new BulletField();
+        for (int i = 0; i < 40; i++)
+            bullets.add(10, 10, -6, BulletField.OWNER_P1);
+        int[] candidates = new int[40];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i;
+        Entity[] targets = {new Entity(0, 0, 30, 30, Color.WHITE)};
+        CollisionLayer[] layers = {CollisionLayer.ENEMY};
+        NarrowPhase narrowPhase = new NarrowPhase(pool, 0);
+
+        assertEquals(40, narrowPhase.run(bullets, candidates, 40, targets, layers, 1,
+                CollisionMatrix.defaults()).size());
+
+        targets[0].setPositionX(400);
+        assertEquals(0, narrowPhase.run(bullets, candidates, 40, targets, layers, 1,
+                CollisionMatrix.defaults()).size());
+    }
+}
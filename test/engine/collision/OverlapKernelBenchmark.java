@@ -0,0 +1,69 @@
+package engine.collision;
+
+import java.util.Random;
+
+/**
+ * Stand-alone throughput comparison of the overlap kernels, not run by the
+ * test task. Run with the test classpath, e.g.
+ * java --add-modules jdk.incubator.vector -cp ... engine.collision.OverlapKernelBenchmark [bullets] [targets]
+ */
+public final class OverlapKernelBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private OverlapKernelBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int bullets = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        int targets = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        Random random = new Random(42);
+        int[] xs = new int[bullets];
+        int[] ys = new int[bullets];
+        for (int i = 0; i < bullets; i++) {
+            xs[i] = random.nextInt(448);
+            ys[i] = random.nextInt(520);
+        }
+        int[][] boxes = new int[targets][];
+        for (int t = 0; t < targets; t++)
+            boxes[t] = new int[]{random.nextInt(448), random.nextInt(520), 24, 16};
+
+        System.out.println("bullets=" + bullets + " targets=" + targets);
+        double scalar = run(OverlapKernels.scalar(), xs, ys, boxes);
+        OverlapKernel vector = OverlapKernels.vector();
+        if (vector == null) {
+            System.out.println("vector kernel unavailable, add --add-modules jdk.incubator.vector");
+            return;
+        }
+        double simd = run(vector, xs, ys, boxes);
+        System.out.printf("speedup %.2fx%n", scalar / simd);
+    }
+
+    private static double run(OverlapKernel kernel, int[] xs, int[] ys, int[][] boxes) {
+        int[] layers = new int[xs.length];
+        java.util.Arrays.fill(layers, CollisionLayer.PLAYER_BULLET.mask());
+        int[] flags = new int[xs.length];
+        long checksum = 0;
+        for (int r = 0; r < WARMUP_ROUNDS; r++)
+            checksum += pass(kernel, xs, ys, layers, boxes, flags);
+
+        int frames = 2000;
+        long start = System.nanoTime();
+        for (int r = 0; r < MEASURED_ROUNDS; r++)
+            for (int f = 0; f < frames; f++)
+                checksum += pass(kernel, xs, ys, layers, boxes, flags);
+        double nanosPerFrame = (double) (System.nanoTime() - start) / (MEASURED_ROUNDS * frames);
+
+        System.out.printf("%-12s %10.0f ns/frame (checksum %d)%n", kernel.name(), nanosPerFrame, checksum);
+        return nanosPerFrame;
+    }
+
+    private static int pass(OverlapKernel kernel, int[] xs, int[] ys, int[] layers, int[][] boxes, int[] flags) {
+        java.util.Arrays.fill(flags, 0);
+        for (int[] box : boxes)
+            kernel.mark(xs, ys, layers, CollisionLayer.PLAYER_BULLET.mask(), xs.length, 6, 10, box[0], box[1], box[2], box[3], flags);
+        return flags[flags.length - 1];
+    }
+}
@@ -0,0 +1,98 @@
+package engine.collision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OverlapKernel Test Suite")
+class OverlapKernelTest {
+
+    private static final int BOX_WIDTH = 6;
+    private static final int BOX_HEIGHT = 10;
+
+    /** Same rule as CollisionManager.checkCollision. */
+    private static boolean collides(int ax, int ay, int bx, int by, int bw, int bh) {
+        int distanceX = Math.abs(ax + BOX_WIDTH / 2 - (bx + bw / 2));
+        int distanceY = Math.abs(ay + BOX_HEIGHT / 2 - (by + bh / 2));
+        return distanceX < BOX_WIDTH / 2 + bw / 2 && distanceY < BOX_HEIGHT / 2 + bh / 2;
+    }
+
+    private static void assertMatchesReference(OverlapKernel kernel, long seed) {
+        Random random = new Random(seed);
+        int count = 1 + random.nextInt(300);
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = random.nextInt(120);
+            ys[i] = random.nextInt(120);
+        }
+        int tx = random.nextInt(100), ty = random.nextInt(100);
+        int tw = 1 + random.nextInt(40), th = 1 + random.nextInt(40);
+
+        int[] layers = new int[count];
+        java.util.Arrays.fill(layers, CollisionLayer.PLAYER_BULLET.mask());
+        int[] flags = new int[count];
+        kernel.mark(xs, ys, layers, CollisionLayer.PLAYER_BULLET.mask(), count, BOX_WIDTH, BOX_HEIGHT, tx, ty, tw, th, flags);
+
+        for (int i = 0; i < count; i++)
+            assertEquals(collides(xs[i], ys[i], tx, ty, tw, th) ? 1 : 0, flags[i],
+                    kernel.name() + " seed " + seed + " box " + i);
+    }
+
+    @Test
+    @DisplayName("Scalar kernel matches the collision rule")
+    void testScalarMatchesReference() {
+        OverlapKernel kernel = OverlapKernels.scalar();
+        for (long seed = 0; seed < 200; seed++)
+            assertMatchesReference(kernel, seed);
+    }
+
+    @Test
+    @DisplayName("Vector kernel, when available, matches the collision rule")
+    void testVectorMatchesReference() {
+        OverlapKernel kernel = OverlapKernels.vector();
+        if (kernel == null)
+            return;
+        for (long seed = 0; seed < 200; seed++)
+            assertMatchesReference(kernel, seed);
+    }
+
+    @Test
+    @DisplayName("Boxes of layers outside the mask are never flagged")
+    void testLayerMaskFilters() {
+        int[] xs = new int[40];
+        int[] ys = new int[40];
+        int[] layers = new int[40];
+        for (int i = 0; i < layers.length; i++)
+            layers[i] = i % 2 == 0 ? CollisionLayer.PLAYER_BULLET.mask() : CollisionLayer.ENEMY_BULLET.mask();
+
+        for (OverlapKernel kernel : new OverlapKernel[]{OverlapKernels.scalar(), OverlapKernels.vector()}) {
+            if (kernel == null)
+                continue;
+            int[] flags = new int[40];
+            kernel.mark(xs, ys, layers, CollisionLayer.ENEMY_BULLET.mask(), 40,
+                    BOX_WIDTH, BOX_HEIGHT, 0, 0, 10, 10, flags);
+            for (int i = 0; i < flags.length; i++)
+                assertEquals(i % 2, flags[i], kernel.name() + " box " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Flags accumulate across targets and never reset")
+    void testFlagsAccumulate() {
+        int[] xs = {0, 100};
+        int[] ys = {0, 100};
+        int[] layers = {1, 1};
+        int[] flags = new int[2];
+        OverlapKernel kernel = OverlapKernels.get();
+
+        kernel.mark(xs, ys, layers, 1, 2, BOX_WIDTH, BOX_HEIGHT, 0, 0, 10, 10, flags);
+        kernel.mark(xs, ys, layers, 1, 2, BOX_WIDTH, BOX_HEIGHT, 100, 100, 10, 10, flags);
+        kernel.mark(xs, ys, layers, 1, 2, BOX_WIDTH, BOX_HEIGHT, 500, 500, 10, 10, flags);
+
+        assertArrayEquals(new int[]{1, 1}, flags);
+    }
+}
@@ -0,0 +1,102 @@
+package engine.render;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FrameRecorder Test Suite")
+class FrameRecorderTest {
+
+    @Test
+    @DisplayName("Runs expand back into the same pixels")
+    void testRunsRoundTrip() {
+        int[] pixels = {0, 0, 0, 0xFF0000, 0xFF0000, 0x00FF00, 0, 0};
+        int[] runs = new int[pixels.length];
+
+        int count = FrameRecorder.encodeRuns(pixels, pixels.length, runs);
+        int[] decoded = new int[pixels.length];
+
+        assertEquals(4, count);
+        assertEquals(pixels.length, FrameRecorder.decodeRuns(runs, count, decoded));
+        assertArrayEquals(pixels, decoded);
+    }
+
+    @Test
+    @DisplayName("Long runs are split at the longest run")
+    void testLongRun() {
+        int[] pixels = new int[FrameRecorder.MAX_RUN * 2 + 1];
+        int[] runs = new int[pixels.length];
+
+        assertEquals(3, FrameRecorder.encodeRuns(pixels, pixels.length, runs));
+    }
+
+    @Test
+    @DisplayName("Captured frames end up in the run-length encoded file")
+    void testRecordRle() throws IOException {
+        File directory = Files.createTempDirectory("frames").toFile();
+        FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.RLE, 4);
+        int[] frame = {1, 1, 2, 2, 3, 3};
+
+        int queued = 0;
+        for (int i = 0; i < 3; i++)
+            if (recorder.capture(frame, 3, 2))
+                queued++;
+        recorder.close();
+
+        assertEquals(queued, recorder.getWritten());
+        assertEquals(3 - queued, recorder.getDropped());
+        try (DataInputStream in = new DataInputStream(
+                new FileInputStream(new File(directory, FrameRecorder.RLE_FILE)))) {
+            assertEquals(FrameRecorder.RLE_MAGIC, in.readInt());
+            assertEquals(FrameRecorder.RLE_VERSION, in.readInt());
+            assertEquals(0, in.readLong());
+            assertEquals(3, in.readInt());
+            assertEquals(2, in.readInt());
+            int count = in.readInt();
+            int[] runs = new int[count];
+            for (int i = 0; i < count; i++)
+                runs[i] = in.readInt();
+            int[] decoded = new int[6];
+            FrameRecorder.decodeRuns(runs, count, decoded);
+            assertArrayEquals(frame, decoded);
+        }
+    }
+
+    @Test
+    @DisplayName("Frames captured after closing are dropped without waiting")
+    void testDropAfterClose() throws IOException {
+        File directory = Files.createTempDirectory("frames").toFile();
+        FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.PNG, 1);
+        recorder.close();
+
+        assertFalse(recorder.capture(new int[4], 2, 2));
+        assertEquals(1, recorder.getDropped());
+        assertEquals(0, recorder.getWritten());
+    }
+
+    @Test
+    @DisplayName("Every frame captured while closing is written or dropped")
+    void testCloseWhileCapturing() throws IOException, InterruptedException {
+        File directory = Files.createTempDirectory("frames").toFile();
+        FrameRecorder recorder = new FrameRecorder(directory, FrameRecorder.Format.RLE, 2);
+        int[] frame = new int[4];
+        int attempts = 2000;
+        Thread capturer = new Thread(() -> {
+            for (int i = 0; i < attempts; i++)
+                recorder.capture(frame, 2, 2);
+        });
+
+        capturer.start();
+        recorder.close();
+        capturer.join();
+
+        assertEquals(attempts, recorder.getWritten() + recorder.getDropped() + recorder.getFailed());
+    }
+}
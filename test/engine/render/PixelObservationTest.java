@@ -0,0 +1,90 @@
+package engine.render;
+
+import engine.DrawManager.SpriteType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PixelObservation Test Suite")
+class PixelObservationTest {
+
+    private static RenderSnapshot snapshotWith(final SpriteType type, final Color color,
+                                               final int x, final int y, final int w, final int h) {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.clear(0);
+        snapshot.addSprite(RenderSnapshot.NO_ID, type, color, x, y, w, h);
+        return snapshot;
+    }
+
+    @Test
+    @DisplayName("Sprites are downsampled into the boxes they cover")
+    void testDownsample() {
+        PixelObservation observation = new PixelObservation(100, 100, 10, 10, 1,
+                PixelObservation.Mode.PALETTE);
+
+        observation.render(snapshotWith(SpriteType.EnemyShipA1, Color.WHITE, 20, 30, 20, 10));
+        byte[] frame = observation.copyFrames();
+
+        assertEquals(100, frame.length);
+        for (int y = 0; y < 10; y++)
+            for (int x = 0; x < 10; x++) {
+                byte expected = x >= 2 && x < 4 && y == 3 ? PixelObservation.ENEMY : PixelObservation.EMPTY;
+                assertEquals(expected, frame[y * 10 + x], "pixel " + x + "," + y);
+            }
+    }
+
+    @Test
+    @DisplayName("Small sprites keep at least one pixel and off-screen ones are skipped")
+    void testSmallAndOutside() {
+        PixelObservation observation = new PixelObservation(448, 520, 84, 84, 1,
+                PixelObservation.Mode.PALETTE);
+        RenderSnapshot snapshot = snapshotWith(SpriteType.EnemyBullet, Color.WHITE, 100, 100, 1, 1);
+        snapshot.addSprite(RenderSnapshot.NO_ID, SpriteType.Ship, Color.GREEN, -50, 10, 20, 16);
+
+        observation.render(snapshot);
+        byte[] frame = observation.copyFrames();
+
+        int bullets = 0;
+        for (byte pixel : frame) {
+            assertNotEquals(PixelObservation.PLAYER, pixel);
+            if (pixel == PixelObservation.ENEMY_BULLET)
+                bullets++;
+        }
+        assertEquals(1, bullets);
+    }
+
+    @Test
+    @DisplayName("Grayscale pixels hold the luminance of the sprite color")
+    void testGrayscale() {
+        PixelObservation observation = new PixelObservation(10, 10, 10, 10, 1,
+                PixelObservation.Mode.GRAYSCALE);
+
+        observation.render(snapshotWith(SpriteType.Ship, Color.WHITE, 0, 0, 1, 1));
+        assertEquals(255, observation.copyFrames()[0] & 0xFF);
+
+        observation.render(snapshotWith(SpriteType.Ship, Color.BLACK, 0, 0, 1, 1));
+        byte[] frame = observation.copyFrames();
+        assertEquals(1, frame[0]);
+        assertEquals(0, frame[1]);
+    }
+
+    @Test
+    @DisplayName("Stacked frames are handed out oldest first")
+    void testStack() {
+        PixelObservation observation = new PixelObservation(4, 1, 4, 1, 3,
+                PixelObservation.Mode.PALETTE);
+        for (int x = 0; x < 4; x++)
+            observation.render(snapshotWith(SpriteType.Ship, Color.GREEN, x, 0, 1, 1));
+
+        byte[] frames = observation.copyFrames();
+
+        assertEquals(12, frames.length);
+        assertEquals(PixelObservation.PLAYER, frames[1]);
+        assertEquals(PixelObservation.PLAYER, frames[4 + 2]);
+        assertEquals(PixelObservation.PLAYER, frames[8 + 3]);
+        assertEquals(4, observation.getFrameCount());
+    }
+}
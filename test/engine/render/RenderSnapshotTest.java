@@ -0,0 +1,80 @@
+package engine.render;
+
+import engine.DrawManager.SpriteType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RenderSnapshot Test Suite")
+class RenderSnapshotTest {
+
+    @Test
+    @DisplayName("Registered sprites move between the previous and current positions")
+    void testInterpolation() {
+        RenderSnapshot previous = new RenderSnapshot();
+        previous.clear(0);
+        previous.addSprite(3, SpriteType.Ship, Color.GREEN, 100, 200, 8, 8);
+        RenderSnapshot current = new RenderSnapshot();
+        current.clear(10);
+        current.addSprite(3, SpriteType.Ship, Color.GREEN, 110, 180, 8, 8);
+
+        assertEquals(100, current.getInterpolatedX(0, previous, 0));
+        assertEquals(105, current.getInterpolatedX(0, previous, 0.5));
+        assertEquals(190, current.getInterpolatedY(0, previous, 0.5));
+        assertEquals(110, current.getInterpolatedX(0, previous, 1));
+    }
+
+    @Test
+    @DisplayName("Sprites without id, new sprites and teleports are drawn where they are")
+    void testNoInterpolation() {
+        RenderSnapshot previous = new RenderSnapshot();
+        previous.clear(0);
+        previous.addSprite(RenderSnapshot.NO_ID, SpriteType.Bullet, Color.WHITE, 10, 10, 8, 8);
+        previous.addSprite(1, SpriteType.Ship, Color.GREEN, 0, 0, 8, 8);
+        RenderSnapshot current = new RenderSnapshot();
+        current.clear(10);
+        current.addSprite(RenderSnapshot.NO_ID, SpriteType.Bullet, Color.WHITE, 10, 20, 8, 8);
+        current.addSprite(1, SpriteType.Ship, Color.GREEN, RenderSnapshot.MAX_INTERPOLATED_MOVE + 1, 0, 8, 8);
+        current.addSprite(2, SpriteType.Ship, Color.GREEN, 50, 50, 8, 8);
+
+        assertEquals(20, current.getInterpolatedY(0, previous, 0.5));
+        assertEquals(RenderSnapshot.MAX_INTERPOLATED_MOVE + 1, current.getInterpolatedX(1, previous, 0.5));
+        assertEquals(50, current.getInterpolatedX(2, previous, 0.5));
+        assertEquals(50, current.getInterpolatedX(2, null, 0.5));
+    }
+
+    @Test
+    @DisplayName("Copies keep sprites and interface values")
+    void testCopy() {
+        RenderSnapshot source = new RenderSnapshot();
+        source.clear(42);
+        for (int i = 0; i < 300; i++)
+            source.addSprite(i, SpriteType.EnemyShipA1, Color.WHITE, i, 2 * i, 8, 8);
+        source.setHud(5, 1234);
+        source.setText(0, "Level 1");
+
+        RenderSnapshot copy = new RenderSnapshot();
+        copy.copyFrom(source);
+        source.clear(43);
+
+        assertEquals(42, copy.getTickNanos());
+        assertEquals(300, copy.getSpriteCount());
+        assertEquals(299, copy.getId(299));
+        assertEquals(SpriteType.EnemyShipA1, copy.getSpriteType(7));
+        assertEquals(1234, copy.getHud(5));
+        assertEquals("Level 1", copy.getText(0));
+        assertEquals(0, source.getSpriteCount());
+    }
+
+    @Test
+    @DisplayName("Display progress is clamped and falls back to the current snapshot")
+    void testAlpha() {
+        assertEquals(0.5, SnapshotRenderer.alpha(100, 200, 250), 1e-9);
+        assertEquals(0, SnapshotRenderer.alpha(100, 200, 150), 1e-9);
+        assertEquals(1, SnapshotRenderer.alpha(100, 200, 900), 1e-9);
+        assertEquals(1, SnapshotRenderer.alpha(200, 200, 250), 1e-9);
+    }
+}
@@ -0,0 +1,58 @@
+package engine.render;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TripleBuffer Test Suite")
+class TripleBufferTest {
+
+    @Test
+    @DisplayName("Published values reach the front after a swap")
+    void testPublishAndSwap() {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+        assertFalse(buffer.hasFresh());
+        assertFalse(buffer.swapFront());
+
+        buffer.back()[0] = 7;
+        buffer.publish();
+
+        assertTrue(buffer.hasFresh());
+        assertTrue(buffer.swapFront());
+        assertEquals(7, buffer.front()[0]);
+        assertFalse(buffer.hasFresh());
+    }
+
+    @Test
+    @DisplayName("The consumer sees only the newest of several publications")
+    void testNewestWins() {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+        for (int i = 1; i <= 5; i++) {
+            buffer.back()[0] = i;
+            buffer.publish();
+        }
+
+        assertTrue(buffer.swapFront());
+        assertEquals(5, buffer.front()[0]);
+    }
+
+    @Test
+    @DisplayName("Producer and consumer never share a slot")
+    void testSlotsStayDistinct() {
+        TripleBuffer<Object> buffer = new TripleBuffer<>(Object::new);
+        Set<Object> seen = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(buffer.back(), buffer.front());
+            seen.add(buffer.back());
+            seen.add(buffer.front());
+            buffer.publish();
+            if (i % 3 == 0)
+                buffer.swapFront();
+        }
+        assertEquals(3, seen.size());
+    }
+}
@@ -0,0 +1,154 @@
+package entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BossBulletEmitter Test Suite")
+class BossBulletEmitterTest {
+
+    @Test
+    @DisplayName("Direction table matches the trigonometric functions")
+    void testDirectionTable() {
+        for (int degrees = 0; degrees < 360; degrees += 5) {
+            double radians = Math.toRadians(degrees);
+            int dx = (int) Math.round(Math.cos(radians) * 1000);
+            int dy = (int) Math.round(Math.sin(radians) * 1000);
+            int expected = (int) Math.round(degrees * DirectionTable.STEPS / 360.0) & (DirectionTable.STEPS - 1);
+            int angle = DirectionTable.angleOf(dx, dy);
+            int error = Math.abs(angle - expected);
+            assertTrue(Math.min(error, DirectionTable.STEPS - error) <= 1, "angle of " + degrees);
+            double step = 2 * Math.PI * expected / DirectionTable.STEPS;
+            assertEquals(Math.cos(step) * DirectionTable.ONE, DirectionTable.cos(expected), 0.5);
+            assertEquals(Math.sin(step) * DirectionTable.ONE, DirectionTable.sin(expected), 0.5);
+        }
+        assertEquals(0, DirectionTable.angleOf(0, 0));
+    }
+
+    @Test
+    @DisplayName("Boss bullets move by fractions of pixels")
+    void testFixedPointBullet() {
+        BossBullet bullet = BossBulletPool.getFixedBullet(10, 20, DirectionTable.ONE / 2,
+                -DirectionTable.ONE / 4, 6, 10, Color.yellow);
+
+        for (int i = 0; i < 4; i++)
+            bullet.update();
+
+        assertEquals(12, bullet.getPositionX());
+        assertEquals(19, bullet.getPositionY());
+        BossBulletPool.recycle(bullet);
+    }
+
+    @Test
+    @DisplayName("Row keeps the spread of the old boss attack")
+    void testRow() {
+        BossBulletList bullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
+        BossBulletEmitter row = BossBulletEmitter.row(5, 0, 1, 4, 5000, 6, 10, Color.yellow);
+
+        assertEquals(5, row.emit(bullets, 103, 80, 0, 0, Integer.MAX_VALUE));
+        int[] xs = new int[bullets.size()];
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).update();
+            xs[i] = bullets.get(i).getPositionX();
+            assertEquals(84, bullets.get(i).getPositionY());
+        }
+
+        Arrays.sort(xs);
+        assertArrayEquals(new int[] {98, 99, 100, 101, 102}, xs);
+        assertEquals(0, row.emit(bullets, 103, 80, 0, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Radial pattern spreads bullets evenly around the circle")
+    void testRadial() {
+        BossBulletList bullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
+        BossBulletEmitter radial = BossBulletEmitter.radial(4, 4, 100, 6, 6, Color.red);
+
+        radial.emit(bullets, 103, 100, 0, 0, Integer.MAX_VALUE);
+        for (int i = 0; i < bullets.size(); i++)
+            bullets.get(i).update();
+
+        assertEquals(4, bullets.size());
+        assertEquals(104, bullets.get(0).getPositionX());
+        assertEquals(100, bullets.get(0).getPositionY());
+        assertEquals(100, bullets.get(1).getPositionX());
+        assertEquals(104, bullets.get(1).getPositionY());
+        assertEquals(96, bullets.get(2).getPositionX());
+        assertEquals(96, bullets.get(3).getPositionY());
+    }
+
+    @Test
+    @DisplayName("Spiral turns a little more every shot")
+    void testSpiral() {
+        BossBulletList first = new BossBulletList(1);
+        BossBulletList second = new BossBulletList(1);
+        BossBulletEmitter spiral = BossBulletEmitter.spiral(1, 4, 90, 100, 6, 6, Color.red);
+
+        spiral.fire(first, 103, 100, 0, 0, 1);
+        spiral.fire(second, 103, 100, 0, 0, 1);
+        first.get(0).update();
+        second.get(0).update();
+
+        // A quarter turn, then a half turn: down, then left.
+        assertEquals(104, first.get(0).getPositionY());
+        assertEquals(96, second.get(0).getPositionX());
+    }
+
+    @Test
+    @DisplayName("Aimed spread is centered on the target")
+    void testAimedSpread() {
+        BossBulletList bullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
+        BossBulletEmitter spread = BossBulletEmitter.aimedSpread(3, 45, 8, 100, 6, 6, Color.red);
+
+        spread.emit(bullets, 103, 100, 103, 400, Integer.MAX_VALUE);
+        for (int i = 0; i < bullets.size(); i++)
+            bullets.get(i).update();
+
+        assertEquals(3, bullets.size());
+        assertEquals(100, bullets.get(1).getPositionX());
+        assertEquals(108, bullets.get(1).getPositionY());
+        // Mirrored around the center, up to the rounding of fixed point.
+        int skew = bullets.get(0).getPositionX() + bullets.get(2).getPositionX() - 200;
+        assertTrue(Math.abs(skew) <= 1);
+        assertNotEquals(bullets.get(0).getPositionX(), bullets.get(2).getPositionX());
+    }
+
+    @Test
+    @DisplayName("Emitters never add more bullets than the limit")
+    void testLimit() {
+        BossBulletList bullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
+        BossBulletEmitter radial = BossBulletEmitter.radial(64, 2, 0, 6, 6, Color.red);
+
+        assertEquals(10, radial.emit(bullets, 0, 0, 0, 0, 10));
+        assertEquals(10, bullets.size());
+        assertEquals(0, BossBulletEmitter.radial(64, 2, 0, 6, 6, Color.red)
+                .emit(bullets, 0, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> BossBulletEmitter.radial(0, 2, 100, 6, 6, Color.red));
+    }
+
+    @Test
+    @DisplayName("Removing a boss bullet swaps the last one into its place")
+    void testSwapRemove() {
+        BossBulletList bullets = new BossBulletList(2);
+        BossBullet a = BossBulletPool.getFixedBullet(0, 0, 0, 0, 6, 6, Color.red);
+        BossBullet b = BossBulletPool.getFixedBullet(0, 0, 0, 0, 6, 6, Color.red);
+        BossBullet c = BossBulletPool.getFixedBullet(0, 0, 0, 0, 6, 6, Color.red);
+        int released = BossBulletPool.getPool().size();
+
+        assertTrue(bullets.add(a));
+        assertTrue(bullets.add(b));
+        assertFalse(bullets.add(c));
+        bullets.recycle(0);
+
+        assertEquals(1, bullets.size());
+        assertSame(b, bullets.get(0));
+        assertEquals(released + 2, BossBulletPool.getPool().size());
+        bullets.recycleAll();
+        assertTrue(bullets.isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package entity;
+
+import engine.DrawManager.SpriteType;
+import engine.collision.CollisionLayer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BulletField Test Suite")
+class BulletFieldTest {
+
+    private BulletField bullets;
+
+    @BeforeEach
+    void setUp() {
+        ShopItem.resetAllItems();
+        bullets = new BulletField(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ShopItem.resetAllItems();
+    }
+
+    @Test
+    @DisplayName("Added bullet is centered on the given x coordinate")
+    void testAddCentersBullet() {
+        int index = bullets.add(100, 50, -6, BulletField.OWNER_P1);
+
+        assertEquals(0, index);
+        assertEquals(1, bullets.size());
+        assertEquals(100 - BulletField.WIDTH / 2, bullets.getPositionX(index));
+        assertEquals(50, bullets.getPositionY(index));
+        assertEquals(-6, bullets.getSpeed(index));
+        assertEquals(BulletField.OWNER_P1, bullets.getOwnerId(index));
+    }
+
+    @Test
+    @DisplayName("Sprite and layer depend on owner and direction")
+    void testSpriteType() {
+        int player = bullets.add(0, 0, -6, BulletField.OWNER_P2);
+        int enemy = bullets.add(0, 0, 5);
+
+        assertEquals(SpriteType.Bullet, bullets.getSpriteType(player));
+        assertEquals(SpriteType.EnemyBullet, bullets.getSpriteType(enemy));
+        assertEquals(CollisionLayer.PLAYER_BULLET, bullets.getLayer(player));
+        assertEquals(CollisionLayer.ENEMY_BULLET, bullets.getLayer(enemy));
+    }
+
+    @Test
+    @DisplayName("Field grows past its initial capacity")
+    void testGrow() {
+        for (int i = 0; i < 10; i++)
+            bullets.add(i, i, 1);
+
+        assertEquals(10, bullets.size());
+        assertEquals(9, bullets.getPositionY(9));
+    }
+
+    @Test
+    @DisplayName("Remove swaps the last bullet into the freed slot")
+    void testRemoveSwapsLast() {
+        bullets.add(10, 10, 1);
+        bullets.add(20, 20, 2);
+        bullets.add(30, 30, 3);
+
+        bullets.remove(0);
+
+        assertEquals(2, bullets.size());
+        assertEquals(30, bullets.getPositionY(0));
+        assertEquals(3, bullets.getSpeed(0));
+        assertEquals(20, bullets.getPositionY(1));
+    }
+
+    @Test
+    @DisplayName("Update moves bullets and removeOutside drops off-screen ones")
+    void testUpdateAndRemoveOutside() {
+        bullets.add(0, 45, 10);
+        bullets.add(0, 95, 10);
+        bullets.add(0, 55, -10);
+
+        bullets.update();
+        int removed = bullets.removeOutside(50, 100);
+
+        assertEquals(2, removed);
+        assertEquals(1, bullets.size());
+        assertEquals(55, bullets.getPositionY(0));
+    }
+
+    @Test
+    @DisplayName("Penetration follows the purchased level")
+    void testPenetration() {
+        int plain = bullets.add(0, 0, -6, BulletField.OWNER_P1);
+        assertFalse(bullets.penetration(plain));
+
+        ShopItem.setPenetrationLevel(1);
+        int piercing = bullets.add(0, 0, -6, BulletField.OWNER_P1);
+        assertTrue(bullets.penetration(piercing));
+        assertFalse(bullets.penetration(piercing));
+    }
+
+    @Test
+    @DisplayName("Already hit enemies move with their bullet on removal")
+    void testAlreadyHitFollowsBullet() {
+        int enemyId = 7;
+        bullets.add(0, 0, -6, BulletField.OWNER_P1);
+        bullets.add(0, 0, -6, BulletField.OWNER_P1);
+        bullets.addHit(1, enemyId);
+
+        assertFalse(bullets.checkAlreadyHit(0, enemyId));
+        assertTrue(bullets.checkAlreadyHit(1, enemyId));
+
+        bullets.remove(0);
+
+        assertTrue(bullets.checkAlreadyHit(0, enemyId));
+        assertFalse(bullets.checkAlreadyHit(0, 8));
+    }
+
+    @Test
+    @DisplayName("Clear empties the field")
+    void testClear() {
+        bullets.add(0, 0, 1);
+        bullets.add(0, 0, 1);
+
+        bullets.clear();
+
+        assertTrue(bullets.isEmpty());
+    }
+}
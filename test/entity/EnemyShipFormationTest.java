@@ -0,0 +1,175 @@
+package entity;
+
+import engine.Core;
+import engine.GameSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import screen.Screen;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnemyShipFormation Test Suite")
+class EnemyShipFormationTest {
+
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 2;
+
+    private EnemyShipFormation formation;
+
+    @BeforeEach
+    void setUp() {
+        formation = new EnemyShipFormation(new GameSettings(WIDTH, HEIGHT, 60, 2000));
+    }
+
+    @Test
+    @DisplayName("Ships are stored column by column")
+    void testSlotsAreColumnMajor() {
+        assertEquals(WIDTH * HEIGHT, formation.getSlotCount());
+
+        int slot = 0;
+        for (EnemyShip ship : formation) {
+            assertSame(formation.getShip(slot), ship);
+            assertTrue(formation.isAlive(slot));
+            assertEquals(formation.getShip(slot / HEIGHT * HEIGHT).getPositionX(), ship.getPositionX());
+            slot++;
+        }
+        assertEquals(WIDTH * HEIGHT, slot);
+    }
+
+    @Test
+    @DisplayName("Destroying the bottom ship hands shooting to the ship above")
+    void testNextShooterMovesUp() {
+        EnemyShip bottom = formation.getShip(HEIGHT - 1);
+        assertSame(bottom, formation.getNextShooter(0));
+
+        formation.destroy(bottom);
+
+        assertTrue(bottom.isDestroyed());
+        assertFalse(formation.isAlive(HEIGHT - 1));
+        assertSame(formation.getShip(0), formation.getNextShooter(0));
+
+        formation.destroy(formation.getShip(0));
+        assertNull(formation.getNextShooter(0));
+    }
+
+    @Test
+    @DisplayName("Destroying a ship twice only counts once")
+    void testDestroyIsIdempotent() {
+        for (int slot = 0; slot < formation.getSlotCount() - 1; slot++) {
+            formation.destroy(formation.getShip(slot));
+            formation.destroy(formation.getShip(slot));
+        }
+
+        assertFalse(formation.isEmpty());
+        formation.destroy(formation.getShip(formation.getSlotCount() - 1));
+        assertTrue(formation.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Exploding ships stay in the formation until removed")
+    void testDestroyedShipsStayIterable() {
+        formation.destroy(formation.getShip(0));
+
+        int count = 0;
+        for (EnemyShip ship : formation)
+            count++;
+        assertEquals(WIDTH * HEIGHT, count);
+    }
+
+    @Test
+    @DisplayName("Destroy all returns the ships alive and empties the formation")
+    void testDestroyAll() {
+        formation.destroy(formation.getShip(0));
+
+        assertEquals(WIDTH * HEIGHT - 1, formation.destroyAll());
+        assertTrue(formation.isEmpty());
+        for (int slot = 0; slot < formation.getSlotCount(); slot++)
+            assertFalse(formation.isAlive(slot));
+    }
+
+    @Test
+    @DisplayName("Push back moves every ship of the formation")
+    void testPushBack() {
+        EnemyShip destroyed = formation.getShip(0);
+        EnemyShip alive = formation.getShip(1);
+        int destroyedY = destroyed.getPositionY();
+        int aliveY = alive.getPositionY();
+        formation.destroy(destroyed);
+
+        formation.pushBack(20);
+
+        assertEquals(destroyedY - 20, destroyed.getPositionY());
+        assertEquals(aliveY - 20, alive.getPositionY());
+    }
+
+    @Test
+    @DisplayName("Ship positions are kept relative to the formation")
+    void testPositionsFollowFormation() {
+        EnemyShip first = formation.getShip(0);
+        EnemyShip last = formation.getShip(formation.getSlotCount() - 1);
+        int dx = last.getPositionX() - first.getPositionX();
+        int dy = last.getPositionY() - first.getPositionY();
+
+        formation.pushBack(35);
+        last.setPositionX(last.getPositionX());
+
+        assertEquals(dx, last.getPositionX() - first.getPositionX());
+        assertEquals(dy, last.getPositionY() - first.getPositionY());
+    }
+
+    @Test
+    @DisplayName("Clear removes every ship")
+    void testClear() {
+        formation.clear();
+
+        assertTrue(formation.isEmpty());
+        assertFalse(formation.iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Removed ships return their ids to the registry")
+    void testRemovedShipsReleaseIds() {
+        EntityRegistry registry = new EntityRegistry();
+        formation.setEntityRegistry(registry);
+        assertEquals(WIDTH * HEIGHT, registry.size());
+
+        EnemyShip killed = formation.getShip(0);
+        int id = killed.getId();
+        formation.destroy(killed);
+        formation.removeDestroyed();
+
+        assertNull(formation.getShip(0));
+        assertEquals(EntityRegistry.NO_ID, killed.getId());
+        assertNull(registry.get(id));
+        assertEquals(WIDTH * HEIGHT - 1, registry.size());
+        assertEquals(id, registry.register(new Entity(0, 0, 10, 10, Color.WHITE)));
+
+        formation.clear();
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Dropped special ships return their ids to the registry")
+    void testSpecialShipsReleaseIds() {
+        EnemyShipSpecialFormation specials = new EnemyShipSpecialFormation(
+                new GameSettings(WIDTH, HEIGHT, 60, 2000), Core.getCooldown(60000));
+        specials.attach(new Screen(448, 520, 60));
+        EntityRegistry registry = new EntityRegistry();
+        specials.setEntityRegistry(registry);
+        for (EnemyShip special : specials)
+            registry.idOf(special);
+        assertEquals(2, registry.size());
+
+        EnemyShip killed = specials.iterator().next();
+        specials.destroy(killed);
+        specials.update();
+
+        assertEquals(EntityRegistry.NO_ID, killed.getId());
+        assertEquals(1, registry.size());
+        for (EnemyShip special : specials)
+            assertNotSame(killed, special);
+    }
+}
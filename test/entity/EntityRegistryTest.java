@@ -0,0 +1,110 @@
+package entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EntityRegistry Test Suite")
+class EntityRegistryTest {
+
+    private EntityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EntityRegistry();
+    }
+
+    private static Entity entity() {
+        return new Entity(0, 0, 10, 10, Color.WHITE);
+    }
+
+    @Test
+    @DisplayName("New entities get compact ids and can be looked up")
+    void testRegisterAndLookup() {
+        Entity a = entity();
+        Entity b = entity();
+
+        assertEquals(EntityRegistry.NO_ID, a.getId());
+        assertEquals(0, registry.register(a));
+        assertEquals(1, registry.register(b));
+        assertEquals(1, b.getId());
+        assertSame(a, registry.get(0));
+        assertSame(b, registry.get(1));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    @DisplayName("Registering twice keeps the same id")
+    void testRegisterIsIdempotent() {
+        Entity a = entity();
+        int id = registry.register(a);
+
+        assertEquals(id, registry.register(a));
+        assertEquals(id, registry.idOf(a));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Released ids are reused oldest first")
+    void testReleaseRecyclesOldestFirst() {
+        Entity a = entity();
+        Entity b = entity();
+        Entity c = entity();
+        registry.register(a);
+        registry.register(b);
+        registry.register(c);
+
+        registry.release(b);
+        registry.release(a);
+
+        assertNull(registry.get(1));
+        assertEquals(EntityRegistry.NO_ID, b.getId());
+        assertEquals(1, registry.register(entity()));
+        assertEquals(0, registry.register(entity()));
+        assertEquals(3, registry.register(entity()));
+    }
+
+    @Test
+    @DisplayName("Releasing an unregistered entity does nothing")
+    void testReleaseUnknown() {
+        registry.register(entity());
+
+        registry.release(entity());
+        registry.release(null);
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Registry grows past its initial capacity")
+    void testGrow() {
+        Entity last = null;
+        for (int i = 0; i < 200; i++) {
+            last = entity();
+            registry.register(last);
+        }
+        for (int i = 0; i < 100; i++)
+            registry.release(registry.get(i));
+
+        assertSame(last, registry.get(199));
+        assertEquals(100, registry.size());
+        assertEquals(0, registry.register(entity()));
+    }
+
+    @Test
+    @DisplayName("Clear releases every id")
+    void testClear() {
+        Entity a = entity();
+        registry.register(a);
+
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        assertEquals(EntityRegistry.NO_ID, a.getId());
+        assertNull(registry.get(0));
+    }
+}
@@ -4,23 +4,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("InfiniteEnemyFormation Test Suite")
 class InfiniteEnemyFormationTest {
 
     private InfiniteEnemyFormation formation;
-    private Set<Bullet> bullets;
+    private BulletField bullets;
     private static final int SCREEN_WIDTH = 448;
     private static final int SCREEN_HEIGHT = 520;
 
     @BeforeEach
     void setUp() {
         formation = new InfiniteEnemyFormation();
-        bullets = new HashSet<>();
+        bullets = new BulletField();
     }
 
     @Test
@@ -295,4 +292,35 @@ class InfiniteEnemyFormationTest {
             }
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Parallel update matches the sequential update")
+    void testParallelUpdate() {
+        InfiniteEnemyFormation parallel = new InfiniteEnemyFormation();
+        parallel.setParallelThreshold(1);
+        formation.setParallelThreshold(Integer.MAX_VALUE);
+        for (int i = 0; i < 3000; i++) {
+            InfiniteEnemyShip.MovementPattern pattern = i % 2 == 0
+                    ? InfiniteEnemyShip.MovementPattern.STRAIGHT_DOWN
+                    : InfiniteEnemyShip.MovementPattern.HORIZONTAL_MOVE;
+            int x = i % 3 == 0 ? -20 : i % SCREEN_WIDTH;
+            int y = i % SCREEN_HEIGHT;
+            formation.addEnemy(new InfiniteEnemyShip(x, y, pattern, SCREEN_WIDTH, SCREEN_HEIGHT));
+            parallel.addEnemy(new InfiniteEnemyShip(x, y, pattern, SCREEN_WIDTH, SCREEN_HEIGHT));
+        }
+
+        for (int frame = 0; frame < 60; frame++) {
+            formation.update();
+            parallel.update();
+        }
+
+        assertEquals(formation.getEnemyCount(), parallel.getEnemyCount());
+        assertTrue(formation.getEnemyCount() < 3000);
+        for (int i = 0; i < formation.getEnemyCount(); i++) {
+            InfiniteEnemyShip expected = formation.getEnemies().get(i);
+            InfiniteEnemyShip actual = parallel.getEnemies().get(i);
+            assertEquals(expected.getPositionX(), actual.getPositionX());
+            assertEquals(expected.getPositionY(), actual.getPositionY());
+        }
+    }
+}
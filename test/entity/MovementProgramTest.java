@@ -0,0 +1,129 @@
+package entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MovementProgram Test Suite")
+class MovementProgramTest {
+
+    private static final int SCREEN_WIDTH = 448;
+    private static final int SCREEN_HEIGHT = 520;
+
+    private static MovementProgram compile(final String program) throws IOException {
+        Map<String, MovementProgram> programs = MovementPrograms.parse(
+                "{\"patterns\": [{\"name\": \"test\", \"sprite\": \"EnemyShipA1\","
+                        + " \"color\": \"#00FF00\", \"points\": 30, \"program\": " + program + "}]}");
+        return programs.get("test");
+    }
+
+    private static InfiniteEnemyShip spawn(final MovementProgram program) {
+        return new InfiniteEnemyShip(200, 100, program, SCREEN_WIDTH, SCREEN_HEIGHT);
+    }
+
+    @Test
+    @DisplayName("Built-in patterns are loaded from the resource file")
+    void testLibrary() {
+        for (InfiniteEnemyShip.MovementPattern pattern : InfiniteEnemyShip.MovementPattern.values())
+            assertNotNull(pattern.getProgram());
+        assertEquals(15, MovementPrograms.get("zigzag_down").getPointValue());
+        assertEquals(MovementProgram.Spawn.SIDE, MovementPrograms.get("horizontal_move").getSpawn());
+    }
+
+    @Test
+    @DisplayName("Fractional speeds accumulate in fixed point")
+    void testFixedPoint() throws IOException {
+        InfiniteEnemyShip enemy = spawn(compile("[{\"op\": \"velocity\", \"x\": 0.5, \"y\": 1.25}]"));
+
+        for (int i = 0; i < 4; i++)
+            enemy.update();
+
+        assertEquals(202, enemy.getPositionX());
+        assertEquals(105, enemy.getPositionY());
+        assertEquals(30, enemy.getPointValue());
+        assertNull(enemy.getPattern());
+    }
+
+    @Test
+    @DisplayName("Segments run for their ticks, then the program loops")
+    void testSegmentsAndLoop() throws IOException {
+        InfiniteEnemyShip enemy = spawn(compile("[{\"op\": \"velocity\", \"x\": 2, \"ticks\": 3},"
+                + " {\"op\": \"wait\", \"ticks\": 2},"
+                + " {\"op\": \"loop\", \"to\": 0}]"));
+
+        for (int i = 0; i < 5; i++)
+            enemy.update();
+        assertEquals(206, enemy.getPositionX());
+
+        enemy.update();
+        assertEquals(208, enemy.getPositionX());
+    }
+
+    @Test
+    @DisplayName("Curve turns the heading every tick")
+    void testCurve() throws IOException {
+        // Half a turn: starts heading right, ends heading left.
+        InfiniteEnemyShip enemy = spawn(compile(
+                "[{\"op\": \"curve\", \"speed\": 4, \"angle\": 0, \"turn\": 5.625, \"ticks\": 32}]"));
+
+        for (int i = 0; i < 32; i++)
+            enemy.update();
+
+        assertTrue(enemy.getPositionY() > 100 + 60);
+        assertTrue(Math.abs(enemy.getPositionX() - 200) < 8);
+    }
+
+    @Test
+    @DisplayName("Aim heads towards the target given by the formation")
+    void testAim() throws IOException {
+        InfiniteEnemyShip enemy = spawn(compile("[{\"op\": \"velocity\", \"y\": 1, \"ticks\": 1},"
+                + " {\"op\": \"aim\", \"speed\": 5}]"));
+        InfiniteEnemyFormation formation = new InfiniteEnemyFormation();
+        formation.addEnemy(enemy);
+        formation.update();
+        formation.setAimTarget(0, 101 + enemy.getHeight() / 2);
+
+        formation.update();
+
+        assertEquals(195, enemy.getPositionX());
+        assertEquals(101, enemy.getPositionY());
+    }
+
+    @Test
+    @DisplayName("Speed multiplier scales the program speeds")
+    void testSpeedMultiplier() throws IOException {
+        InfiniteEnemyShip enemy = spawn(compile("[{\"op\": \"velocity\", \"y\": 4}]"));
+
+        enemy.setSpeedMultiplier(1.5);
+        enemy.update();
+
+        assertEquals(106, enemy.getPositionY());
+    }
+
+    @Test
+    @DisplayName("Invalid programs are rejected")
+    void testInvalid() {
+        assertThrows(IOException.class, () -> compile("[{\"op\": \"teleport\"}]"));
+        assertThrows(IOException.class, () -> compile("[{\"op\": \"loop\", \"to\": 0}]"));
+        assertThrows(IOException.class, () -> compile("[]"));
+    }
+
+    @Test
+    @DisplayName("Pattern files nothing can be picked from are rejected")
+    void testWeights() {
+        String pattern = "{\"name\": \"%s\", \"sprite\": \"EnemyShipA1\", \"color\": \"#00FF00\","
+                + " \"weight\": %d, \"program\": [{\"op\": \"velocity\", \"y\": 1}]}";
+        IOException error = assertThrows(IOException.class, () -> MovementPrograms.parse(
+                "{\"patterns\": [" + String.format(pattern, "a", 0) + ", " + String.format(pattern, "b", 0) + "]}"));
+        assertTrue(error.getMessage().contains("weights"), error.getMessage());
+        assertThrows(IOException.class, () -> MovementPrograms.parse(
+                "{\"patterns\": [" + String.format(pattern, "a", -1) + ", " + String.format(pattern, "b", 2) + "]}"));
+        assertThrows(IOException.class, () -> MovementPrograms.parse("{\"patterns\": []}"));
+        assertDoesNotThrow(() -> MovementPrograms.parse(
+                "{\"patterns\": [" + String.format(pattern, "a", 0) + ", " + String.format(pattern, "b", 1) + "]}"));
+    }
+}
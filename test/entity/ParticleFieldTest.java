@@ -0,0 +1,112 @@
+package entity;
+
+import engine.DrawManager.SpriteType;
+import engine.GameSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ParticleField Test Suite")
+class ParticleFieldTest {
+
+    private ParticleField particles;
+
+    @BeforeEach
+    void setUp() {
+        particles = new ParticleField(32);
+    }
+
+    @Test
+    @DisplayName("Burst spreads particles out of its center")
+    void testBurst() {
+        assertEquals(8, particles.burst(100, 100, 8, 4, 20, Color.RED));
+
+        for (int tick = 0; tick < 5; tick++)
+            particles.update();
+
+        assertEquals(8, particles.size());
+        int left = 0;
+        int right = 0;
+        for (int i = 0; i < particles.size(); i++) {
+            int dx = particles.getPositionX(i) - 100;
+            int dy = particles.getPositionY(i) - 100;
+            assertTrue(dx * dx + dy * dy > 4);
+            if (dx < 0) left++;
+            if (dx > 0) right++;
+        }
+        assertTrue(left > 0 && right > 0);
+    }
+
+    @Test
+    @DisplayName("Particles fade after their lifetime")
+    void testLifetime() {
+        particles.burst(0, 0, 4, 1, 6, Color.RED);
+
+        for (int tick = 0; tick < 6; tick++)
+            particles.update();
+
+        assertEquals(0, particles.size());
+    }
+
+    @Test
+    @DisplayName("Field never grows past its capacity")
+    void testCapacity() {
+        assertEquals(20, particles.burst(0, 0, 20, 2, 10, Color.RED));
+        assertEquals(12, particles.burst(0, 0, 20, 2, 10, Color.BLUE));
+        assertEquals(0, particles.burst(0, 0, 20, 2, 10, Color.GREEN));
+        assertEquals(32, particles.size());
+        assertEquals(32, particles.capacity());
+    }
+
+    @Test
+    @DisplayName("Colors share palette slots")
+    void testPalette() {
+        particles.burst(0, 0, 2, 1, 10, Color.RED);
+        particles.burst(0, 0, 2, 1, 10, new Color(255, 0, 0));
+        particles.burst(0, 0, 2, 1, 10, Color.BLUE);
+
+        assertEquals(2, particles.getPaletteCount());
+        assertEquals(Color.RED, particles.getPaletteColor(particles.getColorIndex(0)));
+        assertEquals(Color.BLUE, particles.getPaletteColor(particles.getColorIndex(5)));
+    }
+
+    @Test
+    @DisplayName("A full palette never recolors live particles")
+    void testFullPalette() {
+        ParticleField field = new ParticleField(64);
+        for (int c = 0; c < ParticleField.PALETTE_SIZE; c++)
+            field.burst(0, 0, 1, 1, c == 0 ? 1 : 100, new Color(c * 8, 0, 0));
+
+        // Every slot is in use: the new color falls back to the closest one.
+        field.burst(0, 0, 1, 1, 100, new Color(253, 0, 0));
+        assertEquals(new Color(248, 0, 0), field.getPaletteColor(field.getColorIndex(field.size() - 1)));
+        for (int i = 0; i < ParticleField.PALETTE_SIZE; i++)
+            assertEquals(i * 8, field.getPaletteColor(field.getColorIndex(i)).getRed());
+
+        // Once the first color faded, its slot takes the new color.
+        field.update();
+        field.burst(0, 0, 1, 1, 100, Color.BLUE);
+        assertEquals(Color.BLUE, field.getPaletteColor(field.getColorIndex(field.size() - 1)));
+        for (int i = 0; i < field.size() - 1; i++)
+            assertNotEquals(Color.BLUE, field.getPaletteColor(field.getColorIndex(i)));
+    }
+
+    @Test
+    @DisplayName("Destroyed enemies leave an explosion and can be removed at once")
+    void testEnemyExplosion() {
+        ParticleField session = GameSession.current().getParticles();
+        session.clear();
+        EnemyShip enemy = new EnemyShip(50, 50, SpriteType.EnemyShipA1);
+
+        enemy.destroy();
+
+        assertTrue(enemy.isExplosionFinished());
+        assertEquals(SpriteType.EnemyShipA1, enemy.getSpriteType());
+        assertTrue(session.size() > 0);
+        session.clear();
+    }
+}
@@ -34,9 +34,8 @@ class GameScreenTest {
         gameScreen.setEnemyShipFormation(enemyShipFormation);
 
         // Bullets
-        Set<Bullet> bullets = new HashSet<>();
-        Bullet bullet = new Bullet(100, 100, 1);  // adjust ctor if needed
-        bullets.add(bullet);
+        BulletField bullets = new BulletField();
+        bullets.add(100 + BulletField.WIDTH / 2, 100, 1);
         gameScreen.setBullets(bullets);
 
         // Items
@@ -46,7 +45,7 @@ class GameScreenTest {
         gameScreen.setDropItems(dropItems);
 
         // Boss bullets (can be empty)
-        Set<BossBullet> bossBullets = new HashSet<>();
+        BossBulletList bossBullets = new BossBulletList(BossBulletPool.MAX_ACTIVE);
         gameScreen.setBossBullets(bossBullets);
 
         // Boss (if GameScreen has this setter; adjust method name if different)
@@ -122,6 +121,19 @@ class GameScreenTest {
         assertEquals(4, firstEnemy.size(), "enemy entry should have 4 fields (x, y, hp, type)");
     }
 
+    /**
+     * 3-1. Check Enemy ids: one stable id per enemy entry
+     */
+    @Test
+    void testEnemyIdsMappedToPacket() {
+        StatePacket first = gameScreen.buildStatePacket();
+        StatePacket second = gameScreen.buildStatePacket();
+
+        assertEquals(first.enemies.size(), first.enemyIds.size(), "one id per enemy entry");
+        assertEquals(first.enemyIds.size(), new HashSet<>(first.enemyIds).size(), "ids should be unique");
+        assertEquals(first.enemyIds, second.enemyIds, "ids should be stable across frames");
+    }
+
     /**
      * 4. Check DropItems: DropItems are included in the packet, Check if the coordinates/Type are correct
      */
@@ -421,39 +421,31 @@ public class InfiniteScreenTest {
     class ScoreSystemTests {
 
         @Test
-        @DisplayName("addPointsFor - Accepts bullet and points")
+        @DisplayName("addPointsFor - Accepts owner and points")
         void testAddPointsForValid() {
             infiniteScreen.initialize();
-            Bullet bullet = new Bullet(0, 0, -6);
-
-            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(bullet, 50), "Should accept valid bullet and points");
+            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(BulletField.OWNER_P1, 50), "Should accept valid owner and points");
         }
 
         @Test
         @DisplayName("addPointsFor - Handles zero points")
         void testAddPointsForZero() {
             infiniteScreen.initialize();
-            Bullet bullet = new Bullet(0, 0, -6);
-
-            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(bullet, 0), "Should handle zero points");
+            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(BulletField.OWNER_P1, 0), "Should handle zero points");
         }
 
         @Test
         @DisplayName("addPointsFor - Handles negative points")
         void testAddPointsForNegative() {
             infiniteScreen.initialize();
-            Bullet bullet = new Bullet(0, 0, -6);
-
-            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(bullet, -10), "Should handle negative points");
+            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(BulletField.OWNER_P1, -10), "Should handle negative points");
         }
 
         @Test
         @DisplayName("addPointsFor - Handles large point values")
         void testAddPointsForLargeValues() {
             infiniteScreen.initialize();
-            Bullet bullet = new Bullet(0, 0, -6);
-
-            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(bullet, 999999), "Should handle large point values");
+            assertDoesNotThrow(() -> infiniteScreen.addPointsFor(BulletField.OWNER_P1, 999999), "Should handle large point values");
         }
     }
 
@@ -642,11 +634,10 @@ public class InfiniteScreenTest {
         @DisplayName("Field Access - Bullets collection can be modified")
         void testBulletsCollectionAccessible() {
             infiniteScreen.initialize();
-            Set<Bullet> bullets = infiniteScreen.getBullets();
+            BulletField bullets = infiniteScreen.getBullets();
 
             int initialSize = bullets.size();
-            Bullet testBullet = new Bullet(100, 100, -6);
-            bullets.add(testBullet);
+            bullets.add(100, 100, -6, BulletField.OWNER_P1);
 
             assertEquals(initialSize + 1, bullets.size());
         }
@@ -687,4 +678,39 @@ public class InfiniteScreenTest {
             assertNull(infiniteScreen.getFinalBoss(), "Final boss should be null at start");
         }
     }
-}
\ No newline at end of file
+
+    // ==================== SESSION REUSE TESTS ====================
+
+    @Nested
+    @DisplayName("Session Reuse Tests - Verify pooled state across screens")
+    class SessionReuseTests {
+
+        @Test
+        @DisplayName("InfiniteEnemyPool - Recycled enemy still shoots on the next screen")
+        void testRecycledEnemyShootsOnNextScreen() {
+            GameSession session = new GameSession();
+            session.bind();
+            try {
+                InfiniteScreen first = new InfiniteScreen(testGameState, MAX_LIVES, TEST_WIDTH, TEST_HEIGHT, TEST_FPS);
+                session.setTimerWheel(first.getTimerWheel());
+                InfiniteEnemyShip enemy = InfiniteEnemyPool.getEnemy(100, 100,
+                        InfiniteEnemyShip.MovementPattern.STRAIGHT_DOWN, TEST_WIDTH, TEST_HEIGHT);
+                InfiniteEnemyPool.recycle(enemy);
+
+                InfiniteScreen second = new InfiniteScreen(testGameState, MAX_LIVES, TEST_WIDTH, TEST_HEIGHT, TEST_FPS);
+                session.setTimerWheel(second.getTimerWheel());
+                InfiniteEnemyShip recycled = InfiniteEnemyPool.getEnemy(100, 100,
+                        InfiniteEnemyShip.MovementPattern.STRAIGHT_DOWN, TEST_WIDTH, TEST_HEIGHT);
+                assertSame(enemy, recycled, "Enemy should come back from the pool");
+                assertFalse(recycled.canShoot(), "Shooting cooldown should restart on reuse");
+
+                TimerWheel wheel = second.getTimerWheel();
+                wheel.advance(wheel.now() + 2000);
+                assertTrue(recycled.canShoot(), "Enemy should shoot once the second screen's wheel passes the cooldown");
+            } finally {
+                session.setTimerWheel(null);
+                GameSession.unbind();
+            }
+        }
+    }
+}
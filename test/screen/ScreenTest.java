@@ -0,0 +1,112 @@
+package screen;
+
+import engine.Core;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JPanel;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Screen Test Suite")
+class ScreenTest {
+
+    /** Bound on waiting for the screen thread, only reached when a test fails. */
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    /** Screen that only counts its updates, on a clock the test moves. */
+    private static final class IdleScreen extends Screen {
+        private final AtomicLong time = new AtomicLong(1_000_000);
+        private volatile boolean stop;
+
+        IdleScreen() {
+            super(448, 520, 60);
+            setRenderOnDemand(true);
+            setClock(this.time::get);
+        }
+
+        @Override
+        protected void update() {
+            if (this.stop)
+                this.isRunning = false;
+        }
+    }
+
+    private static Thread start(final Screen screen) {
+        Thread thread = new Thread(screen::run);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void stop(final IdleScreen screen, final Thread thread) throws InterruptedException {
+        screen.stop = true;
+        screen.invalidate();
+        thread.join(2000);
+        assertFalse(thread.isAlive());
+    }
+
+    private static void await(final BooleanSupplier condition, final String what) {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + what);
+            Thread.yield();
+        }
+    }
+
+    /** Waits until the screen blocks for its next update, parked on the input manager. */
+    private static void awaitIdle(final Thread thread) {
+        await(() -> LockSupport.getBlocker(thread) == Core.getInputManager(), "the screen to block");
+    }
+
+    @Test
+    @DisplayName("An on-demand screen only updates again at its idle deadline")
+    void testIdle() throws InterruptedException {
+        IdleScreen screen = new IdleScreen();
+        Thread thread = start(screen);
+        awaitIdle(thread);
+        assertEquals(1, screen.getUpdates());
+
+        // Woken early, the screen goes back to waiting.
+        LockSupport.unpark(thread);
+        screen.time.addAndGet(Screen.MAX_IDLE_WAIT - 1);
+        LockSupport.unpark(thread);
+        awaitIdle(thread);
+        assertEquals(1, screen.getUpdates());
+
+        screen.time.addAndGet(1);
+        LockSupport.unpark(thread);
+        await(() -> screen.getUpdates() == 2, "the deadline update");
+        awaitIdle(thread);
+        assertEquals(2, screen.getUpdates());
+        stop(screen, thread);
+    }
+
+    @Test
+    @DisplayName("Invalidations and key events wake an on-demand screen")
+    void testWake() throws InterruptedException {
+        IdleScreen screen = new IdleScreen();
+        Thread thread = start(screen);
+        awaitIdle(thread);
+        long before = screen.getUpdates();
+
+        screen.invalidate();
+        await(() -> screen.getUpdates() > before, "the invalidated update");
+        awaitIdle(thread);
+
+        long afterInvalidate = screen.getUpdates();
+        JPanel source = new JPanel();
+        Core.getInputManager().keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED,
+                System.currentTimeMillis(), 0, KeyEvent.VK_SPACE, ' '));
+        Core.getInputManager().keyReleased(new KeyEvent(source, KeyEvent.KEY_RELEASED,
+                System.currentTimeMillis(), 0, KeyEvent.VK_SPACE, ' '));
+        await(() -> screen.getUpdates() > afterInvalidate, "the key event update");
+
+        stop(screen, thread);
+    }
+}